@@ -0,0 +1,60 @@
+-- Actor search benchmark (run with psql against a scratch database migrated by Flyway).
+--
+--   psql -h localhost -U audit -d auditdb -f bench/actor-search.sql
+--
+-- Generates ~3M rows across 50 tenants (skewed: tenant-0 holds ~20%), then prints plans and timings
+-- for CONTAINS / PREFIX / EXACT actor searches exactly as AuditRecordSearchSql renders them.
+-- Rows are synthetic (hash columns are random), so never run this against a real audit database.
+
+\timing on
+
+-- audit_records is partitioned by month; the synthetic rows reach ~35 days back.
+SELECT audit_records_ensure_partitions(3, 0, now() - interval '2 months');
+
+INSERT INTO audit_records (tenant_id, seq, event_id, actor, action, resource_type, resource_id,
+                           correlation_id, data, created_at, hash_alg, key_id, prev_hash, hash)
+SELECT 'bench-tenant-' || CASE WHEN g % 5 = 0 THEN 0 ELSE g % 50 END,
+       g,
+       gen_random_uuid(),
+       'user' || (g % 20000) || '@example' || (g % 7) || '.com',
+       (ARRAY['ORDER_CREATED', 'ORDER_PAID', 'ROLE_ASSIGNED', 'LOGIN', 'CONFIG_CHANGED'])[1 + g % 5],
+       'ORDER',
+       'order-' || (g % 100000),
+       'corr-' || (g / 4),
+       jsonb_build_object('amount', g % 1000, 'currency', 'PLN'),
+       now() - make_interval(secs => 3000000 - g),
+       'HmacSHA256',
+       'bench',
+       md5(g::text || 'p') || md5(g::text || 'q'),
+       md5(g::text || 'h') || md5(g::text || 'i')
+FROM generate_series(1, 3000000) AS g;
+
+ANALYZE audit_records;
+
+-- CONTAINS (trigram GIN, tenant-leading via btree_gin)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT r.id, r.seq, r.actor FROM audit_records r
+WHERE r.tenant_id = 'bench-tenant-0' AND lower(r.actor) LIKE lower('%r1234@%') ESCAPE '\'
+ORDER BY r.seq ASC LIMIT 50;
+
+-- PREFIX (text_pattern_ops b-tree)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT r.id, r.seq, r.actor FROM audit_records r
+WHERE r.tenant_id = 'bench-tenant-0' AND lower(r.actor) LIKE lower('user1234@%') ESCAPE '\'
+ORDER BY r.seq ASC LIMIT 50;
+
+-- EXACT (text_pattern_ops b-tree)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT r.id, r.seq, r.actor FROM audit_records r
+WHERE r.tenant_id = 'bench-tenant-0' AND lower(r.actor) = lower('User1234@Example2.com')
+ORDER BY r.seq ASC LIMIT 50;
+
+-- Baseline for comparison: the same CONTAINS query with index scans disabled (previous behaviour).
+BEGIN;
+SET LOCAL enable_indexscan = off;
+SET LOCAL enable_bitmapscan = off;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT r.id, r.seq, r.actor FROM audit_records r
+WHERE r.tenant_id = 'bench-tenant-0' AND lower(r.actor) LIKE lower('%r1234@%') ESCAPE '\'
+ORDER BY r.seq ASC LIMIT 50;
+ROLLBACK;
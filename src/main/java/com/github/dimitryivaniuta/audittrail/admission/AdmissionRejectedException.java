@@ -0,0 +1,39 @@
+package com.github.dimitryivaniuta.audittrail.admission;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a tenant's append is refused by admission control (answered with 429 and {@code Retry-After}).
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final String reason;
+    private final Duration retryAfter;
+
+    /**
+     * Creates an exception.
+     *
+     * @param tenantId tenant
+     * @param reason {@code rate}, {@code queue} or {@code timeout}
+     * @param retryAfter when a retry may succeed
+     */
+    public AdmissionRejectedException(String tenantId, String reason, Duration retryAfter) {
+        super("Too many appends for tenant " + tenantId + " (" + reason + " limit)");
+        this.reason = reason;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return limit that refused the append
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * @return when a retry may succeed
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,292 @@
+package com.github.dimitryivaniuta.audittrail.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.dimitryivaniuta.audittrail.config.AuditAdmissionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-tenant admission control in front of synchronous appends.
+ *
+ * <p>Appends of one tenant serialize on its chain head lock, each holding a pooled connection while it waits, so a
+ * single busy tenant could otherwise take the whole pool. Every tenant therefore gets:</p>
+ * <ul>
+ *   <li>an optional token bucket ({@code audit.admission.rate-per-second}, {@code burst});</li>
+ *   <li>a concurrency limit with a bounded wait queue ({@code max-queue}, {@code max-wait}). The limit adapts
+ *       (AIMD) to the observed append latency, which includes the lock wait: above {@code target-latency} it shrinks
+ *       by 10% (down to {@code min-concurrency}), at most once per window: appends admitted before the last cut do
+ *       not cut it again. At or below the target, while fully used, it grows by about one slot per limit's worth of
+ *       appends (up to {@code max-concurrency}).</li>
+ * </ul>
+ *
+ * <p>Streaming appends go through {@link #callBatch}: a batch takes one token and one concurrency slot of every
+ * tenant in it, so a tenant's stream batches and single appends share its limits. A batch's latency is not an
+ * append latency, so it does not adapt the limit.</p>
+ *
+ * <p>Refused appends throw {@link AdmissionRejectedException} before a connection is taken. Meters:
+ * {@code audit.admission.admitted}, {@code audit.admission.rejected{reason=rate|queue|timeout}} and
+ * {@code audit.admission.wait} (time spent queued for a slot). Tenant state is kept for the
+ * {@code max-tenants} most recently seen tenants.</p>
+ */
+@Component
+public class TenantAdmissionControl {
+
+    private final AuditAdmissionProperties properties;
+    private final Cache<String, TenantGate> gates;
+    private final Counter admitted;
+    private final Counter rejectedRate;
+    private final Counter rejectedQueue;
+    private final Counter rejectedTimeout;
+    private final Timer wait;
+
+    /**
+     * Creates admission control.
+     *
+     * @param properties admission settings
+     * @param registry meter registry
+     */
+    public TenantAdmissionControl(AuditAdmissionProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.gates = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTenants())
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        this.admitted = registry.counter("audit.admission.admitted");
+        this.rejectedRate = registry.counter("audit.admission.rejected", "reason", "rate");
+        this.rejectedQueue = registry.counter("audit.admission.rejected", "reason", "queue");
+        this.rejectedTimeout = registry.counter("audit.admission.rejected", "reason", "timeout");
+        this.wait = Timer.builder("audit.admission.wait")
+                .description("Time appends waited for a tenant concurrency slot")
+                .register(registry);
+    }
+
+    /**
+     * Runs an append of a tenant within its limits.
+     *
+     * @param tenantId tenant
+     * @param append the append
+     * @param <T> result type
+     * @return append result
+     * @throws AdmissionRejectedException if the tenant is over its limits
+     */
+    public <T> T call(String tenantId, Supplier<T> append) {
+        if (!properties.isEnabled()) {
+            return append.get();
+        }
+        TenantGate gate = gates.get(tenantId, this::newGate);
+        long startedAt = admit(tenantId, gate);
+        boolean completed = false;
+        try {
+            T result = append.get();
+            completed = true;
+            return result;
+        } finally {
+            gate.limit.release(startedAt, completed ? System.nanoTime() - startedAt : -1,
+                    properties.getTargetLatency().toNanos());
+        }
+    }
+
+    /**
+     * Runs a batch append of several tenants, holding one concurrency slot of each (after one token of each).
+     *
+     * @param tenantIds tenants with records in the batch
+     * @param batch the batch append
+     * @param <T> result type
+     * @return batch result
+     * @throws AdmissionRejectedException if a tenant is over its limits (nothing is appended)
+     */
+    public <T> T callBatch(Collection<String> tenantIds, Supplier<T> batch) {
+        if (!properties.isEnabled()) {
+            return batch.get();
+        }
+        List<TenantGate> held = new ArrayList<>();
+        try {
+            // Slots are taken in tenant order, so two batches never hold each other's next slot.
+            for (String tenantId : new TreeSet<>(tenantIds)) {
+                TenantGate gate = gates.get(tenantId, this::newGate);
+                admit(tenantId, gate);
+                held.add(gate);
+            }
+            return batch.get();
+        } finally {
+            for (TenantGate gate : held) {
+                gate.limit.release(0, -1, 0);
+            }
+        }
+    }
+
+    /**
+     * Takes a token and a concurrency slot of a tenant.
+     *
+     * @return when the slot was taken ({@link System#nanoTime()})
+     */
+    private long admit(String tenantId, TenantGate gate) {
+        if (gate.bucket != null) {
+            long retryNanos = gate.bucket.take(System.nanoTime());
+            if (retryNanos > 0) {
+                rejectedRate.increment();
+                throw new AdmissionRejectedException(tenantId, "rate", Duration.ofNanos(retryNanos));
+            }
+        }
+        long queuedAt = System.nanoTime();
+        String refused = gate.limit.acquire(properties.getMaxQueue(), properties.getMaxWait().toNanos());
+        if (refused != null) {
+            if (gate.bucket != null) {
+                gate.bucket.refund();
+            }
+            (refused.equals("queue") ? rejectedQueue : rejectedTimeout).increment();
+            throw new AdmissionRejectedException(tenantId, refused, properties.getMaxWait());
+        }
+        long startedAt = System.nanoTime();
+        wait.record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+        admitted.increment();
+        return startedAt;
+    }
+
+    private TenantGate newGate(String tenantId) {
+        double rate = properties.rateFor(tenantId);
+        int max = properties.maxConcurrencyFor(tenantId);
+        int min = Math.min(properties.getMinConcurrency(), max);
+        return new TenantGate(
+                rate > 0 ? new TokenBucket(rate, properties.burstFor(tenantId)) : null,
+                new ConcurrencyLimit(min, max, Math.max(min, Math.min(max, properties.getInitialConcurrency()))));
+    }
+
+    private record TenantGate(TokenBucket bucket, ConcurrencyLimit limit) {
+    }
+
+    /**
+     * Token bucket refilled continuously at {@code rate} tokens per second.
+     */
+    private static final class TokenBucket {
+
+        private final double ratePerNano;
+        private final double capacity;
+        private double tokens;
+        private long refilledAt;
+
+        TokenBucket(double ratePerSecond, int capacity) {
+            this.ratePerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.refilledAt = System.nanoTime();
+        }
+
+        /**
+         * @return 0 if a token was taken, else nanos until one is available
+         */
+        synchronized long take(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * ratePerNano);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / ratePerNano);
+        }
+
+        synchronized void refund() {
+            tokens = Math.min(capacity, tokens + 1);
+        }
+    }
+
+    /**
+     * Adaptive (AIMD) concurrency limit with a bounded wait queue.
+     */
+    private static final class ConcurrencyLimit {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition freed = lock.newCondition();
+        private final int min;
+        private final int max;
+        private double limit;
+        private int inFlight;
+        private int waiting;
+        private long decreasedAt;
+
+        ConcurrencyLimit(int min, int max, int initial) {
+            this.min = min;
+            this.max = max;
+            this.limit = initial;
+            this.decreasedAt = System.nanoTime();
+        }
+
+        /**
+         * @return null once a slot is held, else why not ({@code queue} or {@code timeout})
+         */
+        String acquire(int maxQueue, long maxWaitNanos) {
+            lock.lock();
+            try {
+                if (inFlight < (int) limit) {
+                    inFlight++;
+                    return null;
+                }
+                if (waiting >= maxQueue) {
+                    return "queue";
+                }
+                waiting++;
+                try {
+                    long remaining = maxWaitNanos;
+                    while (inFlight >= (int) limit) {
+                        if (remaining <= 0) {
+                            return "timeout";
+                        }
+                        remaining = freed.awaitNanos(remaining);
+                    }
+                    inFlight++;
+                    return null;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return "timeout";
+                } finally {
+                    waiting--;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Frees a slot and adapts the limit.
+         *
+         * @param startedAt when the append got its slot ({@link System#nanoTime()})
+         * @param latencyNanos append latency, negative if the append failed (the limit is left alone)
+         * @param targetNanos target latency
+         */
+        void release(long startedAt, long latencyNanos, long targetNanos) {
+            lock.lock();
+            try {
+                int before = (int) limit;
+                boolean saturated = inFlight >= before;
+                inFlight--;
+                if (latencyNanos > targetNanos) {
+                    // Appends admitted before the last cut ran under the old limit: their latency is already answered.
+                    if (startedAt - decreasedAt >= 0) {
+                        limit = Math.max(min, limit * 0.9);
+                        decreasedAt = System.nanoTime();
+                    }
+                } else if (latencyNanos >= 0 && saturated) {
+                    limit = Math.min(max, limit + 1 / limit);
+                }
+                freed.signal();
+                if ((int) limit > before) {
+                    freed.signal();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
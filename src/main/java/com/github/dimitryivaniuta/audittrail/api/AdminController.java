@@ -0,0 +1,91 @@
+package com.github.dimitryivaniuta.audittrail.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.dimitryivaniuta.audittrail.ingest.AuditBulkIngestService;
+import com.github.dimitryivaniuta.audittrail.ingest.BulkIngestProgress;
+import com.github.dimitryivaniuta.audittrail.shard.TenantMoveResult;
+import com.github.dimitryivaniuta.audittrail.shard.TenantShardMover;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.NotBlank;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Operational endpoints (role AUDIT_ADMIN).
+ */
+@RestController
+@RequestMapping("/api/admin")
+@Validated
+public class AdminController {
+
+    private final TenantShardMover mover;
+    private final AuditBulkIngestService bulkIngest;
+    private final ObjectWriter progressWriter;
+
+    /**
+     * Creates controller.
+     *
+     * @param mover tenant shard mover
+     * @param bulkIngest bulk ingest service
+     * @param objectMapper mapper (progress lines)
+     */
+    public AdminController(TenantShardMover mover, AuditBulkIngestService bulkIngest, ObjectMapper objectMapper) {
+        this.mover = mover;
+        this.bulkIngest = bulkIngest;
+        this.progressWriter = objectMapper.writerFor(BulkIngestProgress.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Moves a tenant chain to another shard, verifying it on both sides. Afterwards add the tenant to
+     * {@code audit.shards.tenants} on every instance; until then other instances answer appends with 409.
+     *
+     * @param tenantId tenant
+     * @param targetShard target shard name
+     * @param purgeSource delete the old shard's copy after the move
+     * @return move result
+     */
+    @PostMapping("/tenants/{tenantId}/move")
+    public TenantMoveResult moveTenant(
+            @PathVariable String tenantId,
+            @RequestParam @NotBlank String targetShard,
+            @RequestParam(defaultValue = "false") boolean purgeSource
+    ) {
+        return mover.move(tenantId, targetShard, purgeSource);
+    }
+
+    /**
+     * Bulk-ingests historic records from an NDJSON body ({@code BulkAuditRecord} per line) with binary COPY.
+     *
+     * <p>Answers with NDJSON progress, one line per committed chunk and a final line with {@code done=true}.
+     * The status is 200 once the first line is out; failures are reported in the final line's {@code error}.
+     * Re-sending the same body skips records that were already ingested.</p>
+     *
+     * @param body NDJSON request body
+     * @param response response (progress lines)
+     * @throws IOException if the response cannot be written
+     */
+    @PostMapping(value = "/records:bulk", consumes = AuditController.NDJSON, produces = AuditController.NDJSON)
+    public void bulkIngest(InputStream body, HttpServletResponse response) throws IOException {
+        response.setContentType(AuditController.NDJSON);
+        OutputStream out = response.getOutputStream();
+        bulkIngest.ingest(body, progress -> {
+            try {
+                progressWriter.writeValue(out, progress);
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
@@ -1,7 +1,12 @@
 package com.github.dimitryivaniuta.audittrail.api;
 
+import com.github.dimitryivaniuta.audittrail.admission.AdmissionRejectedException;
+import com.github.dimitryivaniuta.audittrail.journal.JournalFullException;
+import com.github.dimitryivaniuta.audittrail.service.NotFoundException;
+import com.github.dimitryivaniuta.audittrail.service.TenantMovedException;
 import java.time.Instant;
 import java.util.Map;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
@@ -42,6 +47,61 @@ public class ApiExceptionHandler {
         ));
     }
 
+    /**
+     * Handles missing resources.
+     */
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<Map<String, Object>> notFound(NotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
+                "timestamp", Instant.now().toString(),
+                "status", 404,
+                "error", "Not Found",
+                "message", ex.getMessage()
+        ));
+    }
+
+    /**
+     * Handles writes that reached a tenant's old shard.
+     */
+    @ExceptionHandler(TenantMovedException.class)
+    public ResponseEntity<Map<String, Object>> tenantMoved(TenantMovedException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "timestamp", Instant.now().toString(),
+                "status", 409,
+                "error", "Conflict",
+                "message", ex.getMessage()
+        ));
+    }
+
+    /**
+     * Handles appends refused by per-tenant admission control.
+     */
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<Map<String, Object>> admissionRejected(AdmissionRejectedException ex) {
+        long retryAfter = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter))
+                .body(Map.of(
+                        "timestamp", Instant.now().toString(),
+                        "status", 429,
+                        "error", "Too Many Requests",
+                        "message", ex.getMessage()
+                ));
+    }
+
+    /**
+     * Handles async appends refused while the local journal is full.
+     */
+    @ExceptionHandler(JournalFullException.class)
+    public ResponseEntity<Map<String, Object>> journalFull(JournalFullException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                "timestamp", Instant.now().toString(),
+                "status", 503,
+                "error", "Service Unavailable",
+                "message", ex.getMessage()
+        ));
+    }
+
     /**
      * Fallback error handler.
      */
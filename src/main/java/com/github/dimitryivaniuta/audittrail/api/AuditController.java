@@ -1,16 +1,51 @@
 package com.github.dimitryivaniuta.audittrail.api;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.dimitryivaniuta.audittrail.admission.TenantAdmissionControl;
+import com.github.dimitryivaniuta.audittrail.api.dto.AppendAcceptedResponse;
 import com.github.dimitryivaniuta.audittrail.api.dto.AuditRecordResponse;
+import com.github.dimitryivaniuta.audittrail.api.dto.BatchGetRequest;
+import com.github.dimitryivaniuta.audittrail.api.dto.BatchGetResponse;
+import com.github.dimitryivaniuta.audittrail.api.dto.ChainStatusResponse;
 import com.github.dimitryivaniuta.audittrail.api.dto.CreateAuditRecordRequest;
+import com.github.dimitryivaniuta.audittrail.api.dto.KeysetPage;
+import com.github.dimitryivaniuta.audittrail.api.dto.ResourceHistoryResponse;
 import com.github.dimitryivaniuta.audittrail.api.dto.VerificationResponse;
+import com.github.dimitryivaniuta.audittrail.config.AuditStreamProperties;
 import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import com.github.dimitryivaniuta.audittrail.hash.Hashes;
+import com.github.dimitryivaniuta.audittrail.ingest.AuditStreamAppendService;
+import com.github.dimitryivaniuta.audittrail.ingest.StreamAppendResult;
+import com.github.dimitryivaniuta.audittrail.journal.AuditJournalService;
+import com.github.dimitryivaniuta.audittrail.journal.JournalStatus;
+import com.github.dimitryivaniuta.audittrail.repo.AuditRecordProjection;
+import com.github.dimitryivaniuta.audittrail.repo.AuditRecordSearchCriteria;
+import com.github.dimitryivaniuta.audittrail.repo.AuditRecordSearchCriteria.ActorMatch;
+import com.github.dimitryivaniuta.audittrail.service.AuditChainStatusService;
 import com.github.dimitryivaniuta.audittrail.service.AuditRecordService;
+import com.github.dimitryivaniuta.audittrail.service.ChainStatus;
+import com.github.dimitryivaniuta.audittrail.service.NotFoundException;
 import com.github.dimitryivaniuta.audittrail.service.VerificationResult;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -27,7 +62,8 @@ import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBo
  *
  * <p>Security:</p>
  * <ul>
- *   <li>POST /api/audit/records -> role AUDIT_WRITER</li>
+ *   <li>POST /api/audit/records, POST /api/audit/records:stream -> role AUDIT_WRITER</li>
+ *   <li>GET /api/audit/journal -> role AUDIT_WRITER or AUDITOR</li>
  *   <li>GET /api/audit/** -> role AUDITOR</li>
  * </ul>
  */
@@ -36,29 +72,68 @@ import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBo
 @Validated
 public class AuditController {
 
+    /**
+     * Newline-delimited JSON media type.
+     */
+    public static final String NDJSON = "application/x-ndjson";
+
+    private static final int MAX_CORRELATION_IDS = 100;
+    private static final String RESPOND_ASYNC = "respond-async";
+
     private final AuditRecordService service;
+    private final AuditChainStatusService chainStatusService;
     private final AuditRecordMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final AuditStreamProperties streamProperties;
+    private final AuditStreamAppendService streamAppend;
+    private final AuditJournalService journal;
+    private final TenantAdmissionControl admission;
+    private final ObjectWriter appendResultWriter;
 
     /**
      * Creates controller.
      *
      * @param service service
+     * @param chainStatusService chain status service
      * @param mapper mapper
+     * @param objectMapper object mapper (streaming responses)
+     * @param streamProperties streaming limits
+     * @param streamAppend streaming NDJSON append
+     * @param journal asynchronous append (present when {@code audit.journal.enabled})
+     * @param admission per-tenant limits for synchronous appends
      */
-    public AuditController(AuditRecordService service, AuditRecordMapper mapper) {
+    public AuditController(AuditRecordService service, AuditChainStatusService chainStatusService, AuditRecordMapper mapper,
+                           ObjectMapper objectMapper, AuditStreamProperties streamProperties,
+                           AuditStreamAppendService streamAppend, ObjectProvider<AuditJournalService> journal,
+                           TenantAdmissionControl admission) {
         this.service = service;
+        this.chainStatusService = chainStatusService;
         this.mapper = mapper;
+        this.objectMapper = objectMapper;
+        this.streamProperties = streamProperties;
+        this.streamAppend = streamAppend;
+        this.journal = journal.getIfAvailable();
+        this.admission = admission;
+        this.appendResultWriter = objectMapper.writerFor(StreamAppendResult.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
 
     /**
      * Appends an audit record.
      *
+     * <p>With {@code Prefer: respond-async} and the journal enabled, the record is written to the local append
+     * journal and acknowledged with 202 ({@code Preference-Applied: respond-async}) once durable there; it reaches
+     * the chain when the journal is replayed (see {@code GET /journal}). Otherwise the preference is ignored and
+     * the record is appended before the 200 response, within the tenant's admission limits (429 with
+     * {@code Retry-After} when over them; see {@link TenantAdmissionControl}).</p>
+     *
      * @param request request
-     * @return created record
+     * @param prefer optional {@code Prefer} header
+     * @return created record (200), or journal receipt (202)
      */
     @PostMapping("/records")
-    public AuditRecordResponse append(@Valid @RequestBody CreateAuditRecordRequest request) {
-        AuditRecordEntity entity = service.append(new AuditRecordService.AppendAuditRecordRequest(
+    public ResponseEntity<?> append(@Valid @RequestBody CreateAuditRecordRequest request,
+                                    @RequestHeader(value = "Prefer", required = false) String prefer) {
+        AuditRecordService.AppendAuditRecordRequest append = new AuditRecordService.AppendAuditRecordRequest(
                 request.tenantId(),
                 request.eventId(),
                 request.actor(),
@@ -67,8 +142,58 @@ public class AuditController {
                 request.resourceId(),
                 request.correlationId(),
                 request.data()
-        ));
-        return mapper.toResponse(entity);
+        );
+        if (journal != null && prefer != null && prefer.toLowerCase(Locale.ROOT).contains(RESPOND_ASYNC)) {
+            AuditJournalService.Receipt receipt = journal.accept(append);
+            return ResponseEntity.accepted()
+                    .header("Preference-Applied", RESPOND_ASYNC)
+                    .body(new AppendAcceptedResponse(receipt.tenantId(), receipt.eventId(), receipt.journalSeq()));
+        }
+        AuditRecordEntity entity = admission.call(request.tenantId(), () -> service.append(append));
+        return ResponseEntity.ok(mapper.toResponse(entity));
+    }
+
+    /**
+     * Reports how far the local append journal has been replayed into the database.
+     *
+     * @return journal status
+     */
+    @GetMapping("/journal")
+    public JournalStatus journalStatus() {
+        if (journal == null) {
+            throw new NotFoundException("Append journal is not enabled");
+        }
+        return journal.status();
+    }
+
+    /**
+     * Appends the records of an NDJSON body (one {@code POST /records} body per line) as the lines arrive.
+     *
+     * <p>Answers with NDJSON, one {@link StreamAppendResult} per input line in line order, written batch by batch
+     * as the appends commit. The status is 200 once the first result is out; invalid lines are {@code REJECTED}
+     * individually, and a failed batch ends the response with {@code FAILED} lines (re-send them: appends are
+     * idempotent on the reported {@code eventId}).</p>
+     *
+     * @param body NDJSON request body
+     * @param response response (result lines)
+     * @throws IOException if the response cannot be written
+     */
+    @PostMapping(value = "/records:stream", consumes = NDJSON, produces = NDJSON)
+    public void appendStream(InputStream body, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        OutputStream out = new BufferedOutputStream(response.getOutputStream());
+        streamAppend.append(body, results -> {
+            try {
+                for (StreamAppendResult result : results) {
+                    appendResultWriter.writeValue(out, result);
+                    out.write('\n');
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        out.flush();
     }
 
     /**
@@ -82,14 +207,51 @@ public class AuditController {
         return mapper.toResponse(service.getById(id));
     }
 
+    /**
+     * Fetches many records of one tenant by id in a single call.
+     *
+     * @param request tenant and ids (max {@value BatchGetRequest#MAX_IDS})
+     * @return records in request order plus ids that were not found
+     */
+    @PostMapping("/records:batchGet")
+    public BatchGetResponse batchGet(@Valid @RequestBody BatchGetRequest request) {
+        Map<Long, AuditRecordEntity> found = service.getByIds(request.tenantId(), request.ids());
+        List<AuditRecordResponse> records = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : request.ids()) {
+            AuditRecordEntity e = found.get(id);
+            if (e != null) {
+                records.add(mapper.toResponse(e));
+            } else {
+                missing.add(id);
+            }
+        }
+        return new BatchGetResponse(records, missing);
+    }
+
+    /**
+     * Reads only the {@code data} payload of an audit record (lazy counterpart of metadata-only search).
+     *
+     * @param id id
+     * @return payload JSON
+     */
+    @GetMapping(value = "/records/{id}/data", produces = MediaType.APPLICATION_JSON_VALUE)
+    public String getData(@PathVariable long id) {
+        return service.getById(id).getDataJson();
+    }
+
     /**
      * Searches audit records for a tenant.
      *
+     * <p>By default only record metadata is returned; pass {@code include=data} to embed payloads.</p>
+     *
      * @param tenantId tenant
      * @param actor optional actor
+     * @param actorMatch actor match mode (CONTAINS, PREFIX or EXACT; case-insensitive)
      * @param action optional action
      * @param fromTs optional from timestamp (ISO-8601)
      * @param toTs optional to timestamp (ISO-8601)
+     * @param include optional extra fields ({@code data})
      * @param page page
      * @param size size
      * @return page
@@ -98,14 +260,271 @@ public class AuditController {
     public Page<AuditRecordResponse> search(
             @RequestParam @NotBlank String tenantId,
             @RequestParam(required = false) String actor,
+            @RequestParam(defaultValue = "CONTAINS") ActorMatch actorMatch,
             @RequestParam(required = false) String action,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant fromTs,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant toTs,
+            @RequestParam(required = false) Set<String> include,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "50") int size
     ) {
-        PageRequest pr = PageRequest.of(Math.max(0, page), Math.min(500, Math.max(1, size)), Sort.by("id").ascending());
-        return service.search(tenantId, actor, action, fromTs, toTs, pr).map(mapper::toResponse);
+        PageRequest pr = PageRequest.of(Math.max(0, page), Math.min(500, Math.max(1, size)), Sort.by("seq").ascending());
+        AuditRecordSearchCriteria criteria = criteria(tenantId, actor, actorMatch, action, fromTs, toTs);
+        if (include != null && include.contains("data")) {
+            return service.search(criteria, pr).map(mapper::toResponse);
+        }
+        return service.searchSummaries(criteria, pr).map(mapper::toResponse);
+    }
+
+    /**
+     * Streams every matching record as newline-delimited JSON ({@code Accept: application/x-ndjson}).
+     *
+     * <p>Records are read through a forward-only database cursor ({@code audit.stream.fetch-size} rows per
+     * round trip) and written as they are read, so memory stays flat for any result size. Writes block while
+     * the client is slow to read, which in turn pauses fetching. No count query is issued. At most
+     * {@code audit.stream.max-records} records (or {@code limit}) are returned. If more match, a last line
+     * {@code {"nextAfterSeq":<seq>}} follows the records: pass it as {@code afterSeq} to resume. Without that
+     * line, the stream holds every match.</p>
+     *
+     * @param tenantId tenant
+     * @param actor optional actor
+     * @param actorMatch actor match mode
+     * @param action optional action
+     * @param fromTs optional from timestamp (ISO-8601)
+     * @param toTs optional to timestamp (ISO-8601)
+     * @param include optional extra fields ({@code data})
+     * @param afterSeq exclusive seq cursor
+     * @param limit optional max records (capped by {@code audit.stream.max-records})
+     * @return streaming NDJSON body
+     */
+    @GetMapping(value = "/records", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> searchStream(
+            @RequestParam @NotBlank String tenantId,
+            @RequestParam(required = false) String actor,
+            @RequestParam(defaultValue = "CONTAINS") ActorMatch actorMatch,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant fromTs,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant toTs,
+            @RequestParam(required = false) Set<String> include,
+            @RequestParam(required = false) Long afterSeq,
+            @RequestParam(required = false) Long limit
+    ) {
+        AuditRecordSearchCriteria criteria = criteria(tenantId, actor, actorMatch, action, fromTs, toTs);
+        long max = Math.min(streamProperties.getMaxRecords(), limit != null ? Math.max(1, limit) : Long.MAX_VALUE);
+        int fetchSize = streamProperties.getFetchSize();
+        boolean withData = include != null && include.contains("data");
+        ObjectWriter writer = objectMapper.writerFor(AuditRecordResponse.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        ObjectWriter trailerWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        StreamingResponseBody body = out -> {
+            OutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+            long[] lastSeq = {0};
+            Consumer<AuditRecordResponse> sink = r -> {
+                try {
+                    writer.writeValue(buffered, r);
+                    buffered.write('\n');
+                    lastSeq[0] = r.seq();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+            // One row past the cap tells whether the stream was cut short; that row is not written.
+            long[] read = {0};
+            if (withData) {
+                service.streamSearch(criteria, afterSeq, max + 1, fetchSize, AuditRecordProjection.ENTITY, e -> {
+                    if (++read[0] <= max) {
+                        sink.accept(mapper.toResponse(e));
+                    }
+                });
+            } else {
+                service.streamSearch(criteria, afterSeq, max + 1, fetchSize, AuditRecordProjection.SUMMARY, e -> {
+                    if (++read[0] <= max) {
+                        sink.accept(mapper.toResponse(e));
+                    }
+                });
+            }
+            if (read[0] > max) {
+                trailerWriter.writeValue(buffered, Map.of("nextAfterSeq", lastSeq[0]));
+                buffered.write('\n');
+            }
+            buffered.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
+    /**
+     * Searches a tenant's records by JSONB payload content, using keyset pagination.
+     *
+     * <p>{@code contains} is a JSON document matched with {@code data @> contains}; {@code path} is an
+     * SQL/JSON path predicate matched with {@code data @@ path}, for example
+     * {@code $.account == "PL-123"}. Both are served by the {@code jsonb_path_ops} GIN index.</p>
+     *
+     * @param tenantId tenant
+     * @param contains optional JSON containment document
+     * @param path optional JSON path predicate
+     * @param afterSeq cursor from the previous page ({@code nextAfterSeq})
+     * @param limit page size (max 1000)
+     * @param include optional extra fields ({@code data})
+     * @return keyset page
+     */
+    @GetMapping("/records/by-data")
+    public KeysetPage<AuditRecordResponse> searchByData(
+            @RequestParam @NotBlank String tenantId,
+            @RequestParam(required = false) String contains,
+            @RequestParam(required = false) String path,
+            @RequestParam(required = false) Long afterSeq,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) Set<String> include
+    ) {
+        AuditRecordSearchCriteria criteria = AuditRecordSearchCriteria.forTenant(tenantId).withData(contains, path);
+        if (criteria.dataContains() == null && criteria.dataPath() == null) {
+            throw new IllegalArgumentException("Either 'contains' or 'path' is required");
+        }
+        int pageSize = Math.min(1000, Math.max(1, limit));
+        return keysetPage(criteria, afterSeq, pageSize, include != null && include.contains("data"));
+    }
+
+    /**
+     * Returns the timeline of one or more correlation ids: all of the tenant's records carrying any of
+     * them, in chain order, using keyset pagination.
+     *
+     * <p>Served by the partial {@code (tenant_id, correlation_id, seq)} index.</p>
+     *
+     * @param tenantId tenant
+     * @param correlationId correlation ids (1..100)
+     * @param afterSeq cursor from the previous page ({@code nextAfterSeq})
+     * @param limit page size (max 1000)
+     * @param include optional extra fields ({@code data})
+     * @return keyset page
+     */
+    @GetMapping("/timeline")
+    public KeysetPage<AuditRecordResponse> timeline(
+            @RequestParam @NotBlank String tenantId,
+            @RequestParam List<String> correlationId,
+            @RequestParam(required = false) Long afterSeq,
+            @RequestParam(defaultValue = "500") int limit,
+            @RequestParam(required = false) Set<String> include
+    ) {
+        AuditRecordSearchCriteria criteria = AuditRecordSearchCriteria.forTenant(tenantId).withCorrelationIds(correlationId);
+        if (criteria.correlationIds() == null) {
+            throw new IllegalArgumentException("correlationId is required");
+        }
+        if (criteria.correlationIds().size() > MAX_CORRELATION_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_CORRELATION_IDS + " correlation ids are allowed");
+        }
+        int pageSize = Math.min(1000, Math.max(1, limit));
+        return keysetPage(criteria, afterSeq, pageSize, include != null && include.contains("data"));
+    }
+
+    /**
+     * Returns who touched a resource and when: the tenant's records for one resource, in chain order,
+     * using keyset pagination over the {@code (tenant_id, resource_type, resource_id, seq)} index.
+     *
+     * <p>With {@code verify=true} every returned record's hash is recomputed and linked to its chain
+     * predecessor.</p>
+     *
+     * @param type resource type
+     * @param id resource id
+     * @param tenantId tenant
+     * @param afterSeq cursor from the previous page ({@code nextAfterSeq})
+     * @param limit page size (max 1000)
+     * @param include optional extra fields ({@code data})
+     * @param verify whether to verify the returned records
+     * @return history page
+     */
+    @GetMapping("/resources/{type}/{id}/history")
+    public ResourceHistoryResponse resourceHistory(
+            @PathVariable String type,
+            @PathVariable String id,
+            @RequestParam @NotBlank String tenantId,
+            @RequestParam(required = false) Long afterSeq,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) Set<String> include,
+            @RequestParam(defaultValue = "false") boolean verify
+    ) {
+        AuditRecordSearchCriteria criteria = AuditRecordSearchCriteria.forTenant(tenantId).withResource(type, id);
+        int pageSize = Math.min(1000, Math.max(1, limit));
+        boolean withData = include != null && include.contains("data");
+
+        if (!verify) {
+            KeysetPage<AuditRecordResponse> page = keysetPage(criteria, afterSeq, pageSize, withData);
+            return new ResourceHistoryResponse(page.items(), page.nextAfterSeq(), null);
+        }
+        // Hash recomputation needs the full record, payload included.
+        List<AuditRecordEntity> records = service.searchAfter(criteria, afterSeq, pageSize, AuditRecordProjection.ENTITY);
+        VerificationResult r = service.verifyRecords(tenantId, records);
+        KeysetPage<AuditRecordResponse> page = keysetPage(withData
+                ? records.stream().map(mapper::toResponse).toList()
+                : records.stream().map(mapper::toResponse).map(AuditRecordResponse::withoutData).toList(), pageSize);
+        return new ResourceHistoryResponse(page.items(), page.nextAfterSeq(),
+                new VerificationResponse(r.ok(), r.recordsChecked(), r.firstMismatchId(), r.message()));
+    }
+
+    /**
+     * Lists chain status (record count, latest hash) for all tenants.
+     *
+     * @param page page
+     * @param size size
+     * @return page of chain status
+     */
+    @GetMapping("/chains")
+    public Page<ChainStatusResponse> chains(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size
+    ) {
+        PageRequest pr = PageRequest.of(Math.max(0, page), Math.min(1000, Math.max(1, size)), Sort.by("tenantId").ascending());
+        return chainStatusService.list(pr).map(s -> toChainStatusResponse(s, null));
+    }
+
+    /**
+     * Returns chain status for a tenant. When filters are given, the response also carries an approximate
+     * count of matching records taken from planner statistics (no scan).
+     *
+     * @param tenantId tenant
+     * @param actor optional actor
+     * @param actorMatch actor match mode
+     * @param action optional action
+     * @param fromTs optional from timestamp (ISO-8601)
+     * @param toTs optional to timestamp (ISO-8601)
+     * @return chain status
+     */
+    @GetMapping("/chains/{tenantId}")
+    public ChainStatusResponse chain(
+            @PathVariable String tenantId,
+            @RequestParam(required = false) String actor,
+            @RequestParam(defaultValue = "CONTAINS") ActorMatch actorMatch,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant fromTs,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant toTs
+    ) {
+        ChainStatus status = chainStatusService.get(tenantId);
+        AuditRecordSearchCriteria criteria = criteria(tenantId, actor, actorMatch, action, fromTs, toTs);
+        boolean filtered = !criteria.equals(AuditRecordSearchCriteria.forTenant(tenantId));
+        return toChainStatusResponse(status, filtered ? chainStatusService.estimateCount(criteria) : null);
+    }
+
+    /**
+     * Reads one keyset page of records in chain order; {@code data} is only read when requested.
+     */
+    private KeysetPage<AuditRecordResponse> keysetPage(AuditRecordSearchCriteria criteria, Long afterSeq, int pageSize,
+                                                       boolean withData) {
+        return keysetPage(withData
+                ? service.searchAfter(criteria, afterSeq, pageSize, AuditRecordProjection.ENTITY).stream().map(mapper::toResponse).toList()
+                : service.searchAfter(criteria, afterSeq, pageSize, AuditRecordProjection.SUMMARY).stream().map(mapper::toResponse).toList(),
+                pageSize);
+    }
+
+    /**
+     * Wraps a page of records; a full page carries its last seq as the cursor of the next one.
+     */
+    private static KeysetPage<AuditRecordResponse> keysetPage(List<AuditRecordResponse> items, int pageSize) {
+        return new KeysetPage<>(items, items.size() == pageSize ? items.get(items.size() - 1).seq() : null);
+    }
+
+    private static ChainStatusResponse toChainStatusResponse(ChainStatus s, Long estimate) {
+        return new ChainStatusResponse(s.tenantId(), s.recordCount(), s.lastHash(), s.lastRecordId(), s.updatedAt(), estimate);
     }
 
     /**
@@ -153,8 +572,8 @@ public class AuditController {
                 return;
             }
 
-            var loaded = service.loadRange(tenantId, fromId, toId);
-            for (var r : loaded) {
+            // Archived segments and hot rows, in chain order, written as they are read.
+            service.forEachInRange(tenantId, fromId, toId, r -> {
                 String line = csv(
                         String.valueOf(r.getId()),
                         String.valueOf(r.getSeq()),
@@ -168,12 +587,17 @@ public class AuditController {
                         r.getCreatedAt().toString(),
                         r.getHashAlg(),
                         r.getKeyId(),
-                        Optional.ofNullable(r.getPrevHash()).orElse(""),
-                        r.getHash(),
+                        Optional.ofNullable(Hashes.hex(r.getPrevHash())).orElse(""),
+                        Hashes.hex(r.getHash()),
                         r.getDataJson()
                 );
-                out.write(line.getBytes(StandardCharsets.UTF_8));
-            }
+                try {
+                    out.write(line.getBytes(StandardCharsets.UTF_8));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return true;
+            });
         };
 
         String filename = "audit_export_" + tenantId + ".csv";
@@ -183,6 +607,14 @@ public class AuditController {
                 .body(body);
     }
 
+    private static AuditRecordSearchCriteria criteria(String tenantId, String actor, ActorMatch actorMatch, String action,
+                                                      Instant fromTs, Instant toTs) {
+        return AuditRecordSearchCriteria.forTenant(tenantId)
+                .withActor(actor, actorMatch)
+                .withAction(action)
+                .withCreatedBetween(fromTs, toTs);
+    }
+
     /**
      * Escapes values for CSV and joins with commas.
      *
@@ -1,29 +1,36 @@
 package com.github.dimitryivaniuta.audittrail.api;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.dimitryivaniuta.audittrail.api.dto.AuditRecordResponse;
 import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
-import java.util.Map;
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordSummary;
+import com.github.dimitryivaniuta.audittrail.hash.CanonicalJsonService;
+import com.github.dimitryivaniuta.audittrail.hash.Hashes;
 import org.springframework.stereotype.Component;
 
 /**
  * Maps domain entities to API DTOs.
+ *
+ * <p>{@code data} is read back from JSONB, which re-renders the text (spaces after separators, its own key
+ * order), so it is not passed through as stored: it is brought back to its canonical text (the wire format)
+ * in one token-level pass, without building a tree, and that text is written into the response verbatim.</p>
  */
 @Component
 public class AuditRecordMapper {
 
-    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+    /**
+     * Placeholder emitted instead of a payload that is not a JSON object.
+     */
+    static final String UNPARSEABLE_DATA = "{\"error\":\"failed_to_parse_data_json\"}";
 
-    private final ObjectMapper objectMapper;
+    private final CanonicalJsonService canonicalJsonService;
 
     /**
      * Creates mapper.
      *
-     * @param objectMapper mapper
+     * @param canonicalJsonService canonical JSON rendering
      */
-    public AuditRecordMapper(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+    public AuditRecordMapper(CanonicalJsonService canonicalJsonService) {
+        this.canonicalJsonService = canonicalJsonService;
     }
 
     /**
@@ -35,6 +42,7 @@ public class AuditRecordMapper {
     public AuditRecordResponse toResponse(AuditRecordEntity e) {
         return new AuditRecordResponse(
                 e.getId(),
+                e.getSeq(),
                 e.getTenantId(),
                 e.getEventId(),
                 e.getActor(),
@@ -43,20 +51,46 @@ public class AuditRecordMapper {
                 e.getResourceId(),
                 e.getCorrelationId(),
                 e.getCreatedAt(),
-                parseJson(e.getDataJson()),
+                canonicalData(e.getDataJson()),
                 e.getHashAlg(),
                 e.getKeyId(),
-                e.getPrevHash(),
-                e.getHash()
+                Hashes.hex(e.getPrevHash()),
+                Hashes.hex(e.getHash())
+        );
+    }
+
+    /**
+     * Converts a metadata-only summary to a response without {@code data}.
+     *
+     * @param s summary
+     * @return response
+     */
+    public AuditRecordResponse toResponse(AuditRecordSummary s) {
+        return new AuditRecordResponse(
+                s.id(),
+                s.seq(),
+                s.tenantId(),
+                s.eventId(),
+                s.actor(),
+                s.action(),
+                s.resourceType(),
+                s.resourceId(),
+                s.correlationId(),
+                s.createdAt(),
+                null,
+                s.hashAlg(),
+                s.keyId(),
+                s.prevHash(),
+                s.hash()
         );
     }
 
-    private Map<String, Object> parseJson(String json) {
+    private String canonicalData(String json) {
         try {
-            return objectMapper.readValue(json, MAP_TYPE);
-        } catch (Exception ex) {
-            // Data is stored as JSONB; parsing should succeed. If it doesn't, expose a safe placeholder.
-            return Map.of("error", "failed_to_parse_data_json");
+            return canonicalJsonService.recanonicalize(json);
+        } catch (RuntimeException ex) {
+            // Data is stored as JSONB; re-rendering should succeed. If it doesn't, expose a safe placeholder.
+            return UNPARSEABLE_DATA;
         }
     }
 }
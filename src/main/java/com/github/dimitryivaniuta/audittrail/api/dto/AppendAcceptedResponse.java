@@ -0,0 +1,18 @@
+package com.github.dimitryivaniuta.audittrail.api.dto;
+
+import java.util.UUID;
+
+/**
+ * REST response for an append accepted into the local journal (202, {@code Prefer: respond-async}).
+ *
+ * @param tenantId tenant
+ * @param eventId event id (generated if the request had none); use it to find the record once replayed
+ * @param journalSeq journal entry; the record is in the chain once {@code GET /api/audit/journal} reports
+ *                   {@code replayedSeq} at or beyond it
+ */
+public record AppendAcceptedResponse(
+        String tenantId,
+        UUID eventId,
+        long journalSeq
+) {
+}
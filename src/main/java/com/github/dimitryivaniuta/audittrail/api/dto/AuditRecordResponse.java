@@ -1,11 +1,15 @@
 package com.github.dimitryivaniuta.audittrail.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
 import java.time.Instant;
-import java.util.Map;
 import java.util.UUID;
 
 /**
  * REST response for an audit record.
+ *
+ * <p>{@code data} holds canonical JSON text and is written into the response verbatim; it is omitted from the
+ * JSON when it was not requested (metadata-only search).</p>
  */
 public record AuditRecordResponse(
         long id,
@@ -18,10 +22,20 @@ public record AuditRecordResponse(
         String resourceId,
         String correlationId,
         Instant createdAt,
-        Map<String, Object> data,
+        @JsonInclude(JsonInclude.Include.NON_NULL) @JsonRawValue String data,
         String hashAlg,
         String keyId,
         String prevHash,
         String hash
 ) {
+
+    /**
+     * Returns a metadata-only copy.
+     *
+     * @return copy without {@code data}
+     */
+    public AuditRecordResponse withoutData() {
+        return new AuditRecordResponse(id, seq, tenantId, eventId, actor, action, resourceType, resourceId, correlationId,
+                createdAt, null, hashAlg, keyId, prevHash, hash);
+    }
 }
@@ -0,0 +1,24 @@
+package com.github.dimitryivaniuta.audittrail.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Request to fetch many records of one tenant by id.
+ *
+ * @param tenantId tenant
+ * @param ids record ids (at most {@value #MAX_IDS})
+ */
+public record BatchGetRequest(
+        @NotBlank String tenantId,
+        @NotEmpty @Size(max = BatchGetRequest.MAX_IDS) List<@NotNull Long> ids
+) {
+
+    /**
+     * Maximum number of ids per request.
+     */
+    public static final int MAX_IDS = 5000;
+}
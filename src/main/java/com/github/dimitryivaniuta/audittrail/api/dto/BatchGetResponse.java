@@ -0,0 +1,15 @@
+package com.github.dimitryivaniuta.audittrail.api.dto;
+
+import java.util.List;
+
+/**
+ * Result of a multi-get.
+ *
+ * @param records records found, in request order
+ * @param missingIds requested ids that do not exist for the tenant
+ */
+public record BatchGetResponse(
+        List<AuditRecordResponse> records,
+        List<Long> missingIds
+) {
+}
@@ -0,0 +1,25 @@
+package com.github.dimitryivaniuta.audittrail.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.Instant;
+
+/**
+ * REST response for a tenant chain status.
+ *
+ * @param tenantId tenant
+ * @param recordCount exact number of records in the chain
+ * @param lastHash hash of the last record
+ * @param lastRecordId id of the last record
+ * @param updatedAt last append time
+ * @param estimatedMatchingRecords approximate number of records matching the request filters
+ *                                 (planner estimate; only present when filters were given)
+ */
+public record ChainStatusResponse(
+        String tenantId,
+        long recordCount,
+        String lastHash,
+        Long lastRecordId,
+        Instant updatedAt,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long estimatedMatchingRecords
+) {
+}
@@ -0,0 +1,16 @@
+package com.github.dimitryivaniuta.audittrail.api.dto;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated result in chain ({@code seq}) order.
+ *
+ * @param items page items
+ * @param nextAfterSeq cursor for the next page ({@code afterSeq}); null when this is the last page
+ * @param <T> item type
+ */
+public record KeysetPage<T>(
+        List<T> items,
+        Long nextAfterSeq
+) {
+}
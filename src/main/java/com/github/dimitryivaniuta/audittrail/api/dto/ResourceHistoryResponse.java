@@ -0,0 +1,18 @@
+package com.github.dimitryivaniuta.audittrail.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+/**
+ * One keyset page of a resource's history.
+ *
+ * @param items records touching the resource, in chain order
+ * @param nextAfterSeq cursor for the next page ({@code afterSeq}); null when this is the last page
+ * @param verification chain verification of {@code items} (only when requested)
+ */
+public record ResourceHistoryResponse(
+        List<AuditRecordResponse> items,
+        Long nextAfterSeq,
+        @JsonInclude(JsonInclude.Include.NON_NULL) VerificationResponse verification
+) {
+}
@@ -0,0 +1,16 @@
+package com.github.dimitryivaniuta.audittrail.archive;
+
+/**
+ * Thrown when an archive segment fails checksum or structural verification.
+ */
+public class ArchiveCorruptedException extends RuntimeException {
+
+    /**
+     * Creates an exception.
+     *
+     * @param message message
+     */
+    public ArchiveCorruptedException(String message) {
+        super(message);
+    }
+}
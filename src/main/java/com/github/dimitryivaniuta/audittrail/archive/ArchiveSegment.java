@@ -0,0 +1,41 @@
+package com.github.dimitryivaniuta.audittrail.archive;
+
+import java.time.Instant;
+
+/**
+ * Catalog entry of a sealed archive segment: one closed, contiguous seq range of a tenant chain.
+ *
+ * @param id catalog id (null before insert)
+ * @param tenantId tenant
+ * @param fromSeq first seq (inclusive)
+ * @param toSeq last seq (inclusive)
+ * @param minId smallest record id in the segment
+ * @param maxId largest record id in the segment
+ * @param minCreatedAt earliest {@code created_at}
+ * @param maxCreatedAt latest {@code created_at}
+ * @param recordCount number of records ({@code toSeq - fromSeq + 1})
+ * @param firstPrevHash {@code prevHash} of the first record (chain anchor; null for a genesis segment)
+ * @param lastHash hash of the last record (anchor for the next segment)
+ * @param fileName file name relative to {@code audit.archive.path}
+ * @param fileSize file size in bytes
+ * @param sha256 hex SHA-256 of the file content (excluding the trailer that stores it)
+ * @param sealedAt sealing time
+ */
+public record ArchiveSegment(
+        Long id,
+        String tenantId,
+        long fromSeq,
+        long toSeq,
+        long minId,
+        long maxId,
+        Instant minCreatedAt,
+        Instant maxCreatedAt,
+        int recordCount,
+        byte[] firstPrevHash,
+        byte[] lastHash,
+        String fileName,
+        long fileSize,
+        String sha256,
+        Instant sealedAt
+) {
+}
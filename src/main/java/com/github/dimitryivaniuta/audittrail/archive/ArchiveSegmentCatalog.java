@@ -0,0 +1,147 @@
+package com.github.dimitryivaniuta.audittrail.archive;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC access to the {@code audit_archive_segments} catalog.
+ */
+@Repository
+public class ArchiveSegmentCatalog {
+
+    private static final String COLUMNS = "s.id, s.tenant_id, s.from_seq, s.to_seq, s.min_id, s.max_id, s.min_created_at, "
+            + "s.max_created_at, s.record_count, s.first_prev_hash, s.last_hash, s.file_name, s.file_size, s.sha256, s.sealed_at";
+
+    private final JdbcTemplate jdbc;
+
+    /**
+     * Creates the catalog.
+     *
+     * @param jdbc JDBC template
+     */
+    public ArchiveSegmentCatalog(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Inserts a sealed segment.
+     *
+     * @param s segment
+     * @return catalog id
+     */
+    public long insert(ArchiveSegment s) {
+        return jdbc.queryForObject("""
+                insert into audit_archive_segments (tenant_id, from_seq, to_seq, min_id, max_id, min_created_at, max_created_at,
+                                                    record_count, first_prev_hash, last_hash, file_name, file_size, sha256)
+                values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                returning id
+                """, Long.class,
+                s.tenantId(), s.fromSeq(), s.toSeq(), s.minId(), s.maxId(),
+                s.minCreatedAt().atOffset(ZoneOffset.UTC), s.maxCreatedAt().atOffset(ZoneOffset.UTC),
+                s.recordCount(), s.firstPrevHash(), s.lastHash(), s.fileName(), s.fileSize(), s.sha256());
+    }
+
+    /**
+     * Returns the tenant's most recent segment.
+     *
+     * @param tenantId tenant
+     * @return last segment
+     */
+    public Optional<ArchiveSegment> findLast(String tenantId) {
+        return jdbc.query("select " + COLUMNS + " from audit_archive_segments s where s.tenant_id = ? order by s.from_seq desc limit 1",
+                ArchiveSegmentCatalog::map, tenantId).stream().findFirst();
+    }
+
+    /**
+     * Returns the tenant's segments overlapping an id range, in chain order.
+     *
+     * @param tenantId tenant
+     * @param fromId from id inclusive (nullable)
+     * @param toId to id inclusive (nullable)
+     * @return segments
+     */
+    public List<ArchiveSegment> findForTenant(String tenantId, Long fromId, Long toId) {
+        return jdbc.query("select " + COLUMNS + " from audit_archive_segments s where s.tenant_id = ?"
+                        + " and (cast(? as bigint) is null or s.max_id >= ?) and (cast(? as bigint) is null or s.min_id <= ?)"
+                        + " order by s.from_seq",
+                ArchiveSegmentCatalog::map, tenantId, fromId, fromId, toId, toId);
+    }
+
+    /**
+     * Returns segments whose id range contains an id (normally one).
+     *
+     * @param id record id
+     * @return segments
+     */
+    public List<ArchiveSegment> findContainingId(long id) {
+        return jdbc.query("select " + COLUMNS + " from audit_archive_segments s where s.max_id >= ? and s.min_id <= ?",
+                ArchiveSegmentCatalog::map, id, id);
+    }
+
+    /**
+     * Returns the segment holding a chain position.
+     *
+     * @param tenantId tenant
+     * @param seq seq
+     * @return segment
+     */
+    public Optional<ArchiveSegment> findContainingSeq(String tenantId, long seq) {
+        return jdbc.query("select " + COLUMNS + " from audit_archive_segments s where s.tenant_id = ? and s.from_seq <= ?"
+                        + " order by s.from_seq desc limit 1",
+                ArchiveSegmentCatalog::map, tenantId, seq).stream().filter(s -> s.toSeq() >= seq).findFirst();
+    }
+
+    /**
+     * Resolves an event id to its chain position if that position has been archived.
+     *
+     * @param tenantId tenant
+     * @param eventId event id
+     * @return archived seq
+     */
+    public Optional<Long> findArchivedSeq(String tenantId, UUID eventId) {
+        return jdbc.query("""
+                select k.seq from audit_record_keys k
+                where k.tenant_id = ? and k.event_id = ?
+                  and exists (select 1 from audit_archive_segments s
+                              where s.tenant_id = k.tenant_id and s.from_seq <= k.seq and s.to_seq >= k.seq)
+                """, (rs, i) -> rs.getLong(1), tenantId, eventId).stream().findFirst();
+    }
+
+    /**
+     * Returns the highest archived seq of a tenant (0 when nothing is archived).
+     *
+     * @param tenantId tenant
+     * @return archived tip
+     */
+    public long archivedTip(String tenantId) {
+        Long tip = jdbc.queryForObject("select max(to_seq) from audit_archive_segments where tenant_id = ?", Long.class, tenantId);
+        return tip != null ? tip : 0L;
+    }
+
+    private static ArchiveSegment map(ResultSet rs, int rowNum) throws SQLException {
+        return new ArchiveSegment(
+                rs.getLong("id"),
+                rs.getString("tenant_id"),
+                rs.getLong("from_seq"),
+                rs.getLong("to_seq"),
+                rs.getLong("min_id"),
+                rs.getLong("max_id"),
+                rs.getObject("min_created_at", OffsetDateTime.class).toInstant(),
+                rs.getObject("max_created_at", OffsetDateTime.class).toInstant(),
+                rs.getInt("record_count"),
+                rs.getBytes("first_prev_hash"),
+                rs.getBytes("last_hash"),
+                rs.getString("file_name"),
+                rs.getLong("file_size"),
+                rs.getString("sha256"),
+                rs.getObject("sealed_at", OffsetDateTime.class).toInstant()
+        );
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.dimitryivaniuta.audittrail.archive;
+
+import com.github.dimitryivaniuta.audittrail.config.AuditArchiveProperties;
+import com.github.dimitryivaniuta.audittrail.shard.ShardRouter;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically seals old records of every tenant into archive segments and drops month partitions
+ * that purging left empty. Runs only when {@code audit.archive.enabled=true}.
+ */
+@Component
+public class AuditArchiveJob {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditArchiveJob.class);
+
+    private final AuditArchiveService archiveService;
+    private final AuditArchiveProperties properties;
+    private final JdbcTemplate jdbc;
+    private final ShardRouter shards;
+
+    /**
+     * Creates the job.
+     *
+     * @param archiveService archive service
+     * @param properties archive settings
+     * @param jdbc JDBC template
+     * @param shards tenant shard router
+     */
+    public AuditArchiveJob(AuditArchiveService archiveService, AuditArchiveProperties properties, JdbcTemplate jdbc,
+                           ShardRouter shards) {
+        this.archiveService = archiveService;
+        this.properties = properties;
+        this.jdbc = jdbc;
+        this.shards = shards;
+    }
+
+    /**
+     * Runs the archiver on the configured schedule.
+     */
+    @Scheduled(cron = "${audit.archive.cron:0 45 3 * * *}")
+    public void scheduled() {
+        if (properties.isEnabled()) {
+            run();
+        }
+    }
+
+    /**
+     * Seals every tenant's closed ranges (several segments per tenant if needed), shard by shard.
+     *
+     * @return number of segments sealed
+     */
+    public int run() {
+        return shards.callOnEachShard(this::runOnCurrentShard).values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private int runOnCurrentShard() {
+        int sealed = 0;
+        List<String> tenants = jdbc.queryForList("select tenant_id from audit_chain_heads where moved_to is null order by tenant_id",
+                String.class);
+        for (String tenantId : tenants) {
+            try {
+                Optional<ArchiveSegment> segment;
+                do {
+                    segment = archiveService.sealNext(tenantId);
+                    if (segment.isPresent()) {
+                        sealed++;
+                    }
+                } while (segment.isPresent() && segment.get().recordCount() == properties.getSegmentMaxRecords());
+            } catch (RuntimeException e) {
+                // One tenant (e.g. a chain that fails verification) must not block the others.
+                log.error("Archiving failed for tenant {}", tenantId, e);
+            }
+        }
+        if (properties.isPurgeHot()) {
+            Integer dropped = jdbc.queryForObject("select audit_records_drop_empty_partitions(?)", Integer.class,
+                    Instant.now().minus(properties.getMinAge()).atOffset(ZoneOffset.UTC));
+            if (dropped != null && dropped > 0) {
+                log.info("Dropped {} empty audit_records partition(s)", dropped);
+            }
+        }
+        return sealed;
+    }
+}
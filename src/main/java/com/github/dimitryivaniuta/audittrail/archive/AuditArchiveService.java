@@ -0,0 +1,332 @@
+package com.github.dimitryivaniuta.audittrail.archive;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.dimitryivaniuta.audittrail.cache.AuditRecordCodec;
+import com.github.dimitryivaniuta.audittrail.config.AuditArchiveProperties;
+import com.github.dimitryivaniuta.audittrail.config.AuditStreamProperties;
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import com.github.dimitryivaniuta.audittrail.hash.AuditHashingService;
+import com.github.dimitryivaniuta.audittrail.hash.CanonicalJsonService;
+import com.github.dimitryivaniuta.audittrail.hash.Hashes;
+import com.github.dimitryivaniuta.audittrail.lane.ChainLayout;
+import com.github.dimitryivaniuta.audittrail.lane.ChainLinks;
+import com.github.dimitryivaniuta.audittrail.repo.AuditRecordProjection;
+import com.github.dimitryivaniuta.audittrail.repo.AuditRecordRepository;
+import com.github.dimitryivaniuta.audittrail.repo.AuditRecordSearchCriteria;
+import com.github.dimitryivaniuta.audittrail.shard.RoutedByTenant;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Cold archive of old audit records in sealed segment files.
+ *
+ * <p>Sealing takes the next closed, contiguous seq range of a tenant chain whose records are older than
+ * {@code audit.archive.min-age}, re-verifies it (HMAC of every record and the {@code prevHash} links,
+ * starting from the previous segment's last hash, or per lane for laned chains), writes it to a compressed, checksummed segment,
+ * reads the file back, and only then records it in the catalog and deletes the rows from the hot table.
+ * Segments hold {@code data} as the canonical text it was hashed over, not as JSONB rendered it.
+ * All of that happens in one transaction guarded by a per-tenant advisory lock.</p>
+ *
+ * <p>Reads (get-by-id, event-id idempotency, verification and export) fall back to the segments
+ * transparently; segment files are memory-mapped and verified once when they are first opened.</p>
+ */
+@Service
+public class AuditArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditArchiveService.class);
+
+    private final ArchiveSegmentCatalog catalog;
+    private final AuditRecordRepository repository;
+    private final AuditHashingService hashingService;
+    private final CanonicalJsonService canonicalJsonService;
+    private final AuditRecordCodec codec;
+    private final AuditArchiveProperties properties;
+    private final AuditStreamProperties streamProperties;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final Clock clock;
+    /** Keyed by file name: catalog ids are per shard, while a moved tenant's catalog rows share their files. */
+    private final Cache<String, SegmentReader> openSegments;
+
+    /**
+     * Creates the service.
+     *
+     * @param catalog segment catalog
+     * @param repository record repository
+     * @param hashingService hashing service (re-verification before sealing)
+     * @param canonicalJsonService canonicalizes {@code data} read back from JSONB
+     * @param codec record codec (segment record encoding)
+     * @param properties archive settings
+     * @param streamProperties cursor fetch size
+     * @param jdbc JDBC template
+     * @param tx transaction template
+     */
+    public AuditArchiveService(ArchiveSegmentCatalog catalog, AuditRecordRepository repository, AuditHashingService hashingService,
+                               CanonicalJsonService canonicalJsonService, AuditRecordCodec codec,
+                               AuditArchiveProperties properties, AuditStreamProperties streamProperties,
+                               JdbcTemplate jdbc, TransactionTemplate tx) {
+        this.catalog = catalog;
+        this.repository = repository;
+        this.hashingService = hashingService;
+        this.canonicalJsonService = canonicalJsonService;
+        this.codec = codec;
+        this.properties = properties;
+        this.streamProperties = streamProperties;
+        this.jdbc = jdbc;
+        this.tx = tx;
+        this.clock = Clock.systemUTC();
+        this.openSegments = Caffeine.newBuilder().maximumSize(properties.getOpenSegments()).build();
+    }
+
+    /**
+     * Seals the next closed range of a tenant chain.
+     *
+     * @param tenantId tenant
+     * @return sealed segment, or empty when nothing is old enough (or another instance is sealing the tenant)
+     */
+    @RoutedByTenant
+    public Optional<ArchiveSegment> sealNext(String tenantId) {
+        return Optional.ofNullable(tx.execute(status -> {
+            Boolean locked = jdbc.queryForObject("select pg_try_advisory_xact_lock(hashtext(?))", Boolean.class,
+                    "audit-archive:" + tenantId);
+            if (!Boolean.TRUE.equals(locked)) {
+                return null;
+            }
+            try {
+                return seal(tenantId);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to seal archive segment for tenant " + tenantId, e);
+            }
+        }));
+    }
+
+    private ArchiveSegment seal(String tenantId) throws IOException {
+        Optional<ArchiveSegment> previous = catalog.findLast(tenantId);
+        long afterSeq = previous.map(ArchiveSegment::toSeq).orElse(0L);
+        Instant cutoff = clock.instant().minus(properties.getMinAge());
+        AuditRecordSearchCriteria criteria = AuditRecordSearchCriteria.forTenant(tenantId).withCreatedBetween(null, cutoff);
+
+        Path dir = Path.of(properties.getPath()).resolve(tenantDirectory(tenantId));
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, "segment-", ".tmp");
+        try {
+            ArchiveSegment written;
+            try (SegmentWriter writer = new SegmentWriter(tmp, tenantId, codec, properties.getBlockRecords())) {
+                ChainCursor cursor = new ChainCursor(afterSeq + 1, links(tenantId, afterSeq, previous));
+                repository.stream(criteria, afterSeq, properties.getSegmentMaxRecords(), streamProperties.getFetchSize(),
+                        AuditRecordProjection.ENTITY, e -> {
+                            if (cursor.accept(e)) {
+                                try {
+                                    writer.append(e);
+                                } catch (IOException ex) {
+                                    throw new UncheckedIOException(ex);
+                                }
+                            }
+                        });
+                if (writer.records() == 0) {
+                    return null;
+                }
+                String fileName = tenantDirectory(tenantId) + "/" + String.format("%020d-%020d.seg", cursor.firstSeq, cursor.expectedSeq - 1);
+                written = writer.finish(tenantId, fileName);
+            }
+
+            Path target = Path.of(properties.getPath()).resolve(written.fileName());
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            // Read-back: checksum, structure and anchors must match what was sealed.
+            SegmentReader readBack = SegmentReader.open(target, written.sha256(), codec);
+            if (readBack.records() != written.recordCount()
+                    || !Hashes.same(readBack.lastHash(), written.lastHash())
+                    || !Hashes.same(readBack.firstPrevHash(), written.firstPrevHash())
+                    || !Hashes.same(readBack.findBySeq(written.toSeq()).map(AuditRecordEntity::getHash).orElse(null), written.lastHash())) {
+                throw new ArchiveCorruptedException("Archive segment " + target + " did not read back as written");
+            }
+
+            catalog.insert(written);
+            if (properties.isPurgeHot()) {
+                jdbc.execute("set local audit.archive_purge = 'on'");
+                int purged = jdbc.update("delete from audit_records where tenant_id = ? and seq between ? and ?",
+                        tenantId, written.fromSeq(), written.toSeq());
+                log.info("Sealed {} records of tenant {} (seq {}..{}) into {}; purged {} hot rows",
+                        written.recordCount(), tenantId, written.fromSeq(), written.toSeq(), written.fileName(), purged);
+            }
+            return written;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Link state at the end of the archived part: the previous segment's last hash or, for a laned chain, the
+     * last archived record of every lane (and the fork record).
+     */
+    private ChainLinks links(String tenantId, long afterSeq, Optional<ArchiveSegment> previous) {
+        ChainLayout layout = jdbc.query("select lanes, lane_base from audit_chain_heads where tenant_id = ?",
+                        (rs, i) -> new ChainLayout(rs.getInt(1), rs.getLong(2)), tenantId)
+                .stream().findFirst().orElse(ChainLayout.SINGLE);
+        if (previous.isEmpty()) {
+            return ChainLinks.fromGenesis(layout);
+        }
+        ChainLinks links = new ChainLinks(layout);
+        if (!layout.isLaned()) {
+            links.seed(afterSeq, previous.get().lastHash());
+            return links;
+        }
+        long from = Math.max(1, afterSeq - layout.lanes() + 1);
+        if (layout.base() > 0 && layout.base() < from) {
+            links.seed(layout.base(), archivedHash(tenantId, layout.base()));
+        }
+        for (long seq = from; seq <= afterSeq; seq++) {
+            links.seed(seq, archivedHash(tenantId, seq));
+        }
+        return links;
+    }
+
+    private byte[] archivedHash(String tenantId, long seq) {
+        return findBySeq(tenantId, seq)
+                .map(AuditRecordEntity::getHash)
+                .orElseThrow(() -> new ArchiveCorruptedException("Archived record seq=" + seq + " of tenant " + tenantId + " not found"));
+    }
+
+    /**
+     * Finds an archived record by tenant + chain position.
+     *
+     * @param tenantId tenant
+     * @param seq chain position
+     * @return record
+     */
+    @RoutedByTenant
+    public Optional<AuditRecordEntity> findBySeq(String tenantId, long seq) {
+        return catalog.findContainingSeq(tenantId, seq).flatMap(s -> reader(s).findBySeq(seq));
+    }
+
+    /**
+     * Finds an archived record by id.
+     *
+     * @param id id
+     * @return record
+     */
+    public Optional<AuditRecordEntity> findById(long id) {
+        for (ArchiveSegment s : catalog.findContainingId(id)) {
+            Optional<AuditRecordEntity> found = reader(s).findById(id);
+            if (found.isPresent()) {
+                return found;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds an archived record by tenant + event id (idempotency key).
+     *
+     * @param tenantId tenant
+     * @param eventId event id
+     * @return record
+     */
+    @RoutedByTenant
+    public Optional<AuditRecordEntity> findByEventId(String tenantId, UUID eventId) {
+        return catalog.findArchivedSeq(tenantId, eventId)
+                .flatMap(seq -> findBySeq(tenantId, seq));
+    }
+
+    /**
+     * Visits a tenant's archived records within an id range, in chain order, until {@code action} returns false.
+     *
+     * @param tenantId tenant
+     * @param fromId from id inclusive (nullable)
+     * @param toId to id inclusive (nullable)
+     * @param action record visitor
+     * @return highest archived seq of the tenant (0 when nothing is archived)
+     */
+    @RoutedByTenant
+    public long forEach(String tenantId, Long fromId, Long toId, Predicate<? super AuditRecordEntity> action) {
+        List<ArchiveSegment> segments = catalog.findForTenant(tenantId, fromId, toId);
+        for (ArchiveSegment s : segments) {
+            boolean more = reader(s).forEach(e -> (fromId != null && e.getId() < fromId)
+                    || (toId != null && e.getId() > toId)
+                    || action.test(e));
+            if (!more) {
+                break;
+            }
+        }
+        return catalog.archivedTip(tenantId);
+    }
+
+    private SegmentReader reader(ArchiveSegment s) {
+        return openSegments.get(s.fileName(), fileName -> {
+            try {
+                SegmentReader r = SegmentReader.open(Path.of(properties.getPath()).resolve(s.fileName()), s.sha256(), codec);
+                if (!r.tenantId().equals(s.tenantId()) || r.fromSeq() != s.fromSeq() || r.toSeq() != s.toSeq()) {
+                    throw new ArchiveCorruptedException("Archive segment " + s.fileName() + " does not match its catalog entry");
+                }
+                return r;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open archive segment " + s.fileName(), e);
+            }
+        });
+    }
+
+    /**
+     * File-system safe, collision-free directory name for a tenant.
+     */
+    private static String tenantDirectory(String tenantId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(tenantId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Accepts the contiguous, verified prefix of the streamed rows; stops at the first gap.
+     */
+    private final class ChainCursor {
+
+        private long expectedSeq;
+        private final ChainLinks links;
+        private final long firstSeq;
+        private boolean closed;
+
+        ChainCursor(long firstSeq, ChainLinks links) {
+            this.firstSeq = firstSeq;
+            this.expectedSeq = firstSeq;
+            this.links = links;
+        }
+
+        boolean accept(AuditRecordEntity e) {
+            if (closed || e.getSeq() != expectedSeq) {
+                // A later record may be older than cutoff while this seq is not (or a lane has not filled it
+                // yet): the range ends here.
+                closed = true;
+                return false;
+            }
+            if (e.getDataJson() != null) {
+                e.setDataJson(canonicalJsonService.recanonicalize(e.getDataJson()));
+            }
+            String broken = links.accept(e);
+            if (broken != null) {
+                throw new IllegalStateException("Refusing to archive tenant " + e.getTenantId()
+                        + ": " + broken + " at id=" + e.getId());
+            }
+            if (!Hashes.same(hashingService.recomputeHash(e), e.getHash())) {
+                throw new IllegalStateException("Refusing to archive tenant " + e.getTenantId()
+                        + ": hash mismatch at id=" + e.getId());
+            }
+            expectedSeq++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.github.dimitryivaniuta.audittrail.archive;
+
+import com.github.dimitryivaniuta.audittrail.cache.AuditRecordCodec;
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import com.github.dimitryivaniuta.audittrail.hash.Hashes;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorInputStream;
+
+/**
+ * Read-only, memory-mapped view of a segment written by {@link SegmentWriter}.
+ *
+ * <p>Opening a segment verifies the whole file against its SHA-256 (and the catalog's copy of it); every
+ * block is checked against its CRC-32 before it is decompressed. Instances are immutable and thread-safe
+ * (all buffer access is absolute).</p>
+ */
+final class SegmentReader {
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final AuditRecordCodec codec;
+    private final String tenantId;
+    private final List<SegmentWriter.BlockEntry> blocks;
+    private final long fromSeq;
+    private final long toSeq;
+    private final int records;
+    private final byte[] firstPrevHash;
+    private final byte[] lastHash;
+
+    private SegmentReader(Path file, MappedByteBuffer buffer, AuditRecordCodec codec) {
+        this.file = file;
+        this.buffer = buffer;
+        this.codec = codec;
+
+        int size = buffer.capacity();
+        if (size < SegmentWriter.MAGIC.length + SegmentWriter.TAIL_LENGTH
+                || !Arrays.equals(bytes(0, 4), SegmentWriter.MAGIC)
+                || !Arrays.equals(bytes(size - 4, 4), SegmentWriter.END_MAGIC)) {
+            throw corrupt("bad magic");
+        }
+        if (buffer.get(4) != SegmentWriter.VERSION) {
+            throw corrupt("unsupported version " + buffer.get(4));
+        }
+        int tenantLength = Short.toUnsignedInt(buffer.getShort(5));
+        this.tenantId = new String(bytes(7, tenantLength), StandardCharsets.UTF_8);
+
+        long footerOffset = buffer.getLong(size - SegmentWriter.TAIL_LENGTH);
+        if (footerOffset < 7 + tenantLength || footerOffset > size - SegmentWriter.TAIL_LENGTH) {
+            throw corrupt("bad footer offset");
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(
+                bytes((int) footerOffset, size - SegmentWriter.TAIL_LENGTH - (int) footerOffset)))) {
+            int blockCount = in.readInt();
+            List<SegmentWriter.BlockEntry> entries = new ArrayList<>(blockCount);
+            for (int i = 0; i < blockCount; i++) {
+                entries.add(new SegmentWriter.BlockEntry(in.readLong(), in.readLong(), in.readLong(), in.readLong(),
+                        in.readInt(), in.readInt(), in.readInt()));
+            }
+            this.blocks = List.copyOf(entries);
+            this.fromSeq = in.readLong();
+            this.toSeq = in.readLong();
+            this.records = in.readInt();
+            this.firstPrevHash = Hashes.fromHex(readString(in));
+            this.lastHash = Hashes.fromHex(readString(in));
+        } catch (IOException | IllegalArgumentException e) {
+            throw corrupt("unreadable footer: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Maps a segment file and verifies its checksum.
+     *
+     * @param file segment file
+     * @param expectedSha256 hex SHA-256 recorded in the catalog (nullable to skip the comparison)
+     * @param codec record codec
+     * @return reader
+     * @throws IOException on I/O errors
+     */
+    static SegmentReader open(Path file, String expectedSha256, AuditRecordCodec codec) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() > Integer.MAX_VALUE) {
+                throw new IOException("Segment too large to map: " + file);
+            }
+            buffer = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        }
+        int hashed = buffer.capacity() - SegmentWriter.TAIL_LENGTH + 8;
+        if (hashed < 0) {
+            throw new ArchiveCorruptedException("Archive segment " + file + " is truncated");
+        }
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        sha256.update(buffer.slice(0, hashed));
+        String actual = HexFormat.of().formatHex(sha256.digest());
+        byte[] stored = new byte[32];
+        buffer.get(hashed, stored);
+        if (!actual.equals(HexFormat.of().formatHex(stored))
+                || (expectedSha256 != null && !actual.equalsIgnoreCase(expectedSha256))) {
+            throw new ArchiveCorruptedException("Archive segment " + file + " failed SHA-256 verification");
+        }
+        return new SegmentReader(file, buffer, codec);
+    }
+
+    String tenantId() {
+        return tenantId;
+    }
+
+    long fromSeq() {
+        return fromSeq;
+    }
+
+    long toSeq() {
+        return toSeq;
+    }
+
+    int records() {
+        return records;
+    }
+
+    byte[] firstPrevHash() {
+        return firstPrevHash;
+    }
+
+    byte[] lastHash() {
+        return lastHash;
+    }
+
+    /**
+     * Visits records in chain order until {@code action} returns false.
+     *
+     * @param action record visitor
+     * @return false if the visitor stopped early
+     */
+    boolean forEach(Predicate<? super AuditRecordEntity> action) {
+        for (SegmentWriter.BlockEntry b : blocks) {
+            for (AuditRecordEntity e : readBlock(b)) {
+                if (!action.test(e)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds a record by id.
+     *
+     * @param id record id
+     * @return record
+     */
+    Optional<AuditRecordEntity> findById(long id) {
+        for (SegmentWriter.BlockEntry b : blocks) {
+            if (b.minId() <= id && id <= b.maxId()) {
+                for (AuditRecordEntity e : readBlock(b)) {
+                    if (e.getId() == id) {
+                        return Optional.of(e);
+                    }
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds a record by chain position (binary search over the block index).
+     *
+     * @param seq seq
+     * @return record
+     */
+    Optional<AuditRecordEntity> findBySeq(long seq) {
+        if (seq < fromSeq || seq > toSeq) {
+            return Optional.empty();
+        }
+        int lo = 0;
+        int hi = blocks.size() - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (blocks.get(mid).firstSeq() <= seq) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return readBlock(blocks.get(lo)).stream().filter(e -> e.getSeq() == seq).findFirst();
+    }
+
+    private List<AuditRecordEntity> readBlock(SegmentWriter.BlockEntry b) {
+        byte[] compressed = bytes((int) b.offset(), b.length());
+        CRC32 crc = new CRC32();
+        crc.update(compressed);
+        if ((int) crc.getValue() != b.crc32()) {
+            throw corrupt("CRC mismatch in block at offset " + b.offset());
+        }
+        List<AuditRecordEntity> out = new ArrayList<>(b.records());
+        try (InputStream lz4 = new FramedLZ4CompressorInputStream(new ByteArrayInputStream(compressed));
+             DataInputStream in = new DataInputStream(lz4)) {
+            for (int i = 0; i < b.records(); i++) {
+                byte[] record = new byte[in.readInt()];
+                in.readFully(record);
+                out.add(codec.decode(record));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archive segment " + file, e);
+        }
+        return out;
+    }
+
+    private byte[] bytes(int offset, int length) {
+        byte[] b = new byte[length];
+        buffer.get(offset, b);
+        return b;
+    }
+
+    private ArchiveCorruptedException corrupt(String reason) {
+        return new ArchiveCorruptedException("Archive segment " + file + " is corrupted: " + reason);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int len = in.readInt();
+        if (len < 0) {
+            return null;
+        }
+        byte[] b = new byte[len];
+        in.readFully(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
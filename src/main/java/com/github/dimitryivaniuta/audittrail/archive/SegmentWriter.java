@@ -0,0 +1,226 @@
+package com.github.dimitryivaniuta.audittrail.archive;
+
+import com.github.dimitryivaniuta.audittrail.cache.AuditRecordCodec;
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import com.github.dimitryivaniuta.audittrail.hash.Hashes;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.CRC32;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream;
+
+/**
+ * Writes one segment file.
+ *
+ * <p>Layout (big-endian):</p>
+ * <pre>
+ * header   "ATSG" | u8 version | u16 tenant length | tenant (UTF-8)
+ * blocks   LZ4 frame per block; uncompressed block = repeated (i32 length | record in {@link AuditRecordCodec} form)
+ * footer   i32 block count
+ *          per block: i64 firstSeq | i64 minId | i64 maxId | i64 offset | i32 compressed length | i32 records | i32 crc32
+ *          i64 fromSeq | i64 toSeq | i32 records | firstPrevHash | lastHash   (hex; i32 length + UTF-8, -1 = null)
+ *          i64 footer offset
+ * trailer  32-byte SHA-256 of everything before it | "ATSE"
+ * </pre>
+ *
+ * <p>Records must be appended in chain order. Blocks are compressed independently, so a single record is
+ * read back by decompressing one block.</p>
+ */
+final class SegmentWriter implements Closeable {
+
+    static final byte[] MAGIC = "ATSG".getBytes(StandardCharsets.US_ASCII);
+    static final byte[] END_MAGIC = "ATSE".getBytes(StandardCharsets.US_ASCII);
+    static final byte VERSION = 1;
+    /** Footer offset (8) + SHA-256 (32) + end magic (4). */
+    static final int TAIL_LENGTH = 8 + 32 + 4;
+
+    private final AuditRecordCodec codec;
+    private final int blockRecords;
+    private final MessageDigest sha256;
+    private final DigestOutputStream out;
+    private final List<BlockEntry> blocks = new ArrayList<>();
+
+    private final ByteArrayOutputStream block = new ByteArrayOutputStream(64 * 1024);
+    private final DataOutputStream blockOut = new DataOutputStream(block);
+    private int blockCount;
+    private long blockFirstSeq;
+    private long blockMinId;
+    private long blockMaxId;
+
+    private long position;
+    private long fromSeq;
+    private long toSeq;
+    private int records;
+    private long minId = Long.MAX_VALUE;
+    private long maxId = Long.MIN_VALUE;
+    private Instant minCreatedAt;
+    private Instant maxCreatedAt;
+    private byte[] firstPrevHash;
+    private byte[] lastHash;
+
+    /**
+     * Opens a new segment file (truncating an existing one).
+     *
+     * @param file target file
+     * @param tenantId tenant
+     * @param codec record codec
+     * @param blockRecords records per block
+     * @throws IOException on I/O errors
+     */
+    SegmentWriter(Path file, String tenantId, AuditRecordCodec codec, int blockRecords) throws IOException {
+        this.codec = codec;
+        this.blockRecords = blockRecords;
+        try {
+            this.sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        this.out = new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 256 * 1024), sha256);
+
+        byte[] tenant = tenantId.getBytes(StandardCharsets.UTF_8);
+        DataOutputStream header = new DataOutputStream(out);
+        header.write(MAGIC);
+        header.writeByte(VERSION);
+        header.writeShort(tenant.length);
+        header.write(tenant);
+        position = MAGIC.length + 1 + 2 + tenant.length;
+    }
+
+    /**
+     * Appends the next record of the chain.
+     *
+     * @param e record
+     * @throws IOException on I/O errors
+     */
+    void append(AuditRecordEntity e) throws IOException {
+        if (records == 0) {
+            fromSeq = e.getSeq();
+            firstPrevHash = e.getPrevHash();
+            minCreatedAt = e.getCreatedAt();
+        }
+        if (blockCount == 0) {
+            blockFirstSeq = e.getSeq();
+            blockMinId = e.getId();
+            blockMaxId = e.getId();
+        }
+        byte[] encoded = codec.encode(e);
+        blockOut.writeInt(encoded.length);
+        blockOut.write(encoded);
+        blockCount++;
+        blockMinId = Math.min(blockMinId, e.getId());
+        blockMaxId = Math.max(blockMaxId, e.getId());
+
+        records++;
+        toSeq = e.getSeq();
+        lastHash = e.getHash();
+        minId = Math.min(minId, e.getId());
+        maxId = Math.max(maxId, e.getId());
+        maxCreatedAt = e.getCreatedAt();
+
+        if (blockCount == blockRecords) {
+            flushBlock();
+        }
+    }
+
+    /**
+     * Number of records appended so far.
+     *
+     * @return record count
+     */
+    int records() {
+        return records;
+    }
+
+    /**
+     * Writes the footer and trailer and closes the file.
+     *
+     * @param tenantId tenant
+     * @param fileName catalog file name
+     * @return catalog entry (without id), including file size and SHA-256
+     * @throws IOException on I/O errors
+     */
+    ArchiveSegment finish(String tenantId, String fileName) throws IOException {
+        flushBlock();
+        long footerOffset = position;
+        DataOutputStream footer = new DataOutputStream(out);
+        footer.writeInt(blocks.size());
+        for (BlockEntry b : blocks) {
+            footer.writeLong(b.firstSeq());
+            footer.writeLong(b.minId());
+            footer.writeLong(b.maxId());
+            footer.writeLong(b.offset());
+            footer.writeInt(b.length());
+            footer.writeInt(b.records());
+            footer.writeInt(b.crc32());
+        }
+        footer.writeLong(fromSeq);
+        footer.writeLong(toSeq);
+        footer.writeInt(records);
+        writeString(footer, Hashes.hex(firstPrevHash));
+        writeString(footer, Hashes.hex(lastHash));
+        footer.writeLong(footerOffset);
+        footer.flush();
+
+        out.on(false);
+        byte[] digest = sha256.digest();
+        out.write(digest);
+        out.write(END_MAGIC);
+        long size = footerOffset + footer.size() + digest.length + END_MAGIC.length;
+        out.close();
+
+        return new ArchiveSegment(null, tenantId, fromSeq, toSeq, minId, maxId, minCreatedAt, maxCreatedAt, records,
+                firstPrevHash, lastHash, fileName, size, HexFormat.of().formatHex(digest), null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void flushBlock() throws IOException {
+        if (blockCount == 0) {
+            return;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(block.size() / 2 + 64);
+        try (OutputStream lz4 = new FramedLZ4CompressorOutputStream(compressed)) {
+            block.writeTo(lz4);
+        }
+        byte[] bytes = compressed.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        out.write(bytes);
+        blocks.add(new BlockEntry(blockFirstSeq, blockMinId, blockMaxId, position, bytes.length, blockCount, (int) crc.getValue()));
+        position += bytes.length;
+        block.reset();
+        blockCount = 0;
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    /**
+     * Block index entry.
+     */
+    record BlockEntry(long firstSeq, long minId, long maxId, long offset, int length, int records, int crc32) {
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.dimitryivaniuta.audittrail.cache;
+
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import com.github.dimitryivaniuta.audittrail.hash.Hashes;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compact, versioned binary form of an {@link AuditRecordEntity} for caching.
+ *
+ * <p>Audit records are immutable, so a cached copy never goes stale. The encoding avoids JDK serialization
+ * and Hibernate proxies entirely: fixed-width numbers, length-prefixed UTF-8 strings and raw 32-byte hashes.</p>
+ */
+@Component
+public class AuditRecordCodec {
+
+    private static final byte VERSION = 1;
+
+    private static final byte HASH_NULL = 0;
+    private static final byte HASH_RAW = 1;
+    private static final byte HASH_TEXT = 2;
+
+    /**
+     * Encodes a record.
+     *
+     * @param e record
+     * @return bytes
+     */
+    public byte[] encode(AuditRecordEntity e) {
+        int dataLen = e.getDataJson() != null ? e.getDataJson().length() : 0;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + dataLen);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeLong(e.getId());
+            out.writeLong(e.getSeq());
+            writeString(out, e.getTenantId());
+            out.writeLong(e.getEventId().getMostSignificantBits());
+            out.writeLong(e.getEventId().getLeastSignificantBits());
+            writeString(out, e.getActor());
+            writeString(out, e.getAction());
+            writeString(out, e.getResourceType());
+            writeString(out, e.getResourceId());
+            writeString(out, e.getCorrelationId());
+            out.writeLong(e.getCreatedAt().getEpochSecond());
+            out.writeInt(e.getCreatedAt().getNano());
+            writeString(out, e.getHashAlg());
+            writeString(out, e.getKeyId());
+            writeHash(out, e.getPrevHash());
+            writeHash(out, e.getHash());
+            writeString(out, e.getDataJson());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a record produced by {@link #encode(AuditRecordEntity)}.
+     *
+     * @param bytes bytes
+     * @return detached record
+     * @throws IllegalStateException if the bytes are of another version or corrupt
+     * @throws UncheckedIOException if the bytes are truncated
+     */
+    public AuditRecordEntity decode(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalStateException("Unsupported cached record version: " + version);
+            }
+            AuditRecordEntity e = new AuditRecordEntity();
+            e.setId(in.readLong());
+            e.setSeq(in.readLong());
+            e.setTenantId(readString(in));
+            e.setEventId(new UUID(in.readLong(), in.readLong()));
+            e.setActor(readString(in));
+            e.setAction(readString(in));
+            e.setResourceType(readString(in));
+            e.setResourceId(readString(in));
+            e.setCorrelationId(readString(in));
+            e.setCreatedAt(Instant.ofEpochSecond(in.readLong(), in.readInt()));
+            e.setHashAlg(readString(in));
+            e.setKeyId(readString(in));
+            e.setPrevHash(readHash(in));
+            e.setHash(readHash(in));
+            e.setDataJson(readString(in));
+            return e;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int len = in.readInt();
+        if (len < 0) {
+            return null;
+        }
+        if (len > in.available()) {
+            // Truncated or corrupt bytes: fail instead of allocating whatever the length claims.
+            throw new EOFException("String of " + len + " bytes exceeds the " + in.available() + " bytes left");
+        }
+        byte[] b = new byte[len];
+        in.readFully(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    private static void writeHash(DataOutputStream out, byte[] hash) throws IOException {
+        if (hash == null) {
+            out.writeByte(HASH_NULL);
+        } else {
+            out.writeByte(HASH_RAW);
+            out.writeByte(hash.length);
+            out.write(hash);
+        }
+    }
+
+    private static byte[] readHash(DataInputStream in) throws IOException {
+        byte kind = in.readByte();
+        return switch (kind) {
+            case HASH_NULL -> null;
+            case HASH_RAW -> {
+                byte[] raw = new byte[in.readUnsignedByte()];
+                in.readFully(raw);
+                yield raw;
+            }
+            // Written by earlier versions for hashes that were not lowercase hex text.
+            case HASH_TEXT -> Hashes.fromHex(readString(in));
+            default -> throw new IllegalStateException("Unknown hash encoding: " + kind);
+        };
+    }
+}
@@ -0,0 +1,174 @@
+package com.github.dimitryivaniuta.audittrail.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.Callable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+/**
+ * Two-tier cache for immutable audit records.
+ *
+ * <ul>
+ *   <li>L1: bounded on-heap Caffeine cache holding encoded records, evicted by total encoded size.</li>
+ *   <li>L2: shared cache (Redis in production) holding the same encoded bytes.</li>
+ * </ul>
+ *
+ * <p>Because records never change, there is no invalidation traffic between instances: an L2 hit is
+ * promoted into L1 and served from the heap afterwards. An L2 entry that cannot be decoded (corrupt, or
+ * written in another format) is evicted and treated as a miss, so the record is loaded and cached again.
+ * Hits and misses are counted per tier as {@code audit.cache.gets{cache,tier,result}}.</p>
+ */
+public class TieredAuditRecordCache extends AbstractValueAdaptingCache {
+
+    private static final Logger log = LoggerFactory.getLogger(TieredAuditRecordCache.class);
+
+    private final String name;
+    private final Cache<Object, byte[]> l1;
+    private final org.springframework.cache.Cache l2;
+    private final AuditRecordCodec codec;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+
+    /**
+     * Creates the cache.
+     *
+     * @param name cache name
+     * @param l1 local cache of encoded records
+     * @param l2 shared cache of encoded records (nullable to run L1-only)
+     * @param codec record codec
+     * @param registry meter registry
+     */
+    public TieredAuditRecordCache(String name, Cache<Object, byte[]> l1, org.springframework.cache.Cache l2,
+                                  AuditRecordCodec codec, MeterRegistry registry) {
+        super(false);
+        this.name = name;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.codec = codec;
+        this.l1Hits = counter(registry, name, "l1", "hit");
+        this.l1Misses = counter(registry, name, "l1", "miss");
+        this.l2Hits = counter(registry, name, "l2", "hit");
+        this.l2Misses = counter(registry, name, "l2", "miss");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l1;
+    }
+
+    /**
+     * Looks a record up in L1 only (no network hop).
+     *
+     * @param key key
+     * @return record or null
+     */
+    public AuditRecordEntity getLocal(Object key) {
+        byte[] bytes = l1.getIfPresent(key);
+        if (bytes == null) {
+            l1Misses.increment();
+            return null;
+        }
+        l1Hits.increment();
+        return codec.decode(bytes);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        AuditRecordEntity local = getLocal(key);
+        if (local != null) {
+            return local;
+        }
+        if (l2 == null) {
+            return null;
+        }
+        ValueWrapper wrapper = l2.get(key);
+        if (wrapper != null && wrapper.get() instanceof byte[] bytes) {
+            AuditRecordEntity shared = decodeShared(key, bytes);
+            if (shared != null) {
+                l2Hits.increment();
+                l1.put(key, bytes);
+                return shared;
+            }
+        }
+        l2Misses.increment();
+        return null;
+    }
+
+    private AuditRecordEntity decodeShared(Object key, byte[] bytes) {
+        try {
+            return codec.decode(bytes);
+        } catch (RuntimeException e) {
+            log.warn("Evicting unreadable entry {} from shared cache '{}': {}", key, name, e.getMessage());
+            l2.evict(key);
+            return null;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object cached = lookup(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        try {
+            T loaded = valueLoader.call();
+            put(key, loaded);
+            return loaded;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (!(value instanceof AuditRecordEntity record)) {
+            throw new IllegalArgumentException("Cache '" + name + "' only stores audit records, got " + value.getClass());
+        }
+        byte[] bytes = codec.encode(record);
+        l1.put(key, bytes);
+        if (l2 != null) {
+            l2.put(key, bytes);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        l1.invalidate(key);
+        if (l2 != null) {
+            l2.evict(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        l1.invalidateAll();
+        if (l2 != null) {
+            l2.clear();
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String cache, String tier, String result) {
+        return Counter.builder("audit.cache.gets")
+                .description("Audit record cache lookups per tier")
+                .tag("cache", cache)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,249 @@
+package com.github.dimitryivaniuta.audittrail.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Per-tenant admission control for synchronous and streaming appends ({@code audit.admission.*}).
+ */
+@Validated
+@ConfigurationProperties(prefix = "audit.admission")
+public class AuditAdmissionProperties {
+
+    /**
+     * Whether {@code POST /records} (429 when refused) and the batches of {@code POST /records:stream} go through
+     * per-tenant rate and concurrency limits.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Sustained appends per second and tenant (token bucket); 0 = no rate limit.
+     */
+    @DecimalMin("0")
+    private double ratePerSecond = 0;
+
+    /**
+     * Token bucket size, i.e. the burst a tenant may send above its rate (0 = one second worth of rate).
+     */
+    @Min(0)
+    private int burst = 0;
+
+    /**
+     * Concurrent appends per tenant to start with; the limit then adapts between min and max concurrency.
+     */
+    @Min(1)
+    private int initialConcurrency = 2;
+
+    /**
+     * Lowest adaptive concurrency limit.
+     */
+    @Min(1)
+    private int minConcurrency = 1;
+
+    /**
+     * Highest adaptive concurrency limit. Keep it well below the connection pool size, so that one tenant can
+     * never hold all connections.
+     */
+    @Min(1)
+    @Max(1000)
+    private int maxConcurrency = 4;
+
+    /**
+     * Appends a tenant may have waiting for a concurrency slot; more are refused right away.
+     */
+    @Min(0)
+    private int maxQueue = 32;
+
+    /**
+     * How long an append may wait for a concurrency slot.
+     */
+    @NotNull
+    private Duration maxWait = Duration.ofSeconds(1);
+
+    /**
+     * Append latency (chain head lock wait included) above which a tenant's concurrency limit is lowered (at most
+     * once per window of appends admitted under the current limit); below it, a fully used limit is raised.
+     */
+    @NotNull
+    private Duration targetLatency = Duration.ofMillis(50);
+
+    /**
+     * Tenants tracked at most (least recently seen are dropped; they start over with fresh limits).
+     */
+    @Min(100)
+    private long maxTenants = 100_000;
+
+    /**
+     * Tenant -> limits overriding the defaults above (any subset of rate-per-second, burst, max-concurrency).
+     */
+    private Map<String, @Valid TenantLimits> tenants = new HashMap<>();
+
+    /**
+     * Rate limit of a tenant.
+     *
+     * @param tenantId tenant
+     * @return appends per second (0 = unlimited)
+     */
+    public double rateFor(String tenantId) {
+        TenantLimits limits = tenants.get(tenantId);
+        return limits != null && limits.getRatePerSecond() != null ? limits.getRatePerSecond() : ratePerSecond;
+    }
+
+    /**
+     * Burst of a tenant.
+     *
+     * @param tenantId tenant
+     * @return token bucket size
+     */
+    public int burstFor(String tenantId) {
+        TenantLimits limits = tenants.get(tenantId);
+        int b = limits != null && limits.getBurst() != null ? limits.getBurst() : burst;
+        return b > 0 ? b : (int) Math.max(1, Math.ceil(rateFor(tenantId)));
+    }
+
+    /**
+     * Highest concurrency limit of a tenant.
+     *
+     * @param tenantId tenant
+     * @return max concurrency
+     */
+    public int maxConcurrencyFor(String tenantId) {
+        TenantLimits limits = tenants.get(tenantId);
+        return limits != null && limits.getMaxConcurrency() != null ? limits.getMaxConcurrency() : maxConcurrency;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public void setRatePerSecond(double ratePerSecond) {
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    public int getInitialConcurrency() {
+        return initialConcurrency;
+    }
+
+    public void setInitialConcurrency(int initialConcurrency) {
+        this.initialConcurrency = initialConcurrency;
+    }
+
+    public int getMinConcurrency() {
+        return minConcurrency;
+    }
+
+    public void setMinConcurrency(int minConcurrency) {
+        this.minConcurrency = minConcurrency;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public int getMaxQueue() {
+        return maxQueue;
+    }
+
+    public void setMaxQueue(int maxQueue) {
+        this.maxQueue = maxQueue;
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public Duration getTargetLatency() {
+        return targetLatency;
+    }
+
+    public void setTargetLatency(Duration targetLatency) {
+        this.targetLatency = targetLatency;
+    }
+
+    public long getMaxTenants() {
+        return maxTenants;
+    }
+
+    public void setMaxTenants(long maxTenants) {
+        this.maxTenants = maxTenants;
+    }
+
+    public Map<String, TenantLimits> getTenants() {
+        return tenants;
+    }
+
+    public void setTenants(Map<String, TenantLimits> tenants) {
+        this.tenants = tenants;
+    }
+
+    /**
+     * Limits of one tenant; unset values fall back to the defaults.
+     */
+    public static class TenantLimits {
+
+        @DecimalMin("0")
+        private Double ratePerSecond;
+
+        @Min(0)
+        private Integer burst;
+
+        @Min(1)
+        private Integer maxConcurrency;
+
+        public Double getRatePerSecond() {
+            return ratePerSecond;
+        }
+
+        public void setRatePerSecond(Double ratePerSecond) {
+            this.ratePerSecond = ratePerSecond;
+        }
+
+        public Integer getBurst() {
+            return burst;
+        }
+
+        public void setBurst(Integer burst) {
+            this.burst = burst;
+        }
+
+        public Integer getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(Integer maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+    }
+}
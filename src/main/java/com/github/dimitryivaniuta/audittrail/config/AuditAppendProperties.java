@@ -0,0 +1,66 @@
+package com.github.dimitryivaniuta.audittrail.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Single-record append configuration ({@code audit.append.*}).
+ */
+@Validated
+@ConfigurationProperties(prefix = "audit.append")
+public class AuditAppendProperties {
+
+    /**
+     * How {@code POST /records} writes a record.
+     */
+    public enum Strategy {
+        /** Idempotency lookup, chain head locked FOR UPDATE, record insert and head update (JPA). */
+        ENTITY,
+        /** Head advance and record insert in one data-modifying CTE against a cached chain tip. */
+        STATEMENT
+    }
+
+    @NotNull
+    private Strategy strategy = Strategy.ENTITY;
+
+    /**
+     * Statement attempts against a stale chain tip (another writer got there first) before the append falls
+     * back to the locking entity path.
+     */
+    @Min(1)
+    @Max(10)
+    private int maxAttempts = 3;
+
+    /**
+     * Chain tips kept in memory for the statement strategy (one per recently appending tenant).
+     */
+    @Min(1)
+    private long tipCacheSize = 100_000;
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getTipCacheSize() {
+        return tipCacheSize;
+    }
+
+    public void setTipCacheSize(long tipCacheSize) {
+        this.tipCacheSize = tipCacheSize;
+    }
+}
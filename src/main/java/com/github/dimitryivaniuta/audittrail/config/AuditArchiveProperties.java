@@ -0,0 +1,129 @@
+package com.github.dimitryivaniuta.audittrail.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Cold archive configuration ({@code audit.archive.*}).
+ */
+@Validated
+@ConfigurationProperties(prefix = "audit.archive")
+public class AuditArchiveProperties {
+
+    /**
+     * Whether this instance seals (and purges) old records. Reading existing segments does not depend on it.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory holding segment files (local or mounted volume shared by all instances).
+     */
+    @NotBlank
+    private String path = "./data/archive";
+
+    /**
+     * Records older than this are sealed into segments.
+     */
+    @NotNull
+    private Duration minAge = Duration.ofDays(90);
+
+    /**
+     * Maximum records per segment file.
+     */
+    @Min(1)
+    @Max(1_000_000)
+    private int segmentMaxRecords = 100_000;
+
+    /**
+     * Records per compressed block (the unit of random access).
+     */
+    @Min(1)
+    @Max(65_536)
+    private int blockRecords = 512;
+
+    /**
+     * Whether sealed records are deleted from the hot table.
+     */
+    private boolean purgeHot = true;
+
+    /**
+     * Maximum number of segment files kept memory-mapped.
+     */
+    @Min(1)
+    private int openSegments = 64;
+
+    /**
+     * Archiver schedule (Spring cron, server time zone).
+     */
+    @NotBlank
+    private String cron = "0 45 3 * * *";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public Duration getMinAge() {
+        return minAge;
+    }
+
+    public void setMinAge(Duration minAge) {
+        this.minAge = minAge;
+    }
+
+    public int getSegmentMaxRecords() {
+        return segmentMaxRecords;
+    }
+
+    public void setSegmentMaxRecords(int segmentMaxRecords) {
+        this.segmentMaxRecords = segmentMaxRecords;
+    }
+
+    public int getBlockRecords() {
+        return blockRecords;
+    }
+
+    public void setBlockRecords(int blockRecords) {
+        this.blockRecords = blockRecords;
+    }
+
+    public boolean isPurgeHot() {
+        return purgeHot;
+    }
+
+    public void setPurgeHot(boolean purgeHot) {
+        this.purgeHot = purgeHot;
+    }
+
+    public int getOpenSegments() {
+        return openSegments;
+    }
+
+    public void setOpenSegments(int openSegments) {
+        this.openSegments = openSegments;
+    }
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+}
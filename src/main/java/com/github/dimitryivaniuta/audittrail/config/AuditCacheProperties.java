@@ -0,0 +1,53 @@
+package com.github.dimitryivaniuta.audittrail.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Record cache configuration ({@code audit.cache.*}).
+ */
+@Validated
+@ConfigurationProperties(prefix = "audit.cache")
+public class AuditCacheProperties {
+
+    /**
+     * Upper bound for the on-heap L1 cache, measured as total encoded record size.
+     */
+    private DataSize l1MaxSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Time-to-live of L2 (Redis) entries. Records are immutable; the TTL only bounds Redis memory.
+     */
+    private Duration l2Ttl = Duration.ofHours(24);
+
+    /**
+     * How long chain status snapshots and count estimates are served from the local cache.
+     */
+    private Duration chainStatusTtl = Duration.ofSeconds(5);
+
+    public DataSize getL1MaxSize() {
+        return l1MaxSize;
+    }
+
+    public void setL1MaxSize(DataSize l1MaxSize) {
+        this.l1MaxSize = l1MaxSize;
+    }
+
+    public Duration getL2Ttl() {
+        return l2Ttl;
+    }
+
+    public void setL2Ttl(Duration l2Ttl) {
+        this.l2Ttl = l2Ttl;
+    }
+
+    public Duration getChainStatusTtl() {
+        return chainStatusTtl;
+    }
+
+    public void setChainStatusTtl(Duration chainStatusTtl) {
+        this.chainStatusTtl = chainStatusTtl;
+    }
+}
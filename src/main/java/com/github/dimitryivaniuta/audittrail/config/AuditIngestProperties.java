@@ -0,0 +1,61 @@
+package com.github.dimitryivaniuta.audittrail.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Bulk ingest configuration ({@code audit.ingest.*}).
+ */
+@Validated
+@ConfigurationProperties(prefix = "audit.ingest")
+public class AuditIngestProperties {
+
+    /**
+     * Input records per transaction (and per progress report). Chain heads are updated once per chunk.
+     */
+    @Min(1)
+    @Max(1_000_000)
+    private int chunkRecords = 50_000;
+
+    /**
+     * {@code POST /records:stream}: lines per rolling batch (and the most lines buffered per request).
+     */
+    @Min(1)
+    @Max(10_000)
+    private int streamBatchRecords = 500;
+
+    /**
+     * {@code POST /records:stream}: a batch is appended once its first line waited this long, even if it is not
+     * full and no further line arrived (and always at the end of the body).
+     */
+    @NotNull
+    private Duration streamMaxDelay = Duration.ofMillis(100);
+
+    public int getChunkRecords() {
+        return chunkRecords;
+    }
+
+    public void setChunkRecords(int chunkRecords) {
+        this.chunkRecords = chunkRecords;
+    }
+
+    public int getStreamBatchRecords() {
+        return streamBatchRecords;
+    }
+
+    public void setStreamBatchRecords(int streamBatchRecords) {
+        this.streamBatchRecords = streamBatchRecords;
+    }
+
+    public Duration getStreamMaxDelay() {
+        return streamMaxDelay;
+    }
+
+    public void setStreamMaxDelay(Duration streamMaxDelay) {
+        this.streamMaxDelay = streamMaxDelay;
+    }
+}
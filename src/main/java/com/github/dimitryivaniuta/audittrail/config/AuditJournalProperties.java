@@ -0,0 +1,105 @@
+package com.github.dimitryivaniuta.audittrail.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Local append journal configuration ({@code audit.journal.*}).
+ */
+@Validated
+@ConfigurationProperties(prefix = "audit.journal")
+public class AuditJournalProperties {
+
+    /**
+     * Whether {@code POST /records} honours {@code Prefer: respond-async} by journaling the append (202) and
+     * replaying it into the database in the background.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory holding journal segments and the replay checkpoint. Local to the instance (never shared): an
+     * instance replays only its own journal, also after a restart.
+     */
+    @NotBlank
+    private String path = "./data/journal";
+
+    /**
+     * Size of one memory-mapped segment file (also the largest entry).
+     */
+    @NotNull
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Segments kept at most; async appends are refused (503) while the unreplayed backlog fills them all.
+     */
+    @Min(2)
+    @Max(10_000)
+    private int maxSegments = 64;
+
+    /**
+     * Journal entries replayed per database batch.
+     */
+    @Min(1)
+    @Max(50_000)
+    private int replayBatchRecords = 500;
+
+    /**
+     * Pause before a failed replay batch is tried again (for example during a database failover).
+     */
+    @NotNull
+    private Duration replayRetryBackoff = Duration.ofSeconds(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public DataSize getSegmentSize() {
+        return segmentSize;
+    }
+
+    public void setSegmentSize(DataSize segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public int getMaxSegments() {
+        return maxSegments;
+    }
+
+    public void setMaxSegments(int maxSegments) {
+        this.maxSegments = maxSegments;
+    }
+
+    public int getReplayBatchRecords() {
+        return replayBatchRecords;
+    }
+
+    public void setReplayBatchRecords(int replayBatchRecords) {
+        this.replayBatchRecords = replayBatchRecords;
+    }
+
+    public Duration getReplayRetryBackoff() {
+        return replayRetryBackoff;
+    }
+
+    public void setReplayRetryBackoff(Duration replayRetryBackoff) {
+        this.replayRetryBackoff = replayRetryBackoff;
+    }
+}
@@ -0,0 +1,139 @@
+package com.github.dimitryivaniuta.audittrail.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Kafka ingest configuration ({@code audit.kafka.ingest.*}).
+ */
+@Validated
+@ConfigurationProperties(prefix = "audit.kafka.ingest")
+public class AuditKafkaIngestProperties {
+
+    /**
+     * Whether the ingest listener runs.
+     */
+    private boolean enabled;
+
+    /**
+     * Topic with audit events (JSON, keyed by tenant id).
+     */
+    @NotBlank
+    private String topic = "audit-events";
+
+    /**
+     * Consumer group.
+     */
+    @NotBlank
+    private String groupId = "audit-trail-ingest";
+
+    /**
+     * Consumer threads per instance; each owns some of the topic's partitions (more threads than partitions idle).
+     */
+    @Min(1)
+    @Max(64)
+    private int concurrency = 1;
+
+    /**
+     * Records per poll, i.e. the largest batch appended in one go.
+     */
+    @Min(1)
+    @Max(50_000)
+    private int maxPollRecords = 500;
+
+    /**
+     * Pause before a failed record is polled again (offsets from it on are not committed meanwhile).
+     */
+    @NotNull
+    private Duration retryBackoff = Duration.ofSeconds(5);
+
+    /**
+     * Retries of a failed record before it goes to the dead-letter topic; permanent failures are not retried.
+     */
+    @Min(0)
+    @Max(1_000)
+    private int retryAttempts = 12;
+
+    /**
+     * Dead-letter topic for records that cannot be appended (same key and value); {@code <topic>.DLT} if unset.
+     */
+    private String deadLetterTopic;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public int getMaxPollRecords() {
+        return maxPollRecords;
+    }
+
+    public void setMaxPollRecords(int maxPollRecords) {
+        this.maxPollRecords = maxPollRecords;
+    }
+
+    public Duration getRetryBackoff() {
+        return retryBackoff;
+    }
+
+    public void setRetryBackoff(Duration retryBackoff) {
+        this.retryBackoff = retryBackoff;
+    }
+
+    public int getRetryAttempts() {
+        return retryAttempts;
+    }
+
+    public void setRetryAttempts(int retryAttempts) {
+        this.retryAttempts = retryAttempts;
+    }
+
+    public String getDeadLetterTopic() {
+        return deadLetterTopic;
+    }
+
+    public void setDeadLetterTopic(String deadLetterTopic) {
+        this.deadLetterTopic = deadLetterTopic;
+    }
+
+    /**
+     * Returns the effective dead-letter topic.
+     *
+     * @return {@link #getDeadLetterTopic()}, or {@code <topic>.DLT}
+     */
+    public String resolveDeadLetterTopic() {
+        return deadLetterTopic != null && !deadLetterTopic.isBlank() ? deadLetterTopic : topic + ".DLT";
+    }
+}
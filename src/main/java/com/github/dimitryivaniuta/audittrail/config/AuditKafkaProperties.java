@@ -0,0 +1,88 @@
+package com.github.dimitryivaniuta.audittrail.config;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Kafka publishing of appended records ({@code audit.kafka.*}; the ingest side is {@link AuditKafkaIngestProperties}).
+ *
+ * <p>The producer settings below apply unless {@code spring.kafka.producer.properties} sets the same Kafka
+ * property explicitly.</p>
+ */
+@Validated
+@ConfigurationProperties(prefix = "audit.kafka")
+public class AuditKafkaProperties {
+
+    /**
+     * Whether appended records are published.
+     */
+    private boolean enabled;
+
+    /**
+     * Topic for appended-record events (binary, see {@code AuditEventSerializer}; keyed by tenant id).
+     */
+    @NotBlank
+    private String topic = "audit-records";
+
+    /**
+     * How long the producer waits to fill a batch ({@code linger.ms}).
+     */
+    @NotNull
+    private Duration linger = Duration.ofMillis(20);
+
+    /**
+     * Producer batch size per partition ({@code batch.size}).
+     */
+    @NotNull
+    private DataSize batchSize = DataSize.ofKilobytes(256);
+
+    /**
+     * Batch compression ({@code compression.type}: none, gzip, snappy, lz4 or zstd).
+     */
+    @NotBlank
+    private String compression = "lz4";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public Duration getLinger() {
+        return linger;
+    }
+
+    public void setLinger(Duration linger) {
+        this.linger = linger;
+    }
+
+    public DataSize getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(DataSize batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public String getCompression() {
+        return compression;
+    }
+
+    public void setCompression(String compression) {
+        this.compression = compression;
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.dimitryivaniuta.audittrail.config;
+
+import jakarta.validation.constraints.Min;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Parallel chain lanes for hot tenants ({@code audit.lanes.*}).
+ */
+@Validated
+@ConfigurationProperties(prefix = "audit.lanes")
+public class AuditLaneProperties {
+
+    /** Upper bound for the lane count of one tenant. */
+    public static final int MAX_LANES = 64;
+
+    /**
+     * Tenant -> lane count (2..64). The count is fixed on the tenant's next append and cannot be changed
+     * afterwards; tenants not listed keep a single chain.
+     */
+    private Map<String, Integer> tenants = new HashMap<>();
+
+    /**
+     * How often laned chains get an anchor record that binds the lane tips together.
+     */
+    @Min(1000)
+    private long anchorIntervalMs = 60_000;
+
+    /**
+     * Lane count configured for a tenant.
+     *
+     * @param tenantId tenant
+     * @return lane count (1 when the tenant is not listed)
+     */
+    public int lanesFor(String tenantId) {
+        Integer lanes = tenants.get(tenantId);
+        if (lanes == null || lanes <= 1) {
+            return 1;
+        }
+        if (lanes > MAX_LANES) {
+            throw new IllegalStateException("audit.lanes.tenants." + tenantId + " must be at most " + MAX_LANES);
+        }
+        return lanes;
+    }
+
+    public Map<String, Integer> getTenants() {
+        return tenants;
+    }
+
+    public void setTenants(Map<String, Integer> tenants) {
+        this.tenants = tenants;
+    }
+
+    public long getAnchorIntervalMs() {
+        return anchorIntervalMs;
+    }
+
+    public void setAnchorIntervalMs(long anchorIntervalMs) {
+        this.anchorIntervalMs = anchorIntervalMs;
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.dimitryivaniuta.audittrail.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Partition maintenance configuration ({@code audit.partitions.*}).
+ */
+@Validated
+@ConfigurationProperties(prefix = "audit.partitions")
+public class AuditPartitionProperties {
+
+    /**
+     * Whether this instance runs partition maintenance.
+     */
+    private boolean maintenanceEnabled = true;
+
+    /**
+     * Monthly partitions kept ready beyond the current month.
+     */
+    @Min(1)
+    @Max(24)
+    private int monthsAhead = 3;
+
+    /**
+     * Tenant hash sub-partitions per month (0 or 1 = none). Applies to months created from now on.
+     */
+    @Min(0)
+    @Max(64)
+    private int tenantHashPartitions = 0;
+
+    /**
+     * Maintenance schedule (Spring cron, server time zone).
+     */
+    @NotBlank
+    private String cron = "0 15 3 * * *";
+
+    public boolean isMaintenanceEnabled() {
+        return maintenanceEnabled;
+    }
+
+    public void setMaintenanceEnabled(boolean maintenanceEnabled) {
+        this.maintenanceEnabled = maintenanceEnabled;
+    }
+
+    public int getMonthsAhead() {
+        return monthsAhead;
+    }
+
+    public void setMonthsAhead(int monthsAhead) {
+        this.monthsAhead = monthsAhead;
+    }
+
+    public int getTenantHashPartitions() {
+        return tenantHashPartitions;
+    }
+
+    public void setTenantHashPartitions(int tenantHashPartitions) {
+        this.tenantHashPartitions = tenantHashPartitions;
+    }
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.dimitryivaniuta.audittrail.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Content-addressed payload store configuration ({@code audit.payloads.*}).
+ */
+@Validated
+@ConfigurationProperties(prefix = "audit.payloads")
+public class AuditPayloadProperties {
+
+    /**
+     * Whether large payloads are stored once per tenant and referenced by digest. Reading referenced
+     * payloads does not depend on it.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Canonical payloads of at least this many UTF-8 bytes are stored by reference; smaller ones stay inline.
+     */
+    @Min(1)
+    private int minBytes = 2048;
+
+    /**
+     * Upper bound on the decompressed payloads kept in memory, in UTF-16 chars.
+     */
+    @Min(0)
+    private long cacheMaxChars = 8_000_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMinBytes() {
+        return minBytes;
+    }
+
+    public void setMinBytes(int minBytes) {
+        this.minBytes = minBytes;
+    }
+
+    public long getCacheMaxChars() {
+        return cacheMaxChars;
+    }
+
+    public void setCacheMaxChars(long cacheMaxChars) {
+        this.cacheMaxChars = cacheMaxChars;
+    }
+}
@@ -0,0 +1,171 @@
+package com.github.dimitryivaniuta.audittrail.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Read replica configuration ({@code audit.replicas.*}).
+ */
+@Validated
+@ConfigurationProperties(prefix = "audit.replicas")
+public class AuditReplicaProperties {
+
+    /**
+     * Whether auditor reads (search, verify, export) may be served by the replicas below.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Replicas lagging more than this are skipped; reads then go to the primary.
+     */
+    @NotNull
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * How long a chain verification waits for a replica to replay up to the tenant's current chain head
+     * before it falls back to the primary.
+     */
+    @NotNull
+    private Duration verifyWait = Duration.ofSeconds(2);
+
+    /**
+     * Replication lag polling interval in milliseconds.
+     */
+    @Min(100)
+    private long lagCheckIntervalMs = 1000;
+
+    /**
+     * Replica databases.
+     */
+    @Valid
+    private List<Replica> replicas = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    public Duration getVerifyWait() {
+        return verifyWait;
+    }
+
+    public void setVerifyWait(Duration verifyWait) {
+        this.verifyWait = verifyWait;
+    }
+
+    public long getLagCheckIntervalMs() {
+        return lagCheckIntervalMs;
+    }
+
+    public void setLagCheckIntervalMs(long lagCheckIntervalMs) {
+        this.lagCheckIntervalMs = lagCheckIntervalMs;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(List<Replica> replicas) {
+        this.replicas = replicas;
+    }
+
+    /**
+     * One streaming replica of a shard primary.
+     */
+    public static class Replica {
+
+        /**
+         * Unique replica name (metrics, logs).
+         */
+        @NotBlank
+        private String name;
+
+        /**
+         * Shard whose primary this replica follows ({@code default} without sharding).
+         */
+        @NotBlank
+        private String shard = "default";
+
+        /**
+         * JDBC URL.
+         */
+        @NotBlank
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /**
+         * Connection pool size.
+         */
+        @Min(1)
+        private int maximumPoolSize = 10;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getShard() {
+            return shard;
+        }
+
+        public void setShard(String shard) {
+            this.shard = shard;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+    }
+}
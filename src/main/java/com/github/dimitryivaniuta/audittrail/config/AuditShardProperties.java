@@ -0,0 +1,175 @@
+package com.github.dimitryivaniuta.audittrail.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Tenant sharding configuration ({@code audit.shards.*}).
+ *
+ * <p>When disabled (default) the single {@code spring.datasource} database is the only shard.</p>
+ */
+@Validated
+@ConfigurationProperties(prefix = "audit.shards")
+public class AuditShardProperties {
+
+    /**
+     * Whether tenants are routed to the databases listed in {@code shards}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Record ids are allocated in residue classes: shard ids are {@code id-offset (mod id-stride)}, so ids stay
+     * globally unique and a moved tenant keeps its ids. Must be larger than the number of shards ever used.
+     */
+    @Min(1)
+    @Max(1024)
+    private int idStride = 16;
+
+    /**
+     * Points per shard on the consistent-hash ring (tenants not listed in {@code tenants}).
+     */
+    @Min(1)
+    @Max(4096)
+    private int virtualNodes = 128;
+
+    /**
+     * Shard databases.
+     */
+    @Valid
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Static tenant -> shard name assignments; they take precedence over the hash ring.
+     */
+    private Map<String, String> tenants = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getIdStride() {
+        return idStride;
+    }
+
+    public void setIdStride(int idStride) {
+        this.idStride = idStride;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    public void setVirtualNodes(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    public List<Shard> getShards() {
+        return shards;
+    }
+
+    public void setShards(List<Shard> shards) {
+        this.shards = shards;
+    }
+
+    public Map<String, String> getTenants() {
+        return tenants;
+    }
+
+    public void setTenants(Map<String, String> tenants) {
+        this.tenants = tenants;
+    }
+
+    /**
+     * One shard database.
+     */
+    public static class Shard {
+
+        /**
+         * Stable shard name (used in the tenant mapping and on the hash ring; do not rename).
+         */
+        @NotBlank
+        private String name;
+
+        /**
+         * JDBC URL.
+         */
+        @NotBlank
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /**
+         * Residue of this shard's record ids modulo {@code id-stride} (defaults to the position in the list).
+         */
+        @Min(0)
+        private Integer idOffset;
+
+        /**
+         * Connection pool size.
+         */
+        @Min(1)
+        private int maximumPoolSize = 10;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public Integer getIdOffset() {
+            return idOffset;
+        }
+
+        public void setIdOffset(Integer idOffset) {
+            this.idOffset = idOffset;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.github.dimitryivaniuta.audittrail.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Streaming read configuration ({@code audit.stream.*}).
+ */
+@Validated
+@ConfigurationProperties(prefix = "audit.stream")
+public class AuditStreamProperties {
+
+    /**
+     * Rows fetched per cursor round trip; bounds memory regardless of result size.
+     */
+    @Min(1)
+    private int fetchSize = 1000;
+
+    /**
+     * Hard upper bound of records a single streaming request may return.
+     */
+    @Min(1)
+    private long maxRecords = 1_000_000;
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public long getMaxRecords() {
+        return maxRecords;
+    }
+
+    public void setMaxRecords(long maxRecords) {
+        this.maxRecords = maxRecords;
+    }
+}
@@ -1,31 +1,109 @@
 package com.github.dimitryivaniuta.audittrail.config;
 
-import java.time.Duration;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.dimitryivaniuta.audittrail.cache.AuditRecordCodec;
+import com.github.dimitryivaniuta.audittrail.cache.TieredAuditRecordCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 /**
  * Cache configuration.
  *
- * <p>Production profile uses Redis via Spring Boot auto-configuration.
- * The {@code test} profile uses an in-memory cache to keep tests deterministic.</p>
+ * <p>{@code audit-record} is a two-tier cache: a size-bounded Caffeine L1 on the heap in front of a
+ * shared L2. Production uses Redis as L2; the {@code test} profile uses an in-memory map to keep tests
+ * deterministic. Both tiers store the compact binary form produced by {@link AuditRecordCodec}.</p>
+ *
+ * <p>{@code chain-status} is local only and expires after {@code audit.cache.chain-status-ttl}.</p>
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    /**
+     * Record cache name.
+     */
+    public static final String AUDIT_RECORD_CACHE = "audit-record";
+
+    /**
+     * Chain status / count estimate cache name.
+     */
+    public static final String CHAIN_STATUS_CACHE = "chain-status";
+
+    /**
+     * Redis-backed cache manager.
+     *
+     * @param connectionFactory redis connection factory
+     * @param properties cache properties
+     * @param codec record codec
+     * @param registry meter registry
+     * @return cache manager
+     */
+    @Bean
+    @Profile("!test")
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, AuditCacheProperties properties,
+                                     AuditRecordCodec codec, MeterRegistry registry) {
+        RedisCacheManager redis = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(properties.getL2Ttl())
+                        .disableCachingNullValues()
+                        .serializeValuesWith(SerializationPair.fromSerializer(RedisSerializer.byteArray())))
+                .build();
+        return cacheManager(List.of(
+                recordCache(redis.getCache(AUDIT_RECORD_CACHE), properties, codec, registry),
+                chainStatusCache(properties)
+        ));
+    }
+
     /**
      * In-memory cache manager for tests.
      *
+     * @param properties cache properties
+     * @param codec record codec
+     * @param registry meter registry
      * @return cache manager
      */
     @Bean
     @Profile("test")
-    public CacheManager inMemoryCacheManager() {
-        return new ConcurrentMapCacheManager("audit-record");
+    public CacheManager inMemoryCacheManager(AuditCacheProperties properties, AuditRecordCodec codec, MeterRegistry registry) {
+        return cacheManager(List.of(
+                recordCache(new ConcurrentMapCache(AUDIT_RECORD_CACHE, false), properties, codec, registry),
+                chainStatusCache(properties)
+        ));
+    }
+
+    private static TieredAuditRecordCache recordCache(Cache l2, AuditCacheProperties properties,
+                                                      AuditRecordCodec codec, MeterRegistry registry) {
+        com.github.benmanes.caffeine.cache.Cache<Object, byte[]> l1 = Caffeine.newBuilder()
+                .maximumWeight(properties.getL1MaxSize().toBytes())
+                .weigher((Object key, byte[] value) -> value.length)
+                .build();
+        return new TieredAuditRecordCache(AUDIT_RECORD_CACHE, l1, l2, codec, registry);
+    }
+
+    private static CaffeineCache chainStatusCache(AuditCacheProperties properties) {
+        return new CaffeineCache(CHAIN_STATUS_CACHE, Caffeine.newBuilder()
+                .expireAfterWrite(properties.getChainStatusTtl())
+                .maximumSize(10_000)
+                .build(), false);
+    }
+
+    private static CacheManager cacheManager(List<Cache> caches) {
+        SimpleCacheManager manager = new SimpleCacheManager();
+        manager.setCaches(caches);
+        return manager;
     }
 }
@@ -1,5 +1,6 @@
 package com.github.dimitryivaniuta.audittrail.config;
 
+import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.json.JsonMapper;
@@ -26,9 +27,8 @@ public class JacksonConfig {
         return JsonMapper.builder()
                 .addModule(new JavaTimeModule())
                 .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
                 .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
-                .build()
-                .copy()
-                .enable(SerializationFeature.SORT_PROPERTIES_ALPHABETICALLY);
+                .build();
     }
 }
@@ -0,0 +1,96 @@
+package com.github.dimitryivaniuta.audittrail.config;
+
+import com.github.dimitryivaniuta.audittrail.service.TenantMovedException;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
+
+/**
+ * Listener container for the Kafka ingest ({@code audit.kafka.ingest.enabled=true}).
+ *
+ * <p>Batch listener with auto-commit off: offsets of a poll are committed after the listener returns, i.e.
+ * after the batch's database transactions committed. The listener reports a failure with the index of the
+ * failing record; the error handler commits the records before it, retries it every {@code retry-backoff} up to
+ * {@code retry-attempts} times and then publishes it to the dead-letter topic, after which consumption goes on.
+ * Invalid events, moved tenants and constraint violations are not retried. Appends are idempotent on
+ * {@code eventId}, so a retried or redelivered record does not write twice.</p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "audit.kafka.ingest", name = "enabled", havingValue = "true")
+public class KafkaIngestConfig implements DisposableBean {
+
+    private DefaultKafkaProducerFactory<String, String> deadLetterProducers;
+
+    /**
+     * Container factory bean name.
+     */
+    public static final String CONTAINER_FACTORY = "auditIngestContainerFactory";
+
+    /**
+     * Batch container factory for the ingest topic.
+     *
+     * @param kafkaProperties Spring Boot Kafka settings (bootstrap servers, security, client overrides)
+     * @param sslBundles SSL bundles referenced by the Kafka settings
+     * @param properties ingest settings
+     * @return container factory
+     */
+    @Bean(CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<String, String> auditIngestContainerFactory(
+            KafkaProperties kafkaProperties, ObjectProvider<SslBundles> sslBundles, AuditKafkaIngestProperties properties) {
+        Map<String, Object> consumer = kafkaProperties.buildConsumerProperties(sslBundles.getIfAvailable());
+        consumer.put(ConsumerConfig.GROUP_ID_CONFIG, properties.getGroupId());
+        consumer.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        consumer.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, properties.getMaxPollRecords());
+        // Only events of committed producer transactions; a new group starts at the beginning of the topic.
+        consumer.putIfAbsent(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        consumer.putIfAbsent(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(consumer, new StringDeserializer(), new StringDeserializer()));
+        factory.setBatchListener(true);
+        factory.setConcurrency(properties.getConcurrency());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.setCommonErrorHandler(errorHandler(kafkaProperties, sslBundles, properties));
+        return factory;
+    }
+
+    private DefaultErrorHandler errorHandler(KafkaProperties kafkaProperties, ObjectProvider<SslBundles> sslBundles,
+                                             AuditKafkaIngestProperties properties) {
+        Map<String, Object> producer = kafkaProperties.buildProducerProperties(sslBundles.getIfAvailable());
+        deadLetterProducers = new DefaultKafkaProducerFactory<>(producer, new StringSerializer(), new StringSerializer());
+        String deadLetterTopic = properties.resolveDeadLetterTopic();
+        // Partition -1: the producer partitions by key, so a tenant's dead letters stay in order too.
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(new KafkaTemplate<>(deadLetterProducers),
+                (record, ex) -> new TopicPartition(deadLetterTopic, -1));
+        DefaultErrorHandler handler = new DefaultErrorHandler(recoverer,
+                new FixedBackOff(properties.getRetryBackoff().toMillis(), properties.getRetryAttempts()));
+        handler.addNotRetryableExceptions(IllegalArgumentException.class, TenantMovedException.class,
+                DataIntegrityViolationException.class);
+        return handler;
+    }
+
+    @Override
+    public void destroy() {
+        if (deadLetterProducers != null) {
+            deadLetterProducers.destroy();
+        }
+    }
+}
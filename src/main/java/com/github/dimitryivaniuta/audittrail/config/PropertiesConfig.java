@@ -8,7 +8,21 @@ import org.springframework.context.annotation.Configuration;
  */
 @Configuration
 @EnableConfigurationProperties({
-        AuditHmacProperties.class
+        AuditHmacProperties.class,
+        AuditCacheProperties.class,
+        AuditStreamProperties.class,
+        AuditPartitionProperties.class,
+        AuditArchiveProperties.class,
+        AuditShardProperties.class,
+        AuditReplicaProperties.class,
+        AuditPayloadProperties.class,
+        AuditIngestProperties.class,
+        AuditLaneProperties.class,
+        AuditAppendProperties.class,
+        AuditKafkaIngestProperties.class,
+        AuditJournalProperties.class,
+        AuditAdmissionProperties.class,
+        AuditKafkaProperties.class
 })
 public class PropertiesConfig {
 }
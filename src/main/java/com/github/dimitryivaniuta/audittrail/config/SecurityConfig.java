@@ -19,6 +19,7 @@ import org.springframework.security.web.SecurityFilterChain;
  * <ul>
  *   <li>Writers (role AUDIT_WRITER) can append audit records.</li>
  *   <li>Auditors (role AUDITOR) can read/verify/export audit records.</li>
+ *   <li>Admins (role AUDIT_ADMIN) can run operational tasks such as moving a tenant to another shard.</li>
  * </ul>
  */
 @Configuration
@@ -38,8 +39,10 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/actuator/health", "/actuator/info").permitAll()
-                .requestMatchers(HttpMethod.POST, "/api/audit/records").hasRole("AUDIT_WRITER")
+                .requestMatchers(HttpMethod.POST, "/api/audit/records", "/api/audit/records:stream").hasRole("AUDIT_WRITER")
+                .requestMatchers(HttpMethod.GET, "/api/audit/journal").hasAnyRole("AUDIT_WRITER", "AUDITOR")
                 .requestMatchers("/api/audit/**").hasRole("AUDITOR")
+                .requestMatchers("/api/admin/**").hasRole("AUDIT_ADMIN")
                 .anyRequest().authenticated()
             )
             .httpBasic(Customizer.withDefaults());
@@ -0,0 +1,143 @@
+package com.github.dimitryivaniuta.audittrail.config;
+
+import com.github.dimitryivaniuta.audittrail.replica.ReadReplicas;
+import com.github.dimitryivaniuta.audittrail.shard.ShardIdSequence;
+import com.github.dimitryivaniuta.audittrail.shard.ShardRouter;
+import com.github.dimitryivaniuta.audittrail.shard.TenantRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Tenant shard and read replica routing.
+ *
+ * <p>Without {@code audit.shards.enabled} and {@code audit.replicas.enabled} the auto-configured data source is
+ * the only database. Otherwise every shard primary (or the single {@code spring.datasource}) gets its own pool,
+ * the primary {@link DataSource} bean routes by {@code TenantShardContext} and then by {@code ReadTarget}, and
+ * Flyway migrates each shard primary in turn.</p>
+ */
+@Configuration
+public class ShardingConfig {
+
+    /**
+     * Single database, no replicas (default).
+     */
+    @Configuration
+    @ConditionalOnExpression("!${audit.shards.enabled:false} and !${audit.replicas.enabled:false}")
+    static class SingleDatabase {
+
+        @Bean(destroyMethod = "")
+        ShardRouter shardRouter(DataSource dataSource) {
+            return ShardRouter.single(dataSource);
+        }
+
+        @Bean
+        ReadReplicas readReplicas() {
+            return ReadReplicas.none();
+        }
+    }
+
+    /**
+     * Several shard databases and/or read replicas.
+     */
+    @Configuration
+    @ConditionalOnExpression("${audit.shards.enabled:false} or ${audit.replicas.enabled:false}")
+    static class Routed {
+
+        @Bean(destroyMethod = "close")
+        ShardRouter shardRouter(AuditShardProperties properties, DataSourceProperties dataSourceProperties) {
+            if (!properties.isEnabled()) {
+                HikariDataSource ds = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+                return new ShardRouter(Map.of(ShardRouter.DEFAULT_SHARD, ds), Map.of(), 1);
+            }
+            if (properties.getShards().size() < 2) {
+                throw new IllegalStateException("audit.shards.enabled=true needs at least two audit.shards.shards entries");
+            }
+            Map<String, DataSource> pools = new LinkedHashMap<>();
+            for (AuditShardProperties.Shard shard : properties.getShards()) {
+                HikariDataSource ds = DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .url(shard.getUrl())
+                        .username(shard.getUsername())
+                        .password(shard.getPassword())
+                        .build();
+                ds.setPoolName("audit-shard-" + shard.getName());
+                ds.setMaximumPoolSize(shard.getMaximumPoolSize());
+                if (pools.put(shard.getName(), ds) != null) {
+                    throw new IllegalStateException("Duplicate shard name: " + shard.getName());
+                }
+            }
+            return new ShardRouter(pools, properties.getTenants(), properties.getVirtualNodes());
+        }
+
+        @Bean(destroyMethod = "close")
+        ReadReplicas readReplicas(AuditReplicaProperties properties, ShardRouter router) {
+            if (!properties.isEnabled()) {
+                return ReadReplicas.none();
+            }
+            for (AuditReplicaProperties.Replica replica : properties.getReplicas()) {
+                if (!router.shardNames().contains(replica.getShard())) {
+                    throw new IllegalStateException("Replica " + replica.getName() + " follows unknown shard " + replica.getShard());
+                }
+            }
+            ReadReplicas replicas = ReadReplicas.create(properties);
+            replicas.refreshLag();
+            return replicas;
+        }
+
+        @Bean
+        @Primary
+        DataSource dataSource(ShardRouter router, ReadReplicas replicas) {
+            Map<String, DataSource> shards = new LinkedHashMap<>();
+            router.shardNames().forEach(name -> shards.put(name, replicas.wrap(name, router.dataSource(name))));
+            DataSource routed = router.isSharded() ? new TenantRoutingDataSource(shards) : shards.values().iterator().next();
+            return new LazyConnectionDataSourceProxy(routed);
+        }
+
+        /**
+         * Migrates every shard primary with the auto-configured Flyway settings, then aligns its id sequence.
+         */
+        @Bean
+        FlywayMigrationStrategy shardedFlywayMigration(AuditShardProperties properties, ShardRouter router) {
+            Map<String, Integer> offsets = properties.isEnabled() ? idOffsets(properties) : Map.of();
+            return flyway -> {
+                for (String shard : router.shardNames()) {
+                    DataSource ds = router.dataSource(shard);
+                    Flyway.configure().configuration(flyway.getConfiguration()).dataSource(ds).load().migrate();
+                    if (offsets.containsKey(shard)) {
+                        ShardIdSequence.align(new JdbcTemplate(ds), properties.getIdStride(), offsets.get(shard));
+                    }
+                }
+            };
+        }
+
+        private static Map<String, Integer> idOffsets(AuditShardProperties properties) {
+            Map<String, Integer> offsets = new LinkedHashMap<>();
+            Set<Integer> used = new HashSet<>();
+            int index = 0;
+            for (AuditShardProperties.Shard shard : properties.getShards()) {
+                int offset = shard.getIdOffset() != null ? shard.getIdOffset() : index;
+                if (offset >= properties.getIdStride() || !used.add(offset)) {
+                    throw new IllegalStateException("Shard " + shard.getName() + ": id-offset " + offset
+                            + " must be unique and below audit.shards.id-stride=" + properties.getIdStride());
+                }
+                offsets.put(shard.getName(), offset);
+                index++;
+            }
+            return offsets;
+        }
+    }
+}
@@ -17,6 +17,8 @@ import org.springframework.security.provisioning.InMemoryUserDetailsManager;
  *   <li>{@code audit.security.writer.password}</li>
  *   <li>{@code audit.security.auditor.username}</li>
  *   <li>{@code audit.security.auditor.password}</li>
+ *   <li>{@code audit.security.admin.username}</li>
+ *   <li>{@code audit.security.admin.password}</li>
  * </ul>
  */
 @Configuration
@@ -28,7 +30,9 @@ public class UserConfig {
             @Value("${audit.security.writer.username:writer}") String writerUser,
             @Value("${audit.security.writer.password:writer-pass}") String writerPass,
             @Value("${audit.security.auditor.username:auditor}") String auditorUser,
-            @Value("${audit.security.auditor.password:auditor-pass}") String auditorPass) {
+            @Value("${audit.security.auditor.password:auditor-pass}") String auditorPass,
+            @Value("${audit.security.admin.username:admin}") String adminUser,
+            @Value("${audit.security.admin.password:admin-pass}") String adminPass) {
 
         return new InMemoryUserDetailsManager(
                 User.withUsername(writerUser)
@@ -38,6 +42,10 @@ public class UserConfig {
                 User.withUsername(auditorUser)
                         .password(passwordEncoder.encode(auditorPass))
                         .roles("AUDITOR")
+                        .build(),
+                User.withUsername(adminUser)
+                        .password(passwordEncoder.encode(adminPass))
+                        .roles("AUDIT_ADMIN")
                         .build()
         );
     }
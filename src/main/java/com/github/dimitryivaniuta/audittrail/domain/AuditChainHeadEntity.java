@@ -15,7 +15,8 @@ import lombok.Setter;
  * <p>Instead of locking the "last audit record" row (which becomes expensive with large tables),
  * the service locks a single small row per tenant and updates it on each append.</p>
  *
- * <p>This row stores the last known {@code seq} and {@code hash} for the tenant chain.</p>
+ * <p>This row stores the last known {@code seq} and {@code hash} for the tenant chain. A laned chain keeps
+ * one head per lane in {@code audit_lane_heads}; here it stores the latest anchor record instead.</p>
  */
 @Entity
 @Table(name = "audit_chain_heads")
@@ -34,8 +35,8 @@ public class AuditChainHeadEntity {
     private long lastSeq;
 
     /** Hash of the last appended record (or null for an empty chain). */
-    @Column(name = "last_hash", length = 128)
-    private String lastHash;
+    @Column(name = "last_hash")
+    private byte[] lastHash;
 
     /** Id of the last appended audit record (optional, informational). */
     @Column(name = "last_record_id")
@@ -44,4 +45,16 @@ public class AuditChainHeadEntity {
     /** Last update timestamp. */
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
+
+    /** Shard the tenant was moved to; set on the old shard, where appends are then refused. */
+    @Column(name = "moved_to", length = 64)
+    private String movedTo;
+
+    /** Number of parallel lanes (1 = a single chain; see {@code audit_lane_heads}). */
+    @Column(name = "lanes", nullable = false)
+    private int lanes = 1;
+
+    /** Seq at which a laned chain forks into its lanes. */
+    @Column(name = "lane_base", nullable = false)
+    private long laneBase;
 }
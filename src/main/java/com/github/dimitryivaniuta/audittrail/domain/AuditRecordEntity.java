@@ -1,12 +1,15 @@
 package com.github.dimitryivaniuta.audittrail.domain;
 
+import com.github.dimitryivaniuta.audittrail.payload.AuditPayloadListener;
 import jakarta.persistence.*;
 import java.time.Instant;
 import java.util.UUID;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnTransformer;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
 
 /**
  * Append-only audit record.
@@ -17,17 +20,24 @@ import org.hibernate.annotations.CreationTimestamp;
  *   <li>{@code hash} stores the current record hash computed over record fields + {@code prevHash}.</li>
  * </ul>
  *
- * <p>DB-level triggers (Flyway migration) reject UPDATE/DELETE operations to enforce immutability.</p>
+ * <p>DB-level triggers (Flyway migration) reject UPDATE/DELETE operations to enforce immutability; the
+ * entity is {@link Immutable} so Hibernate never attempts them either.</p>
+ *
+ * <p>Expression, GIN and BRIN indexes used by search are declared in the Flyway migrations only.</p>
+ *
+ * <p>The table is range-partitioned by {@code created_at} month (primary key {@code (id, created_at)}).
+ * Uniqueness of {@code (tenant_id, seq)} and {@code (tenant_id, event_id)} is enforced by the
+ * {@code audit_record_keys} table, filled by an insert trigger.</p>
  */
 @Entity
 @Table(name = "audit_records",
         indexes = {
                 @Index(name = "idx_audit_records_tenant_id_id", columnList = "tenant_id, id"),
-                @Index(name = "idx_audit_records_created_at", columnList = "created_at")
-        },
-        uniqueConstraints = {
-                @UniqueConstraint(name = "uq_audit_records_tenant_event_id", columnNames = {"tenant_id", "event_id"})
+                @Index(name = "idx_audit_records_tenant_created_at", columnList = "tenant_id, created_at"),
+                @Index(name = "idx_audit_records_tenant_action_seq", columnList = "tenant_id, action, seq")
         })
+@Immutable
+@EntityListeners(AuditPayloadListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -91,10 +101,21 @@ public class AuditRecordEntity {
 
     /**
      * Additional record details stored as JSONB.
+     *
+     * <p>Bound as text and cast on write; payload queries use JSONB operators against this column.
+     * Null in the table when the payload is stored by reference ({@link #payloadDigest}); loaded records
+     * always carry it.</p>
      */
-    @Column(name = "data", nullable = false, columnDefinition = "jsonb")
+    @ColumnTransformer(write = "?::jsonb")
+    @Column(name = "data", columnDefinition = "jsonb")
     private String dataJson;
 
+    /**
+     * SHA-256 of the canonical payload when it is kept in {@code audit_payloads} instead of {@code data}.
+     */
+    @Column(name = "payload_digest")
+    private byte[] payloadDigest;
+
     /**
      * Timestamp assigned on insert.
      */
@@ -115,14 +136,14 @@ public class AuditRecordEntity {
     private String keyId;
 
     /**
-     * Previous record hash (per tenant).
+     * Previous record hash (per tenant; 32 bytes, null for the genesis record).
      */
-    @Column(name = "prev_hash", length = 128)
-    private String prevHash;
+    @Column(name = "prev_hash")
+    private byte[] prevHash;
 
     /**
-     * Current record hash (hex).
+     * Current record hash (32 bytes; hex only on the wire, see {@code Hashes}).
      */
-    @Column(name = "hash", nullable = false, length = 128)
-    private String hash;
+    @Column(name = "hash", nullable = false)
+    private byte[] hash;
 }
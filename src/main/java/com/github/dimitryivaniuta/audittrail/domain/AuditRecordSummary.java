@@ -0,0 +1,43 @@
+package com.github.dimitryivaniuta.audittrail.domain;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Read-only view of an audit record without its {@code data} payload.
+ *
+ * <p>List and search screens only need record metadata. Leaving the JSONB column out of the select list
+ * avoids TOAST reads and payload parsing for every row.</p>
+ *
+ * @param id id
+ * @param seq per-tenant sequence
+ * @param tenantId tenant
+ * @param eventId event id
+ * @param actor actor
+ * @param action action
+ * @param resourceType resource type
+ * @param resourceId resource id
+ * @param correlationId correlation id
+ * @param createdAt created at
+ * @param hashAlg hash algorithm
+ * @param keyId key id
+ * @param prevHash previous hash (hex)
+ * @param hash hash (hex)
+ */
+public record AuditRecordSummary(
+        long id,
+        long seq,
+        String tenantId,
+        UUID eventId,
+        String actor,
+        String action,
+        String resourceType,
+        String resourceId,
+        String correlationId,
+        Instant createdAt,
+        String hashAlg,
+        String keyId,
+        String prevHash,
+        String hash
+) {
+}
@@ -7,7 +7,8 @@ import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
-import java.util.HexFormat;
+import java.util.HashMap;
+import java.util.Map;
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import org.springframework.stereotype.Component;
@@ -28,16 +29,21 @@ public class AuditHashingService {
     public static final String HASH_ALG = "HmacSHA256";
 
     private final ObjectMapper objectMapper;
+    private final CanonicalJsonService canonicalJsonService;
     private final AuditHmacProperties hmacProperties;
+    private final ThreadLocal<Map<String, Mac>> macs = ThreadLocal.withInitial(HashMap::new);
 
     /**
      * Creates the service.
      *
      * @param objectMapper deterministic object mapper
+     * @param canonicalJsonService canonicalizes stored data before hashing
      * @param hmacProperties HMAC properties
      */
-    public AuditHashingService(ObjectMapper objectMapper, AuditHmacProperties hmacProperties) {
+    public AuditHashingService(ObjectMapper objectMapper, CanonicalJsonService canonicalJsonService,
+                               AuditHmacProperties hmacProperties) {
         this.objectMapper = objectMapper;
+        this.canonicalJsonService = canonicalJsonService;
         this.hmacProperties = hmacProperties;
     }
 
@@ -51,37 +57,60 @@ public class AuditHashingService {
     }
 
     /**
-     * Computes record hash (hex) for the given payload and key id.
+     * Computes the record hash for the given payload and key id.
      *
      * @param keyId key id
      * @param payload payload
-     * @return hex hash
+     * @return 32-byte hash
      */
-    public String computeHashHex(String keyId, AuditHashPayload payload) {
+    public byte[] computeHash(String keyId, AuditHashPayload payload) {
         byte[] data = payload.toCanonicalString(objectMapper).getBytes(StandardCharsets.UTF_8);
-        byte[] mac = hmac(keyId, data);
-        return HexFormat.of().formatHex(mac);
+        return mac(keyId).doFinal(data);
     }
 
     /**
      * Recomputes the record hash for an existing entity (using its stored key id).
      *
+     * <p>{@code data} is canonicalized again first: an entity loaded from the database carries the JSONB
+     * rendering of it, not the canonical text the hash was computed over.</p>
+     *
      * @param entity record entity
-     * @return recomputed hash hex
+     * @return recomputed 32-byte hash
      */
-    public String recomputeHashHex(AuditRecordEntity entity) {
-        AuditHashPayload payload = AuditHashPayload.fromEntity(entity);
-        return computeHashHex(entity.getKeyId(), payload);
+    public byte[] recomputeHash(AuditRecordEntity entity) {
+        AuditHashPayload stored = AuditHashPayload.fromEntity(entity);
+        AuditHashPayload payload = new AuditHashPayload(stored.tenantId(), stored.eventId(), stored.actor(),
+                stored.action(), stored.resourceType(), stored.resourceId(), stored.correlationId(),
+                stored.createdAt(), stored.prevHash(), canonicalData(stored.dataJson()));
+        return computeHash(entity.getKeyId(), payload);
+    }
+
+    private String canonicalData(String dataJson) {
+        if (dataJson == null) {
+            return null;
+        }
+        try {
+            return canonicalJsonService.recanonicalize(dataJson);
+        } catch (IllegalArgumentException e) {
+            // Not an object: hash it as stored and let the comparison report the mismatch.
+            return dataJson;
+        }
     }
 
     /**
-     * Computes HMAC bytes with the key referenced by {@code keyId}.
+     * Returns this thread's {@link Mac} for {@code keyId}, initialized once.
+     *
+     * <p>Verification recomputes one HMAC per record; looking up the provider and expanding the key each
+     * time cost more than the MAC itself. {@code doFinal} resets the instance for the next record.</p>
      *
      * @param keyId key id
-     * @param data message bytes
-     * @return mac bytes
+     * @return initialized mac
      */
-    private byte[] hmac(String keyId, byte[] data) {
+    private Mac mac(String keyId) {
+        return macs.get().computeIfAbsent(keyId, this::newMac);
+    }
+
+    private Mac newMac(String keyId) {
         String secret = hmacProperties.getKeys().get(keyId);
         if (secret == null || secret.isBlank()) {
             throw new IllegalStateException("Missing HMAC secret for keyId=" + keyId);
@@ -89,7 +118,7 @@ public class AuditHashingService {
         try {
             Mac mac = Mac.getInstance(HASH_ALG);
             mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HASH_ALG));
-            return mac.doFinal(data);
+            return mac;
         } catch (NoSuchAlgorithmException e) {
             throw new IllegalStateException("JCE does not support " + HASH_ALG, e);
         } catch (InvalidKeyException e) {
@@ -103,6 +132,9 @@ public class AuditHashingService {
      * <p>We avoid depending on DB-assigned id for the hash (id is generated after insert),
      * so the hash is computed over stable business fields + createdAt + prevHash.</p>
      *
+     * <p>{@code prevHash} is chained as lowercase hex, as it was when hashes were stored as text, so records
+     * written before and after the move to binary columns verify alike.</p>
+     *
      * @param tenantId tenant
      * @param eventId event id
      * @param actor actor
@@ -111,7 +143,7 @@ public class AuditHashingService {
      * @param resourceId resource id
      * @param correlationId correlation id
      * @param createdAt created at (service time)
-     * @param prevHash previous hash
+     * @param prevHash previous hash (hex)
      * @param dataJson data JSON (already canonicalized)
      */
     public record AuditHashPayload(
@@ -143,7 +175,7 @@ public class AuditHashingService {
                     e.getResourceId(),
                     e.getCorrelationId(),
                     e.getCreatedAt(),
-                    e.getPrevHash(),
+                    Hashes.hex(e.getPrevHash()),
                     e.getDataJson()
             );
         }
@@ -1,7 +1,12 @@
 package com.github.dimitryivaniuta.audittrail.hash;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -47,6 +52,71 @@ public class CanonicalJsonService {
         }
     }
 
+    /**
+     * Canonicalizes stored data JSON again.
+     *
+     * <p>JSONB re-renders what it stores (spaces after separators, shorter keys first), so text read back from
+     * the {@code data} column is not the text that was hashed. Re-rendering it with sorted keys and no whitespace
+     * restores that text, and is a no-op on text that is already canonical. The one form JSONB cannot give back is
+     * a whole-valued float written in exponent notation ({@code 1.0E7} comes back as {@code 10000000}).</p>
+     *
+     * <p>The text is re-rendered token by token: only each object's members are buffered for sorting, no
+     * {@link Map} tree is built and scalars are copied the way {@link #canonicalize} would write them.</p>
+     *
+     * @param json stored JSON object
+     * @return canonical JSON string
+     * @throws IllegalArgumentException if {@code json} is not a JSON object
+     */
+    public String recanonicalize(String json) {
+        try (JsonParser p = objectMapper.createParser(json)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Stored data is not a JSON object");
+            }
+            return render(p, json.length());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Stored data is not a JSON object", e);
+        }
+    }
+
+    /**
+     * Renders the value at the parser's current token canonically.
+     */
+    private String render(JsonParser p, int sizeHint) throws IOException {
+        StringWriter out = new StringWriter(sizeHint);
+        try (JsonGenerator g = objectMapper.createGenerator(out)) {
+            write(p, g);
+        }
+        return out.toString();
+    }
+
+    private void write(JsonParser p, JsonGenerator g) throws IOException {
+        switch (p.currentToken()) {
+            case START_OBJECT -> {
+                // Same order and last-duplicate-wins as the TreeMap in normalize().
+                TreeMap<String, String> members = new TreeMap<>();
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = p.currentName();
+                    p.nextToken();
+                    members.put(name, render(p, 16));
+                }
+                g.writeStartObject();
+                for (Map.Entry<String, String> m : members.entrySet()) {
+                    g.writeFieldName(m.getKey());
+                    g.writeRawValue(m.getValue());
+                }
+                g.writeEndObject();
+            }
+            case START_ARRAY -> {
+                g.writeStartArray();
+                while (p.nextToken() != JsonToken.END_ARRAY) {
+                    write(p, g);
+                }
+                g.writeEndArray();
+            }
+            default -> g.copyCurrentEvent(p);
+        }
+    }
+
     private Object normalize(Object value) {
         if (value == null) {
             return null;
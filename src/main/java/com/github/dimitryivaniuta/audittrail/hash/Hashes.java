@@ -0,0 +1,56 @@
+package com.github.dimitryivaniuta.audittrail.hash;
+
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Conversions between stored record hashes (raw 32-byte HMAC-SHA256 values) and their lowercase hex form.
+ *
+ * <p>Hashes are {@code bytea} in the database and {@code byte[]} in entities; hex is only produced at the
+ * edges (API, CSV, Kafka, segment footers) and inside the HMAC payload, whose canonical form predates the
+ * binary columns and therefore still chains the hex string.</p>
+ */
+public final class Hashes {
+
+    /**
+     * Length of an HMAC-SHA256 value in bytes.
+     */
+    public static final int LENGTH = 32;
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private Hashes() {
+    }
+
+    /**
+     * Formats a hash as lowercase hex.
+     *
+     * @param hash hash bytes, may be null
+     * @return hex, or null
+     */
+    public static String hex(byte[] hash) {
+        return hash != null ? HEX.formatHex(hash) : null;
+    }
+
+    /**
+     * Parses a hex hash.
+     *
+     * @param hex hex (either case), may be null
+     * @return hash bytes, or null
+     * @throws IllegalArgumentException if {@code hex} is not valid hex
+     */
+    public static byte[] fromHex(String hex) {
+        return hex != null ? HEX.parseHex(hex) : null;
+    }
+
+    /**
+     * Compares two hashes by content; two nulls are equal.
+     *
+     * @param a first hash
+     * @param b second hash
+     * @return true if equal
+     */
+    public static boolean same(byte[] a, byte[] b) {
+        return Arrays.equals(a, b);
+    }
+}
@@ -0,0 +1,488 @@
+package com.github.dimitryivaniuta.audittrail.ingest;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.dimitryivaniuta.audittrail.config.AuditIngestProperties;
+import com.github.dimitryivaniuta.audittrail.config.AuditPartitionProperties;
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import com.github.dimitryivaniuta.audittrail.hash.AuditHashingService;
+import com.github.dimitryivaniuta.audittrail.hash.CanonicalJsonService;
+import com.github.dimitryivaniuta.audittrail.hash.Hashes;
+import com.github.dimitryivaniuta.audittrail.lane.LaneAnchor;
+import com.github.dimitryivaniuta.audittrail.payload.AuditPayloadStore;
+import com.github.dimitryivaniuta.audittrail.service.TenantMovedException;
+import com.github.dimitryivaniuta.audittrail.shard.ShardRouter;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bulk ingest of historic records from NDJSON ({@link BulkAuditRecord} per line).
+ *
+ * <p>Input is read as a stream and processed in chunks of {@code audit.ingest.chunk-records}. Per chunk and
+ * shard, one transaction:</p>
+ * <ol>
+ *   <li>creates missing chain heads and locks the chunk's heads in tenant order (regular appends wait);</li>
+ *   <li>drops lines whose {@code eventId} is already known for the tenant (one key lookup per tenant) or
+ *       repeats within the chunk;</li>
+ *   <li>canonicalizes, sequences and HMAC-chains the rest in memory, storing large payloads by reference;</li>
+ *   <li>writes all rows with one binary {@code COPY} through the driver's {@code CopyManager};</li>
+ *   <li>moves each chain head once, to the last row written.</li>
+ * </ol>
+ *
+ * <p>Progress is reported after each committed chunk. A failure stops the ingest, and the chunk in flight
+ * rolls back; since ingest is idempotent on {@code eventId}, re-sending the same input resumes it.
+ * Bulk-ingested records are not published to Kafka.</p>
+ *
+ * <p>{@link #appendBatch} writes one batch the same way for the Kafka ingest listener, streaming appends and
+ * journal replay, and hands back the records it wrote so the caller can publish them.</p>
+ */
+@Service
+public class AuditBulkIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditBulkIngestService.class);
+
+    private static final String COPY_SQL = """
+            COPY audit_records (tenant_id, seq, event_id, actor, action, resource_type, resource_id, correlation_id,
+                                data, created_at, hash_alg, key_id, prev_hash, hash, payload_digest)
+            FROM STDIN (FORMAT binary)""";
+    private static final int COPY_COLUMNS = 15;
+
+    private final ObjectReader reader;
+    private final Validator validator;
+    private final CanonicalJsonService canonicalJsonService;
+    private final AuditHashingService hashingService;
+    private final AuditPayloadStore payloads;
+    private final ShardRouter router;
+    private final AuditIngestProperties properties;
+    private final AuditPartitionProperties partitionProperties;
+
+    /**
+     * Creates the service.
+     *
+     * @param objectMapper mapper (NDJSON input)
+     * @param validator bean validator (input lines)
+     * @param canonicalJsonService canonical JSON service
+     * @param hashingService hashing service
+     * @param payloads payload store
+     * @param router shard router (raw shard primaries)
+     * @param properties ingest settings
+     * @param partitionProperties partition settings (partitions for historic months)
+     */
+    public AuditBulkIngestService(ObjectMapper objectMapper, Validator validator, CanonicalJsonService canonicalJsonService,
+                                  AuditHashingService hashingService, AuditPayloadStore payloads, ShardRouter router,
+                                  AuditIngestProperties properties, AuditPartitionProperties partitionProperties) {
+        this.reader = objectMapper.readerFor(BulkAuditRecord.class);
+        this.validator = validator;
+        this.canonicalJsonService = canonicalJsonService;
+        this.hashingService = hashingService;
+        this.payloads = payloads;
+        this.router = router;
+        this.properties = properties;
+        this.partitionProperties = partitionProperties;
+    }
+
+    /**
+     * Ingests NDJSON until the end of input or the first error.
+     *
+     * @param ndjson input, one record per line
+     * @param progress receives a report after every committed chunk and the final report
+     * @return final report ({@code error} set if the ingest stopped early)
+     */
+    public BulkIngestProgress ingest(InputStream ndjson, Consumer<BulkIngestProgress> progress) {
+        Counters counters = new Counters(System.nanoTime());
+        List<BulkAuditRecord> chunk = new ArrayList<>(Math.min(properties.getChunkRecords(), 10_000));
+        String error = null;
+        try (MappingIterator<BulkAuditRecord> lines = reader.readValues(ndjson)) {
+            while (lines.hasNextValue()) {
+                chunk.add(validate(lines.nextValue(), counters.lines + 1));
+                counters.lines++;
+                if (chunk.size() == properties.getChunkRecords()) {
+                    writeChunk(chunk, counters);
+                    progress.accept(counters.report(false, null));
+                }
+            }
+            writeChunk(chunk, counters);
+        } catch (IOException e) {
+            error = "Line " + (counters.lines + 1) + ": " + e.getMessage();
+        } catch (RuntimeException e) {
+            log.warn("Bulk ingest stopped after {} lines", counters.lines, e);
+            error = e.getMessage();
+        }
+        BulkIngestProgress done = counters.report(true, error);
+        progress.accept(done);
+        return done;
+    }
+
+    private BulkAuditRecord validate(BulkAuditRecord r, long line) {
+        Set<ConstraintViolation<BulkAuditRecord>> violations = validator.validate(r);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException("Line " + line + ": " + violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        if (LaneAnchor.isReserved(r.action(), r.resourceType())) {
+            throw new IllegalArgumentException("Line " + line + ": action " + LaneAnchor.ACTION + " on "
+                    + LaneAnchor.RESOURCE_TYPE + " is reserved for lane anchors");
+        }
+        if (r.createdAt() != null && r.createdAt().isAfter(Instant.now())) {
+            throw new IllegalArgumentException("Line " + line + ": createdAt is in the future");
+        }
+        return r;
+    }
+
+    /**
+     * Appends one batch of valid records, one transaction per shard, and returns once every shard committed.
+     * Records of laned tenants are not written but handed back, so the caller can append them one by one.
+     * A failure leaves the shards committed so far; re-sending the batch skips what they wrote.
+     *
+     * @param records records in append order (per tenant)
+     * @return what was written
+     */
+    public BatchResult appendBatch(List<BulkAuditRecord> records) {
+        return appendBatch(records, null);
+    }
+
+    /**
+     * Like {@link #appendBatch(List)}, handing each shard's records to {@code committed} once that shard committed,
+     * including shards committed before a failure. {@code data} of those records is null when it was stored by
+     * reference.
+     *
+     * @param records records in append order (per tenant)
+     * @param committed receives the records written, per committed shard (e.g. for publishing), or null
+     * @return what was written
+     */
+    public BatchResult appendBatch(List<BulkAuditRecord> records, Consumer<List<AuditRecordEntity>> committed) {
+        Counters counters = new Counters(System.nanoTime());
+        BatchResult result = new BatchResult(new IdentityHashMap<>(), new ArrayList<>());
+        writeChunk(new ArrayList<>(records), counters, result, committed);
+        return result;
+    }
+
+    private void writeChunk(List<BulkAuditRecord> chunk, Counters counters) {
+        writeChunk(chunk, counters, null, null);
+    }
+
+    /**
+     * Writes a chunk, one transaction per shard.
+     *
+     * @param batch collects seqs and laned records (batch appends), or null to reject laned tenants
+     * @param committed receives each shard's records once it committed, or null
+     */
+    private void writeChunk(List<BulkAuditRecord> chunk, Counters counters, BatchResult batch,
+                            Consumer<List<AuditRecordEntity>> committed) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Map<String, List<BulkAuditRecord>> byShard = new LinkedHashMap<>();
+        for (BulkAuditRecord r : chunk) {
+            byShard.computeIfAbsent(router.shardFor(r.tenantId()), s -> new ArrayList<>()).add(r);
+            counters.tenants.add(r.tenantId());
+        }
+        for (Map.Entry<String, List<BulkAuditRecord>> shard : byShard.entrySet()) {
+            DataSource ds = router.dataSource(shard.getKey());
+            List<BulkAuditRecord> skipped = new ArrayList<>();
+            ChunkResult result = new TransactionTemplate(new DataSourceTransactionManager(ds))
+                    .execute(status -> writeShardChunk(new JdbcTemplate(ds), shard.getValue(), batch != null ? skipped : null,
+                            committed != null));
+            counters.inserted += result.rows().size();
+            counters.duplicates += result.duplicates();
+            if (batch != null) {
+                result.rows().forEach(row -> batch.seqs().put(row.record(), row.seq()));
+                batch.laned().addAll(skipped);
+            }
+            if (committed != null && !result.rows().isEmpty()) {
+                List<AuditRecordEntity> written = new ArrayList<>(result.rows().size());
+                for (int i = 0; i < result.rows().size(); i++) {
+                    written.add(result.rows().get(i).toEntity(result.ids()[i]));
+                }
+                committed.accept(written);
+            }
+        }
+        chunk.clear();
+    }
+
+    /**
+     * Writes one shard's part of a chunk (in its transaction).
+     *
+     * @param laned receives the records of laned tenants, or null to reject them
+     * @param withIds whether to look up the ids of the rows written
+     */
+    private ChunkResult writeShardChunk(JdbcTemplate jdbc, List<BulkAuditRecord> records, List<BulkAuditRecord> laned,
+                                        boolean withIds) {
+        // Tenant order is the lock order.
+        Map<String, List<BulkAuditRecord>> byTenant = new TreeMap<>();
+        for (BulkAuditRecord r : records) {
+            byTenant.computeIfAbsent(r.tenantId(), t -> new ArrayList<>()).add(r);
+        }
+        Map<String, Head> heads = lockHeads(jdbc, byTenant.keySet().toArray(String[]::new));
+
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        String keyId = hashingService.activeKeyId();
+        List<Row> rows = new ArrayList<>(records.size());
+        Map<String, Long> lastSeqs = new LinkedHashMap<>();
+        int duplicates = 0;
+        Instant oldest = now;
+        for (Map.Entry<String, List<BulkAuditRecord>> tenant : byTenant.entrySet()) {
+            String tenantId = tenant.getKey();
+            Head head = heads.get(tenantId);
+            if (head.movedTo() != null) {
+                throw new TenantMovedException(tenantId, head.movedTo());
+            }
+            if (head.lanes() > 1 && laned != null) {
+                laned.addAll(tenant.getValue());
+                continue;
+            }
+            if (head.lanes() > 1) {
+                throw new IllegalArgumentException("Tenant " + tenantId + " appends to " + head.lanes()
+                        + " chain lanes; bulk ingest supports single-chain tenants only");
+            }
+            Set<UUID> known = knownEventIds(jdbc, tenantId, tenant.getValue());
+            long seq = head.lastSeq();
+            byte[] prevHash = head.lastHash();
+            for (BulkAuditRecord r : tenant.getValue()) {
+                if (!known.add(r.eventId())) {
+                    duplicates++;
+                    continue;
+                }
+                Instant createdAt = r.createdAt() != null ? r.createdAt().truncatedTo(ChronoUnit.MICROS) : now;
+                String dataJson = canonicalJsonService.canonicalize(r.data());
+                byte[] hash = hashingService.computeHash(keyId, new AuditHashingService.AuditHashPayload(
+                        tenantId, r.eventId().toString(), r.actor(), r.action(), r.resourceType(), r.resourceId(),
+                        r.correlationId(), createdAt, Hashes.hex(prevHash), dataJson));
+                // Before the COPY starts: the connection cannot run other statements while it is open.
+                byte[] digest = payloads.externalize(jdbc, tenantId, dataJson);
+                rows.add(new Row(r, ++seq, digest != null ? null : dataJson, digest, createdAt, keyId, prevHash, hash));
+                prevHash = hash;
+                oldest = createdAt.isBefore(oldest) ? createdAt : oldest;
+            }
+            if (seq != head.lastSeq()) {
+                lastSeqs.put(tenantId, seq);
+            }
+        }
+        if (rows.isEmpty()) {
+            return new ChunkResult(List.of(), duplicates, new long[0]);
+        }
+
+        jdbc.queryForObject("select audit_records_ensure_partitions(?, ?, ?)", Integer.class,
+                partitionProperties.getMonthsAhead(), partitionProperties.getTenantHashPartitions(), Timestamp.from(oldest));
+        copy(jdbc, rows);
+
+        List<Object[]> headUpdates = new ArrayList<>(lastSeqs.size());
+        Map<String, byte[]> lastHashes = new LinkedHashMap<>();
+        for (Row row : rows) {
+            lastHashes.put(row.record().tenantId(), row.hash());
+        }
+        lastSeqs.forEach((tenantId, seq) -> headUpdates.add(new Object[] {seq, lastHashes.get(tenantId), tenantId, seq, tenantId}));
+        jdbc.batchUpdate("""
+                update audit_chain_heads
+                set last_seq = ?, last_hash = ?, updated_at = now(),
+                    last_record_id = (select k.record_id from audit_record_keys k where k.tenant_id = ? and k.seq = ?)
+                where tenant_id = ?""", headUpdates);
+        return new ChunkResult(rows, duplicates, withIds ? recordIds(jdbc, rows) : null);
+    }
+
+    /**
+     * Looks up the ids the rows were given (COPY cannot return them), in row order.
+     */
+    private static long[] recordIds(JdbcTemplate jdbc, List<Row> rows) {
+        String[] tenants = new String[rows.size()];
+        Long[] seqs = new Long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            tenants[i] = rows.get(i).record().tenantId();
+            seqs[i] = rows.get(i).seq();
+        }
+        long[] ids = new long[rows.size()];
+        int[] next = {0};
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    select k.record_id
+                    from unnest(?, ?) with ordinality as t(tenant_id, seq, ord)
+                    join audit_record_keys k on k.tenant_id = t.tenant_id and k.seq = t.seq
+                    order by t.ord""");
+            ps.setArray(1, con.createArrayOf("varchar", tenants));
+            ps.setArray(2, con.createArrayOf("int8", seqs));
+            return ps;
+        }, rs -> {
+            ids[next[0]++] = rs.getLong(1);
+        });
+        if (next[0] != ids.length) {
+            throw new IllegalStateException("Expected " + ids.length + " record keys, found " + next[0]);
+        }
+        return ids;
+    }
+
+    private static Map<String, Head> lockHeads(JdbcTemplate jdbc, String[] tenants) {
+        jdbc.update(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    insert into audit_chain_heads (tenant_id, last_seq, updated_at)
+                    select t, 0, now() from unnest(?) as t
+                    on conflict (tenant_id) do nothing""");
+            ps.setArray(1, con.createArrayOf("varchar", tenants));
+            return ps;
+        });
+        Map<String, Head> heads = new LinkedHashMap<>();
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    select tenant_id, last_seq, last_hash, moved_to, lanes from audit_chain_heads
+                    where tenant_id = any(?) order by tenant_id for update""");
+            ps.setArray(1, con.createArrayOf("varchar", tenants));
+            return ps;
+        }, rs -> {
+            heads.put(rs.getString(1), new Head(rs.getLong(2), rs.getBytes(3), rs.getString(4), rs.getInt(5)));
+        });
+        return heads;
+    }
+
+    private static Set<UUID> knownEventIds(JdbcTemplate jdbc, String tenantId, List<BulkAuditRecord> records) {
+        UUID[] eventIds = records.stream().map(BulkAuditRecord::eventId).toArray(UUID[]::new);
+        Set<UUID> known = new HashSet<>();
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement("select event_id from audit_record_keys where tenant_id = ? and event_id = any(?)");
+            ps.setString(1, tenantId);
+            Array array = con.createArrayOf("uuid", eventIds);
+            ps.setArray(2, array);
+            return ps;
+        }, rs -> {
+            known.add(rs.getObject(1, UUID.class));
+        });
+        return known;
+    }
+
+    private static long copy(JdbcTemplate jdbc, List<Row> rows) {
+        return jdbc.execute((ConnectionCallback<Long>) con -> {
+            PGCopyOutputStream copy = new PGCopyOutputStream(con.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL), 64 * 1024);
+            try {
+                PgBinaryCopyWriter out = new PgBinaryCopyWriter(copy);
+                for (Row row : rows) {
+                    BulkAuditRecord r = row.record();
+                    out.startRow(COPY_COLUMNS);
+                    out.text(r.tenantId());
+                    out.int8(row.seq());
+                    out.uuid(r.eventId());
+                    out.text(r.actor());
+                    out.text(r.action());
+                    out.text(r.resourceType());
+                    out.text(r.resourceId());
+                    out.text(r.correlationId());
+                    out.jsonb(row.dataJson());
+                    out.timestamptz(row.createdAt());
+                    out.text(AuditHashingService.HASH_ALG);
+                    out.text(row.keyId());
+                    out.bytea(row.prevHash());
+                    out.bytea(row.hash());
+                    out.bytea(row.payloadDigest());
+                }
+                out.finish();
+                return copy.endCopy();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+            }
+        });
+    }
+
+    /**
+     * Chain head of one tenant, locked for the chunk.
+     */
+    private record Head(long lastSeq, byte[] lastHash, String movedTo, int lanes) {
+    }
+
+    /**
+     * One row ready for COPY.
+     */
+    private record Row(BulkAuditRecord record, long seq, String dataJson, byte[] payloadDigest, Instant createdAt,
+                       String keyId, byte[] prevHash, byte[] hash) {
+
+        AuditRecordEntity toEntity(long id) {
+            AuditRecordEntity e = new AuditRecordEntity();
+            e.setId(id);
+            e.setSeq(seq);
+            e.setTenantId(record.tenantId());
+            e.setEventId(record.eventId());
+            e.setActor(record.actor());
+            e.setAction(record.action());
+            e.setResourceType(record.resourceType());
+            e.setResourceId(record.resourceId());
+            e.setCorrelationId(record.correlationId());
+            e.setDataJson(dataJson);
+            e.setPayloadDigest(payloadDigest);
+            e.setCreatedAt(createdAt);
+            e.setHashAlg(AuditHashingService.HASH_ALG);
+            e.setKeyId(keyId);
+            e.setPrevHash(prevHash);
+            e.setHash(hash);
+            return e;
+        }
+    }
+
+    /**
+     * @param ids record ids by row, or null when not looked up
+     */
+    private record ChunkResult(List<Row> rows, int duplicates, long[] ids) {
+    }
+
+    /**
+     * Outcome of {@link #appendBatch}. Records that are in neither collection were skipped as duplicates: their
+     * {@code eventId} already existed for the tenant or repeated within the batch.
+     *
+     * @param seqs seq of every record written, by record (identity)
+     * @param laned records of laned tenants, not written
+     */
+    public record BatchResult(Map<BulkAuditRecord, Long> seqs, List<BulkAuditRecord> laned) {
+    }
+
+    /**
+     * Running totals of committed chunks.
+     */
+    private static final class Counters {
+
+        private final long startedNanos;
+        private final Set<String> tenants = new HashSet<>();
+        private long lines;
+        private long inserted;
+        private long duplicates;
+
+        Counters(long startedNanos) {
+            this.startedNanos = startedNanos;
+        }
+
+        BulkIngestProgress report(boolean done, String error) {
+            return new BulkIngestProgress(lines, inserted, duplicates, tenants.size(),
+                    (System.nanoTime() - startedNanos) / 1_000_000, done, error);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.github.dimitryivaniuta.audittrail.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.dimitryivaniuta.audittrail.config.KafkaIngestConfig;
+import com.github.dimitryivaniuta.audittrail.lane.LaneAnchor;
+import com.github.dimitryivaniuta.audittrail.service.AuditRecordService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Appends audit events consumed from Kafka ({@code audit.kafka.ingest.enabled=true}).
+ *
+ * <p>Values are JSON objects with the fields of {@code POST /records}. Producers key them by tenant id, so
+ * a tenant's events stay in order on one partition and one consumer thread. Each poll is appended as one
+ * batch through {@link AuditBulkIngestService#appendBatch} (one transaction per shard, chain heads moved
+ * once per tenant); records of laned tenants go through {@link AuditRecordService#append} one by one.
+ * Offsets are committed after that returns (see {@link KafkaIngestConfig}).</p>
+ *
+ * <p>An event without {@code eventId} gets one derived from its topic, partition and offset, so a redelivered
+ * event is recognized as well. Records get the service time, like regular appends. Ingested records are not
+ * published to Kafka.</p>
+ *
+ * <p>A record that cannot be appended is reported as a {@link BatchListenerFailedException} carrying its index
+ * in the poll; the records before it are appended first. The container's error handler then commits up to it,
+ * retries it a bounded number of times unless the cause is permanent, and hands it to the dead-letter topic
+ * (see {@link KafkaIngestConfig}). A value that is not a valid event fails with an
+ * {@link IllegalArgumentException}, which is never retried. When a whole batch fails, its records are appended
+ * one by one to find the failing one; records of the batch that did commit are skipped as duplicates.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "audit.kafka.ingest", name = "enabled", havingValue = "true")
+public class AuditKafkaIngestListener {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditKafkaIngestListener.class);
+
+    private final AuditBulkIngestService ingest;
+    private final AuditRecordService recordService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    /**
+     * Creates the listener.
+     *
+     * @param ingest batched chain append
+     * @param recordService record service (laned tenants)
+     * @param objectMapper mapper (event values)
+     * @param validator bean validator (events)
+     */
+    public AuditKafkaIngestListener(AuditBulkIngestService ingest, AuditRecordService recordService,
+                                    ObjectMapper objectMapper, Validator validator) {
+        this.ingest = ingest;
+        this.recordService = recordService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    /**
+     * Appends one poll.
+     *
+     * @param records consumed records
+     */
+    @KafkaListener(
+            id = "audit-ingest",
+            idIsGroup = false,
+            topics = "${audit.kafka.ingest.topic:audit-events}",
+            concurrency = "${audit.kafka.ingest.concurrency:1}",
+            containerFactory = KafkaIngestConfig.CONTAINER_FACTORY,
+            batch = "true")
+    public void onBatch(List<ConsumerRecord<String, String>> records) {
+        // Batch indexes equal record indexes: parsing stops at the first invalid value.
+        List<BulkAuditRecord> batch = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, String> record : records) {
+            BulkAuditRecord r;
+            try {
+                r = parse(record);
+            } catch (IllegalArgumentException e) {
+                append(batch);
+                log.warn("Rejecting Kafka record {}: {}", where(record), e.getMessage());
+                throw new BatchListenerFailedException("Invalid audit event at " + where(record), e, batch.size());
+            }
+            batch.add(r);
+        }
+        append(batch);
+    }
+
+    private void append(List<BulkAuditRecord> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            appendAll(batch);
+        } catch (RuntimeException batchFailure) {
+            log.warn("Appending a batch of {} Kafka records failed, appending them one by one", batch.size(), batchFailure);
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    appendAll(List.of(batch.get(i)));
+                } catch (RuntimeException e) {
+                    throw new BatchListenerFailedException("Appending audit event " + batch.get(i).eventId() + " failed",
+                            e, i);
+                }
+            }
+        }
+    }
+
+    private void appendAll(List<BulkAuditRecord> batch) {
+        AuditBulkIngestService.BatchResult result = ingest.appendBatch(batch);
+        for (BulkAuditRecord r : result.laned()) {
+            recordService.append(new AuditRecordService.AppendAuditRecordRequest(r.tenantId(), r.eventId(), r.actor(),
+                    r.action(), r.resourceType(), r.resourceId(), r.correlationId(), r.data()));
+        }
+        log.debug("Ingested {} Kafka records: {} appended, {} laned, {} duplicates", batch.size(), result.seqs().size(),
+                result.laned().size(), batch.size() - result.seqs().size() - result.laned().size());
+    }
+
+    private BulkAuditRecord parse(ConsumerRecord<String, String> record) {
+        String where = where(record);
+        try {
+            JsonNode value = record.value() != null ? objectMapper.readTree(record.value()) : null;
+            if (!(value instanceof ObjectNode event)) {
+                throw new IllegalArgumentException("value is not a JSON object");
+            }
+            if (!event.hasNonNull("eventId")) {
+                event.put("eventId", UUID.nameUUIDFromBytes(where.getBytes(StandardCharsets.UTF_8)).toString());
+            }
+            event.remove("createdAt");
+            BulkAuditRecord r = objectMapper.treeToValue(event, BulkAuditRecord.class);
+            Set<ConstraintViolation<BulkAuditRecord>> violations = validator.validate(r);
+            if (!violations.isEmpty()) {
+                throw new IllegalArgumentException(violations.stream()
+                        .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+            }
+            if (LaneAnchor.isReserved(r.action(), r.resourceType())) {
+                throw new IllegalArgumentException("action " + r.action() + " is reserved for lane anchors");
+            }
+            return r;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e.getOriginalMessage(), e);
+        }
+    }
+
+    private static String where(ConsumerRecord<?, ?> record) {
+        return record.topic() + "-" + record.partition() + "@" + record.offset();
+    }
+}
@@ -0,0 +1,350 @@
+package com.github.dimitryivaniuta.audittrail.ingest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.dimitryivaniuta.audittrail.admission.TenantAdmissionControl;
+import com.github.dimitryivaniuta.audittrail.config.AuditIngestProperties;
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import com.github.dimitryivaniuta.audittrail.lane.LaneAnchor;
+import com.github.dimitryivaniuta.audittrail.service.AuditEventPublisher;
+import com.github.dimitryivaniuta.audittrail.service.AuditRecordService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Streaming append of NDJSON ({@code POST /records:stream}, one {@code POST /records} body per line).
+ *
+ * <p>Lines are parsed as they arrive and appended in rolling batches of {@code audit.ingest.stream-batch-records}
+ * through {@link AuditBulkIngestService#appendBatch}: one transaction per shard, with each chain head locked and
+ * moved once per tenant in the batch. Laned tenants are appended record by record. A batch is also appended once
+ * its first line has waited {@code stream-max-delay}, whether or not more lines arrive, and at the end of the body:
+ * a reader thread parses the body into a queue of one batch, and the calling thread appends, so a client that goes
+ * quiet does not hold its records back. The results of each batch are handed out in line order as soon as it
+ * committed, so memory stays bounded by about two batches whatever the body size.</p>
+ *
+ * <p>Unlike bulk ingest, records get the service time and a line without {@code eventId} gets a random one
+ * (reported back, so a client can retry the line idempotently). Invalid lines are rejected one by one. A failed
+ * batch, or a body that is not well-formed JSON, stops the stream. Records of laned tenants go through
+ * {@link AuditRecordService#append}, which returns an existing record for a known {@code eventId}; such a line is
+ * reported as {@code APPENDED} with that record's seq. Every record written is published through the
+ * {@link AuditEventPublisher} once its shard committed.</p>
+ *
+ * <p>Each batch passes {@link TenantAdmissionControl#callBatch} with the tenants in it, i.e. takes one of each
+ * tenant's concurrency slots while it runs; a refused batch is reported as failed and stops the stream.</p>
+ */
+@Service
+public class AuditStreamAppendService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditStreamAppendService.class);
+
+    /**
+     * How long the end of a request waits for the reader thread once the body is closed.
+     */
+    private static final Duration READER_STOP_TIMEOUT = Duration.ofSeconds(5);
+
+    private final ObjectReader reader;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final AuditBulkIngestService ingest;
+    private final AuditRecordService recordService;
+    private final AuditEventPublisher eventPublisher;
+    private final TenantAdmissionControl admission;
+    private final AuditIngestProperties properties;
+
+    /**
+     * Creates the service.
+     *
+     * @param objectMapper mapper (NDJSON lines)
+     * @param validator bean validator (lines)
+     * @param ingest batched chain append
+     * @param recordService record service (laned tenants)
+     * @param eventPublisher publishes batch-appended records
+     * @param admission per-tenant limits (one slot per tenant and batch)
+     * @param properties ingest settings
+     */
+    public AuditStreamAppendService(ObjectMapper objectMapper, Validator validator, AuditBulkIngestService ingest,
+                                    AuditRecordService recordService, AuditEventPublisher eventPublisher,
+                                    TenantAdmissionControl admission, AuditIngestProperties properties) {
+        this.reader = objectMapper.readerFor(JsonNode.class);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.ingest = ingest;
+        this.recordService = recordService;
+        this.eventPublisher = eventPublisher;
+        this.admission = admission;
+        this.properties = properties;
+    }
+
+    /**
+     * Appends NDJSON until the end of input, a failed batch or malformed JSON.
+     *
+     * @param ndjson input, one record per line
+     * @param results receives the results of every batch, in line order, once it committed
+     * @return lines read
+     */
+    public long append(InputStream ndjson, Consumer<List<StreamAppendResult>> results) {
+        List<Line> batch = new ArrayList<>(properties.getStreamBatchRecords());
+        long maxDelayNanos = properties.getStreamMaxDelay().toNanos();
+        long deadline = 0;
+        long line = 0;
+        LineReader lines = new LineReader(ndjson, properties.getStreamBatchRecords());
+        try {
+            while (true) {
+                Line next;
+                if (batch.isEmpty()) {
+                    next = lines.take();
+                } else {
+                    next = lines.poll(deadline - System.nanoTime());
+                    if (next == null) {
+                        // The batch's first line waited long enough and no further line came.
+                        if (!flush(batch, results)) {
+                            return line;
+                        }
+                        continue;
+                    }
+                }
+                if (next == LineReader.END) {
+                    flush(batch, results);
+                    return line;
+                }
+                if (next.malformed() != null) {
+                    // Malformed JSON cannot be resynchronized; what was buffered is appended, then the stream stops.
+                    if (flush(batch, results)) {
+                        results.accept(List.of(next.malformed()));
+                    }
+                    return line;
+                }
+                line = next.line();
+                if (batch.isEmpty()) {
+                    deadline = System.nanoTime() + maxDelayNanos;
+                }
+                batch.add(next);
+                if (batch.size() >= properties.getStreamBatchRecords() || System.nanoTime() - deadline >= 0) {
+                    if (!flush(batch, results)) {
+                        return line;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return line;
+        } finally {
+            lines.stop();
+        }
+    }
+
+    private Line parse(long line, JsonNode value) {
+        if (!(value instanceof ObjectNode fields)) {
+            return Line.rejected(line, null, null, "not a JSON object");
+        }
+        if (!fields.hasNonNull("eventId")) {
+            fields.put("eventId", UUID.randomUUID().toString());
+        }
+        fields.remove("createdAt");
+        BulkAuditRecord r;
+        try {
+            r = objectMapper.treeToValue(fields, BulkAuditRecord.class);
+        } catch (IOException | IllegalArgumentException e) {
+            return Line.rejected(line, fields.path("tenantId").textValue(), null, e.getMessage());
+        }
+        Set<ConstraintViolation<BulkAuditRecord>> violations = validator.validate(r);
+        if (!violations.isEmpty()) {
+            return Line.rejected(line, r.tenantId(), r.eventId(), violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        if (LaneAnchor.isReserved(r.action(), r.resourceType())) {
+            return Line.rejected(line, r.tenantId(), r.eventId(), "action " + LaneAnchor.ACTION + " on "
+                    + LaneAnchor.RESOURCE_TYPE + " is reserved for lane anchors");
+        }
+        return new Line(line, r, null);
+    }
+
+    /**
+     * Appends and reports a batch, then clears it.
+     *
+     * @return false if the batch failed (its lines are reported as failed)
+     */
+    private boolean flush(List<Line> batch, Consumer<List<StreamAppendResult>> results) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        List<BulkAuditRecord> records = new ArrayList<>(batch.size());
+        Set<String> tenants = new HashSet<>();
+        for (Line l : batch) {
+            if (l.record() != null) {
+                records.add(l.record());
+                tenants.add(l.record().tenantId());
+            }
+        }
+        Map<BulkAuditRecord, Long> seqs = new IdentityHashMap<>();
+        String failure = null;
+        try {
+            admission.callBatch(tenants, () -> {
+                AuditBulkIngestService.BatchResult appended = ingest.appendBatch(records,
+                        written -> written.forEach(eventPublisher::publishAppended));
+                seqs.putAll(appended.seqs());
+                for (BulkAuditRecord r : appended.laned()) {
+                    AuditRecordEntity e = recordService.append(new AuditRecordService.AppendAuditRecordRequest(
+                            r.tenantId(), r.eventId(), r.actor(), r.action(), r.resourceType(), r.resourceId(),
+                            r.correlationId(), r.data()));
+                    seqs.put(r, e.getSeq());
+                }
+                return seqs;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Streaming append stopped at line {}", batch.get(0).line(), e);
+            failure = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        }
+
+        List<StreamAppendResult> out = new ArrayList<>(batch.size());
+        for (Line l : batch) {
+            BulkAuditRecord r = l.record();
+            if (r == null) {
+                out.add(l.rejection());
+            } else if (seqs.containsKey(r)) {
+                out.add(new StreamAppendResult(l.line(), StreamAppendResult.Status.APPENDED, r.tenantId(), r.eventId(),
+                        seqs.get(r), null));
+            } else if (failure != null) {
+                out.add(new StreamAppendResult(l.line(), StreamAppendResult.Status.FAILED, r.tenantId(), r.eventId(), null,
+                        failure));
+            } else {
+                out.add(new StreamAppendResult(l.line(), StreamAppendResult.Status.DUPLICATE, r.tenantId(), r.eventId(),
+                        null, null));
+            }
+        }
+        batch.clear();
+        results.accept(out);
+        return failure == null;
+    }
+
+    /**
+     * One buffered line: a record to append, or the reason it was rejected. {@code malformed} marks where the body
+     * stopped being well-formed JSON.
+     */
+    private record Line(long line, BulkAuditRecord record, StreamAppendResult rejection, StreamAppendResult malformed) {
+
+        Line(long line, BulkAuditRecord record, StreamAppendResult rejection) {
+            this(line, record, rejection, null);
+        }
+
+        static Line rejected(long line, String tenantId, UUID eventId, String error) {
+            return new Line(line, null, new StreamAppendResult(line, StreamAppendResult.Status.REJECTED, tenantId, eventId,
+                    null, error));
+        }
+
+        static Line malformed(long line, String error) {
+            return new Line(line, null, null, new StreamAppendResult(line, StreamAppendResult.Status.FAILED, null, null,
+                    null, error));
+        }
+    }
+
+    /**
+     * Parses the body on a thread of its own into a bounded queue, so the appending thread can wait for the next
+     * line with a timeout. Only this thread reads the body; {@link #stop()} closes the body and waits for it to
+     * finish.
+     */
+    private final class LineReader {
+
+        static final Line END = new Line(-1, null, null);
+
+        private final InputStream in;
+        private final BlockingQueue<Line> queue;
+        private final Thread thread;
+        private volatile boolean stopped;
+
+        LineReader(InputStream in, int capacity) {
+            this.in = in;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.thread = Thread.ofVirtual().name("audit-stream-reader").start(this::read);
+        }
+
+        Line take() throws InterruptedException {
+            return queue.take();
+        }
+
+        Line poll(long timeoutNanos) throws InterruptedException {
+            return queue.poll(timeoutNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Stops reading and waits for the reader, so the body is not read once the request is done. The reader
+         * may be blocked on a client that stopped sending (after a failed batch the rest of the body is never
+         * needed), so the body is closed first, and the wait is bounded.
+         */
+        void stop() {
+            stopped = true;
+            queue.clear();
+            if (thread.isAlive()) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    log.debug("Closing the stream body failed", e);
+                }
+            }
+            boolean interrupted = false;
+            long deadline = System.nanoTime() + READER_STOP_TIMEOUT.toNanos();
+            while (thread.isAlive()) {
+                long left = deadline - System.nanoTime();
+                if (left <= 0) {
+                    log.warn("Stream reader still blocked {} after the body was closed; leaving it", READER_STOP_TIMEOUT);
+                    break;
+                }
+                try {
+                    thread.join(Duration.ofNanos(left));
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void read() {
+            long line = 0;
+            try (MappingIterator<JsonNode> values = reader.readValues(in)) {
+                while (!stopped && values.hasNextValue()) {
+                    JsonNode value = values.nextValue();
+                    line++;
+                    put(parse(line, value));
+                }
+                put(END);
+            } catch (IOException | RuntimeException e) {
+                put(Line.malformed(line + 1, e.getMessage()));
+            }
+        }
+
+        private void put(Line line) {
+            try {
+                while (!stopped && !queue.offer(line, 100, TimeUnit.MILLISECONDS)) {
+                    // the appending thread is busy with a batch
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.dimitryivaniuta.audittrail.ingest;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One NDJSON line of a bulk ingest.
+ *
+ * <p>Unlike a regular append, {@code eventId} is mandatory (it is what makes a re-run of the same input
+ * skip what was already ingested), and {@code createdAt} may carry the original time of a historic event.</p>
+ *
+ * @param tenantId tenant
+ * @param eventId idempotency id
+ * @param actor actor
+ * @param action action
+ * @param resourceType resource type
+ * @param resourceId resource id
+ * @param correlationId correlation id (optional)
+ * @param createdAt original event time (optional, defaults to ingest time; not in the future)
+ * @param data details
+ */
+public record BulkAuditRecord(
+        @NotBlank @Size(max = 64) String tenantId,
+        @NotNull UUID eventId,
+        @NotBlank @Size(max = 256) String actor,
+        @NotBlank @Size(max = 128) String action,
+        @NotBlank @Size(max = 128) String resourceType,
+        @NotBlank @Size(max = 256) String resourceId,
+        @Size(max = 128) String correlationId,
+        Instant createdAt,
+        @NotNull Map<String, Object> data
+) {
+}
@@ -0,0 +1,23 @@
+package com.github.dimitryivaniuta.audittrail.ingest;
+
+/**
+ * Progress of a bulk ingest, reported after every committed chunk and once at the end.
+ *
+ * @param lines input lines read
+ * @param inserted records written (committed)
+ * @param duplicates lines skipped because their {@code eventId} already exists for the tenant
+ * @param tenants distinct tenants seen
+ * @param elapsedMillis time since the ingest started
+ * @param done whether this is the final report
+ * @param error why the ingest stopped early (null unless it failed; committed chunks stay)
+ */
+public record BulkIngestProgress(
+        long lines,
+        long inserted,
+        long duplicates,
+        int tenants,
+        long elapsedMillis,
+        boolean done,
+        String error
+) {
+}
@@ -0,0 +1,109 @@
+package com.github.dimitryivaniuta.audittrail.ingest;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Writes rows in PostgreSQL's binary {@code COPY} format.
+ *
+ * <p>Layout: 11-byte signature, i32 flags, i32 header extension length, then per row an i16 field count and
+ * per field an i32 length ({@code -1} = NULL) followed by the value in the type's binary send format;
+ * the stream ends with an i16 {@code -1}. Text is written as UTF-8, i.e. the database must be UTF8.</p>
+ */
+final class PgBinaryCopyWriter implements Closeable {
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final byte JSONB_VERSION = 1;
+    /** 2000-01-01T00:00:00Z, the PostgreSQL timestamp epoch. */
+    private static final Instant PG_EPOCH = Instant.parse("2000-01-01T00:00:00Z");
+
+    private final DataOutputStream out;
+
+    /**
+     * Starts a binary copy stream.
+     *
+     * @param target COPY ... FROM STDIN stream
+     * @throws IOException on I/O errors
+     */
+    PgBinaryCopyWriter(OutputStream target) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(target, 64 * 1024));
+        out.write(SIGNATURE);
+        out.writeInt(0);
+        out.writeInt(0);
+    }
+
+    void startRow(int fields) throws IOException {
+        out.writeShort(fields);
+    }
+
+    void text(String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] b = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    void int8(long value) throws IOException {
+        out.writeInt(8);
+        out.writeLong(value);
+    }
+
+    void uuid(UUID value) throws IOException {
+        out.writeInt(16);
+        out.writeLong(value.getMostSignificantBits());
+        out.writeLong(value.getLeastSignificantBits());
+    }
+
+    void bytea(byte[] value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    void jsonb(String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] b = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length + 1);
+        out.writeByte(JSONB_VERSION);
+        out.write(b);
+    }
+
+    /**
+     * Writes a {@code timestamptz}; the value must already be truncated to microseconds.
+     */
+    void timestamptz(Instant value) throws IOException {
+        out.writeInt(8);
+        out.writeLong(ChronoUnit.MICROS.between(PG_EPOCH, value));
+    }
+
+    /**
+     * Writes the end-of-data marker and flushes; the caller then ends the COPY.
+     *
+     * @throws IOException on I/O errors
+     */
+    void finish() throws IOException {
+        out.writeShort(-1);
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.dimitryivaniuta.audittrail.ingest;
+
+import java.util.UUID;
+
+/**
+ * Result of one line of a streaming append ({@code POST /records:stream}).
+ *
+ * @param line line number (1-based)
+ * @param status outcome
+ * @param tenantId tenant (null if the line could not be read)
+ * @param eventId event id, generated if the line had none (null if the line could not be read)
+ * @param seq chain position of the appended record (null unless {@code APPENDED})
+ * @param error why the line was not appended (null for {@code APPENDED} and {@code DUPLICATE})
+ */
+public record StreamAppendResult(
+        long line,
+        Status status,
+        String tenantId,
+        UUID eventId,
+        Long seq,
+        String error
+) {
+
+    /**
+     * Line outcome.
+     */
+    public enum Status {
+        /** Appended. */
+        APPENDED,
+        /** Not appended: the tenant already has a record with this {@code eventId}. */
+        DUPLICATE,
+        /** Not appended: the line is not a valid record; the stream goes on. */
+        REJECTED,
+        /** Not known whether appended (the batch failed, or the body could not be read); the stream stops. */
+        FAILED
+    }
+}
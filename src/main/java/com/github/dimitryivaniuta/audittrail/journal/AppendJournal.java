@@ -0,0 +1,455 @@
+package com.github.dimitryivaniuta.audittrail.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.zip.CRC32C;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only local journal of memory-mapped, preallocated segment files.
+ *
+ * <p>Layout of a segment file {@code journal-<first seq, 20 digits>.log} (big-endian), entries back to back from
+ * offset 0:</p>
+ * <pre>
+ * entry    i32 payload length (&gt; 0) | i32 CRC-32C of (seq | payload) | i64 seq | payload
+ * end      i32 0 (the rest of the preallocated file is zeros)
+ * </pre>
+ *
+ * <p>Seqs are contiguous across segments, starting at 1. {@link #append} copies an entry into the mapped active
+ * segment; {@link #sync} makes it durable by forcing the written but unforced range, so concurrent writers share one
+ * {@code msync} (group commit). Only durable entries are handed to the reader ({@link #poll}). The reader records
+ * its progress with {@link #checkpoint} (file {@code checkpoint}, replaced atomically), after which fully read
+ * segments other than the active one are deleted. A new segment is preallocated and its size forced, and the
+ * directory is forced after a segment is created and after the checkpoint is replaced, so neither can vanish
+ * in a crash after it was relied on.</p>
+ *
+ * <p>On open, segments are scanned from the start: the first entry with a bad length, checksum or seq in the last
+ * segment marks a torn write and the tail from there is zeroed (such an entry was never synced, so never
+ * acknowledged). A bad entry in an earlier segment, which was forced before the next one was created, fails the
+ * open. A {@code journal.lock} file lock keeps a second process off the directory.</p>
+ */
+public final class AppendJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(AppendJournal.class);
+
+    /** Length (4) + checksum (4) + seq (8). */
+    static final int ENTRY_HEADER = 16;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT = "checkpoint";
+    /** Directories cannot be opened (and need not be forced) on Windows. */
+    private static final boolean SYNC_DIRECTORY = !System.getProperty("os.name", "").startsWith("Windows");
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+
+    /** Segments oldest first; the last one is active. Guarded by {@code this}. */
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private long writtenSeq;
+    private boolean closed;
+
+    /** Serializes forcing (group commit). */
+    private final Object syncLock = new Object();
+    private volatile long durableSeq;
+
+    /** Reader state: only touched by the single reader thread. */
+    private Segment readSegment;
+    private int readPosition;
+    private long readSeq;
+    private volatile long checkpointSeq;
+
+    /**
+     * Opens (and recovers) the journal in a directory, creating it if needed.
+     *
+     * @param directory journal directory
+     * @param segmentSize bytes per segment file
+     * @param maxSegments segment files kept at most (see {@link JournalFullException})
+     * @throws IOException if the directory cannot be read or written
+     */
+    public AppendJournal(Path directory, long segmentSize, int maxSegments) throws IOException {
+        if (segmentSize < 4096 || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Journal segment size must be between 4KB and 2GB: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = (int) segmentSize;
+        this.maxSegments = maxSegments;
+        Files.createDirectories(directory);
+        this.lockChannel = FileChannel.open(directory.resolve("journal.lock"), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        this.lock = lockChannel.tryLock();
+        if (lock == null) {
+            lockChannel.close();
+            throw new IllegalStateException("Journal " + directory + " is in use by another process");
+        }
+        try {
+            recover();
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends an entry; it is not durable before {@link #sync} returned for its seq.
+     *
+     * @param payload entry payload
+     * @return entry seq
+     * @throws JournalFullException if all {@code maxSegments} segments hold unread entries
+     */
+    public synchronized long append(byte[] payload) {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        int length = ENTRY_HEADER + payload.length;
+        if (payload.length == 0 || length > segmentSize) {
+            throw new IllegalArgumentException("Journal entry must be 1 to " + (segmentSize - ENTRY_HEADER)
+                    + " bytes, was " + payload.length);
+        }
+        Segment active = segments.getLast();
+        if (active.position + length > segmentSize) {
+            if (segments.size() >= maxSegments) {
+                throw new JournalFullException("Journal is full: " + segments.size() + " segments await replay");
+            }
+            active.buffer.force();
+            active = newSegment(writtenSeq + 1);
+        }
+        long seq = writtenSeq + 1;
+        MappedByteBuffer buffer = active.buffer;
+        int at = active.position;
+        buffer.putLong(at + 8, seq);
+        buffer.put(at + ENTRY_HEADER, payload);
+        buffer.putInt(at + 4, checksum(seq, payload));
+        buffer.putInt(at, payload.length);
+        active.position = at + length;
+        active.lastSeq = seq;
+        writtenSeq = seq;
+        return seq;
+    }
+
+    /**
+     * Makes every entry up to {@code seq} durable, forcing the active segment unless a concurrent call already did.
+     *
+     * @param seq seq returned by {@link #append}
+     */
+    public void sync(long seq) {
+        if (durableSeq >= seq) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (durableSeq >= seq) {
+                return;
+            }
+            Segment active;
+            int to;
+            long target;
+            synchronized (this) {
+                active = segments.getLast();
+                to = active.position;
+                target = writtenSeq;
+            }
+            // Earlier segments were forced when the journal rolled over to the next one.
+            if (to > active.forcedPosition) {
+                active.buffer.force(active.forcedPosition, to - active.forcedPosition);
+                active.forcedPosition = to;
+            }
+            durableSeq = target;
+        }
+    }
+
+    /**
+     * Reads the next durable entries after the last one returned (after the checkpoint, right after open).
+     * For a single reader thread.
+     *
+     * @param max entries at most
+     * @return entries in seq order, empty if none is durable yet
+     */
+    public List<Entry> poll(int max) {
+        long limit = durableSeq;
+        List<Entry> out = new ArrayList<>(Math.min(max, 1024));
+        while (out.size() < max && readSeq < limit) {
+            int length = readPosition + ENTRY_HEADER <= segmentSize ? readSegment.buffer.getInt(readPosition) : 0;
+            if (length == 0) {
+                readSegment = segmentAfter(readSegment);
+                readPosition = 0;
+                continue;
+            }
+            long seq = readSegment.buffer.getLong(readPosition + 8);
+            byte[] payload = new byte[length];
+            readSegment.buffer.get(readPosition + ENTRY_HEADER, payload);
+            readPosition += ENTRY_HEADER + length;
+            readSeq = seq;
+            out.add(new Entry(seq, payload));
+        }
+        return out;
+    }
+
+    /**
+     * Records that every entry up to {@code seq} was processed and deletes segments holding only such entries.
+     *
+     * @param seq last processed seq
+     */
+    public void checkpoint(long seq) {
+        try {
+            Path tmp = directory.resolve(CHECKPOINT + ".tmp");
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ch.write(ByteBuffer.wrap(Long.toString(seq).getBytes(StandardCharsets.US_ASCII)));
+                ch.force(true);
+            }
+            Files.move(tmp, directory.resolve(CHECKPOINT), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+            // The rename is only durable once the directory is.
+            syncDirectory();
+            checkpointSeq = seq;
+            List<Segment> done = new ArrayList<>();
+            synchronized (this) {
+                while (segments.size() > 1 && segments.getFirst().lastSeq <= seq) {
+                    done.add(segments.removeFirst());
+                }
+            }
+            for (Segment s : done) {
+                Files.deleteIfExists(s.file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write journal checkpoint in " + directory, e);
+        }
+    }
+
+    /**
+     * @return last appended seq
+     */
+    public synchronized long writtenSeq() {
+        return writtenSeq;
+    }
+
+    /**
+     * @return last durable seq
+     */
+    public long durableSeq() {
+        return durableSeq;
+    }
+
+    /**
+     * @return last checkpointed seq
+     */
+    public long checkpointSeq() {
+        return checkpointSeq;
+    }
+
+    /**
+     * @return segment files in use
+     */
+    public synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Refuses further appends and releases the directory lock. Mappings stay valid until garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            closed = true;
+        }
+        try {
+            if (lock != null && lock.isValid()) {
+                lock.release();
+            }
+        } finally {
+            lockChannel.close();
+        }
+    }
+
+    private void recover() throws IOException {
+        Path checkpointFile = directory.resolve(CHECKPOINT);
+        long checkpoint = Files.exists(checkpointFile)
+                ? Long.parseLong(Files.readString(checkpointFile, StandardCharsets.US_ASCII).trim())
+                : 0;
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> dir = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            dir.forEach(files::add);
+        }
+        files.sort(null);
+
+        long seq = checkpoint;
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            String name = file.getFileName().toString();
+            long firstSeq = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            if (i == 0 ? firstSeq > checkpoint + 1 : firstSeq != seq + 1) {
+                throw new IllegalStateException("Journal segment " + name + " starts at seq " + firstSeq
+                        + ", expected " + (i == 0 ? "at most " + (checkpoint + 1) : seq + 1));
+            }
+            Segment segment = map(file, firstSeq);
+            seq = firstSeq - 1;
+            CRC32C crc = new CRC32C();
+            while (segment.position + ENTRY_HEADER <= segmentSize) {
+                int at = segment.position;
+                int length = segment.buffer.getInt(at);
+                if (length == 0) {
+                    break;
+                }
+                boolean valid = length > 0 && length <= segmentSize - at - ENTRY_HEADER
+                        && segment.buffer.getLong(at + 8) == seq + 1;
+                if (valid) {
+                    byte[] payload = new byte[length];
+                    segment.buffer.get(at + ENTRY_HEADER, payload);
+                    crc.reset();
+                    valid = segment.buffer.getInt(at + 4) == checksum(crc, seq + 1, payload);
+                }
+                if (!valid) {
+                    if (i < files.size() - 1) {
+                        throw new IllegalStateException("Journal segment " + name + " is corrupt at offset " + at);
+                    }
+                    log.warn("Journal segment {}: discarding torn tail from offset {} (after seq {})", name, at, seq);
+                    byte[] zeros = new byte[64 * 1024];
+                    for (int p = at; p < segmentSize; p += zeros.length) {
+                        segment.buffer.put(p, zeros, 0, Math.min(zeros.length, segmentSize - p));
+                    }
+                    segment.buffer.force();
+                    break;
+                }
+                segment.position = at + ENTRY_HEADER + length;
+                seq++;
+            }
+            segment.lastSeq = seq;
+            segment.forcedPosition = segment.position;
+            segments.addLast(segment);
+        }
+        if (seq < checkpoint) {
+            throw new IllegalStateException("Journal checkpoint " + checkpoint + " is beyond the last entry " + seq);
+        }
+        if (segments.isEmpty()) {
+            newSegment(seq + 1);
+        }
+        writtenSeq = seq;
+        durableSeq = seq;
+        checkpointSeq = checkpoint;
+
+        // Position the reader right after the checkpoint.
+        readSegment = segments.getFirst();
+        readPosition = 0;
+        readSeq = readSegment.firstSeq - 1;
+        while (readSeq < checkpoint) {
+            int length = readPosition + ENTRY_HEADER <= segmentSize ? readSegment.buffer.getInt(readPosition) : 0;
+            if (length == 0) {
+                readSegment = segmentAfter(readSegment);
+                readPosition = 0;
+                continue;
+            }
+            readPosition += ENTRY_HEADER + length;
+            readSeq++;
+        }
+        if (seq > checkpoint) {
+            log.info("Journal {}: {} entries after checkpoint {} to replay", directory, seq - checkpoint, checkpoint);
+        }
+    }
+
+    private Segment newSegment(long firstSeq) {
+        try {
+            Segment segment = map(directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSeq, SEGMENT_SUFFIX)),
+                    firstSeq);
+            // Entries synced into the segment must not be lost with a directory entry that never reached the disk.
+            syncDirectory();
+            segment.lastSeq = firstSeq - 1;
+            synchronized (this) {
+                segments.addLast(segment);
+            }
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create journal segment in " + directory, e);
+        }
+    }
+
+    private Segment map(Path file, long firstSeq) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            if (ch.size() != segmentSize) {
+                if (ch.size() > segmentSize) {
+                    throw new IllegalStateException("Journal segment " + file.getFileName() + " is larger than "
+                            + segmentSize + " bytes (was the segment size lowered?)");
+                }
+                // Preallocate so that appends never extend the file, and make the new size durable: forcing the mapping
+                // later writes back its pages, not the file's metadata.
+                ch.write(ByteBuffer.wrap(new byte[1]), segmentSize - 1L);
+                ch.force(true);
+            }
+            return new Segment(file, firstSeq, ch.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+        }
+    }
+
+    private void syncDirectory() throws IOException {
+        if (SYNC_DIRECTORY) {
+            try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+                dir.force(true);
+            }
+        }
+    }
+
+    private synchronized Segment segmentAfter(Segment segment) {
+        // By seq rather than position in the deque: a checkpoint may already have dropped the finished segment.
+        for (Segment s : segments) {
+            if (s.firstSeq == segment.lastSeq + 1) {
+                return s;
+            }
+        }
+        throw new IllegalStateException("Journal segment after seq " + segment.lastSeq + " is missing");
+    }
+
+    private static int checksum(long seq, byte[] payload) {
+        return checksum(new CRC32C(), seq, payload);
+    }
+
+    private static int checksum(CRC32C crc, long seq, byte[] payload) {
+        crc.update(ByteBuffer.allocate(8).putLong(0, seq));
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * A journal entry.
+     *
+     * @param seq entry seq
+     * @param payload payload
+     */
+    public record Entry(long seq, byte[] payload) {
+    }
+
+    private static final class Segment {
+
+        final Path file;
+        final long firstSeq;
+        final MappedByteBuffer buffer;
+        /** Next write offset; guarded by the journal. */
+        int position;
+        /** Last seq written; guarded by the journal. */
+        long lastSeq;
+        /** Forced up to this offset; guarded by the sync lock. */
+        int forcedPosition;
+
+        Segment(Path file, long firstSeq, MappedByteBuffer buffer) {
+            this.file = file;
+            this.firstSeq = firstSeq;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.github.dimitryivaniuta.audittrail.journal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.dimitryivaniuta.audittrail.config.AuditJournalProperties;
+import com.github.dimitryivaniuta.audittrail.ingest.AuditBulkIngestService;
+import com.github.dimitryivaniuta.audittrail.ingest.BulkAuditRecord;
+import com.github.dimitryivaniuta.audittrail.lane.LaneAnchor;
+import com.github.dimitryivaniuta.audittrail.service.AuditEventPublisher;
+import com.github.dimitryivaniuta.audittrail.service.AuditRecordService;
+import com.github.dimitryivaniuta.audittrail.service.TenantMovedException;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Asynchronous append ({@code audit.journal.enabled=true}): {@code POST /records} with
+ * {@code Prefer: respond-async} is acknowledged once the record is durable in the local {@link AppendJournal},
+ * and a background thread replays the journal into the database.
+ *
+ * <p>Accepted records get their {@code eventId} (generated if missing) and {@code createdAt} (acceptance time)
+ * before they are journaled, so a replay that is repeated after a crash between commit and checkpoint appends
+ * nothing twice. The replay thread reads entries in journal order, {@code audit.journal.replay-batch-records} at a
+ * time, and appends them through {@link AuditBulkIngestService#appendBatch} (one transaction per shard, chain heads
+ * moved once per tenant); records of laned tenants go through {@link AuditRecordService#append} and get the replay
+ * time. A tenant's journaled records therefore reach its chain in acceptance order, although synchronous appends
+ * of the same tenant may land in between. Replayed records are published through the {@link AuditEventPublisher}
+ * once their shard committed. Whatever was not replayed before a shutdown or crash is replayed when the
+ * application is ready again.</p>
+ *
+ * <p>A batch that fails with a transient error (database unavailable, lock timeout, ...) is retried after
+ * {@code replay-retry-backoff} until it succeeds. A permanent error, one that retrying cannot fix (unreadable
+ * entry, invalid record, tenant moved to another shard, constraint violation such as a {@code createdAt} without a
+ * partition), makes the batch replay entry by entry; entries that still fail permanently are parked in
+ * {@code dead-letter.ndjson} in the journal directory, counted in the status, and skipped. Parking happens before
+ * the checkpoint moves past the entry, so after a crash an entry may be parked twice, but it is never lost.</p>
+ */
+@Service
+@ConditionalOnProperty(prefix = "audit.journal", name = "enabled", havingValue = "true")
+public class AuditJournalService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditJournalService.class);
+    private static final String DEAD_LETTER = "dead-letter.ndjson";
+
+    private final AppendJournal journal;
+    private final AuditBulkIngestService ingest;
+    private final AuditRecordService recordService;
+    private final AuditEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final AuditJournalProperties properties;
+    private final Path deadLetterFile;
+    private final AtomicLong deadLettered = new AtomicLong();
+    /** Entries of the current batch already parked (replay thread only). */
+    private final Set<Long> parkedSeqs = new HashSet<>();
+
+    private volatile Thread replayThread;
+    private volatile boolean running;
+    private volatile Instant lastReplayAt;
+    private volatile String lastError;
+
+    /**
+     * Opens the journal, truncating a torn tail left by a crash.
+     *
+     * @param ingest batched chain append
+     * @param recordService record service (laned tenants)
+     * @param eventPublisher publishes replayed records
+     * @param objectMapper mapper (journal entries)
+     * @param validator bean validator (accepted records)
+     * @param properties journal settings
+     * @throws IOException if the journal directory cannot be used
+     */
+    public AuditJournalService(AuditBulkIngestService ingest, AuditRecordService recordService,
+                               AuditEventPublisher eventPublisher, ObjectMapper objectMapper, Validator validator,
+                               AuditJournalProperties properties) throws IOException {
+        this.journal = new AppendJournal(Path.of(properties.getPath()), properties.getSegmentSize().toBytes(),
+                properties.getMaxSegments());
+        this.ingest = ingest;
+        this.recordService = recordService;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.properties = properties;
+        this.deadLetterFile = Path.of(properties.getPath()).resolve(DEAD_LETTER);
+        if (Files.exists(deadLetterFile)) {
+            try (var lines = Files.lines(deadLetterFile, StandardCharsets.UTF_8)) {
+                deadLettered.set(lines.count());
+            }
+        }
+    }
+
+    /**
+     * Journals a record and returns once it is durable.
+     *
+     * @param request append request
+     * @return receipt
+     * @throws JournalFullException if replay is too far behind to take more
+     */
+    public Receipt accept(AuditRecordService.AppendAuditRecordRequest request) {
+        if (LaneAnchor.isReserved(request.action(), request.resourceType())) {
+            throw new IllegalArgumentException("Action " + LaneAnchor.ACTION + " on " + LaneAnchor.RESOURCE_TYPE
+                    + " is reserved for lane anchors");
+        }
+        UUID eventId = request.eventId() != null ? request.eventId() : UUID.randomUUID();
+        BulkAuditRecord record = new BulkAuditRecord(request.tenantId(), eventId, request.actor(), request.action(),
+                request.resourceType(), request.resourceId(), request.correlationId(),
+                Instant.now().truncatedTo(ChronoUnit.MICROS), request.data());
+        // Checked up front: an entry that replay would reject must never be acknowledged.
+        Set<ConstraintViolation<BulkAuditRecord>> violations = validator.validate(record);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(record);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Record cannot be serialized: " + e.getOriginalMessage(), e);
+        }
+        long seq = journal.append(payload);
+        journal.sync(seq);
+        Thread replay = replayThread;
+        if (replay != null) {
+            LockSupport.unpark(replay);
+        }
+        return new Receipt(record.tenantId(), eventId, seq);
+    }
+
+    /**
+     * @return journal and replay progress
+     */
+    public JournalStatus status() {
+        long durable = journal.durableSeq();
+        long replayed = journal.checkpointSeq();
+        return new JournalStatus(journal.writtenSeq(), durable, replayed, Math.max(0, durable - replayed),
+                journal.segmentCount(), lastReplayAt, lastError, deadLettered.get());
+    }
+
+    /**
+     * Starts replaying (first whatever a previous run left behind) once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void startReplay() {
+        if (replayThread != null) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::replayLoop, "audit-journal-replay");
+        thread.setDaemon(true);
+        replayThread = thread;
+        thread.start();
+    }
+
+    /**
+     * Stops replaying after the current batch and closes the journal; the rest is replayed on the next start.
+     *
+     * @throws IOException if the journal cannot be closed
+     */
+    @PreDestroy
+    public void stop() throws IOException {
+        running = false;
+        Thread thread = replayThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        journal.close();
+    }
+
+    private void replayLoop() {
+        List<AppendJournal.Entry> batch = List.of();
+        while (running) {
+            try {
+                if (batch.isEmpty()) {
+                    batch = journal.poll(properties.getReplayBatchRecords());
+                    if (batch.isEmpty()) {
+                        LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(1));
+                        continue;
+                    }
+                }
+                try {
+                    replay(batch);
+                } catch (RuntimeException e) {
+                    if (!isPermanent(e)) {
+                        throw e;
+                    }
+                    log.warn("Journal replay of seq {}..{} failed permanently, replaying entry by entry", batch.get(0).seq(),
+                            batch.get(batch.size() - 1).seq(), e);
+                    replayOneByOne(batch);
+                }
+                journal.checkpoint(batch.get(batch.size() - 1).seq());
+                lastReplayAt = Instant.now();
+                lastError = null;
+                parkedSeqs.clear();
+                batch = List.of();
+            } catch (RuntimeException e) {
+                // Keep the batch: entries are replayed strictly in order, and appends are idempotent on eventId.
+                log.warn("Journal replay of seq {}..{} failed, retrying in {}", batch.isEmpty() ? "?" : batch.get(0).seq(),
+                        batch.isEmpty() ? "?" : batch.get(batch.size() - 1).seq(), properties.getReplayRetryBackoff(), e);
+                lastError = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                LockSupport.parkNanos(properties.getReplayRetryBackoff().toNanos());
+            }
+        }
+    }
+
+    /**
+     * Replays a batch that failed permanently one entry at a time, parking the entries that fail permanently on
+     * their own. A transient failure propagates and the whole batch is retried (what was appended is skipped).
+     */
+    private void replayOneByOne(List<AppendJournal.Entry> batch) {
+        for (AppendJournal.Entry entry : batch) {
+            if (parkedSeqs.contains(entry.seq())) {
+                continue;
+            }
+            try {
+                replay(List.of(entry));
+            } catch (RuntimeException e) {
+                if (!isPermanent(e)) {
+                    throw e;
+                }
+                park(entry, e);
+            }
+        }
+    }
+
+    /**
+     * Whether retrying cannot make a replay succeed.
+     */
+    private static boolean isPermanent(RuntimeException e) {
+        return e instanceof IllegalArgumentException
+                || e instanceof TenantMovedException
+                || e instanceof DataIntegrityViolationException;
+    }
+
+    /**
+     * Appends an entry to the dead-letter file (synchronously written) before the checkpoint passes it.
+     */
+    private void park(AppendJournal.Entry entry, RuntimeException cause) {
+        ObjectNode line = objectMapper.createObjectNode();
+        line.put("seq", entry.seq());
+        line.put("parkedAt", Instant.now().toString());
+        line.put("error", cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+        try {
+            line.set("entry", objectMapper.readTree(entry.payload()));
+        } catch (IOException e) {
+            line.put("payloadBase64", Base64.getEncoder().encodeToString(entry.payload()));
+        }
+        try {
+            byte[] bytes = (objectMapper.writeValueAsString(line) + "\n").getBytes(StandardCharsets.UTF_8);
+            Files.write(deadLetterFile, bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND,
+                    StandardOpenOption.DSYNC);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot park journal entry " + entry.seq() + " in " + deadLetterFile, e);
+        }
+        parkedSeqs.add(entry.seq());
+        deadLettered.incrementAndGet();
+        log.error("Journal entry {} cannot be replayed and was parked in {}", entry.seq(), deadLetterFile, cause);
+    }
+
+    private void replay(List<AppendJournal.Entry> entries) {
+        List<BulkAuditRecord> records = new ArrayList<>(entries.size());
+        for (AppendJournal.Entry entry : entries) {
+            try {
+                records.add(objectMapper.readValue(entry.payload(), BulkAuditRecord.class));
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Journal entry " + entry.seq() + " cannot be read", e);
+            }
+        }
+        AuditBulkIngestService.BatchResult result = ingest.appendBatch(records,
+                written -> written.forEach(eventPublisher::publishAppended));
+        for (BulkAuditRecord r : result.laned()) {
+            recordService.append(new AuditRecordService.AppendAuditRecordRequest(r.tenantId(), r.eventId(), r.actor(),
+                    r.action(), r.resourceType(), r.resourceId(), r.correlationId(), r.data()));
+        }
+        log.debug("Replayed journal seq {}..{}: {} appended, {} laned", entries.get(0).seq(),
+                entries.get(entries.size() - 1).seq(), result.seqs().size(), result.laned().size());
+    }
+
+    /**
+     * Acknowledgement of a journaled append.
+     *
+     * @param tenantId tenant
+     * @param eventId event id (generated if the request had none)
+     * @param journalSeq journal entry; replayed once {@link JournalStatus#replayedSeq()} reaches it
+     */
+    public record Receipt(String tenantId, UUID eventId, long journalSeq) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.github.dimitryivaniuta.audittrail.journal;
+
+/**
+ * Thrown when the append journal has no room left because replay into the database is behind.
+ */
+public class JournalFullException extends RuntimeException {
+
+    /**
+     * Creates an exception.
+     *
+     * @param message message
+     */
+    public JournalFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.dimitryivaniuta.audittrail.journal;
+
+import java.time.Instant;
+
+/**
+ * Progress of the local append journal ({@code GET /api/audit/journal}).
+ *
+ * @param writtenSeq last journaled entry
+ * @param durableSeq last entry forced to disk (acknowledged with 202)
+ * @param replayedSeq last entry appended to the database
+ * @param pending durable entries not replayed yet
+ * @param segments segment files in use
+ * @param lastReplayAt time of the last replayed batch (null before the first one)
+ * @param lastError why the current batch failed to replay (null while replay succeeds)
+ * @param deadLettered entries that could never be replayed, parked in {@code dead-letter.ndjson}
+ */
+public record JournalStatus(
+        long writtenSeq,
+        long durableSeq,
+        long replayedSeq,
+        long pending,
+        int segments,
+        Instant lastReplayAt,
+        String lastError,
+        long deadLettered
+) {
+}
@@ -0,0 +1,72 @@
+package com.github.dimitryivaniuta.audittrail.lane;
+
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import com.github.dimitryivaniuta.audittrail.service.AuditRecordService;
+import com.github.dimitryivaniuta.audittrail.shard.ShardRouter;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically writes an anchor record into every laned chain that changed since its last anchor.
+ */
+@Component
+public class AuditLaneAnchorJob {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLaneAnchorJob.class);
+
+    private final AuditRecordService recordService;
+    private final JdbcTemplate jdbc;
+    private final ShardRouter shards;
+
+    /**
+     * Creates the job.
+     *
+     * @param recordService record service (anchor appends)
+     * @param jdbc JDBC template
+     * @param shards tenant shard router
+     */
+    public AuditLaneAnchorJob(AuditRecordService recordService, JdbcTemplate jdbc, ShardRouter shards) {
+        this.recordService = recordService;
+        this.jdbc = jdbc;
+        this.shards = shards;
+    }
+
+    /**
+     * Anchors on the configured interval.
+     */
+    @Scheduled(fixedDelayString = "${audit.lanes.anchor-interval-ms:60000}")
+    public void scheduled() {
+        run();
+    }
+
+    /**
+     * Anchors every laned chain, shard by shard.
+     *
+     * @return number of anchors written
+     */
+    public int run() {
+        return shards.callOnEachShard(this::runOnCurrentShard).values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private int runOnCurrentShard() {
+        int anchored = 0;
+        List<String> tenants = jdbc.queryForList("select tenant_id from audit_chain_heads where lanes > 1 and moved_to is null "
+                + "order by tenant_id", String.class);
+        for (String tenantId : tenants) {
+            try {
+                Optional<AuditRecordEntity> anchor = recordService.anchorLanes(tenantId);
+                if (anchor.isPresent()) {
+                    anchored++;
+                }
+            } catch (RuntimeException e) {
+                log.error("Anchoring lanes failed for tenant {}", tenantId, e);
+            }
+        }
+        return anchored;
+    }
+}
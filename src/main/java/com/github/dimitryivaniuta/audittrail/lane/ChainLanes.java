@@ -0,0 +1,155 @@
+package com.github.dimitryivaniuta.audittrail.lane;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lane heads of laned tenant chains ({@code audit_lane_heads}).
+ *
+ * <p>Statements run on the routed data source and join the caller's transaction. Callers hold the tenant's
+ * chain head row: {@code FOR SHARE} to append to a lane, {@code FOR UPDATE} to enable lanes or lock all of them.</p>
+ */
+@Component
+public class ChainLanes {
+
+    /**
+     * Number of records in a tenant chain, from its heads. It grows with every committed append, so a replica
+     * whose value reached the primary's has replayed the chain that far.
+     */
+    public static final String CHAIN_LENGTH_SQL = """
+            select case when h.lanes = 1 then h.last_seq
+                        else h.lane_base + coalesce((select sum((l.last_seq - h.lane_base - l.lane - 1 + h.lanes) / h.lanes)
+                                                     from audit_lane_heads l where l.tenant_id = h.tenant_id), 0)
+                   end
+            from audit_chain_heads h where h.tenant_id = ?""";
+
+    private static final String COLUMNS = "lane, last_seq, last_hash";
+
+    private static final RowMapper<LaneHead> LANE_HEAD = (rs, i) -> new LaneHead(rs.getInt(1), rs.getLong(2), rs.getBytes(3));
+
+    private final JdbcTemplate jdbc;
+
+    /**
+     * Creates the lane head store.
+     *
+     * @param jdbc JDBC template (routed data source)
+     */
+    public ChainLanes(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Creates the lane heads of a chain that forks at its current tip.
+     *
+     * @param tenantId tenant
+     * @param layout new layout ({@code base} = current tip)
+     * @param baseHash hash of the fork record
+     * @param baseRecordId id of the fork record
+     */
+    public void create(String tenantId, ChainLayout layout, byte[] baseHash, Long baseRecordId) {
+        List<Object[]> rows = new ArrayList<>(layout.lanes());
+        for (int lane = 0; lane < layout.lanes(); lane++) {
+            rows.add(new Object[] {tenantId, lane, layout.initialTip(lane), baseHash, baseRecordId});
+        }
+        jdbc.batchUpdate("insert into audit_lane_heads (tenant_id, lane, last_seq, last_hash, last_record_id) values (?, ?, ?, ?, ?)",
+                rows);
+    }
+
+    /**
+     * Locks a lane for one append: the free lane with the lowest tip, or (all lanes busy) the lowest lane.
+     * Preferring the lowest tip keeps the lanes level, so seq order stays close to append order.
+     *
+     * @param tenantId tenant
+     * @return locked lane head
+     */
+    public LaneHead lockLane(String tenantId) {
+        List<LaneHead> free = jdbc.query("select " + COLUMNS + " from audit_lane_heads where tenant_id = ? "
+                + "order by last_seq limit 1 for update skip locked", LANE_HEAD, tenantId);
+        if (!free.isEmpty()) {
+            return free.get(0);
+        }
+        return jdbc.query("select " + COLUMNS + " from audit_lane_heads where tenant_id = ? order by last_seq limit 1 for update",
+                        LANE_HEAD, tenantId)
+                .stream().findFirst()
+                .orElseThrow(() -> new IllegalStateException("No lane heads for tenant " + tenantId));
+    }
+
+    /**
+     * Locks every lane of a chain, in lane order.
+     *
+     * @param tenantId tenant
+     * @return lane heads by lane
+     */
+    public List<LaneHead> lockAll(String tenantId) {
+        return jdbc.query("select " + COLUMNS + " from audit_lane_heads where tenant_id = ? order by lane for update",
+                LANE_HEAD, tenantId);
+    }
+
+    /**
+     * Reads the lane heads of a chain.
+     *
+     * @param tenantId tenant
+     * @return lane heads by lane (empty for a single chain)
+     */
+    public List<LaneHead> heads(String tenantId) {
+        return jdbc.query("select " + COLUMNS + " from audit_lane_heads where tenant_id = ? order by lane", LANE_HEAD, tenantId);
+    }
+
+    /**
+     * Moves a locked lane head to a new record.
+     *
+     * @param tenantId tenant
+     * @param lane lane
+     * @param seq record seq
+     * @param hash record hash
+     * @param recordId record id
+     */
+    public void advance(String tenantId, int lane, long seq, byte[] hash, long recordId) {
+        jdbc.update("update audit_lane_heads set last_seq = ?, last_hash = ?, last_record_id = ?, updated_at = clock_timestamp() "
+                + "where tenant_id = ? and lane = ?", seq, hash, recordId, tenantId, lane);
+    }
+
+    /**
+     * Whether a lane received records since the tenant's last anchor (or since the fork).
+     *
+     * @param tenantId tenant
+     * @return true if an anchor would vouch for something new
+     */
+    public boolean changedSinceAnchor(String tenantId) {
+        return Boolean.TRUE.equals(jdbc.queryForObject("""
+                select exists (select 1 from audit_lane_heads l join audit_chain_heads h on h.tenant_id = l.tenant_id
+                               where l.tenant_id = ? and l.last_seq > h.lane_base and l.updated_at > h.updated_at)""",
+                Boolean.class, tenantId));
+    }
+
+    /**
+     * Points the tenant chain head at a new anchor record.
+     *
+     * @param tenantId tenant
+     * @param seq anchor seq
+     * @param hash anchor hash
+     * @param recordId anchor id
+     */
+    public void anchored(String tenantId, long seq, byte[] hash, long recordId) {
+        jdbc.update("update audit_chain_heads set last_seq = ?, last_hash = ?, last_record_id = ?, updated_at = clock_timestamp() "
+                + "where tenant_id = ?", seq, hash, recordId, tenantId);
+    }
+
+    /**
+     * Number of records in a laned chain.
+     *
+     * @param layout layout
+     * @param heads lane heads
+     * @return records (fork prefix plus every lane)
+     */
+    public static long recordCount(ChainLayout layout, List<LaneHead> heads) {
+        long count = layout.base();
+        for (LaneHead h : heads) {
+            count += layout.records(h.lane(), h.lastSeq());
+        }
+        return count;
+    }
+}
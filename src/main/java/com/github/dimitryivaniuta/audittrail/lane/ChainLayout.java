@@ -0,0 +1,82 @@
+package com.github.dimitryivaniuta.audittrail.lane;
+
+/**
+ * Seq layout of a tenant chain.
+ *
+ * <p>Up to {@code base} the chain is a single hash chain. After that, lane {@code l} owns the seqs
+ * {@code base + l + 1 + k * lanes}: each record links to {@code seq - lanes}, and the first record of every
+ * lane links to the fork record {@code base}. A single chain is {@code lanes = 1, base = 0}.</p>
+ *
+ * @param lanes number of lanes
+ * @param base seq at which the chain forks into lanes
+ */
+public record ChainLayout(int lanes, long base) {
+
+    /** Layout of a chain without lanes. */
+    public static final ChainLayout SINGLE = new ChainLayout(1, 0);
+
+    /**
+     * Creates a layout.
+     *
+     * @param lanes number of lanes
+     * @param base seq at which the chain forks into lanes
+     */
+    public ChainLayout {
+        if (lanes < 1 || base < 0) {
+            throw new IllegalArgumentException("Invalid chain layout: lanes=" + lanes + ", base=" + base);
+        }
+    }
+
+    /**
+     * Whether the chain has more than one lane.
+     *
+     * @return true for laned chains
+     */
+    public boolean isLaned() {
+        return lanes > 1;
+    }
+
+    /**
+     * Lane of a record.
+     *
+     * @param seq seq
+     * @return lane (0 before the fork)
+     */
+    public int lane(long seq) {
+        return seq <= base ? 0 : (int) ((seq - base - 1) % lanes);
+    }
+
+    /**
+     * Seq of the record a record links to with its {@code prevHash}.
+     *
+     * @param seq seq
+     * @return predecessor seq (0 for the genesis record)
+     */
+    public long predecessor(long seq) {
+        if (seq <= base) {
+            return seq - 1;
+        }
+        return Math.max(seq - lanes, base);
+    }
+
+    /**
+     * Virtual tip of a lane without records: the seq its first record's predecessor arithmetic starts from.
+     *
+     * @param lane lane
+     * @return seq at or below {@code base}
+     */
+    public long initialTip(int lane) {
+        return base + lane + 1 - lanes;
+    }
+
+    /**
+     * Number of records in a lane.
+     *
+     * @param lane lane
+     * @param lastSeq lane head seq
+     * @return records appended to the lane
+     */
+    public long records(int lane, long lastSeq) {
+        return (lastSeq - initialTip(lane)) / lanes;
+    }
+}
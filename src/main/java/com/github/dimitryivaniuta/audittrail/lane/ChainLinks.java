@@ -0,0 +1,165 @@
+package com.github.dimitryivaniuta.audittrail.lane;
+
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import com.github.dimitryivaniuta.audittrail.hash.Hashes;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Follows the {@code prevHash} links of a chain walked in seq order, one tip per lane.
+ *
+ * <p>Each record must link to the last record seen in its lane (the fork record for a lane's first record,
+ * nothing for the genesis record), so a missing or replaced record breaks the link of its lane successor.
+ * Anchor records are checked against the lane tips they list; tips with a seq above the anchor are checked
+ * when the walk reaches them. HMACs are not recomputed here.</p>
+ */
+public final class ChainLinks {
+
+    private final ChainLayout layout;
+    private final long[] tipSeq;
+    private final byte[][] tipHash;
+    private final boolean[] known;
+    private byte[] baseHash;
+    private boolean baseKnown;
+    private final Map<Long, byte[]> anchored = new HashMap<>();
+    private boolean started;
+
+    /**
+     * Creates a walker for a walk that may start in the middle of the chain: like a genesis record, the first
+     * record then only needs a null {@code prevHash} if its predecessor was not seeded.
+     *
+     * @param layout chain layout
+     */
+    public ChainLinks(ChainLayout layout) {
+        this.layout = layout;
+        this.tipSeq = new long[layout.lanes()];
+        this.tipHash = new byte[layout.lanes()][];
+        this.known = new boolean[layout.lanes()];
+    }
+
+    /**
+     * Creates a walker for a walk that starts at the genesis record: a record whose predecessor was not seen
+     * breaks the chain even at the start.
+     *
+     * @param layout chain layout
+     * @return walker
+     */
+    public static ChainLinks fromGenesis(ChainLayout layout) {
+        ChainLinks links = new ChainLinks(layout);
+        links.started = true;
+        return links;
+    }
+
+    /**
+     * Seeds the hash of a record before the start of the walk (for example the end of the previous archive
+     * segment). Seed every lane tip below the start, in seq order.
+     *
+     * @param seq seq
+     * @param hash hash
+     */
+    public void seed(long seq, byte[] hash) {
+        started = true;
+        record(seq, hash);
+    }
+
+    /**
+     * Checks the next record's {@code prevHash} link (and its anchor payload) and advances its lane.
+     *
+     * @param e record (seq order)
+     * @return null if the record links correctly, otherwise the reason
+     */
+    public String accept(AuditRecordEntity e) {
+        long predecessor = layout.predecessor(e.getSeq());
+        int lane = layout.lane(e.getSeq());
+        byte[] expected = null;
+        if (predecessor > 0) {
+            if (predecessor == layout.base() && baseKnown && !(known[lane] && tipSeq[lane] > predecessor)) {
+                // First record of its lane.
+                expected = baseHash;
+            } else if (known[lane] && tipSeq[lane] == predecessor) {
+                expected = tipHash[lane];
+            } else if (started) {
+                return "prevHash mismatch: expected hash of seq=" + predecessor;
+            }
+        }
+        if (!Hashes.same(e.getPrevHash(), expected)) {
+            return predecessor == 0 || !started
+                    ? "Genesis record has non-null prevHash"
+                    : "prevHash mismatch: expected hash of seq=" + predecessor;
+        }
+        byte[] vouched = anchored.remove(e.getSeq());
+        if (vouched != null && !Hashes.same(vouched, e.getHash())) {
+            return "hash differs from the lane tip an anchor recorded for seq=" + e.getSeq();
+        }
+        if (layout.isLaned()) {
+            String anchor = checkAnchor(e);
+            if (anchor != null) {
+                return anchor;
+            }
+        }
+        started = true;
+        record(e.getSeq(), e.getHash());
+        return null;
+    }
+
+    /**
+     * Lane tips recorded by anchors that the walk has not reached (non-empty after a complete walk means a
+     * lane lost records an anchor vouched for).
+     *
+     * @return pending seqs
+     */
+    public Set<Long> unresolvedAnchors() {
+        return anchored.keySet();
+    }
+
+    /**
+     * Current tip of a lane.
+     *
+     * @param lane lane
+     * @return tip, or null if nothing of the lane (or the fork) was seen
+     */
+    public LaneHead tip(int lane) {
+        if (known[lane]) {
+            return new LaneHead(lane, tipSeq[lane], tipHash[lane]);
+        }
+        return baseKnown || layout.base() == 0 ? new LaneHead(lane, layout.initialTip(lane), baseHash) : null;
+    }
+
+    private String checkAnchor(AuditRecordEntity e) {
+        List<LaneHead> tips = LaneAnchor.tips(e).orElse(null);
+        if (tips == null) {
+            return null;
+        }
+        if (tips.size() != layout.lanes()) {
+            return "anchor does not list every lane";
+        }
+        for (LaneHead t : tips) {
+            if (t.lane() < 0 || t.lane() >= layout.lanes()) {
+                return "anchor lists unknown lane " + t.lane();
+            }
+            if (t.lastSeq() >= e.getSeq()) {
+                anchored.put(t.lastSeq(), t.lastHash());
+                continue;
+            }
+            LaneHead current = tip(t.lane());
+            long currentSeq = current != null ? Math.max(current.lastSeq(), layout.base()) : -1;
+            if (currentSeq != t.lastSeq() || !Hashes.same(current.lastHash(), t.lastHash())) {
+                return "anchor does not match the tip of lane " + t.lane();
+            }
+        }
+        return null;
+    }
+
+    private void record(long seq, byte[] hash) {
+        if (seq == layout.base()) {
+            baseHash = hash;
+            baseKnown = true;
+        }
+        int lane = layout.lane(seq);
+        tipSeq[lane] = seq;
+        tipHash[lane] = hash;
+        known[lane] = true;
+    }
+}
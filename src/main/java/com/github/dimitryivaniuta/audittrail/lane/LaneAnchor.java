@@ -0,0 +1,89 @@
+package com.github.dimitryivaniuta.audittrail.lane;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import com.github.dimitryivaniuta.audittrail.hash.Hashes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Anchor records of laned chains.
+ *
+ * <p>An anchor is a regular, HMAC-chained record in one lane whose payload lists the tip (seq and hash) of
+ * every lane at the time it was written, so it binds the lanes together: a lane cannot lose records that an
+ * anchor already vouched for without failing verification.</p>
+ */
+public final class LaneAnchor {
+
+    /** Actor of anchor records. */
+    public static final String ACTOR = "audit-trail";
+
+    /** Action of anchor records (reserved; the API refuses it). */
+    public static final String ACTION = "LANE_ANCHOR";
+
+    /** Resource type of anchor records (reserved; the API refuses it). */
+    public static final String RESOURCE_TYPE = "AUDIT_CHAIN";
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private LaneAnchor() {
+    }
+
+    /**
+     * Whether an append uses the reserved anchor action and resource type.
+     *
+     * @param action action
+     * @param resourceType resource type
+     * @return true if reserved
+     */
+    public static boolean isReserved(String action, String resourceType) {
+        return ACTION.equals(action) && RESOURCE_TYPE.equals(resourceType);
+    }
+
+    /**
+     * Anchor payload for a set of lane tips.
+     *
+     * @param layout chain layout
+     * @param tips lane heads, by lane
+     * @return payload ({@code {"lanes": [{"lane", "seq", "hash"}, ...]}})
+     */
+    public static Map<String, Object> data(ChainLayout layout, List<LaneHead> tips) {
+        List<Map<String, Object>> lanes = new ArrayList<>(tips.size());
+        for (LaneHead tip : tips) {
+            Map<String, Object> lane = new LinkedHashMap<>();
+            lane.put("lane", tip.lane());
+            // An empty lane still extends the fork record.
+            lane.put("seq", Math.max(tip.lastSeq(), layout.base()));
+            lane.put("hash", Hashes.hex(tip.lastHash()));
+            lanes.add(lane);
+        }
+        return Map.of("lanes", lanes);
+    }
+
+    /**
+     * Lane tips vouched for by an anchor record.
+     *
+     * @param e record
+     * @return tips, or empty if the record is not an anchor
+     */
+    public static Optional<List<LaneHead>> tips(AuditRecordEntity e) {
+        if (!ACTOR.equals(e.getActor()) || !isReserved(e.getAction(), e.getResourceType()) || e.getDataJson() == null) {
+            return Optional.empty();
+        }
+        try {
+            List<LaneHead> tips = new ArrayList<>();
+            for (JsonNode lane : JSON.readTree(e.getDataJson()).path("lanes")) {
+                tips.add(new LaneHead(lane.path("lane").asInt(), lane.path("seq").asLong(),
+                        lane.path("hash").isTextual() ? Hashes.fromHex(lane.path("hash").asText()) : null));
+            }
+            return Optional.of(tips);
+        } catch (JsonProcessingException | IllegalArgumentException ex) {
+            return Optional.of(List.of());
+        }
+    }
+}
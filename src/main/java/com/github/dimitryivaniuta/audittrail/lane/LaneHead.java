@@ -0,0 +1,11 @@
+package com.github.dimitryivaniuta.audittrail.lane;
+
+/**
+ * Tip of one lane of a tenant chain.
+ *
+ * @param lane lane
+ * @param lastSeq seq of the lane's last record (virtual tip below the fork for an empty lane)
+ * @param lastHash hash of the lane's last record (the fork record's hash for an empty lane)
+ */
+public record LaneHead(int lane, long lastSeq, byte[] lastHash) {
+}
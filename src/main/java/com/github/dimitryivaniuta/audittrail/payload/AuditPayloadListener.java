@@ -0,0 +1,37 @@
+package com.github.dimitryivaniuta.audittrail.payload;
+
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import jakarta.persistence.PostLoad;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Restores payloads stored by reference when Hibernate loads an {@link AuditRecordEntity}.
+ *
+ * <p>Instantiated through Spring's bean container for Hibernate; the store is looked up lazily because
+ * listeners are created while the entity manager factory (which the store's data source feeds) is built.</p>
+ */
+@Component
+public class AuditPayloadListener {
+
+    private final ObjectProvider<AuditPayloadStore> store;
+
+    /**
+     * Creates the listener.
+     *
+     * @param store payload store
+     */
+    public AuditPayloadListener(ObjectProvider<AuditPayloadStore> store) {
+        this.store = store;
+    }
+
+    /**
+     * Fills in the payload of a loaded record.
+     *
+     * @param e record
+     */
+    @PostLoad
+    public void resolvePayload(AuditRecordEntity e) {
+        store.getObject().resolve(e);
+    }
+}
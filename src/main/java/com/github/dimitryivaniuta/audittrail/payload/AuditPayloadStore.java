@@ -0,0 +1,165 @@
+package com.github.dimitryivaniuta.audittrail.payload;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.dimitryivaniuta.audittrail.config.AuditPayloadProperties;
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import com.github.dimitryivaniuta.audittrail.hash.Hashes;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorInputStream;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Content-addressed store for large record payloads ({@code audit_payloads}).
+ *
+ * <p>With {@code audit.payloads.enabled}, a canonical payload of at least {@code min-bytes} UTF-8 bytes is
+ * written once per tenant, keyed by its SHA-256 and LZ4-compressed; the record keeps the digest in
+ * {@code payload_digest} and a null {@code data}. The record HMAC is computed over the canonical payload
+ * before it is stored, and reads restore the exact canonical bytes, so verification does not depend on where
+ * the payload lives.</p>
+ *
+ * <p>Payloads are scoped by tenant so that a digest reveals nothing across tenants and a tenant moves
+ * between shards with its own rows. Reads go through a size-bounded cache: a payload attached to thousands
+ * of records is fetched and decompressed once.</p>
+ */
+@Component
+public class AuditPayloadStore {
+
+    private final JdbcTemplate jdbc;
+    private final AuditPayloadProperties properties;
+    private final Cache<PayloadKey, String> cache;
+
+    /**
+     * Creates the store.
+     *
+     * @param jdbc JDBC template (routed data source)
+     * @param properties payload settings
+     */
+    public AuditPayloadStore(JdbcTemplate jdbc, AuditPayloadProperties properties) {
+        this.jdbc = jdbc;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getCacheMaxChars())
+                .weigher((PayloadKey k, String v) -> v.length())
+                .build();
+    }
+
+    /**
+     * Stores a canonical payload by reference if it qualifies.
+     *
+     * <p>Must run in the appending transaction, so that the payload row commits (or rolls back) with the record.</p>
+     *
+     * @param tenantId tenant
+     * @param canonicalJson canonical payload
+     * @return digest to reference, or null if the payload stays inline
+     */
+    public byte[] externalize(String tenantId, String canonicalJson) {
+        return externalize(jdbc, tenantId, canonicalJson);
+    }
+
+    /**
+     * Stores a canonical payload by reference if it qualifies, through the given connection source.
+     *
+     * @param jdbc JDBC template of the writing transaction
+     * @param tenantId tenant
+     * @param canonicalJson canonical payload
+     * @return digest to reference, or null if the payload stays inline
+     */
+    public byte[] externalize(JdbcTemplate jdbc, String tenantId, String canonicalJson) {
+        if (!properties.isEnabled() || canonicalJson.length() * 3L < properties.getMinBytes()) {
+            return null;
+        }
+        byte[] utf8 = canonicalJson.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length < properties.getMinBytes()) {
+            return null;
+        }
+        byte[] digest = sha256(utf8);
+        // Probe first: duplicates are the common case and should not pay for compression.
+        Boolean stored = jdbc.queryForObject("select exists (select 1 from audit_payloads where tenant_id = ? and digest = ?)",
+                Boolean.class, tenantId, digest);
+        if (!Boolean.TRUE.equals(stored)) {
+            jdbc.update("insert into audit_payloads (tenant_id, digest, size, content) values (?, ?, ?, ?) on conflict do nothing",
+                    tenantId, digest, utf8.length, compress(utf8));
+        }
+        return digest;
+    }
+
+    /**
+     * Fills in {@code dataJson} of a record whose payload is stored by reference.
+     *
+     * @param e record
+     * @return the same record
+     */
+    public AuditRecordEntity resolve(AuditRecordEntity e) {
+        if (e.getDataJson() == null && e.getPayloadDigest() != null) {
+            e.setDataJson(load(e.getTenantId(), e.getPayloadDigest()));
+        }
+        return e;
+    }
+
+    /**
+     * Loads a payload by digest.
+     *
+     * @param tenantId tenant
+     * @param digest SHA-256 of the canonical payload
+     * @return canonical payload
+     * @throws IllegalStateException if the payload is missing or does not match its digest
+     */
+    public String load(String tenantId, byte[] digest) {
+        return cache.get(new PayloadKey(tenantId, Hashes.hex(digest)), key -> fetch(tenantId, digest));
+    }
+
+    private String fetch(String tenantId, byte[] digest) {
+        List<byte[]> rows = jdbc.query("select content from audit_payloads where tenant_id = ? and digest = ?",
+                (rs, i) -> rs.getBytes(1), tenantId, digest);
+        if (rows.isEmpty()) {
+            throw new IllegalStateException("Missing payload " + Hashes.hex(digest) + " of tenant " + tenantId);
+        }
+        byte[] utf8 = decompress(rows.get(0));
+        if (!Arrays.equals(sha256(utf8), digest)) {
+            throw new IllegalStateException("Payload " + Hashes.hex(digest) + " of tenant " + tenantId + " does not match its digest");
+        }
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] compress(byte[] utf8) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(utf8.length / 4 + 64);
+        try (OutputStream lz4 = new FramedLZ4CompressorOutputStream(out)) {
+            lz4.write(utf8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] decompress(byte[] compressed) {
+        try (InputStream lz4 = new FramedLZ4CompressorInputStream(new ByteArrayInputStream(compressed))) {
+            return lz4.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record PayloadKey(String tenantId, String digestHex) {
+    }
+}
@@ -0,0 +1,187 @@
+package com.github.dimitryivaniuta.audittrail.replica;
+
+import com.github.dimitryivaniuta.audittrail.config.AuditReplicaProperties;
+import com.github.dimitryivaniuta.audittrail.lane.ChainLanes;
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Read replicas per shard and their replication lag.
+ *
+ * <p>Lag is polled every {@code audit.replicas.lag-check-interval-ms}: zero when the replica has replayed
+ * everything it received, otherwise the age of the last replayed transaction. A replica that cannot be reached
+ * is treated as infinitely behind until the next successful poll.</p>
+ */
+public class ReadReplicas implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicas.class);
+
+    private static final String LAG_SQL = """
+            select case when not pg_is_in_recovery() or pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                        else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0) end::bigint""";
+
+    private final Map<String, List<Replica>> byShard;
+    private final Duration maxLag;
+
+    private ReadReplicas(Map<String, List<Replica>> byShard, Duration maxLag) {
+        this.byShard = byShard;
+        this.maxLag = maxLag;
+    }
+
+    /**
+     * No replicas: every read goes to the primary.
+     *
+     * @return empty registry
+     */
+    public static ReadReplicas none() {
+        return new ReadReplicas(Map.of(), Duration.ZERO);
+    }
+
+    /**
+     * Opens a read-only pool per configured replica.
+     *
+     * @param properties replica settings
+     * @return registry
+     */
+    public static ReadReplicas create(AuditReplicaProperties properties) {
+        Map<String, List<Replica>> byShard = new HashMap<>();
+        for (AuditReplicaProperties.Replica r : properties.getReplicas()) {
+            if (ReadTarget.PRIMARY.equals(r.getName())) {
+                throw new IllegalStateException("Replica name '" + ReadTarget.PRIMARY + "' is reserved");
+            }
+            HikariDataSource ds = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(r.getUrl())
+                    .username(r.getUsername())
+                    .password(r.getPassword())
+                    .build();
+            ds.setPoolName("audit-replica-" + r.getName());
+            ds.setMaximumPoolSize(r.getMaximumPoolSize());
+            ds.setReadOnly(true);
+            byShard.computeIfAbsent(r.getShard(), s -> new ArrayList<>()).add(new Replica(r.getName(), ds));
+        }
+        return new ReadReplicas(byShard, properties.getMaxLag());
+    }
+
+    /**
+     * Whether a shard has replicas.
+     *
+     * @param shard shard name
+     * @return true if at least one replica is configured
+     */
+    public boolean hasReplicas(String shard) {
+        return byShard.containsKey(shard);
+    }
+
+    /**
+     * Wraps a shard primary so reads can be routed to its replicas.
+     *
+     * @param shard shard name
+     * @param primary shard primary
+     * @return routing data source, or {@code primary} itself when the shard has no replicas
+     */
+    public DataSource wrap(String shard, DataSource primary) {
+        List<Replica> replicas = byShard.get(shard);
+        if (replicas == null) {
+            return primary;
+        }
+        Map<String, DataSource> targets = new LinkedHashMap<>();
+        replicas.forEach(r -> targets.put(r.name(), r.dataSource()));
+        return new ReplicaRoutingDataSource(primary, targets);
+    }
+
+    /**
+     * Least lagging replica of a shard within {@code audit.replicas.max-lag}.
+     *
+     * @param shard shard name
+     * @return replica name
+     */
+    public Optional<String> freshest(String shard) {
+        return byShard.getOrDefault(shard, List.of()).stream()
+                .filter(r -> r.lagMillis <= maxLag.toMillis())
+                .min(Comparator.comparingLong(r -> r.lagMillis))
+                .map(Replica::name);
+    }
+
+    /**
+     * Tenant chain length (see {@link ChainLanes#CHAIN_LENGTH_SQL}) as seen by a replica.
+     *
+     * @param shard shard name
+     * @param replica replica name
+     * @param tenantId tenant
+     * @return number of records, or empty when the replica does not know the tenant yet
+     */
+    public OptionalLong chainHead(String shard, String replica, String tenantId) {
+        return byShard.getOrDefault(shard, List.of()).stream()
+                .filter(r -> r.name().equals(replica))
+                .findFirst()
+                .flatMap(r -> new JdbcTemplate(r.dataSource())
+                        .queryForList(ChainLanes.CHAIN_LENGTH_SQL, Long.class, tenantId)
+                        .stream().findFirst())
+                .map(OptionalLong::of)
+                .orElse(OptionalLong.empty());
+    }
+
+    /**
+     * Polls the replication lag of every replica.
+     */
+    @Scheduled(fixedDelayString = "${audit.replicas.lag-check-interval-ms:1000}")
+    public void refreshLag() {
+        for (List<Replica> replicas : byShard.values()) {
+            for (Replica r : replicas) {
+                try {
+                    Long lag = new JdbcTemplate(r.dataSource()).queryForObject(LAG_SQL, Long.class);
+                    r.lagMillis = lag != null ? lag : Long.MAX_VALUE;
+                } catch (RuntimeException e) {
+                    if (r.lagMillis != Long.MAX_VALUE) {
+                        log.warn("Read replica {} is unavailable; reads fall back to the primary", r.name(), e);
+                    }
+                    r.lagMillis = Long.MAX_VALUE;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        byShard.values().forEach(list -> list.forEach(r -> r.dataSource().close()));
+    }
+
+    /**
+     * One replica pool and its last measured lag.
+     */
+    private static final class Replica {
+
+        private final String name;
+        private final HikariDataSource dataSource;
+        /** Unknown until the first poll. */
+        private volatile long lagMillis = Long.MAX_VALUE;
+
+        Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        String name() {
+            return name;
+        }
+
+        HikariDataSource dataSource() {
+            return dataSource;
+        }
+    }
+}
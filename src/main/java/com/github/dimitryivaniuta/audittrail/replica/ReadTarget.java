@@ -0,0 +1,62 @@
+package com.github.dimitryivaniuta.audittrail.replica;
+
+import java.util.function.Supplier;
+
+/**
+ * Database (primary or a replica of the current shard) selected for the current thread's reads.
+ *
+ * <p>Read by {@link ReplicaRoutingDataSource} when a connection is opened; set by {@link ReplicaReadAspect}, or
+ * explicitly with {@link #callOnPrimary(Supplier)} by code that must see its own latest writes.</p>
+ */
+public final class ReadTarget {
+
+    /** Routing key of the shard primary. */
+    public static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ReadTarget() {
+    }
+
+    /**
+     * Target selected for this thread.
+     *
+     * @return {@link #PRIMARY}, a replica name, or null when nothing is selected (primary)
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs {@code action} with {@code target} selected, restoring the previous selection afterwards.
+     *
+     * @param target {@link #PRIMARY} or a replica name
+     * @param action action
+     * @param <T> result type
+     * @return action result
+     */
+    public static <T> T callOn(String target, Supplier<T> action) {
+        String previous = CURRENT.get();
+        CURRENT.set(target);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Runs {@code action} against the primary, also for nested {@link ReplicaRead} methods.
+     *
+     * @param action action
+     * @param <T> result type
+     * @return action result
+     */
+    public static <T> T callOnPrimary(Supplier<T> action) {
+        return callOn(PRIMARY, action);
+    }
+}
@@ -0,0 +1,38 @@
+package com.github.dimitryivaniuta.audittrail.replica;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read-only bean method that may be served by a read replica of the tenant's shard.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReplicaRead {
+
+    /**
+     * How fresh the replica must be.
+     *
+     * @return consistency requirement
+     */
+    Consistency value() default Consistency.BOUNDED_LAG;
+
+    /**
+     * Freshness requirement of a replica read.
+     */
+    enum Consistency {
+
+        /** Any replica within {@code audit.replicas.max-lag}. */
+        BOUNDED_LAG,
+
+        /**
+         * The replica must have replayed the tenant's chain up to the head the primary reports at call time
+         * (waits up to {@code audit.replicas.verify-wait}, then reads the primary). Needs a tenant argument.
+         */
+        CHAIN_HEAD
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.dimitryivaniuta.audittrail.replica;
+
+import com.github.dimitryivaniuta.audittrail.config.AuditReplicaProperties;
+import com.github.dimitryivaniuta.audittrail.lane.ChainLanes;
+import com.github.dimitryivaniuta.audittrail.shard.ShardRouter;
+import com.github.dimitryivaniuta.audittrail.shard.TenantArguments;
+import com.github.dimitryivaniuta.audittrail.shard.TenantShardContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.locks.LockSupport;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends {@link ReplicaRead} methods to a replica of the tenant's shard when one is fresh enough.
+ *
+ * <p>Runs right after shard selection and outside transaction advice, so the whole call, transaction included,
+ * uses one database. A target that is already selected (outer call, or {@link ReadTarget#callOnPrimary}) is
+ * kept. Decisions are counted in {@code audit.replica.reads} (tags {@code target}, {@code reason}).</p>
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ReplicaReadAspect {
+
+    private static final long POLL_NANOS = Duration.ofMillis(25).toNanos();
+
+    private final ReadReplicas replicas;
+    private final ShardRouter router;
+    private final Duration verifyWait;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Creates the aspect.
+     *
+     * @param replicas read replicas
+     * @param router shard router (primary chain heads)
+     * @param properties replica settings
+     * @param meterRegistry meter registry
+     */
+    public ReplicaReadAspect(ReadReplicas replicas, ShardRouter router, AuditReplicaProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.router = router;
+        this.verifyWait = properties.getVerifyWait();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Routes one call.
+     *
+     * @param pjp join point
+     * @param read annotation
+     * @return method result
+     * @throws Throwable whatever the method throws
+     */
+    @Around("@annotation(read)")
+    public Object route(ProceedingJoinPoint pjp, ReplicaRead read) throws Throwable {
+        String shard = TenantShardContext.current() != null ? TenantShardContext.current() : router.shardNames().get(0);
+        if (ReadTarget.current() != null || !replicas.hasReplicas(shard)) {
+            return pjp.proceed();
+        }
+        Optional<String> replica = replicas.freshest(shard);
+        String reason = replica.isPresent() ? "fresh" : "lagging";
+        if (replica.isPresent() && read.value() == ReplicaRead.Consistency.CHAIN_HEAD
+                && !caughtUp(shard, replica.get(), TenantArguments.tenantOf(pjp))) {
+            replica = Optional.empty();
+            reason = "behind-chain-head";
+        }
+        String target = replica.orElse(ReadTarget.PRIMARY);
+        meterRegistry.counter("audit.replica.reads", "target", replica.isPresent() ? "replica" : "primary", "reason", reason)
+                .increment();
+        return ReadTarget.callOn(target, () -> proceed(pjp));
+    }
+
+    /**
+     * Waits (bounded) until the replica's chain head for the tenant reaches the primary's.
+     */
+    private boolean caughtUp(String shard, String replica, String tenantId) {
+        Long required = new JdbcTemplate(router.dataSource(shard))
+                .queryForList(ChainLanes.CHAIN_LENGTH_SQL, Long.class, tenantId)
+                .stream().findFirst().orElse(0L);
+        long deadline = System.nanoTime() + verifyWait.toNanos();
+        while (true) {
+            OptionalLong seen = replicas.chainHead(shard, replica, tenantId);
+            if (seen.orElse(0L) >= required) {
+                return true;
+            }
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            LockSupport.parkNanos(POLL_NANOS);
+        }
+    }
+
+    private static Object proceed(ProceedingJoinPoint pjp) {
+        try {
+            return pjp.proceed();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
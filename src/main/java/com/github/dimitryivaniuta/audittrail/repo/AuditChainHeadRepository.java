@@ -1,8 +1,11 @@
 package com.github.dimitryivaniuta.audittrail.repo;
 
 import com.github.dimitryivaniuta.audittrail.domain.AuditChainHeadEntity;
+import com.github.dimitryivaniuta.audittrail.lane.ChainLayout;
 import jakarta.persistence.LockModeType;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
@@ -22,4 +25,33 @@ public interface AuditChainHeadRepository extends JpaRepository<AuditChainHeadEn
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select h from AuditChainHeadEntity h where h.tenantId = :tenantId")
     Optional<AuditChainHeadEntity> findForUpdate(@Param("tenantId") String tenantId);
+
+    /**
+     * Loads a tenant chain head with a shared lock: lane appends run concurrently, while moves and anchors
+     * (which lock it for update) wait for them.
+     *
+     * @param tenantId tenant id
+     * @return optional head
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select h from AuditChainHeadEntity h where h.tenantId = :tenantId")
+    Optional<AuditChainHeadEntity> findForShare(@Param("tenantId") String tenantId);
+
+    /**
+     * Reads the lane layout of a tenant chain without loading (or locking) the head.
+     *
+     * @param tenantId tenant id
+     * @return layout, empty if the tenant has no chain yet
+     */
+    @Query("select new com.github.dimitryivaniuta.audittrail.lane.ChainLayout(h.lanes, h.laneBase) "
+            + "from AuditChainHeadEntity h where h.tenantId = :tenantId")
+    Optional<ChainLayout> findLayout(@Param("tenantId") String tenantId);
+
+    /**
+     * Pages the chain heads of tenants that live on this shard (heads fenced by a tenant move are skipped).
+     *
+     * @param pageable page request
+     * @return page
+     */
+    Page<AuditChainHeadEntity> findByMovedToIsNull(Pageable pageable);
 }
@@ -0,0 +1,27 @@
+package com.github.dimitryivaniuta.audittrail.repo;
+
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordSummary;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Select list plus row mapper for reading {@code audit_records} (alias {@code r}).
+ *
+ * @param columns select list
+ * @param rowMapper row mapper matching {@code columns}
+ * @param <T> result type
+ */
+public record AuditRecordProjection<T>(String columns, RowMapper<T> rowMapper) {
+
+    /**
+     * Full record including the {@code data} payload.
+     */
+    public static final AuditRecordProjection<AuditRecordEntity> ENTITY =
+            new AuditRecordProjection<>(AuditRecordRowMapper.COLUMNS, AuditRecordRowMapper.INSTANCE);
+
+    /**
+     * Metadata only; never touches the {@code data} column.
+     */
+    public static final AuditRecordProjection<AuditRecordSummary> SUMMARY =
+            new AuditRecordProjection<>(AuditRecordSummaryRowMapper.COLUMNS, AuditRecordSummaryRowMapper.INSTANCE);
+}
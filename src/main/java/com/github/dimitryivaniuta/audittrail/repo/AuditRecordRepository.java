@@ -2,12 +2,9 @@ package com.github.dimitryivaniuta.audittrail.repo;
 
 import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
 import jakarta.persistence.LockModeType;
-import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
@@ -16,7 +13,7 @@ import org.springframework.data.repository.query.Param;
 /**
  * Repository for audit records.
  */
-public interface AuditRecordRepository extends JpaRepository<AuditRecordEntity, Long> {
+public interface AuditRecordRepository extends JpaRepository<AuditRecordEntity, Long>, AuditRecordSearchRepository {
 
     /**
      * Finds the last record for a tenant with a pessimistic lock to serialize appends per tenant.
@@ -30,39 +27,19 @@ public interface AuditRecordRepository extends JpaRepository<AuditRecordEntity,
     /**
      * Loads a record by tenant + event id (idempotency key).
      *
+     * <p>Resolved through {@code audit_record_keys}, which carries the record's {@code created_at}, so only
+     * the partition holding the record is probed.</p>
+     *
      * @param tenantId tenant id
      * @param eventId event id
      * @return optional record
      */
-    Optional<AuditRecordEntity> findByTenantIdAndEventId(String tenantId, UUID eventId);
-
-    /**
-     * Searches records by filters. All filters are optional; if null, they are ignored.
-     *
-     * @param tenantId tenant id
-     * @param actor actor filter
-     * @param action action filter
-     * @param fromTs from timestamp (inclusive)
-     * @param toTs to timestamp (exclusive)
-     * @param pageable page request
-     * @return page
-     */
-    @Query("""
-        select r from AuditRecordEntity r
-        where r.tenantId = :tenantId
-          and (:actor is null or lower(r.actor) like lower(concat('%', :actor, '%')))
-          and (:action is null or r.action = :action)
-          and (:fromTs is null or r.createdAt >= :fromTs)
-          and (:toTs is null or r.createdAt < :toTs)
-        order by r.seq asc, r.id asc
-        """)
-    Page<AuditRecordEntity> search(
-            @Param("tenantId") String tenantId,
-            @Param("actor") String actor,
-            @Param("action") String action,
-            @Param("fromTs") Instant fromTs,
-            @Param("toTs") Instant toTs,
-            Pageable pageable);
+    @Query(value = """
+        select r.* from audit_record_keys k
+        join audit_records r on r.id = k.record_id and r.created_at = k.created_at
+        where k.tenant_id = :tenantId and k.event_id = :eventId
+        """, nativeQuery = true)
+    Optional<AuditRecordEntity> findByTenantIdAndEventId(@Param("tenantId") String tenantId, @Param("eventId") UUID eventId);
 
     /**
      * Loads records for verification/export in id order.
@@ -0,0 +1,50 @@
+package com.github.dimitryivaniuta.audittrail.repo;
+
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Maps {@code audit_records} rows selected with {@link #COLUMNS} to detached entities.
+ */
+public final class AuditRecordRowMapper implements RowMapper<AuditRecordEntity> {
+
+    /**
+     * Shared instance (stateless).
+     */
+    public static final AuditRecordRowMapper INSTANCE = new AuditRecordRowMapper();
+
+    /**
+     * Select list expected by this mapper (alias {@code r}).
+     */
+    public static final String COLUMNS = "r.id, r.tenant_id, r.seq, r.event_id, r.actor, r.action, r.resource_type, "
+            + "r.resource_id, r.correlation_id, r.data, r.created_at, r.hash_alg, r.key_id, r.prev_hash, r.hash, r.payload_digest";
+
+    private AuditRecordRowMapper() {
+    }
+
+    @Override
+    public AuditRecordEntity mapRow(ResultSet rs, int rowNum) throws SQLException {
+        AuditRecordEntity e = new AuditRecordEntity();
+        e.setId(rs.getLong("id"));
+        e.setTenantId(rs.getString("tenant_id"));
+        e.setSeq(rs.getLong("seq"));
+        e.setEventId(rs.getObject("event_id", UUID.class));
+        e.setActor(rs.getString("actor"));
+        e.setAction(rs.getString("action"));
+        e.setResourceType(rs.getString("resource_type"));
+        e.setResourceId(rs.getString("resource_id"));
+        e.setCorrelationId(rs.getString("correlation_id"));
+        e.setDataJson(rs.getString("data"));
+        e.setCreatedAt(rs.getObject("created_at", OffsetDateTime.class).toInstant());
+        e.setHashAlg(rs.getString("hash_alg"));
+        e.setKeyId(rs.getString("key_id"));
+        e.setPrevHash(rs.getBytes("prev_hash"));
+        e.setHash(rs.getBytes("hash"));
+        e.setPayloadDigest(rs.getBytes("payload_digest"));
+        return e;
+    }
+}
@@ -0,0 +1,154 @@
+package com.github.dimitryivaniuta.audittrail.repo;
+
+import com.github.dimitryivaniuta.audittrail.shard.TenantScoped;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Tenant-scoped search filters for audit records.
+ *
+ * <p>Only non-null filters end up in the generated SQL, so PostgreSQL plans each combination
+ * against the indexes that actually apply instead of a catch-all {@code (:x is null or ...)} plan.</p>
+ *
+ * @param tenantId tenant (required)
+ * @param actor actor filter (optional)
+ * @param actorMatch how {@code actor} is matched (defaults to {@link ActorMatch#CONTAINS})
+ * @param action exact action filter (optional)
+ * @param fromTs from timestamp inclusive (optional)
+ * @param toTs to timestamp exclusive (optional)
+ * @param dataContains JSON document the {@code data} payload must contain ({@code @>}, optional)
+ * @param dataPath SQL/JSON path predicate the {@code data} payload must satisfy ({@code @@}, optional)
+ * @param correlationIds correlation ids, any of which must match (optional)
+ * @param resourceType exact resource type filter (optional)
+ * @param resourceId exact resource id filter (optional)
+ */
+public record AuditRecordSearchCriteria(
+        String tenantId,
+        String actor,
+        ActorMatch actorMatch,
+        String action,
+        Instant fromTs,
+        Instant toTs,
+        String dataContains,
+        String dataPath,
+        List<String> correlationIds,
+        String resourceType,
+        String resourceId
+) implements TenantScoped {
+
+    /**
+     * Normalizes optional values.
+     */
+    public AuditRecordSearchCriteria {
+        if (tenantId == null || tenantId.isBlank()) {
+            throw new IllegalArgumentException("tenantId is required");
+        }
+        actor = blankToNull(actor);
+        action = blankToNull(action);
+        dataContains = blankToNull(dataContains);
+        dataPath = blankToNull(dataPath);
+        correlationIds = correlationIds == null ? null
+                : correlationIds.stream().filter(v -> v != null && !v.isBlank()).distinct().toList();
+        correlationIds = correlationIds == null || correlationIds.isEmpty() ? null : correlationIds;
+        resourceType = blankToNull(resourceType);
+        resourceId = blankToNull(resourceId);
+        actorMatch = actorMatch != null ? actorMatch : ActorMatch.CONTAINS;
+    }
+
+    /**
+     * Creates criteria without filters for a tenant.
+     *
+     * @param tenantId tenant
+     * @return criteria
+     */
+    public static AuditRecordSearchCriteria forTenant(String tenantId) {
+        return new AuditRecordSearchCriteria(tenantId, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * Returns a copy with an actor filter.
+     *
+     * @param actor actor (nullable)
+     * @param actorMatch match mode (nullable)
+     * @return criteria
+     */
+    public AuditRecordSearchCriteria withActor(String actor, ActorMatch actorMatch) {
+        return new AuditRecordSearchCriteria(tenantId, actor, actorMatch, action, fromTs, toTs, dataContains, dataPath,
+                correlationIds, resourceType, resourceId);
+    }
+
+    /**
+     * Returns a copy with an action filter.
+     *
+     * @param action action (nullable)
+     * @return criteria
+     */
+    public AuditRecordSearchCriteria withAction(String action) {
+        return new AuditRecordSearchCriteria(tenantId, actor, actorMatch, action, fromTs, toTs, dataContains, dataPath,
+                correlationIds, resourceType, resourceId);
+    }
+
+    /**
+     * Returns a copy with a created-at window.
+     *
+     * @param fromTs from inclusive (nullable)
+     * @param toTs to exclusive (nullable)
+     * @return criteria
+     */
+    public AuditRecordSearchCriteria withCreatedBetween(Instant fromTs, Instant toTs) {
+        return new AuditRecordSearchCriteria(tenantId, actor, actorMatch, action, fromTs, toTs, dataContains, dataPath,
+                correlationIds, resourceType, resourceId);
+    }
+
+    /**
+     * Returns a copy with JSONB payload filters.
+     *
+     * @param dataContains JSON containment document (nullable)
+     * @param dataPath JSON path predicate (nullable)
+     * @return criteria
+     */
+    public AuditRecordSearchCriteria withData(String dataContains, String dataPath) {
+        return new AuditRecordSearchCriteria(tenantId, actor, actorMatch, action, fromTs, toTs, dataContains, dataPath,
+                correlationIds, resourceType, resourceId);
+    }
+
+    /**
+     * Returns a copy with a correlation id filter.
+     *
+     * @param correlationIds correlation ids (nullable)
+     * @return criteria
+     */
+    public AuditRecordSearchCriteria withCorrelationIds(Collection<String> correlationIds) {
+        return new AuditRecordSearchCriteria(tenantId, actor, actorMatch, action, fromTs, toTs, dataContains, dataPath,
+                correlationIds == null ? null : correlationIds.stream().toList(), resourceType, resourceId);
+    }
+
+    /**
+     * Returns a copy with a resource filter.
+     *
+     * @param resourceType resource type (nullable)
+     * @param resourceId resource id (nullable)
+     * @return criteria
+     */
+    public AuditRecordSearchCriteria withResource(String resourceType, String resourceId) {
+        return new AuditRecordSearchCriteria(tenantId, actor, actorMatch, action, fromTs, toTs, dataContains, dataPath,
+                correlationIds, resourceType, resourceId);
+    }
+
+    private static String blankToNull(String v) {
+        return v == null || v.isBlank() ? null : v;
+    }
+
+    /**
+     * Actor matching mode. All modes are case-insensitive and backed by indexes on {@code lower(actor)}.
+     */
+    public enum ActorMatch {
+        /** Substring match (trigram GIN index). */
+        CONTAINS,
+        /** Prefix match ({@code text_pattern_ops} b-tree, trigram as fallback). */
+        PREFIX,
+        /** Case-insensitive equality. */
+        EXACT
+    }
+}
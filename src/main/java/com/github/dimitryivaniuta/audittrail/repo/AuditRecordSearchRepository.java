@@ -0,0 +1,97 @@
+package com.github.dimitryivaniuta.audittrail.repo;
+
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Search queries that are built dynamically from {@link AuditRecordSearchCriteria}.
+ */
+public interface AuditRecordSearchRepository {
+
+    /**
+     * Searches records by criteria, ordered by {@code seq}.
+     *
+     * @param criteria criteria
+     * @param pageable page request (sort is ignored; results are always in chain order)
+     * @return page
+     */
+    default Page<AuditRecordEntity> search(AuditRecordSearchCriteria criteria, Pageable pageable) {
+        return search(criteria, pageable, AuditRecordProjection.ENTITY);
+    }
+
+    /**
+     * Searches records by criteria, ordered by {@code seq}, reading only the projected columns.
+     *
+     * @param criteria criteria
+     * @param pageable page request (sort is ignored; results are always in chain order)
+     * @param projection columns and row mapper
+     * @param <T> result type
+     * @return page
+     */
+    <T> Page<T> search(AuditRecordSearchCriteria criteria, Pageable pageable, AuditRecordProjection<T> projection);
+
+    /**
+     * Keyset search: returns up to {@code limit} records with {@code seq > afterSeq}, ordered by {@code seq}.
+     *
+     * @param criteria criteria
+     * @param afterSeq exclusive lower seq bound (nullable for the first page)
+     * @param limit max rows
+     * @param projection columns and row mapper
+     * @param <T> result type
+     * @return records
+     */
+    <T> List<T> searchAfter(AuditRecordSearchCriteria criteria, Long afterSeq, int limit, AuditRecordProjection<T> projection);
+
+    /**
+     * Loads a tenant's records by id with a single {@code id = any(?)} query. Order is unspecified.
+     *
+     * @param tenantId tenant
+     * @param ids ids
+     * @param projection columns and row mapper
+     * @param <T> result type
+     * @return records that exist for the tenant
+     */
+    <T> List<T> findAllByIds(String tenantId, Collection<Long> ids, AuditRecordProjection<T> projection);
+
+    /**
+     * Loads the stored hashes of a tenant's records at the given chain positions, resolved through the
+     * {@code (tenant_id, seq)} primary key of {@code audit_record_keys}.
+     *
+     * @param tenantId tenant
+     * @param seqs chain positions
+     * @return hash by seq (positions that do not exist are absent)
+     */
+    Map<Long, byte[]> findHashesBySeq(String tenantId, Collection<Long> seqs);
+
+    /**
+     * Estimates the number of matching records from planner statistics ({@code EXPLAIN}); nothing is scanned.
+     *
+     * @param criteria criteria
+     * @return estimated row count
+     */
+    long estimateCount(AuditRecordSearchCriteria criteria);
+
+    /**
+     * Streams matching records in chain order through a forward-only cursor.
+     *
+     * <p>Must run inside a transaction: PostgreSQL only honours the fetch size (and keeps memory flat)
+     * when auto-commit is off. Each row is handed to {@code sink} as soon as it is read, so a slow sink
+     * slows down fetching instead of buffering rows.</p>
+     *
+     * @param criteria criteria
+     * @param afterSeq exclusive seq cursor (nullable)
+     * @param limit max records
+     * @param fetchSize rows per cursor round trip
+     * @param projection columns and row mapper
+     * @param sink consumer of each record
+     * @param <T> result type
+     * @return number of records streamed
+     */
+    <T> long stream(AuditRecordSearchCriteria criteria, Long afterSeq, long limit, int fetchSize,
+                    AuditRecordProjection<T> projection, Consumer<? super T> sink);
+}
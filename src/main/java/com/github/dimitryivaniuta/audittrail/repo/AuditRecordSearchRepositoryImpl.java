@@ -0,0 +1,148 @@
+package com.github.dimitryivaniuta.audittrail.repo;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import com.github.dimitryivaniuta.audittrail.payload.AuditPayloadStore;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * JDBC implementation of {@link AuditRecordSearchRepository}.
+ */
+class AuditRecordSearchRepositoryImpl implements AuditRecordSearchRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+    private final AuditPayloadStore payloads;
+
+    /**
+     * Creates the repository fragment.
+     *
+     * @param jdbc named parameter JDBC template
+     * @param objectMapper mapper (EXPLAIN output)
+     * @param payloads payload store (records whose payload is stored by reference)
+     */
+    AuditRecordSearchRepositoryImpl(NamedParameterJdbcTemplate jdbc, ObjectMapper objectMapper, AuditPayloadStore payloads) {
+        this.jdbc = jdbc;
+        this.objectMapper = objectMapper;
+        this.payloads = payloads;
+    }
+
+    @Override
+    public <T> Page<T> search(AuditRecordSearchCriteria criteria, Pageable pageable, AuditRecordProjection<T> projection) {
+        AuditRecordSearchSql sql = AuditRecordSearchSql.of(criteria);
+        MapSqlParameterSource params = new MapSqlParameterSource(sql.params().getValues())
+                .addValue("limit", pageable.getPageSize())
+                .addValue("offset", pageable.getOffset());
+
+        List<T> content = jdbc.query(sql.selectPage(projection.columns()), params, rowMapper(projection));
+
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> jdbc.queryForObject(sql.select("count(*)"), sql.params(), Long.class));
+    }
+
+    @Override
+    public <T> List<T> searchAfter(AuditRecordSearchCriteria criteria, Long afterSeq, int limit, AuditRecordProjection<T> projection) {
+        AuditRecordSearchSql sql = AuditRecordSearchSql.of(criteria);
+        MapSqlParameterSource params = new MapSqlParameterSource(sql.params().getValues())
+                .addValue("afterSeq", afterSeq)
+                .addValue("limit", limit);
+        return jdbc.query(sql.selectAfter(projection.columns(), afterSeq != null), params, rowMapper(projection));
+    }
+
+    @Override
+    public <T> List<T> findAllByIds(String tenantId, Collection<Long> ids, AuditRecordProjection<T> projection) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String sql = "select " + projection.columns() + " from audit_records r where r.tenant_id = ? and r.id = any(?)";
+        return jdbc.getJdbcOperations().query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setString(1, tenantId);
+            ps.setArray(2, con.createArrayOf("bigint", ids.toArray()));
+            return ps;
+        }, rowMapper(projection));
+    }
+
+    @Override
+    public Map<Long, byte[]> findHashesBySeq(String tenantId, Collection<Long> seqs) {
+        Map<Long, byte[]> hashes = new HashMap<>();
+        if (seqs.isEmpty()) {
+            return hashes;
+        }
+        jdbc.getJdbcOperations().query(con -> {
+            // Resolve positions through audit_record_keys so each lookup probes a single partition.
+            PreparedStatement ps = con.prepareStatement("""
+                select r.seq, r.hash from audit_record_keys k
+                join audit_records r on r.id = k.record_id and r.created_at = k.created_at
+                where k.tenant_id = ? and k.seq = any(?)
+                """);
+            ps.setString(1, tenantId);
+            ps.setArray(2, con.createArrayOf("bigint", seqs.toArray()));
+            return ps;
+        }, (ResultSet rs) -> {
+            hashes.put(rs.getLong(1), rs.getBytes(2));
+        });
+        return hashes;
+    }
+
+    @Override
+    public long estimateCount(AuditRecordSearchCriteria criteria) {
+        AuditRecordSearchSql sql = AuditRecordSearchSql.of(criteria);
+        String plan = jdbc.queryForObject("explain (format json) " + sql.select("1"), sql.params(), String.class);
+        try {
+            JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.asLong();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unexpected EXPLAIN output", e);
+        }
+    }
+
+    @Override
+    public <T> long stream(AuditRecordSearchCriteria criteria, Long afterSeq, long limit, int fetchSize,
+                           AuditRecordProjection<T> projection, Consumer<? super T> sink) {
+        AuditRecordSearchSql sql = AuditRecordSearchSql.of(criteria);
+        MapSqlParameterSource params = new MapSqlParameterSource(sql.params().getValues())
+                .addValue("afterSeq", afterSeq)
+                .addValue("limit", limit);
+
+        JdbcTemplate cursor = new JdbcTemplate(jdbc.getJdbcTemplate().getDataSource());
+        cursor.setFetchSize(fetchSize);
+        RowMapper<T> rowMapper = rowMapper(projection);
+        long[] count = {0};
+        new NamedParameterJdbcTemplate(cursor).query(sql.selectAfter(projection.columns(), afterSeq != null), params,
+                (ResultSet rs) -> {
+                    sink.accept(rowMapper.mapRow(rs, (int) count[0]));
+                    count[0]++;
+                });
+        return count[0];
+    }
+
+    /**
+     * The projection's row mapper; full records additionally get payloads stored by reference filled in.
+     */
+    private <T> RowMapper<T> rowMapper(AuditRecordProjection<T> projection) {
+        RowMapper<T> mapper = projection.rowMapper();
+        return (rs, rowNum) -> {
+            T row = mapper.mapRow(rs, rowNum);
+            if (row instanceof AuditRecordEntity e) {
+                payloads.resolve(e);
+            }
+            return row;
+        };
+    }
+}
@@ -0,0 +1,142 @@
+package com.github.dimitryivaniuta.audittrail.repo;
+
+import java.time.ZoneOffset;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+/**
+ * Builds the {@code WHERE} clause (and bind parameters) for {@link AuditRecordSearchCriteria}.
+ *
+ * <p>The clause references the {@code audit_records} table through the alias {@code r}.
+ * Predicates are written against the indexed expressions verbatim (for example {@code lower(r.actor)})
+ * so the planner can match them.</p>
+ */
+public final class AuditRecordSearchSql {
+
+    private final String where;
+    private final MapSqlParameterSource params;
+
+    private AuditRecordSearchSql(String where, MapSqlParameterSource params) {
+        this.where = where;
+        this.params = params;
+    }
+
+    /**
+     * Builds SQL for criteria.
+     *
+     * @param c criteria
+     * @return sql fragment
+     */
+    public static AuditRecordSearchSql of(AuditRecordSearchCriteria c) {
+        StringBuilder sql = new StringBuilder(" where r.tenant_id = :tenantId");
+        MapSqlParameterSource params = new MapSqlParameterSource("tenantId", c.tenantId());
+
+        if (c.actor() != null) {
+            switch (c.actorMatch()) {
+                case EXACT -> {
+                    sql.append(" and lower(r.actor) = lower(:actor)");
+                    params.addValue("actor", c.actor());
+                }
+                case PREFIX -> {
+                    sql.append(" and lower(r.actor) like lower(:actor) escape '\\'");
+                    params.addValue("actor", escapeLike(c.actor()) + "%");
+                }
+                case CONTAINS -> {
+                    sql.append(" and lower(r.actor) like lower(:actor) escape '\\'");
+                    params.addValue("actor", "%" + escapeLike(c.actor()) + "%");
+                }
+            }
+        }
+        if (c.action() != null) {
+            sql.append(" and r.action = :action");
+            params.addValue("action", c.action());
+        }
+        // Implies correlation_id is not null, so the partial (tenant_id, correlation_id, seq) index applies.
+        if (c.correlationIds() != null) {
+            sql.append(" and r.correlation_id in (:correlationIds)");
+            params.addValue("correlationIds", c.correlationIds());
+        }
+        if (c.resourceType() != null) {
+            sql.append(" and r.resource_type = :resourceType");
+            params.addValue("resourceType", c.resourceType());
+        }
+        if (c.resourceId() != null) {
+            sql.append(" and r.resource_id = :resourceId");
+            params.addValue("resourceId", c.resourceId());
+        }
+        if (c.fromTs() != null) {
+            sql.append(" and r.created_at >= :fromTs");
+            params.addValue("fromTs", c.fromTs().atOffset(ZoneOffset.UTC));
+        }
+        if (c.toTs() != null) {
+            sql.append(" and r.created_at < :toTs");
+            params.addValue("toTs", c.toTs().atOffset(ZoneOffset.UTC));
+        }
+        // Operator forms (not jsonb_path_match()) so the jsonb_path_ops GIN index applies.
+        if (c.dataContains() != null) {
+            sql.append(" and r.data @> cast(:dataContains as jsonb)");
+            params.addValue("dataContains", c.dataContains());
+        }
+        if (c.dataPath() != null) {
+            sql.append(" and r.data @@ cast(:dataPath as jsonpath)");
+            params.addValue("dataPath", c.dataPath());
+        }
+        return new AuditRecordSearchSql(sql.toString(), params);
+    }
+
+    /**
+     * Returns {@code select <columns> from audit_records r where ...}.
+     *
+     * @param columns select list
+     * @return sql
+     */
+    public String select(String columns) {
+        return "select " + columns + " from audit_records r" + where;
+    }
+
+    /**
+     * Returns a page query in chain order; binds {@code :limit} and {@code :offset}.
+     *
+     * @param columns select list
+     * @return sql
+     */
+    public String selectPage(String columns) {
+        return select(columns) + " order by r.seq asc limit :limit offset :offset";
+    }
+
+    /**
+     * Returns a keyset page query in chain order; binds {@code :limit} and, when {@code afterSeq}
+     * is set, {@code :afterSeq}.
+     *
+     * @param columns select list
+     * @param afterSeq whether to add the {@code seq > :afterSeq} bound
+     * @return sql
+     */
+    public String selectAfter(String columns, boolean afterSeq) {
+        return select(columns) + (afterSeq ? " and r.seq > :afterSeq" : "") + " order by r.seq asc limit :limit";
+    }
+
+    /**
+     * Returns the where clause, starting with a space.
+     *
+     * @return where clause
+     */
+    public String where() {
+        return where;
+    }
+
+    /**
+     * Returns bind parameters.
+     *
+     * @return params
+     */
+    public MapSqlParameterSource params() {
+        return params;
+    }
+
+    /**
+     * Escapes LIKE wildcards so user input is always matched literally.
+     */
+    private static String escapeLike(String v) {
+        return v.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
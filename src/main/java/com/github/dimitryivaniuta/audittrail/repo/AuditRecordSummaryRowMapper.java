@@ -0,0 +1,49 @@
+package com.github.dimitryivaniuta.audittrail.repo;
+
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordSummary;
+import com.github.dimitryivaniuta.audittrail.hash.Hashes;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Maps {@code audit_records} rows selected with {@link #COLUMNS} to {@link AuditRecordSummary}.
+ */
+public final class AuditRecordSummaryRowMapper implements RowMapper<AuditRecordSummary> {
+
+    /**
+     * Shared instance (stateless).
+     */
+    public static final AuditRecordSummaryRowMapper INSTANCE = new AuditRecordSummaryRowMapper();
+
+    /**
+     * Select list expected by this mapper (alias {@code r}); deliberately excludes {@code data}.
+     */
+    public static final String COLUMNS = "r.id, r.tenant_id, r.seq, r.event_id, r.actor, r.action, r.resource_type, "
+            + "r.resource_id, r.correlation_id, r.created_at, r.hash_alg, r.key_id, r.prev_hash, r.hash";
+
+    private AuditRecordSummaryRowMapper() {
+    }
+
+    @Override
+    public AuditRecordSummary mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new AuditRecordSummary(
+                rs.getLong("id"),
+                rs.getLong("seq"),
+                rs.getString("tenant_id"),
+                rs.getObject("event_id", UUID.class),
+                rs.getString("actor"),
+                rs.getString("action"),
+                rs.getString("resource_type"),
+                rs.getString("resource_id"),
+                rs.getString("correlation_id"),
+                rs.getObject("created_at", OffsetDateTime.class).toInstant(),
+                rs.getString("hash_alg"),
+                rs.getString("key_id"),
+                Hashes.hex(rs.getBytes("prev_hash")),
+                Hashes.hex(rs.getBytes("hash"))
+        );
+    }
+}
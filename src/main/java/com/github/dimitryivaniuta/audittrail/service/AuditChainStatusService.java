@@ -0,0 +1,112 @@
+package com.github.dimitryivaniuta.audittrail.service;
+
+import com.github.dimitryivaniuta.audittrail.config.CacheConfig;
+import com.github.dimitryivaniuta.audittrail.domain.AuditChainHeadEntity;
+import com.github.dimitryivaniuta.audittrail.lane.ChainLanes;
+import com.github.dimitryivaniuta.audittrail.lane.ChainLayout;
+import com.github.dimitryivaniuta.audittrail.repo.AuditChainHeadRepository;
+import com.github.dimitryivaniuta.audittrail.repo.AuditRecordRepository;
+import com.github.dimitryivaniuta.audittrail.repo.AuditRecordSearchCriteria;
+import com.github.dimitryivaniuta.audittrail.shard.RoutedByTenant;
+import com.github.dimitryivaniuta.audittrail.shard.ShardRouter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+/**
+ * Per-tenant chain status (record counts and latest hash) for UI and monitoring.
+ *
+ * <p>Everything here is answered from {@code audit_chain_heads}, {@code audit_lane_heads} or from planner
+ * statistics; no method scans {@code audit_records}. Results are cached briefly ({@code audit.cache.chain-status-ttl}).</p>
+ */
+@Service
+public class AuditChainStatusService {
+
+    private final AuditChainHeadRepository chainHeadRepository;
+    private final AuditRecordRepository recordRepository;
+    private final ShardRouter shards;
+    private final ChainLanes lanes;
+
+    /**
+     * Creates the service.
+     *
+     * @param chainHeadRepository chain head repository
+     * @param recordRepository record repository (planner estimates only)
+     * @param shards tenant shard router
+     * @param lanes lane heads (record counts of laned chains)
+     */
+    public AuditChainStatusService(AuditChainHeadRepository chainHeadRepository, AuditRecordRepository recordRepository,
+                                   ShardRouter shards, ChainLanes lanes) {
+        this.chainHeadRepository = chainHeadRepository;
+        this.recordRepository = recordRepository;
+        this.shards = shards;
+        this.lanes = lanes;
+    }
+
+    /**
+     * Returns the chain status of a tenant.
+     *
+     * @param tenantId tenant
+     * @return status
+     */
+    @RoutedByTenant
+    @Cacheable(cacheNames = CacheConfig.CHAIN_STATUS_CACHE, key = "'tenant:' + #tenantId")
+    public ChainStatus get(String tenantId) {
+        return chainHeadRepository.findById(tenantId)
+                .map(this::status)
+                .orElseThrow(() -> new NotFoundException("No audit chain for tenant: " + tenantId));
+    }
+
+    /**
+     * Lists chain status for all tenants, ordered by tenant id.
+     *
+     * <p>With several shards each shard returns its first {@code (page + 1) * size} heads in tenant order and
+     * the requested page is cut from the merged result. Heads left behind by tenant moves are skipped.</p>
+     *
+     * @param pageable page request
+     * @return page
+     */
+    @Cacheable(cacheNames = CacheConfig.CHAIN_STATUS_CACHE, key = "'all:' + #pageable.pageNumber + ':' + #pageable.pageSize")
+    public Page<ChainStatus> list(Pageable pageable) {
+        Pageable prefix = PageRequest.of(0, (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize()),
+                Sort.by("tenantId"));
+        List<ChainStatus> merged = new ArrayList<>();
+        long total = 0;
+        for (Page<ChainStatus> page : shards.callOnEachShard(() -> chainHeadRepository.findByMovedToIsNull(prefix).map(this::status))
+                .values()) {
+            page.forEach(merged::add);
+            total += page.getTotalElements();
+        }
+        merged.sort(Comparator.comparing(ChainStatus::tenantId));
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        int to = Math.min(from + pageable.getPageSize(), merged.size());
+        return new PageImpl<>(merged.subList(from, to), pageable, total);
+    }
+
+    private ChainStatus status(AuditChainHeadEntity head) {
+        if (head.getLanes() == 1) {
+            return ChainStatus.of(head);
+        }
+        ChainLayout layout = new ChainLayout(head.getLanes(), head.getLaneBase());
+        return ChainStatus.of(head, ChainLanes.recordCount(layout, lanes.heads(head.getTenantId())));
+    }
+
+    /**
+     * Estimates how many of a tenant's records match filters, using the planner's row estimate.
+     *
+     * @param criteria criteria
+     * @return approximate count
+     */
+    @RoutedByTenant
+    @Cacheable(cacheNames = CacheConfig.CHAIN_STATUS_CACHE, key = "#criteria")
+    public long estimateCount(AuditRecordSearchCriteria criteria) {
+        return recordRepository.estimateCount(criteria);
+    }
+}
@@ -0,0 +1,168 @@
+package com.github.dimitryivaniuta.audittrail.service;
+
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Kafka value serializer for appended-record events ({@code audit.kafka.topic}).
+ *
+ * <p>Compact, versioned binary layout, without the record's {@code data}:</p>
+ * <pre>
+ * u8 version (1)
+ * varint id | varint seq
+ * string tenantId | 16 bytes eventId (most, then least significant bits, big-endian)
+ * string actor | string action | string resourceType | string resourceId | nullable string correlationId
+ * zigzag varint createdAt (epoch micros)
+ * string hashAlg | nullable string keyId
+ * bytes prevHash | bytes hash   (varint length, 0 = null, then raw bytes)
+ * </pre>
+ *
+ * <p>Varints are unsigned LEB128; strings are a varint byte length and UTF-8, and a nullable string stores
+ * length + 1 with 0 for null. Consumers decode with {@link #decode(byte[])} or their own reader of this layout;
+ * a new layout gets a new version byte.</p>
+ */
+public class AuditEventSerializer implements Serializer<AuditRecordEntity> {
+
+    /** Layout version written first in every event. */
+    public static final byte VERSION = 1;
+
+    @Override
+    public byte[] serialize(String topic, AuditRecordEntity record) {
+        if (record == null) {
+            return null;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(160);
+        out.write(VERSION);
+        writeVarint(out, record.getId());
+        writeVarint(out, record.getSeq());
+        writeString(out, record.getTenantId());
+        writeLong(out, record.getEventId().getMostSignificantBits());
+        writeLong(out, record.getEventId().getLeastSignificantBits());
+        writeString(out, record.getActor());
+        writeString(out, record.getAction());
+        writeString(out, record.getResourceType());
+        writeString(out, record.getResourceId());
+        writeNullableString(out, record.getCorrelationId());
+        Instant createdAt = record.getCreatedAt();
+        long micros = Math.addExact(Math.multiplyExact(createdAt.getEpochSecond(), 1_000_000L), createdAt.getNano() / 1_000);
+        writeVarint(out, (micros << 1) ^ (micros >> 63));
+        writeString(out, record.getHashAlg());
+        writeNullableString(out, record.getKeyId());
+        writeBytes(out, record.getPrevHash());
+        writeBytes(out, record.getHash());
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes an event written by this serializer.
+     *
+     * @param event serialized event
+     * @return record without {@code data}
+     * @throws SerializationException if the event is truncated or of an unknown version
+     */
+    public static AuditRecordEntity decode(byte[] event) {
+        try {
+            ByteBuffer in = ByteBuffer.wrap(event);
+            byte version = in.get();
+            if (version != VERSION) {
+                throw new SerializationException("Unsupported audit event version: " + version);
+            }
+            AuditRecordEntity e = new AuditRecordEntity();
+            e.setId(readVarint(in));
+            e.setSeq(readVarint(in));
+            e.setTenantId(readString(in, readVarint(in)));
+            e.setEventId(new UUID(in.getLong(), in.getLong()));
+            e.setActor(readString(in, readVarint(in)));
+            e.setAction(readString(in, readVarint(in)));
+            e.setResourceType(readString(in, readVarint(in)));
+            e.setResourceId(readString(in, readVarint(in)));
+            e.setCorrelationId(readNullableString(in));
+            long zigzag = readVarint(in);
+            long micros = (zigzag >>> 1) ^ -(zigzag & 1);
+            e.setCreatedAt(Instant.EPOCH.plus(micros, ChronoUnit.MICROS));
+            e.setHashAlg(readString(in, readVarint(in)));
+            e.setKeyId(readNullableString(in));
+            e.setPrevHash(readBytes(in));
+            e.setHash(readBytes(in));
+            return e;
+        } catch (BufferUnderflowException | IllegalArgumentException | ArithmeticException e) {
+            throw new SerializationException("Truncated or malformed audit event", e);
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint longer than 10 bytes");
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String s) {
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, b.length);
+        out.write(b, 0, b.length);
+    }
+
+    private static void writeNullableString(ByteArrayOutputStream out, String s) {
+        if (s == null) {
+            out.write(0);
+            return;
+        }
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, b.length + 1L);
+        out.write(b, 0, b.length);
+    }
+
+    private static String readString(ByteBuffer in, long length) {
+        byte[] b = new byte[Math.toIntExact(length)];
+        in.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    private static String readNullableString(ByteBuffer in) {
+        long length = readVarint(in);
+        return length == 0 ? null : readString(in, length - 1);
+    }
+
+    private static void writeBytes(ByteArrayOutputStream out, byte[] b) {
+        if (b == null) {
+            out.write(0);
+            return;
+        }
+        writeVarint(out, b.length);
+        out.write(b, 0, b.length);
+    }
+
+    private static byte[] readBytes(ByteBuffer in) {
+        byte[] b = new byte[Math.toIntExact(readVarint(in))];
+        in.get(b);
+        return b.length == 0 ? null : b;
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.dimitryivaniuta.audittrail.service;
+
+import com.github.dimitryivaniuta.audittrail.config.AuditPartitionProperties;
+import com.github.dimitryivaniuta.audittrail.shard.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps monthly {@code audit_records} partitions created ahead of time.
+ *
+ * <p>Appends fail when no partition covers {@code created_at}, so partitions for the next
+ * {@code audit.partitions.months-ahead} months are ensured on startup and then on a schedule.
+ * The database function serializes concurrent callers, so every instance may run it.</p>
+ */
+@Component
+public class AuditPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditPartitionMaintenance.class);
+
+    private final JdbcTemplate jdbc;
+    private final AuditPartitionProperties properties;
+    private final ShardRouter shards;
+
+    /**
+     * Creates the job.
+     *
+     * @param jdbc JDBC template
+     * @param properties partition settings
+     * @param shards tenant shard router
+     */
+    public AuditPartitionMaintenance(JdbcTemplate jdbc, AuditPartitionProperties properties, ShardRouter shards) {
+        this.jdbc = jdbc;
+        this.properties = properties;
+        this.shards = shards;
+    }
+
+    /**
+     * Ensures future partitions once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        ensurePartitions();
+    }
+
+    /**
+     * Ensures future partitions on the configured schedule.
+     */
+    @Scheduled(cron = "${audit.partitions.cron:0 15 3 * * *}")
+    public void scheduled() {
+        ensurePartitions();
+    }
+
+    /**
+     * Creates missing partitions for the current month and the configured months ahead, on every shard.
+     *
+     * @return number of monthly partitions created
+     */
+    public int ensurePartitions() {
+        if (!properties.isMaintenanceEnabled()) {
+            return 0;
+        }
+        int total = 0;
+        for (var e : shards.callOnEachShard(() -> jdbc.queryForObject("select audit_records_ensure_partitions(?, ?)", Integer.class,
+                properties.getMonthsAhead(), properties.getTenantHashPartitions())).entrySet()) {
+            int created = e.getValue() != null ? e.getValue() : 0;
+            if (created > 0) {
+                log.info("Created {} monthly audit_records partition(s) on shard {}", created, e.getKey());
+            }
+            total += created;
+        }
+        return total;
+    }
+}
@@ -1,18 +1,50 @@
 package com.github.dimitryivaniuta.audittrail.service;
 
+import com.github.dimitryivaniuta.audittrail.archive.AuditArchiveService;
+import com.github.dimitryivaniuta.audittrail.cache.TieredAuditRecordCache;
+import com.github.dimitryivaniuta.audittrail.config.AuditAppendProperties;
+import com.github.dimitryivaniuta.audittrail.config.AuditLaneProperties;
+import com.github.dimitryivaniuta.audittrail.config.CacheConfig;
 import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
 import com.github.dimitryivaniuta.audittrail.domain.AuditChainHeadEntity;
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordSummary;
 import com.github.dimitryivaniuta.audittrail.hash.AuditHashingService;
 import com.github.dimitryivaniuta.audittrail.hash.CanonicalJsonService;
+import com.github.dimitryivaniuta.audittrail.hash.Hashes;
+import com.github.dimitryivaniuta.audittrail.lane.ChainLanes;
+import com.github.dimitryivaniuta.audittrail.lane.ChainLayout;
+import com.github.dimitryivaniuta.audittrail.lane.ChainLinks;
+import com.github.dimitryivaniuta.audittrail.lane.LaneAnchor;
+import com.github.dimitryivaniuta.audittrail.lane.LaneHead;
+import com.github.dimitryivaniuta.audittrail.payload.AuditPayloadStore;
+import com.github.dimitryivaniuta.audittrail.repo.AuditRecordProjection;
 import com.github.dimitryivaniuta.audittrail.repo.AuditRecordRepository;
+import com.github.dimitryivaniuta.audittrail.repo.AuditRecordSearchCriteria;
 import com.github.dimitryivaniuta.audittrail.repo.AuditChainHeadRepository;
+import com.github.dimitryivaniuta.audittrail.replica.ReplicaRead;
+import com.github.dimitryivaniuta.audittrail.shard.RoutedByTenant;
+import com.github.dimitryivaniuta.audittrail.shard.ShardRouter;
+import com.github.dimitryivaniuta.audittrail.shard.TenantScoped;
+import com.github.dimitryivaniuta.audittrail.shard.TenantShardContext;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.BadSqlGrammarException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -32,6 +64,14 @@ public class AuditRecordService {
     private final CanonicalJsonService canonicalJsonService;
     private final AuditHashingService hashingService;
     private final AuditEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final AuditArchiveService archive;
+    private final ShardRouter shards;
+    private final AuditPayloadStore payloads;
+    private final ChainLanes lanes;
+    private final AuditLaneProperties laneProperties;
+    private final ChainAppendStatement appendStatement;
+    private final AuditAppendProperties appendProperties;
 
     /**
      * Creates the service.
@@ -40,41 +80,200 @@ public class AuditRecordService {
      * @param canonicalJsonService canonical JSON service
      * @param hashingService hashing service
      * @param eventPublisher optional event publisher
+     * @param cacheManager cache manager (record cache)
+     * @param archive cold archive (records sealed out of the hot table)
+     * @param shards tenant shard router
+     * @param payloads content-addressed store for large payloads
+     * @param lanes lane heads of laned chains
+     * @param laneProperties lane settings
+     * @param appendStatement single-statement append (statement strategy)
+     * @param appendProperties append settings
      */
     public AuditRecordService(
             AuditRecordRepository repository,
             AuditChainHeadRepository chainHeadRepository,
             CanonicalJsonService canonicalJsonService,
             AuditHashingService hashingService,
-            AuditEventPublisher eventPublisher) {
+            AuditEventPublisher eventPublisher,
+            CacheManager cacheManager,
+            AuditArchiveService archive,
+            ShardRouter shards,
+            AuditPayloadStore payloads,
+            ChainLanes lanes,
+            AuditLaneProperties laneProperties,
+            ChainAppendStatement appendStatement,
+            AuditAppendProperties appendProperties) {
         this.repository = repository;
         this.chainHeadRepository = chainHeadRepository;
         this.canonicalJsonService = canonicalJsonService;
         this.hashingService = hashingService;
         this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.archive = archive;
+        this.shards = shards;
+        this.payloads = payloads;
+        this.lanes = lanes;
+        this.laneProperties = laneProperties;
+        this.appendStatement = appendStatement;
+        this.appendProperties = appendProperties;
     }
 
     /**
      * Appends an audit record in a tamper-evident chain.
      *
      * <p>If {@code eventId} is provided and already exists for the same tenant, the existing record
-     * is returned (idempotent append).</p>
+     * is returned (idempotent append). Tenants listed in {@code audit.lanes.tenants} append to one of
+     * several lanes, each with its own head, so appends of one tenant no longer wait for each other.</p>
+     *
+     * <p>With {@code audit.append.strategy=statement}, appends to an existing single chain are written by
+     * {@link ChainAppendStatement} (one statement plus the commit); new, laned and moved chains take the
+     * locking path below.</p>
      *
      * @param req append request
      * @return persisted entity
      */
+    @RoutedByTenant
     @Transactional
     public AuditRecordEntity append(AppendAuditRecordRequest req) {
+        if (LaneAnchor.isReserved(req.action(), req.resourceType())) {
+            throw new IllegalArgumentException("Action " + LaneAnchor.ACTION + " on " + LaneAnchor.RESOURCE_TYPE
+                    + " is reserved for lane anchors");
+        }
         UUID eventId = req.eventId() != null ? req.eventId() : UUID.randomUUID();
-        Optional<AuditRecordEntity> existing = repository.findByTenantIdAndEventId(req.tenantId(), eventId);
+        // Canonicalize JSON for stable hash computation.
+        String dataJson = canonicalJsonService.canonicalize(req.data());
+
+        if (appendProperties.getStrategy() == AuditAppendProperties.Strategy.STATEMENT
+                && laneProperties.lanesFor(req.tenantId()) == 1) {
+            Optional<AuditRecordEntity> appended = appendByStatement(req, eventId, dataJson);
+            if (appended.isPresent()) {
+                return appended.get();
+            }
+        }
+
+        Optional<AuditRecordEntity> existing = repository.findByTenantIdAndEventId(req.tenantId(), eventId)
+                .or(() -> archive.findByEventId(req.tenantId(), eventId));
         if (existing.isPresent()) {
             return existing.get();
         }
 
-        AuditChainHeadEntity head = chainHeadRepository.findForUpdate(req.tenantId()).orElseGet(() -> {
+        // Laned chains only share-lock the tenant head; everything else serializes on it.
+        boolean laned = chainHeadRepository.findLayout(req.tenantId()).map(ChainLayout::isLaned).orElse(false);
+        AuditChainHeadEntity head = laned
+                ? chainHeadRepository.findForShare(req.tenantId()).orElseThrow()
+                : lockHead(req.tenantId());
+
+        if (head.getMovedTo() != null) {
+            throw new TenantMovedException(req.tenantId(), head.getMovedTo());
+        }
+        int configuredLanes = laneProperties.lanesFor(req.tenantId());
+        if (head.getLanes() == 1 && configuredLanes > 1) {
+            enableLanes(head, configuredLanes);
+        }
+
+        try {
+            AuditRecordEntity saved;
+            if (head.getLanes() == 1) {
+                saved = save(newRecord(req, eventId, dataJson, head.getLastSeq() + 1, head.getLastHash()), dataJson);
+                head.setLastSeq(saved.getSeq());
+                head.setLastHash(saved.getHash());
+                head.setLastRecordId(saved.getId());
+                head.setUpdatedAt(Instant.now());
+                chainHeadRepository.saveAndFlush(head);
+            } else {
+                LaneHead lane = lanes.lockLane(req.tenantId());
+                saved = save(newRecord(req, eventId, dataJson, lane.lastSeq() + head.getLanes(), lane.lastHash()), dataJson);
+                lanes.advance(req.tenantId(), lane.lane(), saved.getSeq(), saved.getHash(), saved.getId());
+            }
+
+            eventPublisher.publishAppended(saved);
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            // Race on eventId uniqueness (idempotency). Return existing.
+            appendStatement.forget(req.tenantId());
+            return repository.findByTenantIdAndEventId(req.tenantId(), eventId)
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Statement strategy: computes the record against the cached chain tip and writes it with one statement,
+     * re-reading the tip when another writer moved it.
+     *
+     * @return the appended (or already existing) record, or empty to take the locking path
+     */
+    private Optional<AuditRecordEntity> appendByStatement(AppendAuditRecordRequest req, UUID eventId, String dataJson) {
+        Optional<ChainAppendStatement.ChainTip> tip = appendStatement.cachedTip(req.tenantId());
+        // Built (and its payload externalized) once; a stale tip only moves its chain position.
+        AuditRecordEntity record = null;
+        for (int attempt = 0; attempt < appendProperties.getMaxAttempts(); attempt++) {
+            if (tip.isEmpty()) {
+                tip = appendStatement.readTip(req.tenantId());
+                if (tip.isEmpty()) {
+                    return Optional.empty();
+                }
+            }
+            if (record == null) {
+                record = unlinkedRecord(req, eventId, dataJson);
+            }
+            link(record, dataJson, tip.get().seq() + 1, tip.get().hash());
+            ChainAppendStatement.AppendOutcome outcome = appendStatement.append(record);
+            if (outcome.existingId() != null) {
+                return repository.findByTenantIdAndEventId(req.tenantId(), eventId)
+                        .or(() -> archive.findByEventId(req.tenantId(), eventId));
+            }
+            if (outcome.appendedId() != null) {
+                record.setId(outcome.appendedId());
+                record.setDataJson(dataJson);
+                eventPublisher.publishAppended(record);
+                return Optional.of(record);
+            }
+            tip = Optional.empty();
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Writes an anchor record into a laned chain: the tips of all lanes, appended to the lane with the lowest
+     * tip. Appends of the tenant wait while it is written.
+     *
+     * @param tenantId tenant
+     * @return anchor, or empty for a single chain or when no lane changed since the last anchor
+     */
+    @RoutedByTenant
+    @Transactional
+    public Optional<AuditRecordEntity> anchorLanes(String tenantId) {
+        AuditChainHeadEntity head = chainHeadRepository.findForUpdate(tenantId)
+                .orElseThrow(() -> new NotFoundException("No audit chain for tenant: " + tenantId));
+        if (head.getMovedTo() != null) {
+            throw new TenantMovedException(tenantId, head.getMovedTo());
+        }
+        if (head.getLanes() == 1) {
+            return Optional.empty();
+        }
+        ChainLayout layout = new ChainLayout(head.getLanes(), head.getLaneBase());
+        List<LaneHead> tips = lanes.lockAll(tenantId);
+        if (!lanes.changedSinceAnchor(tenantId)) {
+            return Optional.empty();
+        }
+        // The lowest lane: every other lane's next record then lands above the anchor (see ChainLinks).
+        LaneHead lowest = tips.stream().min(Comparator.comparingLong(LaneHead::lastSeq)).orElseThrow();
+        String dataJson = canonicalJsonService.canonicalize(LaneAnchor.data(layout, tips));
+        AppendAuditRecordRequest anchor = new AppendAuditRecordRequest(tenantId, null, LaneAnchor.ACTOR, LaneAnchor.ACTION,
+                LaneAnchor.RESOURCE_TYPE, tenantId, null, null);
+        AuditRecordEntity saved = save(newRecord(anchor, UUID.randomUUID(), dataJson, lowest.lastSeq() + layout.lanes(),
+                lowest.lastHash()), dataJson);
+        lanes.advance(tenantId, lowest.lane(), saved.getSeq(), saved.getHash(), saved.getId());
+        lanes.anchored(tenantId, saved.getSeq(), saved.getHash(), saved.getId());
+        eventPublisher.publishAppended(saved);
+        return Optional.of(saved);
+    }
+
+    private AuditChainHeadEntity lockHead(String tenantId) {
+        return chainHeadRepository.findForUpdate(tenantId).orElseGet(() -> {
             // First record for this tenant: create a chain head row, then lock it.
             AuditChainHeadEntity created = new AuditChainHeadEntity();
-            created.setTenantId(req.tenantId());
+            created.setTenantId(tenantId);
             created.setLastSeq(0L);
             created.setLastHash(null);
             created.setLastRecordId(null);
@@ -84,20 +283,35 @@ public class AuditRecordService {
             } catch (Exception ignore) {
                 // concurrent insert - ignore and reload with lock below
             }
-            return chainHeadRepository.findForUpdate(req.tenantId())
-                    .orElseThrow(() -> new IllegalStateException("Failed to initialize chain head for tenant: " + req.tenantId()));
+            return chainHeadRepository.findForUpdate(tenantId)
+                    .orElseThrow(() -> new IllegalStateException("Failed to initialize chain head for tenant: " + tenantId));
         });
+    }
 
-        // Canonicalize JSON for stable hash computation.
-        String dataJson = canonicalJsonService.canonicalize(req.data());
+    /**
+     * Forks a single chain into lanes at its current tip (head locked for update).
+     */
+    private void enableLanes(AuditChainHeadEntity head, int count) {
+        ChainLayout layout = new ChainLayout(count, head.getLastSeq());
+        head.setLanes(layout.lanes());
+        head.setLaneBase(layout.base());
+        head.setUpdatedAt(Instant.now());
+        chainHeadRepository.saveAndFlush(head);
+        lanes.create(head.getTenantId(), layout, head.getLastHash(), head.getLastRecordId());
+    }
 
-        Instant now = Instant.now();
-        long nextSeq = head.getLastSeq() + 1;
-        String prevHash = head.getLastHash();
+    private AuditRecordEntity newRecord(AppendAuditRecordRequest req, UUID eventId, String dataJson, long seq, byte[] prevHash) {
+        AuditRecordEntity entity = unlinkedRecord(req, eventId, dataJson);
+        link(entity, dataJson, seq, prevHash);
+        return entity;
+    }
 
+    /**
+     * Builds a record without its chain position ({@code seq}, {@code prevHash}, {@code hash}).
+     */
+    private AuditRecordEntity unlinkedRecord(AppendAuditRecordRequest req, UUID eventId, String dataJson) {
         AuditRecordEntity entity = new AuditRecordEntity();
         entity.setTenantId(req.tenantId());
-        entity.setSeq(nextSeq);
         entity.setEventId(eventId);
         entity.setActor(req.actor());
         entity.setAction(req.action());
@@ -107,10 +321,26 @@ public class AuditRecordService {
         entity.setDataJson(dataJson);
         entity.setHashAlg(AuditHashingService.HASH_ALG);
         entity.setKeyId(hashingService.activeKeyId());
-        entity.setPrevHash(prevHash);
-        entity.setCreatedAt(now);
+        // Microseconds, as stored, so the HMAC recomputes from the row.
+        entity.setCreatedAt(Instant.now().truncatedTo(ChronoUnit.MICROS));
 
-        entity.setHash(hashingService.computeHashHex(entity.getKeyId(),
+        // Large payloads are stored once per tenant and referenced by digest; the hash still covers them as usual.
+        entity.setPayloadDigest(payloads.externalize(entity.getTenantId(), dataJson));
+        if (entity.getPayloadDigest() != null) {
+            entity.setDataJson(null);
+        }
+        return entity;
+    }
+
+    /**
+     * Places a record at a chain position and computes its hash there.
+     *
+     * @param dataJson canonical payload (the record's own {@code dataJson} is null when stored by reference)
+     */
+    private void link(AuditRecordEntity entity, String dataJson, long seq, byte[] prevHash) {
+        entity.setSeq(seq);
+        entity.setPrevHash(prevHash);
+        entity.setHash(hashingService.computeHash(entity.getKeyId(),
                 new AuditHashingService.AuditHashPayload(
                         entity.getTenantId(),
                         entity.getEventId().toString(),
@@ -120,111 +350,295 @@ public class AuditRecordService {
                         entity.getResourceId(),
                         entity.getCorrelationId(),
                         entity.getCreatedAt(),
-                        entity.getPrevHash(),
-                        entity.getDataJson()
+                        Hashes.hex(entity.getPrevHash()),
+                        dataJson
                 )));
+    }
 
-        try {
-            AuditRecordEntity saved = repository.saveAndFlush(entity);
-            head.setLastSeq(saved.getSeq());
-            head.setLastHash(saved.getHash());
-            head.setLastRecordId(saved.getId());
-            head.setUpdatedAt(Instant.now());
-            chainHeadRepository.saveAndFlush(head);
-
-            eventPublisher.publishAppended(saved);
-            return saved;
-        } catch (DataIntegrityViolationException e) {
-            // Race on eventId uniqueness (idempotency). Return existing.
-            return repository.findByTenantIdAndEventId(req.tenantId(), eventId)
-                    .orElseThrow(() -> e);
-        }
+    private AuditRecordEntity save(AuditRecordEntity entity, String dataJson) {
+        AuditRecordEntity saved = repository.saveAndFlush(entity);
+        saved.setDataJson(dataJson);
+        return saved;
     }
 
     /**
-     * Gets a record by id (cached).
+     * Gets a record by id (cached in the two-tier record cache; records are immutable). Falls back to the
+     * cold archive for records no longer in the hot table. With several shards, each one is asked in turn.
      *
      * @param id id
      * @return entity
      */
-    @Cacheable(cacheNames = "audit-record", key = "#id")
+    @Cacheable(cacheNames = CacheConfig.AUDIT_RECORD_CACHE, key = "#id")
     public AuditRecordEntity getById(long id) {
-        return repository.findById(id).orElseThrow(() -> new NotFoundException("Audit record not found: id=" + id));
+        // Ids are unique across shards (disjoint id residues); the tenant is not known, so ask each shard.
+        for (String shard : shards.shardNames()) {
+            Optional<AuditRecordEntity> found = TenantShardContext.callOnShard(shard,
+                    () -> repository.findById(id).or(() -> archive.findById(id)));
+            if (found.isPresent()) {
+                return found.get();
+            }
+        }
+        throw new NotFoundException("Audit record not found: id=" + id);
     }
 
     /**
-     * Searches records for a tenant with optional filters.
+     * Gets many records of one tenant by id.
+     *
+     * <p>Hits are served from the local record cache tier; all misses are loaded with one
+     * {@code id = any(?)} query (ids not in the hot table are looked up in the archive) and then cached.</p>
      *
      * @param tenantId tenant
-     * @param actor actor filter
-     * @param action action filter
-     * @param fromTs from timestamp (inclusive)
-     * @param toTs to timestamp (exclusive)
+     * @param ids ids
+     * @return records by id (ids that do not exist for the tenant are absent)
+     */
+    @RoutedByTenant
+    public Map<Long, AuditRecordEntity> getByIds(String tenantId, Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.AUDIT_RECORD_CACHE);
+        Map<Long, AuditRecordEntity> found = new HashMap<>();
+        Set<Long> misses = new LinkedHashSet<>();
+        for (Long id : ids) {
+            AuditRecordEntity cached = cache instanceof TieredAuditRecordCache tiered ? tiered.getLocal(id) : null;
+            if (cached != null && tenantId.equals(cached.getTenantId())) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+        List<AuditRecordEntity> loaded = new ArrayList<>(repository.findAllByIds(tenantId, misses, AuditRecordProjection.ENTITY));
+        loaded.forEach(e -> misses.remove(e.getId()));
+        for (Long id : misses) {
+            archive.findById(id).filter(e -> tenantId.equals(e.getTenantId())).ifPresent(loaded::add);
+        }
+        for (AuditRecordEntity e : loaded) {
+            found.put(e.getId(), e);
+            if (cache != null) {
+                cache.put(e.getId(), e);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Searches records for a tenant with optional filters.
+     *
+     * @param criteria search criteria
      * @param pageable pageable
      * @return page
      */
-    public Page<AuditRecordEntity> search(String tenantId, String actor, String action, Instant fromTs, Instant toTs, Pageable pageable) {
-        return repository.search(tenantId, actor, action, fromTs, toTs, pageable);
+    @RoutedByTenant
+    @ReplicaRead
+    public Page<AuditRecordEntity> search(AuditRecordSearchCriteria criteria, Pageable pageable) {
+        return repository.search(criteria, pageable);
     }
 
     /**
-     * Verifies integrity of the hash chain for a tenant.
+     * Searches record metadata for a tenant; the {@code data} payload is not read.
+     *
+     * @param criteria search criteria
+     * @param pageable pageable
+     * @return page of summaries
+     */
+    @RoutedByTenant
+    @ReplicaRead
+    public Page<AuditRecordSummary> searchSummaries(AuditRecordSearchCriteria criteria, Pageable pageable) {
+        return repository.search(criteria, pageable, AuditRecordProjection.SUMMARY);
+    }
+
+    /**
+     * Keyset search in chain order, typically with JSONB payload filters.
+     *
+     * @param criteria search criteria
+     * @param afterSeq exclusive seq cursor (nullable for the first page)
+     * @param limit max records
+     * @param projection columns to read
+     * @param <T> result type
+     * @return records with {@code seq > afterSeq}
+     */
+    @RoutedByTenant
+    @ReplicaRead
+    public <T> List<T> searchAfter(AuditRecordSearchCriteria criteria, Long afterSeq, int limit, AuditRecordProjection<T> projection) {
+        try {
+            return repository.searchAfter(criteria, afterSeq, limit, projection);
+        } catch (BadSqlGrammarException | DataIntegrityViolationException e) {
+            // Malformed JSON / JSON path filters are rejected by PostgreSQL when casting the bind values.
+            throw new IllegalArgumentException("Invalid data filter: " + e.getMostSpecificCause().getMessage(), e);
+        }
+    }
+
+    /**
+     * Streams all matching records in chain order through a database cursor.
+     *
+     * @param criteria search criteria
+     * @param afterSeq exclusive seq cursor (nullable)
+     * @param limit max records
+     * @param fetchSize cursor fetch size
+     * @param projection columns to read
+     * @param sink consumer invoked for each record as it is read
+     * @param <T> result type
+     * @return number of records streamed
+     */
+    @RoutedByTenant
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public <T> long streamSearch(AuditRecordSearchCriteria criteria, Long afterSeq, long limit, int fetchSize,
+                                 AuditRecordProjection<T> projection, Consumer<? super T> sink) {
+        return repository.stream(criteria, afterSeq, limit, fetchSize, projection, sink);
+    }
+
+    /**
+     * Verifies integrity of the hash chain for a tenant, archived segments included.
      *
      * @param tenantId tenant
      * @param fromId optional from id inclusive
      * @param toId optional to id inclusive
      * @return result
      */
+    @RoutedByTenant
+    @ReplicaRead(ReplicaRead.Consistency.CHAIN_HEAD)
     public VerificationResult verify(String tenantId, Long fromId, Long toId) {
-        List<AuditRecordEntity> records = repository.loadRange(tenantId, fromId, toId);
+        ChainLayout layout = chainHeadRepository.findLayout(tenantId).orElse(ChainLayout.SINGLE);
+        ChainVerifier verifier = new ChainVerifier(fromId == null ? ChainLinks.fromGenesis(layout) : new ChainLinks(layout));
+        forEachInRange(tenantId, fromId, toId, verifier);
+        return verifier.result(toId == null);
+    }
 
-        String previousHash = null;
-        Long previousId = null;
+    /**
+     * Verifies a set of records of one tenant that are not necessarily adjacent in the chain
+     * (for example one resource's history).
+     *
+     * <p>Each record's hash is recomputed, and its {@code prevHash} is compared with the stored hash of
+     * its chain predecessor ({@code seq - 1}, or the previous record of its lane); predecessors are loaded
+     * with one query, and those already sealed out of the hot table are read from the archive.</p>
+     *
+     * @param tenantId tenant
+     * @param records records in any order
+     * @return result
+     */
+    @RoutedByTenant
+    @ReplicaRead
+    public VerificationResult verifyRecords(String tenantId, List<AuditRecordEntity> records) {
+        ChainLayout layout = chainHeadRepository.findLayout(tenantId).orElse(ChainLayout.SINGLE);
+        Set<Long> predecessorSeqs = new LinkedHashSet<>();
+        for (AuditRecordEntity record : records) {
+            if (layout.predecessor(record.getSeq()) > 0) {
+                predecessorSeqs.add(layout.predecessor(record.getSeq()));
+            }
+        }
+        Map<Long, byte[]> predecessorHashes = repository.findHashesBySeq(tenantId, predecessorSeqs);
+        for (Long seq : predecessorSeqs) {
+            if (!predecessorHashes.containsKey(seq)) {
+                // The first hot records of a sealed tenant link into the archive.
+                archive.findBySeq(tenantId, seq).ifPresent(e -> predecessorHashes.put(seq, e.getHash()));
+            }
+        }
 
         for (AuditRecordEntity record : records) {
-            // Verify that stored prevHash matches previous record hash.
-            if (previousId == null) {
+            if (!tenantId.equals(record.getTenantId())) {
+                return VerificationResult.mismatch(record.getId(), "record belongs to another tenant");
+            }
+            long predecessor = layout.predecessor(record.getSeq());
+            if (predecessor == 0) {
                 if (record.getPrevHash() != null) {
                     return VerificationResult.mismatch(record.getId(), "Genesis record has non-null prevHash");
                 }
             } else {
-                if (record.getPrevHash() == null || !record.getPrevHash().equals(previousHash)) {
-                    return VerificationResult.mismatch(record.getId(), "prevHash mismatch: expected hash of id=" + previousId);
+                byte[] expected = predecessorHashes.get(predecessor);
+                if (expected == null || !Hashes.same(expected, record.getPrevHash())) {
+                    return VerificationResult.mismatch(record.getId(), "prevHash mismatch: expected hash of seq=" + predecessor);
                 }
             }
-
-            // Verify record hash itself.
-            String recomputed = hashingService.recomputeHashHex(record);
-            if (!recomputed.equals(record.getHash())) {
+            if (!Hashes.same(hashingService.recomputeHash(record), record.getHash())) {
                 return VerificationResult.mismatch(record.getId(), "hash mismatch: recomputed differs from stored hash");
             }
-
-            previousHash = record.getHash();
-            previousId = record.getId();
         }
-
         return VerificationResult.ok(records.size());
     }
 
-
     /**
-     * Loads a range of records ordered by id (for export/verification).
+     * Loads a range of records in chain order, archived segments included (for export/verification).
      *
      * @param tenantId tenant
      * @param fromId start id inclusive
      * @param toId end id inclusive
      * @return records
      */
+    @RoutedByTenant
+    @ReplicaRead(ReplicaRead.Consistency.CHAIN_HEAD)
     public List<AuditRecordEntity> loadRange(String tenantId, Long fromId, Long toId) {
-        return repository.loadRange(tenantId, fromId, toId);
+        List<AuditRecordEntity> records = new ArrayList<>();
+        forEachInRange(tenantId, fromId, toId, records::add);
+        return records;
     }
 
     /**
-     * Canonicalizes arbitrary JSON-like data into a stable JSON string.
+     * Visits a range of records in chain order until {@code action} returns false: archived segments first,
+     * then the hot rows that are not archived yet.
      *
-     * @param data map
-     * @return canonical JSON
+     * @param tenantId tenant
+     * @param fromId start id inclusive (nullable)
+     * @param toId end id inclusive (nullable)
+     * @param action record visitor
      */
+    @RoutedByTenant
+    @ReplicaRead(ReplicaRead.Consistency.CHAIN_HEAD)
+    public void forEachInRange(String tenantId, Long fromId, Long toId, Predicate<? super AuditRecordEntity> action) {
+        boolean[] stopped = {false};
+        long archivedTip = archive.forEach(tenantId, fromId, toId, e -> {
+            stopped[0] = !action.test(e);
+            return !stopped[0];
+        });
+        if (stopped[0]) {
+            return;
+        }
+        for (AuditRecordEntity e : repository.loadRange(tenantId, fromId, toId)) {
+            // Sealed rows stay in the hot table until purged; they were already visited above.
+            if (e.getSeq() > archivedTip && !action.test(e)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Walks records in chain order (per lane for laned chains) and stops at the first broken link or hash.
+     */
+    private final class ChainVerifier implements Predicate<AuditRecordEntity> {
+
+        private final ChainLinks links;
+        private int checked;
+        private VerificationResult mismatch;
+
+        ChainVerifier(ChainLinks links) {
+            this.links = links;
+        }
+
+        @Override
+        public boolean test(AuditRecordEntity record) {
+            // Verify that stored prevHash matches the hash of the record it links to.
+            String broken = links.accept(record);
+            if (broken != null) {
+                mismatch = VerificationResult.mismatch(record.getId(), broken);
+                return false;
+            }
+
+            // Verify record hash itself.
+            if (!Hashes.same(hashingService.recomputeHash(record), record.getHash())) {
+                mismatch = VerificationResult.mismatch(record.getId(), "hash mismatch: recomputed differs from stored hash");
+                return false;
+            }
+
+            checked++;
+            return true;
+        }
+
+        VerificationResult result(boolean complete) {
+            if (mismatch == null && complete && !links.unresolvedAnchors().isEmpty()) {
+                return VerificationResult.mismatch(null, "lane record(s) vouched for by an anchor are missing: seq="
+                        + links.unresolvedAnchors());
+            }
+            return mismatch != null ? mismatch : VerificationResult.ok(checked);
+        }
+    }
+
     /**
      * Append request.
      *
@@ -246,6 +660,6 @@ public class AuditRecordService {
             String resourceId,
             String correlationId,
             Map<String, Object> data
-    ) {
+    ) implements TenantScoped {
     }
 }
@@ -0,0 +1,153 @@
+package com.github.dimitryivaniuta.audittrail.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.dimitryivaniuta.audittrail.config.AuditAppendProperties;
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.stereotype.Component;
+
+/**
+ * Appends a record to a single (non-laned) tenant chain with one SQL statement.
+ *
+ * <p>The caller computes the record (seq and HMAC) against the chain tip cached here. One data-modifying CTE
+ * then checks the idempotency key, advances the chain head only if it is still at that tip, and inserts the
+ * record with the id the head now points at. A stale tip (another writer or instance appended meanwhile)
+ * changes nothing; the caller re-reads the tip and tries again. Appends of a tenant still serialize on its
+ * chain head row, but hold it only from this statement to the commit.</p>
+ *
+ * <p>Statements run on the routed data source and join the caller's transaction. {@code audit_records} is
+ * partitioned, so the idempotency key cannot be an {@code ON CONFLICT} target; the statement looks it up in
+ * {@code audit_record_keys} instead (whose unique constraint still rejects a racing duplicate).</p>
+ */
+@Component
+public class ChainAppendStatement {
+
+    private static final String APPEND_SQL = """
+            with dup as (
+                select record_id from audit_record_keys where tenant_id = ? and event_id = ?
+            ), head as (
+                update audit_chain_heads
+                   set last_seq = ?, last_hash = ?, last_record_id = nextval('audit_records_id_seq'), updated_at = now()
+                 where tenant_id = ? and last_seq = ? and lanes = 1 and moved_to is null
+                   and not exists (select 1 from dup)
+                returning last_record_id
+            ), ins as (
+                insert into audit_records (id, tenant_id, seq, event_id, actor, action, resource_type, resource_id,
+                                           correlation_id, data, created_at, hash_alg, key_id, prev_hash, hash, payload_digest)
+                select last_record_id, ?::varchar, ?::bigint, ?::uuid, ?::varchar, ?::varchar, ?::varchar, ?::varchar,
+                       ?::varchar, ?::jsonb, ?::timestamptz, ?::varchar, ?::varchar, ?::bytea, ?::bytea, ?::bytea
+                  from head
+                returning id
+            )
+            select (select record_id from dup), (select id from ins)""";
+
+    private final JdbcTemplate jdbc;
+    private final Cache<String, ChainTip> tips;
+
+    /**
+     * Creates the statement.
+     *
+     * @param jdbc JDBC template (routed data source)
+     * @param properties append settings
+     */
+    public ChainAppendStatement(JdbcTemplate jdbc, AuditAppendProperties properties) {
+        this.jdbc = jdbc;
+        this.tips = Caffeine.newBuilder().maximumSize(properties.getTipCacheSize()).build();
+    }
+
+    /**
+     * Chain tip this instance last saw for a tenant. It may be stale; {@link #append} detects that.
+     *
+     * @param tenantId tenant
+     * @return cached tip
+     */
+    public Optional<ChainTip> cachedTip(String tenantId) {
+        return Optional.ofNullable(tips.getIfPresent(tenantId));
+    }
+
+    /**
+     * Reads (and caches) the committed tip of a tenant chain.
+     *
+     * @param tenantId tenant
+     * @return tip, or empty if the chain does not exist yet, is laned or has moved to another shard
+     */
+    public Optional<ChainTip> readTip(String tenantId) {
+        List<ChainTip> found = jdbc.query("select last_seq, last_hash from audit_chain_heads "
+                        + "where tenant_id = ? and lanes = 1 and moved_to is null",
+                (rs, i) -> new ChainTip(rs.getLong(1), rs.getBytes(2)), tenantId);
+        if (found.isEmpty()) {
+            tips.invalidate(tenantId);
+            return Optional.empty();
+        }
+        tips.put(tenantId, found.get(0));
+        return Optional.of(found.get(0));
+    }
+
+    /**
+     * Appends a record computed against a chain tip ({@code seq = tip + 1}, {@code prevHash} = tip hash).
+     *
+     * @param e record without id ({@code dataJson} null when the payload is stored by reference)
+     * @return outcome: the new id, the id of the record that already has the event id, or neither (stale tip)
+     */
+    public AppendOutcome append(AuditRecordEntity e) {
+        String tenantId = e.getTenantId();
+        AppendOutcome outcome = jdbc.queryForObject(APPEND_SQL,
+                (rs, i) -> new AppendOutcome(rs.getObject(2, Long.class), rs.getObject(1, Long.class)),
+                tenantId, e.getEventId(),
+                e.getSeq(), e.getHash(), tenantId, e.getSeq() - 1,
+                tenantId, e.getSeq(), e.getEventId(), e.getActor(), e.getAction(), e.getResourceType(), e.getResourceId(),
+                // Typed so that nulls bind without a parameter metadata round trip.
+                new SqlParameterValue(Types.VARCHAR, e.getCorrelationId()), new SqlParameterValue(Types.VARCHAR, e.getDataJson()),
+                Timestamp.from(e.getCreatedAt()), e.getHashAlg(), e.getKeyId(),
+                new SqlParameterValue(Types.BINARY, e.getPrevHash()), e.getHash(),
+                new SqlParameterValue(Types.BINARY, e.getPayloadDigest()));
+        if (outcome.appendedId() != null) {
+            tips.put(tenantId, new ChainTip(e.getSeq(), e.getHash()));
+        } else if (outcome.existingId() == null) {
+            tips.invalidate(tenantId);
+        }
+        return outcome;
+    }
+
+    /**
+     * Drops the cached tip of a tenant (for example after a rolled back append).
+     *
+     * @param tenantId tenant
+     */
+    public void forget(String tenantId) {
+        tips.invalidate(tenantId);
+    }
+
+    /**
+     * Last record of a single tenant chain.
+     *
+     * @param seq seq
+     * @param hash hash (null for an empty chain)
+     */
+    public record ChainTip(long seq, byte[] hash) {
+    }
+
+    /**
+     * Result of one append statement.
+     *
+     * @param appendedId id of the inserted record, or null
+     * @param existingId id of the record that already has the event id, or null
+     */
+    public record AppendOutcome(Long appendedId, Long existingId) {
+
+        /**
+         * Whether nothing was written because the chain tip was stale (or the chain is laned or moved).
+         *
+         * @return true if the caller should re-read the tip
+         */
+        public boolean stale() {
+            return appendedId == null && existingId == null;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.dimitryivaniuta.audittrail.service;
+
+import com.github.dimitryivaniuta.audittrail.domain.AuditChainHeadEntity;
+import com.github.dimitryivaniuta.audittrail.hash.Hashes;
+import java.time.Instant;
+
+/**
+ * Immutable snapshot of a tenant chain head.
+ *
+ * <p>For a single chain {@code lastSeq} equals the number of records appended to the chain, so counts come
+ * from a primary-key lookup instead of {@code count(*)} over the tenant's records. A laned chain's count
+ * comes from its lane heads, and its head describes the latest anchor record.</p>
+ *
+ * @param tenantId tenant
+ * @param lastSeq last sequence number (latest anchor for laned chains)
+ * @param lastHash hash of the last record (latest anchor for laned chains)
+ * @param lastRecordId id of the last record (latest anchor for laned chains)
+ * @param updatedAt last append (or anchor) time
+ * @param recordCount number of records in the chain
+ * @param lanes number of lanes (1 = single chain)
+ */
+public record ChainStatus(
+        String tenantId,
+        long lastSeq,
+        String lastHash,
+        Long lastRecordId,
+        Instant updatedAt,
+        long recordCount,
+        int lanes
+) {
+
+    /**
+     * Creates a snapshot from a single chain's head row.
+     *
+     * @param head head
+     * @return snapshot
+     */
+    public static ChainStatus of(AuditChainHeadEntity head) {
+        return of(head, head.getLastSeq());
+    }
+
+    /**
+     * Creates a snapshot from a chain head row and a record count.
+     *
+     * @param head head
+     * @param recordCount number of records in the chain
+     * @return snapshot
+     */
+    public static ChainStatus of(AuditChainHeadEntity head, long recordCount) {
+        return new ChainStatus(head.getTenantId(), head.getLastSeq(), Hashes.hex(head.getLastHash()), head.getLastRecordId(),
+                head.getUpdatedAt(), recordCount, head.getLanes());
+    }
+}
@@ -1,54 +1,100 @@
 package com.github.dimitryivaniuta.audittrail.service;
 
+import com.github.dimitryivaniuta.audittrail.config.AuditKafkaProperties;
 import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.util.Map;
-import org.springframework.beans.factory.annotation.Value;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.stereotype.Component;
 
 /**
  * Publishes appended audit records to Kafka.
  *
  * <p>Disabled by default. Enable with {@code audit.kafka.enabled=true}.</p>
+ *
+ * <p>Events are written by {@link AuditEventSerializer} (binary, raw hash bytes, no {@code data}) through a
+ * producer of their own, built from the {@code spring.kafka} settings with batching defaults from
+ * {@code audit.kafka.linger}, {@code batch-size} and {@code compression}. Sends are asynchronous; their outcome
+ * feeds {@code audit.kafka.published{result}}, {@code audit.kafka.publish.latency} and
+ * {@code audit.kafka.event.bytes}, next to the Kafka client's own producer metrics. A failed send is logged and
+ * counted, it does not fail the append.</p>
  */
 @Component("kafkaAuditEventPublisher")
 @ConditionalOnProperty(prefix = "audit.kafka", name = "enabled", havingValue = "true")
-public class KafkaAuditEventPublisher implements AuditEventPublisher {
+public class KafkaAuditEventPublisher implements AuditEventPublisher, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(KafkaAuditEventPublisher.class);
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final DefaultKafkaProducerFactory<String, AuditRecordEntity> producerFactory;
+    private final KafkaTemplate<String, AuditRecordEntity> kafkaTemplate;
     private final String topic;
+    private final Counter published;
+    private final Counter failed;
+    private final Timer latency;
+    private final DistributionSummary eventBytes;
 
     /**
      * Creates the publisher.
      *
-     * @param kafkaTemplate template
-     * @param topic topic name
+     * @param kafkaProperties Spring Boot Kafka settings (bootstrap servers, security, client overrides)
+     * @param sslBundles SSL bundles referenced by the Kafka settings
+     * @param properties publishing settings
+     * @param registry meter registry
      */
-    public KafkaAuditEventPublisher(
-            KafkaTemplate<String, Object> kafkaTemplate,
-            @Value("${audit.kafka.topic:audit-records}") String topic) {
-        this.kafkaTemplate = kafkaTemplate;
-        this.topic = topic;
+    public KafkaAuditEventPublisher(KafkaProperties kafkaProperties, ObjectProvider<SslBundles> sslBundles,
+                                    AuditKafkaProperties properties, MeterRegistry registry) {
+        Map<String, Object> producer = kafkaProperties.buildProducerProperties(sslBundles.getIfAvailable());
+        producer.putIfAbsent(ProducerConfig.LINGER_MS_CONFIG, (int) properties.getLinger().toMillis());
+        producer.putIfAbsent(ProducerConfig.BATCH_SIZE_CONFIG, (int) properties.getBatchSize().toBytes());
+        producer.putIfAbsent(ProducerConfig.COMPRESSION_TYPE_CONFIG, properties.getCompression());
+        this.producerFactory = new DefaultKafkaProducerFactory<>(producer, new StringSerializer(), new AuditEventSerializer());
+        this.producerFactory.addListener(new MicrometerProducerListener<>(registry));
+        this.kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        this.topic = properties.getTopic();
+        this.published = registry.counter("audit.kafka.published", "result", "ok");
+        this.failed = registry.counter("audit.kafka.published", "result", "error");
+        this.latency = Timer.builder("audit.kafka.publish.latency")
+                .description("Time from send until the broker acknowledged an audit event")
+                .register(registry);
+        this.eventBytes = DistributionSummary.builder("audit.kafka.event.bytes")
+                .description("Serialized size of audit events (before batch compression)")
+                .baseUnit("bytes")
+                .register(registry);
     }
 
     @Override
     public void publishAppended(AuditRecordEntity record) {
+        long sentAt = System.nanoTime();
         // Key by tenant so consumers can partition by tenant.
-        kafkaTemplate.send(topic, record.getTenantId(), Map.of(
-                "id", record.getId(),
-                "tenantId", record.getTenantId(),
-                "eventId", record.getEventId().toString(),
-                "actor", record.getActor(),
-                "action", record.getAction(),
-                "resourceType", record.getResourceType(),
-                "resourceId", record.getResourceId(),
-                "correlationId", record.getCorrelationId(),
-                "createdAt", record.getCreatedAt().toString(),
-                "hashAlg", record.getHashAlg(),
-                "keyId", record.getKeyId(),
-                "prevHash", record.getPrevHash(),
-                "hash", record.getHash()
-        ));
+        kafkaTemplate.send(topic, record.getTenantId(), record).whenComplete((result, ex) -> {
+            if (ex != null) {
+                failed.increment();
+                log.warn("Publishing audit record {} of tenant {} failed", record.getId(), record.getTenantId(), ex);
+                return;
+            }
+            published.increment();
+            latency.record(System.nanoTime() - sentAt, TimeUnit.NANOSECONDS);
+            eventBytes.record(result.getRecordMetadata().serializedValueSize());
+        });
+    }
+
+    @Override
+    public void destroy() {
+        producerFactory.destroy();
     }
 }
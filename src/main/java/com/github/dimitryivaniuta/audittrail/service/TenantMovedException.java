@@ -0,0 +1,17 @@
+package com.github.dimitryivaniuta.audittrail.service;
+
+/**
+ * Thrown when a tenant is written on a shard it has been moved away from (stale routing).
+ */
+public class TenantMovedException extends RuntimeException {
+
+    /**
+     * Creates an exception.
+     *
+     * @param tenantId tenant
+     * @param shard shard the tenant lives on now
+     */
+    public TenantMovedException(String tenantId, String shard) {
+        super("Tenant " + tenantId + " was moved to shard " + shard);
+    }
+}
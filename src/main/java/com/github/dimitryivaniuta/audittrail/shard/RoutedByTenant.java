@@ -0,0 +1,19 @@
+package com.github.dimitryivaniuta.audittrail.shard;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a bean method whose database work belongs to one tenant's shard.
+ *
+ * <p>The tenant is taken from a {@code String tenantId} parameter or from the first argument implementing
+ * {@link TenantScoped}. The shard is selected outside any transaction advice on the same method.</p>
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RoutedByTenant {
+}
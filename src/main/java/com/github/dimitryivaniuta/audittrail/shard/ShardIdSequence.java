@@ -0,0 +1,48 @@
+package com.github.dimitryivaniuta.audittrail.shard;
+
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Keeps a shard's {@code audit_records_id_seq} in its residue class, so record ids never collide across shards
+ * (and a tenant moved to another shard keeps its ids).
+ */
+public final class ShardIdSequence {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardIdSequence.class);
+
+    private ShardIdSequence() {
+    }
+
+    /**
+     * Makes the sequence hand out {@code offset, offset + stride, ...} from its current position on.
+     * Idempotent; a no-op when the sequence is already aligned.
+     *
+     * @param jdbc JDBC template bound to the shard database
+     * @param stride id stride
+     * @param offset this shard's residue
+     */
+    public static void align(JdbcTemplate jdbc, int stride, int offset) {
+        long increment = jdbc.queryForObject("select increment_by from pg_sequences "
+                + "where schemaname = current_schema() and sequencename = 'audit_records_id_seq'", Long.class);
+        Map<String, Object> state = jdbc.queryForMap("select last_value, is_called from audit_records_id_seq");
+        long lastValue = ((Number) state.get("last_value")).longValue();
+        boolean called = (Boolean) state.get("is_called");
+
+        long nextValue = called ? lastValue + increment : lastValue;
+        if (increment == stride && Math.floorMod(nextValue, stride) == offset) {
+            return;
+        }
+        // Smallest value above everything handed out so far that lies in this shard's residue class.
+        long handedOut = called ? lastValue : lastValue - 1;
+        long next = handedOut - Math.floorMod(handedOut, stride) + offset;
+        while (next <= handedOut || next < 1) {
+            next += stride;
+        }
+        jdbc.execute("alter sequence audit_records_id_seq increment by " + stride);
+        jdbc.queryForObject("select setval('audit_records_id_seq', ?, false)", Long.class, next);
+        log.info("Aligned audit_records_id_seq to ids = {} (mod {}), next id {}", offset, stride, next);
+    }
+}
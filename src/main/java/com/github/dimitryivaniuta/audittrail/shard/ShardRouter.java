@@ -0,0 +1,177 @@
+package com.github.dimitryivaniuta.audittrail.shard;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+
+/**
+ * Maps tenants to shards and gives direct access to every shard database.
+ *
+ * <p>A tenant's shard is its static assignment if it has one, otherwise its position on a consistent-hash
+ * ring ({@code virtualNodes} points per shard, SHA-256 based, so every instance computes the same ring).
+ * Adding a shard moves only the tenants whose ring segment it takes over; pin existing tenants with a
+ * static assignment (or move them with {@link TenantShardMover}) before adding shards.</p>
+ *
+ * <p>Without sharding the router has a single shard, {@link #DEFAULT_SHARD}, and routing is a no-op.</p>
+ */
+public class ShardRouter implements AutoCloseable {
+
+    /** Name of the only shard when sharding is disabled. */
+    public static final String DEFAULT_SHARD = "default";
+
+    private final Map<String, DataSource> dataSources;
+    private final Map<String, String> assignments;
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    /**
+     * Creates the router.
+     *
+     * @param dataSources shard name -> unrouted shard data source, in configuration order
+     * @param assignments static tenant -> shard assignments
+     * @param virtualNodes ring points per shard
+     */
+    public ShardRouter(Map<String, DataSource> dataSources, Map<String, String> assignments, int virtualNodes) {
+        if (dataSources.isEmpty()) {
+            throw new IllegalStateException("At least one shard must be configured");
+        }
+        this.dataSources = new LinkedHashMap<>(dataSources);
+        this.assignments = new ConcurrentHashMap<>();
+        assignments.forEach(this::assign);
+        for (String shard : dataSources.keySet()) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(shard + "#" + i), shard);
+            }
+        }
+    }
+
+    /**
+     * Single-database router.
+     *
+     * @param dataSource the database
+     * @return router with one shard
+     */
+    public static ShardRouter single(DataSource dataSource) {
+        return new ShardRouter(Map.of(DEFAULT_SHARD, dataSource), Map.of(), 1);
+    }
+
+    /**
+     * Whether more than one shard is configured.
+     *
+     * @return true when sharded
+     */
+    public boolean isSharded() {
+        return dataSources.size() > 1;
+    }
+
+    /**
+     * Shard names in configuration order.
+     *
+     * @return names
+     */
+    public List<String> shardNames() {
+        return new ArrayList<>(dataSources.keySet());
+    }
+
+    /**
+     * Resolves a tenant's shard.
+     *
+     * @param tenantId tenant
+     * @return shard name
+     */
+    public String shardFor(String tenantId) {
+        String assigned = assignments.get(tenantId);
+        if (assigned != null) {
+            return assigned;
+        }
+        Map.Entry<Long, String> e = ring.ceilingEntry(hash(tenantId));
+        return e != null ? e.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * Pins a tenant to a shard on this instance (after a move). Persist the assignment in
+     * {@code audit.shards.tenants} so that every instance and restart agrees.
+     *
+     * @param tenantId tenant
+     * @param shard shard name
+     */
+    public void assign(String tenantId, String shard) {
+        requireShard(shard);
+        assignments.put(tenantId, shard);
+    }
+
+    /**
+     * Unrouted data source of a shard (for maintenance that must address a specific database).
+     *
+     * @param shard shard name
+     * @return data source
+     */
+    public DataSource dataSource(String shard) {
+        requireShard(shard);
+        return dataSources.get(shard);
+    }
+
+    /**
+     * Runs {@code action} on the tenant's shard.
+     *
+     * @param tenantId tenant
+     * @param action action
+     * @param <T> result type
+     * @return action result
+     */
+    public <T> T callForTenant(String tenantId, Supplier<T> action) {
+        return TenantShardContext.callOnShard(shardFor(tenantId), action);
+    }
+
+    /**
+     * Runs {@code action} once per shard.
+     *
+     * @param action action
+     * @param <T> result type
+     * @return shard name -> result, in configuration order
+     */
+    public <T> Map<String, T> callOnEachShard(Supplier<T> action) {
+        Map<String, T> results = new LinkedHashMap<>();
+        for (String shard : dataSources.keySet()) {
+            results.put(shard, TenantShardContext.callOnShard(shard, action));
+        }
+        return results;
+    }
+
+    /**
+     * Closes the shard pools. The single-database router is registered without a destroy method, so the
+     * auto-configured pool is left to Spring Boot.
+     */
+    @Override
+    public void close() throws Exception {
+        for (DataSource ds : dataSources.values()) {
+            if (ds instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private void requireShard(String shard) {
+        if (!dataSources.containsKey(shard)) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+    }
+
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.dimitryivaniuta.audittrail.shard;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+
+/**
+ * Finds the tenant of an advised call.
+ */
+public final class TenantArguments {
+
+    private TenantArguments() {
+    }
+
+    /**
+     * Tenant of a call: a {@code String tenantId} parameter or the first argument implementing {@link TenantScoped}.
+     *
+     * @param pjp join point
+     * @return tenant id
+     * @throws IllegalStateException when the method has no tenant argument
+     */
+    public static String tenantOf(ProceedingJoinPoint pjp) {
+        Object[] args = pjp.getArgs();
+        String[] names = ((MethodSignature) pjp.getSignature()).getParameterNames();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof TenantScoped scoped) {
+                return scoped.tenantId();
+            }
+            if (args[i] instanceof String s && names != null && "tenantId".equals(names[i])) {
+                return s;
+            }
+        }
+        throw new IllegalStateException("Advised method without a tenant argument: " + pjp.getSignature());
+    }
+}
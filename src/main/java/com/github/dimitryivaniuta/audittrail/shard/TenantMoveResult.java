@@ -0,0 +1,23 @@
+package com.github.dimitryivaniuta.audittrail.shard;
+
+/**
+ * Outcome of moving a tenant to another shard.
+ *
+ * @param tenantId tenant
+ * @param fromShard old shard (now fenced for the tenant)
+ * @param toShard new shard
+ * @param chainLength records in the chain, all verified on both shards
+ * @param copiedRecords hot records copied
+ * @param copiedSegments archive catalog entries copied (segment files are shared, not copied)
+ * @param purgedRecords hot records deleted from the old shard (0 unless purging was requested)
+ */
+public record TenantMoveResult(
+        String tenantId,
+        String fromShard,
+        String toShard,
+        long chainLength,
+        long copiedRecords,
+        int copiedSegments,
+        long purgedRecords
+) {
+}
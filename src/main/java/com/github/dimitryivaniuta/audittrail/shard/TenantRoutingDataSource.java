@@ -0,0 +1,77 @@
+package com.github.dimitryivaniuta.audittrail.shard;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Hands out connections of the shard selected in {@link TenantShardContext}.
+ *
+ * <p>Without a selection the first shard is used; that covers bootstrap work that is identical on every shard
+ * (schema validation, health checks). Tenant data access always runs with a shard selected: when application
+ * code asks for a connection without one, which means a tenant-scoped method lacks {@link RoutedByTenant} and
+ * would read or write the wrong shard, the call site is logged as a warning with its stack trace (once per call
+ * site) before the first shard is used.</p>
+ *
+ * <p>Wrapped in a {@code LazyConnectionDataSourceProxy}, so a transaction picks its shard at the first
+ * statement rather than when it begins.</p>
+ */
+public class TenantRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(TenantRoutingDataSource.class);
+
+    /**
+     * Feature packages of the application ({@code ...audittrail.<feature>.}); the root package only holds the
+     * application class, which is on the stack during bootstrap.
+     */
+    private static final String APP_PACKAGE = RoutedByTenant.class.getPackageName()
+            .substring(0, RoutedByTenant.class.getPackageName().lastIndexOf('.') + 1);
+
+    private final String defaultShard;
+    private final Set<String> reportedCallers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates the data source.
+     *
+     * @param shards shard name -> shard data source, in configuration order
+     */
+    public TenantRoutingDataSource(Map<String, DataSource> shards) {
+        this.defaultShard = shards.keySet().iterator().next();
+        setTargetDataSources(new HashMap<>(shards));
+        setDefaultTargetDataSource(shards.get(defaultShard));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String shard = TenantShardContext.current();
+        if (shard == null) {
+            reportUnrouted();
+        }
+        return shard;
+    }
+
+    private void reportUnrouted() {
+        Optional<StackWalker.StackFrame> caller = StackWalker.getInstance().walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(APP_PACKAGE)
+                        && f.getClassName().indexOf('.', APP_PACKAGE.length()) > 0
+                        && !f.getClassName().equals(TenantRoutingDataSource.class.getName()))
+                .findFirst());
+        if (caller.isEmpty()) {
+            return; // framework bootstrap or health check
+        }
+        String site = caller.get().getClassName() + "." + caller.get().getMethodName() + ":" + caller.get().getLineNumber();
+        if (reportedCallers.add(site)) {
+            log.warn("Connection requested without a tenant shard from {}; using shard {}. Tenant-scoped methods must be "
+                    + "@RoutedByTenant or run in TenantShardContext.callOnShard", site, defaultShard,
+                    new IllegalStateException("No tenant shard selected"));
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.github.dimitryivaniuta.audittrail.shard;
+
+/**
+ * A request or filter that belongs to exactly one tenant.
+ */
+public interface TenantScoped {
+
+    /**
+     * Tenant id.
+     *
+     * @return tenant
+     */
+    String tenantId();
+}
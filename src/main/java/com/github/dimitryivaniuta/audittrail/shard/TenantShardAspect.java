@@ -0,0 +1,57 @@
+package com.github.dimitryivaniuta.audittrail.shard;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Selects the tenant's shard around {@link RoutedByTenant} methods.
+ *
+ * <p>Runs with the highest precedence, i.e. outside {@code @Transactional} and {@code @Cacheable} advice.
+ * A shard that is already selected (an outer routed call, or an explicit
+ * {@link TenantShardContext#callOnShard(String, java.util.function.Supplier)}) is kept.</p>
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TenantShardAspect {
+
+    private final ShardRouter router;
+
+    /**
+     * Creates the aspect.
+     *
+     * @param router shard router
+     */
+    public TenantShardAspect(ShardRouter router) {
+        this.router = router;
+    }
+
+    /**
+     * Routes one call.
+     *
+     * @param pjp join point
+     * @return method result
+     * @throws Throwable whatever the method throws
+     */
+    @Around("@annotation(com.github.dimitryivaniuta.audittrail.shard.RoutedByTenant)")
+    public Object route(ProceedingJoinPoint pjp) throws Throwable {
+        if (!router.isSharded() || TenantShardContext.current() != null) {
+            return pjp.proceed();
+        }
+        return TenantShardContext.callOnShard(router.shardFor(TenantArguments.tenantOf(pjp)), () -> proceed(pjp));
+    }
+
+    private static Object proceed(ProceedingJoinPoint pjp) {
+        try {
+            return pjp.proceed();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.dimitryivaniuta.audittrail.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard selected for the current thread; read by {@link TenantRoutingDataSource} when a connection is opened.
+ *
+ * <p>Set it before the transaction opens its first connection: {@link TenantShardAspect} does that for
+ * {@link RoutedByTenant} methods, and fan-out code uses {@link #callOnShard(String, Supplier)} directly.</p>
+ */
+public final class TenantShardContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantShardContext() {
+    }
+
+    /**
+     * Shard selected for this thread.
+     *
+     * @return shard name, or null when none is selected
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs {@code action} with {@code shard} selected, restoring the previous selection afterwards.
+     *
+     * @param shard shard name
+     * @param action action
+     * @param <T> result type
+     * @return action result
+     */
+    public static <T> T callOnShard(String shard, Supplier<T> action) {
+        String previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Runs {@code action} with {@code shard} selected.
+     *
+     * @param shard shard name
+     * @param action action
+     */
+    public static void runOnShard(String shard, Runnable action) {
+        callOnShard(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,291 @@
+package com.github.dimitryivaniuta.audittrail.shard;
+
+import com.github.dimitryivaniuta.audittrail.archive.AuditArchiveService;
+import com.github.dimitryivaniuta.audittrail.config.AuditPartitionProperties;
+import com.github.dimitryivaniuta.audittrail.config.AuditStreamProperties;
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import com.github.dimitryivaniuta.audittrail.hash.AuditHashingService;
+import com.github.dimitryivaniuta.audittrail.hash.Hashes;
+import com.github.dimitryivaniuta.audittrail.lane.ChainLayout;
+import com.github.dimitryivaniuta.audittrail.lane.ChainLinks;
+import com.github.dimitryivaniuta.audittrail.lane.LaneHead;
+import com.github.dimitryivaniuta.audittrail.replica.ReadTarget;
+import com.github.dimitryivaniuta.audittrail.repo.AuditRecordProjection;
+import com.github.dimitryivaniuta.audittrail.repo.AuditRecordSearchCriteria;
+import com.github.dimitryivaniuta.audittrail.service.AuditRecordService;
+import com.github.dimitryivaniuta.audittrail.service.NotFoundException;
+import com.github.dimitryivaniuta.audittrail.service.VerificationResult;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves a tenant chain to another shard.
+ *
+ * <ol>
+ *   <li>Lock the tenant's chain head on the old shard for the whole move, so appends wait.</li>
+ *   <li>Walk the chain (archived segments, then hot rows) and re-verify every HMAC and {@code prevHash} link,
+ *       copying hot rows (same ids), archive catalog entries and referenced payloads to the new shard in one
+ *       transaction. The walk must end exactly at the locked head (at every lane head for laned chains).</li>
+ *   <li>Verify the copy through the regular read path on the new shard.</li>
+ *   <li>Fence the old head ({@code moved_to}) and route the tenant to the new shard on this instance.</li>
+ *   <li>Optionally delete the old shard's copy (allowed by the immutability trigger only for fenced tenants).</li>
+ * </ol>
+ *
+ * <p>Other instances refuse appends for the tenant (HTTP 409) until {@code audit.shards.tenants} carries the
+ * new assignment.</p>
+ */
+@Service
+public class TenantShardMover {
+
+    private static final Logger log = LoggerFactory.getLogger(TenantShardMover.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_RECORD = """
+            insert into audit_records (id, tenant_id, seq, event_id, actor, action, resource_type, resource_id,
+                                       correlation_id, data, created_at, hash_alg, key_id, prev_hash, hash, payload_digest)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?::jsonb, ?, ?, ?, ?, ?, ?)""";
+
+    private static final String PAYLOAD_COLUMNS = "tenant_id, digest, size, content, created_at";
+
+    private static final String SEGMENT_COLUMNS = "tenant_id, from_seq, to_seq, min_id, max_id, min_created_at, max_created_at, "
+            + "record_count, first_prev_hash, last_hash, file_name, file_size, sha256, sealed_at";
+
+    private final ShardRouter router;
+    private final AuditRecordService recordService;
+    private final AuditArchiveService archive;
+    private final AuditHashingService hashingService;
+    private final AuditPartitionProperties partitionProperties;
+    private final AuditStreamProperties streamProperties;
+
+    /**
+     * Creates the mover.
+     *
+     * @param router shard router
+     * @param recordService record service (chain reads and verification)
+     * @param archive cold archive (archived part of the chain)
+     * @param hashingService hashing service
+     * @param partitionProperties partition settings (partitions on the new shard)
+     * @param streamProperties cursor fetch size
+     */
+    public TenantShardMover(ShardRouter router, AuditRecordService recordService, AuditArchiveService archive,
+                            AuditHashingService hashingService, AuditPartitionProperties partitionProperties,
+                            AuditStreamProperties streamProperties) {
+        this.router = router;
+        this.recordService = recordService;
+        this.archive = archive;
+        this.hashingService = hashingService;
+        this.partitionProperties = partitionProperties;
+        this.streamProperties = streamProperties;
+    }
+
+    /**
+     * Moves a tenant.
+     *
+     * @param tenantId tenant
+     * @param toShard target shard
+     * @param purgeSource whether to delete the old shard's copy afterwards
+     * @return result
+     */
+    public TenantMoveResult move(String tenantId, String toShard, boolean purgeSource) {
+        // The copy must end exactly at the locked head, so never read from a replica here.
+        return ReadTarget.callOnPrimary(() -> moveOnPrimaries(tenantId, toShard, purgeSource));
+    }
+
+    private TenantMoveResult moveOnPrimaries(String tenantId, String toShard, boolean purgeSource) {
+        String fromShard = router.shardFor(tenantId);
+        if (fromShard.equals(toShard)) {
+            throw new IllegalArgumentException("Tenant " + tenantId + " already lives on shard " + toShard);
+        }
+        DataSource sourceDs = router.dataSource(fromShard);
+        DataSource targetDs = router.dataSource(toShard);
+        JdbcTemplate source = new JdbcTemplate(sourceDs);
+        JdbcTemplate target = new JdbcTemplate(targetDs);
+        TransactionTemplate sourceTx = new TransactionTemplate(new DataSourceTransactionManager(sourceDs));
+        TransactionTemplate targetTx = new TransactionTemplate(new DataSourceTransactionManager(targetDs));
+
+        TenantMoveResult copied = sourceTx.execute(status -> {
+            Head head = source.query("select last_seq, last_hash, last_record_id, moved_to, lanes, lane_base from audit_chain_heads "
+                                    + "where tenant_id = ? for update",
+                            (rs, i) -> new Head(rs.getLong(1), rs.getBytes(2), (Long) rs.getObject(3), rs.getString(4),
+                                    new ChainLayout(rs.getInt(5), rs.getLong(6))), tenantId)
+                    .stream().findFirst()
+                    .orElseThrow(() -> new NotFoundException("No audit chain for tenant: " + tenantId));
+            if (head.movedTo() != null) {
+                throw new IllegalStateException("Tenant " + tenantId + " was already moved to shard " + head.movedTo());
+            }
+
+            TenantMoveResult result = targetTx.execute(t -> copy(tenantId, fromShard, toShard, source, target, head));
+
+            VerificationResult onTarget = TenantShardContext.callOnShard(toShard, () -> recordService.verify(tenantId, null, null));
+            if (!onTarget.ok() || onTarget.recordsChecked() != result.chainLength()) {
+                throw new IllegalStateException("Copy of tenant " + tenantId + " on shard " + toShard + " failed verification: "
+                        + (onTarget.ok() ? onTarget.recordsChecked() + " of " + result.chainLength() + " records" : onTarget.message()));
+            }
+            source.update("update audit_chain_heads set moved_to = ?, updated_at = now() where tenant_id = ?", toShard, tenantId);
+            return result;
+        });
+        router.assign(tenantId, toShard);
+        log.info("Moved tenant {} ({} records) from shard {} to shard {}", tenantId, copied.chainLength(), fromShard, toShard);
+
+        if (!purgeSource) {
+            return copied;
+        }
+        long purged = sourceTx.execute(status -> {
+            source.queryForObject("select set_config('audit.tenant_move_purge', ?, true)", String.class, tenantId);
+            int rows = source.update("delete from audit_records where tenant_id = ?", tenantId);
+            source.update("delete from audit_record_keys where tenant_id = ?", tenantId);
+            source.update("delete from audit_archive_segments where tenant_id = ?", tenantId);
+            source.update("delete from audit_payloads where tenant_id = ?", tenantId);
+            return (long) rows;
+        });
+        return new TenantMoveResult(tenantId, fromShard, toShard, copied.chainLength(), copied.copiedRecords(),
+                copied.copiedSegments(), purged);
+    }
+
+    private TenantMoveResult copy(String tenantId, String fromShard, String toShard, JdbcTemplate source, JdbcTemplate target,
+                                  Head head) {
+        Boolean present = target.queryForObject("select exists (select 1 from audit_record_keys where tenant_id = ?) "
+                + "or exists (select 1 from audit_archive_segments where tenant_id = ?)", Boolean.class, tenantId, tenantId);
+        if (Boolean.TRUE.equals(present)) {
+            throw new IllegalStateException("Shard " + toShard + " already holds records of tenant " + tenantId);
+        }
+
+        // Archive catalog: the segment files live on the shared archive path and are referenced, not copied.
+        List<Map<String, Object>> segments = source.queryForList(
+                "select " + SEGMENT_COLUMNS + " from audit_archive_segments where tenant_id = ? order by from_seq", tenantId);
+        for (Map<String, Object> s : segments) {
+            target.update("insert into audit_archive_segments (" + SEGMENT_COLUMNS + ") values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    s.values().toArray());
+        }
+        // Payloads stored by reference are copied as they are (still compressed).
+        source.query("select " + PAYLOAD_COLUMNS + " from audit_payloads where tenant_id = ?", (ResultSet rs) -> {
+            target.update("insert into audit_payloads (" + PAYLOAD_COLUMNS + ") values (?, ?, ?, ?, ?)",
+                    rs.getString(1), rs.getBytes(2), rs.getInt(3), rs.getBytes(4), rs.getTimestamp(5));
+        }, tenantId);
+        long archivedTip = segments.isEmpty() ? 0 : ((Number) segments.get(segments.size() - 1).get("to_seq")).longValue();
+
+        ChainCheck check = new ChainCheck(tenantId, head.layout());
+        TenantShardContext.runOnShard(fromShard, () -> archive.forEach(tenantId, null, null, check));
+        if (check.seq != archivedTip) {
+            throw new IllegalStateException("Archive of tenant " + tenantId + " ends at seq " + check.seq + ", catalog at " + archivedTip);
+        }
+
+        Timestamp oldest = source.queryForObject("select min(created_at) from audit_records where tenant_id = ? and seq > ?",
+                Timestamp.class, tenantId, archivedTip);
+        if (oldest != null) {
+            target.queryForObject("select audit_records_ensure_partitions(?, ?, ?)", Integer.class,
+                    partitionProperties.getMonthsAhead(), partitionProperties.getTenantHashPartitions(), oldest);
+        }
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        long[] copied = {0};
+        TenantShardContext.runOnShard(fromShard, () -> recordService.streamSearch(AuditRecordSearchCriteria.forTenant(tenantId),
+                archivedTip, Long.MAX_VALUE, streamProperties.getFetchSize(), AuditRecordProjection.ENTITY, e -> {
+                    check.test(e);
+                    batch.add(row(e));
+                    if (batch.size() == BATCH_SIZE) {
+                        copied[0] += flush(target, batch);
+                    }
+                }));
+        copied[0] += flush(target, batch);
+
+        List<LaneHead> lanes = source.query("select lane, last_seq, last_hash from audit_lane_heads where tenant_id = ? order by lane",
+                (rs, i) -> new LaneHead(rs.getInt(1), rs.getLong(2), rs.getBytes(3)), tenantId);
+        if (head.layout().isLaned()) {
+            // Every lane must end at its head; the tenant head points at the latest anchor, checked during the walk.
+            if (lanes.size() != head.layout().lanes()) {
+                throw new IllegalStateException("Chain of tenant " + tenantId + " has " + lanes.size() + " lane heads, expected "
+                        + head.layout().lanes());
+            }
+            for (LaneHead lane : lanes) {
+                LaneHead walked = check.links.tip(lane.lane());
+                if (walked == null || walked.lastSeq() != lane.lastSeq() || !Hashes.same(walked.lastHash(), lane.lastHash())) {
+                    throw new IllegalStateException("Lane " + lane.lane() + " of tenant " + tenantId + " does not end at its head (seq "
+                            + lane.lastSeq() + ")");
+                }
+            }
+        } else if (check.seq != head.lastSeq() || !Hashes.same(check.hash, head.lastHash())) {
+            throw new IllegalStateException("Chain of tenant " + tenantId + " ends at seq " + check.seq
+                    + " but its head is at seq " + head.lastSeq());
+        }
+        target.update("""
+                insert into audit_chain_heads (tenant_id, last_seq, last_hash, last_record_id, updated_at, moved_to, lanes, lane_base)
+                values (?, ?, ?, ?, now(), null, ?, ?)
+                on conflict (tenant_id) do update set last_seq = excluded.last_seq, last_hash = excluded.last_hash,
+                    last_record_id = excluded.last_record_id, updated_at = excluded.updated_at, moved_to = null,
+                    lanes = excluded.lanes, lane_base = excluded.lane_base""",
+                tenantId, head.lastSeq(), head.lastHash(), head.layout().isLaned() ? head.lastRecordId() : check.lastId,
+                head.layout().lanes(), head.layout().base());
+        target.update("delete from audit_lane_heads where tenant_id = ?", tenantId);
+        target.batchUpdate("insert into audit_lane_heads (tenant_id, lane, last_seq, last_hash) values (?, ?, ?, ?)",
+                lanes.stream().map(l -> new Object[] {tenantId, l.lane(), l.lastSeq(), l.lastHash()}).toList());
+        return new TenantMoveResult(tenantId, fromShard, toShard, check.count, copied[0], segments.size(), 0);
+    }
+
+    private static Object[] row(AuditRecordEntity e) {
+        return new Object[] {e.getId(), e.getTenantId(), e.getSeq(), e.getEventId(), e.getActor(), e.getAction(),
+                e.getResourceType(), e.getResourceId(), e.getCorrelationId(),
+                e.getPayloadDigest() != null ? null : e.getDataJson(), Timestamp.from(e.getCreatedAt()),
+                e.getHashAlg(), e.getKeyId(), e.getPrevHash(), e.getHash(), e.getPayloadDigest()};
+    }
+
+    private static int flush(JdbcTemplate target, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        target.batchUpdate(INSERT_RECORD, batch);
+        int n = batch.size();
+        batch.clear();
+        return n;
+    }
+
+    /**
+     * Old shard's chain head, locked for the duration of the move.
+     */
+    private record Head(long lastSeq, byte[] lastHash, Long lastRecordId, String movedTo, ChainLayout layout) {
+    }
+
+    /**
+     * Checks {@code prevHash} links (per lane for laned chains) and HMACs while the chain is walked; throws on the
+     * first break.
+     */
+    private final class ChainCheck implements Predicate<AuditRecordEntity> {
+
+        private final String tenantId;
+        private final ChainLinks links;
+        private long seq;
+        private byte[] hash;
+        private Long lastId;
+        private long count;
+
+        ChainCheck(String tenantId, ChainLayout layout) {
+            this.tenantId = tenantId;
+            this.links = ChainLinks.fromGenesis(layout);
+        }
+
+        @Override
+        public boolean test(AuditRecordEntity e) {
+            if (e.getSeq() <= seq || links.accept(e) != null
+                    || !Hashes.same(hashingService.recomputeHash(e), e.getHash())) {
+                throw new IllegalStateException("Refusing to move tenant " + tenantId + ": chain broken at id=" + e.getId());
+            }
+            seq = e.getSeq();
+            hash = e.getHash();
+            lastId = e.getId();
+            count++;
+            return true;
+        }
+    }
+}
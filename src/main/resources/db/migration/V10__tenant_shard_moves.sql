@@ -0,0 +1,51 @@
+-- Tenant moves between shards.
+--
+-- * audit_chain_heads.moved_to fences a tenant on its old shard once its chain has been copied to the
+--   new one: appends are refused there, so a stale routing table cannot fork the chain.
+-- * The old shard's copy may then be deleted, but only for a fenced tenant and only in a transaction
+--   that named it with SET LOCAL audit.tenant_move_purge = '<tenant id>'.
+-- * The archive purge rule (V9) is unchanged and applies to audit_records only (trigger argument).
+
+ALTER TABLE audit_chain_heads ADD COLUMN IF NOT EXISTS moved_to VARCHAR(64);
+
+CREATE OR REPLACE FUNCTION audit_records_guard_mutation()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        IF current_setting('audit.tenant_move_purge', true) = OLD.tenant_id
+           AND EXISTS (SELECT 1 FROM audit_chain_heads h
+                       WHERE h.tenant_id = OLD.tenant_id AND h.moved_to IS NOT NULL) THEN
+            RETURN OLD;
+        END IF;
+        IF TG_NARGS > 0 AND TG_ARGV[0] = 'archivable'
+           AND current_setting('audit.archive_purge', true) = 'on'
+           AND EXISTS (SELECT 1 FROM audit_archive_segments s
+                       WHERE s.tenant_id = OLD.tenant_id AND s.from_seq <= OLD.seq AND s.to_seq >= OLD.seq) THEN
+            RETURN OLD;
+        END IF;
+    END IF;
+    RAISE EXCEPTION '% is append-only: % is not allowed', TG_TABLE_NAME, TG_OP
+        USING ERRCODE = '0A000'; -- feature_not_supported
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_audit_records_reject_mutation ON audit_records;
+
+CREATE TRIGGER trg_audit_records_reject_mutation
+BEFORE UPDATE OR DELETE ON audit_records
+FOR EACH ROW
+EXECUTE FUNCTION audit_records_guard_mutation('archivable');
+
+DROP TRIGGER IF EXISTS trg_audit_record_keys_reject_mutation ON audit_record_keys;
+
+CREATE TRIGGER trg_audit_record_keys_reject_mutation
+BEFORE UPDATE OR DELETE ON audit_record_keys
+FOR EACH ROW
+EXECUTE FUNCTION audit_records_guard_mutation();
+
+DROP TRIGGER IF EXISTS trg_audit_archive_segments_reject_mutation ON audit_archive_segments;
+
+CREATE TRIGGER trg_audit_archive_segments_reject_mutation
+BEFORE UPDATE OR DELETE ON audit_archive_segments
+FOR EACH ROW
+EXECUTE FUNCTION audit_records_guard_mutation();
@@ -0,0 +1,22 @@
+-- Record hashes become raw 32-byte bytea instead of 64-char hex text.
+--
+-- * Halves the hash columns (33 vs 65 bytes on disk per value) and lets the verifier compare bytes.
+-- * Hex stays the wire format (API, CSV, Kafka) and the form chained inside the HMAC payload, so existing
+--   hashes remain valid and nothing is recomputed here.
+-- * ALTER COLUMN TYPE rewrites each table (and every audit_records partition) under an ACCESS EXCLUSIVE
+--   lock; on large deployments run this migration in a maintenance window. Row triggers do not fire.
+
+ALTER TABLE audit_records
+    ALTER COLUMN prev_hash TYPE BYTEA USING decode(prev_hash, 'hex'),
+    ALTER COLUMN hash      TYPE BYTEA USING decode(hash, 'hex');
+
+ALTER TABLE audit_records
+    ADD CONSTRAINT ck_audit_records_hash_length
+        CHECK (octet_length(hash) = 32 AND (prev_hash IS NULL OR octet_length(prev_hash) = 32));
+
+ALTER TABLE audit_chain_heads
+    ALTER COLUMN last_hash TYPE BYTEA USING decode(last_hash, 'hex');
+
+ALTER TABLE audit_archive_segments
+    ALTER COLUMN first_prev_hash TYPE BYTEA USING decode(first_prev_hash, 'hex'),
+    ALTER COLUMN last_hash       TYPE BYTEA USING decode(last_hash, 'hex');
@@ -0,0 +1,35 @@
+-- Content-addressed payload store.
+--
+-- * audit_payloads keeps each large canonical payload once per tenant, keyed by its SHA-256 and
+--   LZ4-compressed by the application (exact canonical bytes, so the record HMAC verifies unchanged).
+-- * A record either carries its payload inline (data) or references one (payload_digest), never both.
+--   Referenced payloads are not visible to the JSONB search filters on audit_records.data.
+-- * Payload rows are append-only like the records; a moved tenant's rows may be purged from its old shard (V10).
+
+CREATE TABLE IF NOT EXISTS audit_payloads (
+    tenant_id   VARCHAR(64)  NOT NULL,
+    digest      BYTEA        NOT NULL,
+    size        INT          NOT NULL,
+    content     BYTEA        NOT NULL,
+    created_at  TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    CONSTRAINT pk_audit_payloads PRIMARY KEY (tenant_id, digest),
+    CONSTRAINT ck_audit_payloads_digest_length CHECK (octet_length(digest) = 32)
+);
+
+-- Content is compressed already; keep Postgres from trying again and store it out of line.
+ALTER TABLE audit_payloads ALTER COLUMN content SET STORAGE EXTERNAL;
+
+CREATE TRIGGER trg_audit_payloads_reject_mutation
+BEFORE UPDATE OR DELETE ON audit_payloads
+FOR EACH ROW
+EXECUTE FUNCTION audit_records_guard_mutation();
+
+CREATE TRIGGER trg_audit_payloads_reject_truncate
+BEFORE TRUNCATE ON audit_payloads
+FOR EACH STATEMENT
+EXECUTE FUNCTION audit_records_reject_mutation();
+
+ALTER TABLE audit_records ADD COLUMN IF NOT EXISTS payload_digest BYTEA;
+ALTER TABLE audit_records ALTER COLUMN data DROP NOT NULL;
+ALTER TABLE audit_records
+    ADD CONSTRAINT ck_audit_records_payload_inline_or_referenced CHECK ((data IS NULL) <> (payload_digest IS NULL));
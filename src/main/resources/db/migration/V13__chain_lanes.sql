@@ -0,0 +1,24 @@
+-- Optional parallel lanes per tenant chain.
+--
+-- * A laned tenant's chain forks at seq lane_base into `lanes` hash chains. Lane l owns the seqs
+--   lane_base + l + 1 + k * lanes, so (tenant_id, seq) stays unique across lanes and each record's
+--   predecessor is seq - lanes (or lane_base for the first record of a lane).
+-- * audit_lane_heads holds one head per lane; appends lock a lane head instead of the tenant head.
+--   A lane that has no records yet has a virtual tip below lane_base and the fork record's hash.
+-- * audit_chain_heads keeps the tenant row (moves, status). For laned tenants its last_seq / last_hash
+--   point at the latest anchor record, which binds the lane tips together.
+
+ALTER TABLE audit_chain_heads ADD COLUMN IF NOT EXISTS lanes INT NOT NULL DEFAULT 1;
+ALTER TABLE audit_chain_heads ADD COLUMN IF NOT EXISTS lane_base BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE audit_chain_heads ADD CONSTRAINT ck_audit_chain_heads_lanes CHECK (lanes BETWEEN 1 AND 64);
+
+CREATE TABLE IF NOT EXISTS audit_lane_heads (
+    tenant_id      VARCHAR(64) NOT NULL,
+    lane           INT         NOT NULL,
+    last_seq       BIGINT      NOT NULL,
+    last_hash      BYTEA,
+    last_record_id BIGINT,
+    updated_at     TIMESTAMPTZ NOT NULL DEFAULT clock_timestamp(),
+    CONSTRAINT pk_audit_lane_heads PRIMARY KEY (tenant_id, lane),
+    CONSTRAINT ck_audit_lane_heads_hash_length CHECK (last_hash IS NULL OR octet_length(last_hash) = 32)
+);
@@ -0,0 +1,17 @@
+-- Index-driven, case-insensitive actor search.
+--
+-- * CONTAINS (substring) search uses a trigram GIN index. btree_gin lets the same GIN index lead with
+--   tenant_id, so a tenant's substring search never visits other tenants' postings.
+-- * PREFIX and EXACT search use a tenant-leading b-tree over lower(actor) with text_pattern_ops,
+--   which supports both "=" and left-anchored LIKE regardless of the database collation.
+--
+-- Both pg_trgm and btree_gin are trusted extensions (PostgreSQL 13+), so the database owner can create them.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX IF NOT EXISTS idx_audit_records_tenant_actor_trgm
+    ON audit_records USING gin (tenant_id, lower(actor) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_audit_records_tenant_actor_lower
+    ON audit_records (tenant_id, lower(actor) text_pattern_ops);
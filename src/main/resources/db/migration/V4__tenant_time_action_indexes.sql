@@ -0,0 +1,18 @@
+-- Tenant-leading indexes for the common search filters.
+--
+-- * (tenant_id, created_at): time-window search within a tenant.
+-- * (tenant_id, action, seq): action filter; rows come back already in chain order, so
+--   "order by seq limit n" stops after n index entries.
+-- * BRIN on created_at replaces the global b-tree: audit_records is append-only, so created_at follows
+--   the physical row order and a BRIN index covers cross-tenant time scans at a fraction of the size.
+
+CREATE INDEX IF NOT EXISTS idx_audit_records_tenant_created_at
+    ON audit_records (tenant_id, created_at);
+
+CREATE INDEX IF NOT EXISTS idx_audit_records_tenant_action_seq
+    ON audit_records (tenant_id, action, seq);
+
+DROP INDEX IF EXISTS idx_audit_records_created_at;
+
+CREATE INDEX IF NOT EXISTS idx_audit_records_created_at_brin
+    ON audit_records USING brin (created_at) WITH (pages_per_range = 32);
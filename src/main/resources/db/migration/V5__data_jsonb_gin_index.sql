@@ -0,0 +1,7 @@
+-- Payload search: data @> '{...}' and data @@ '<jsonpath predicate>'.
+-- jsonb_path_ops is smaller and faster than the default jsonb_ops for containment/path operators
+-- (it does not support key-existence operators, which the API does not expose).
+-- tenant_id leads (btree_gin, see V3) so tenant-scoped payload queries only read that tenant's postings.
+
+CREATE INDEX IF NOT EXISTS idx_audit_records_tenant_data_path_ops
+    ON audit_records USING gin (tenant_id, data jsonb_path_ops);
@@ -0,0 +1,8 @@
+-- Correlation timeline: where tenant_id = ? and correlation_id in (...) order by seq.
+-- Partial: records without a correlation id (the majority for many producers) are not indexed at all.
+-- Queries qualify automatically because "correlation_id in (...)" implies "correlation_id is not null".
+-- seq is the trailing column so a single-id timeline is returned in chain order without a sort.
+
+CREATE INDEX IF NOT EXISTS idx_audit_records_tenant_correlation_seq
+    ON audit_records (tenant_id, correlation_id, seq)
+    WHERE correlation_id IS NOT NULL;
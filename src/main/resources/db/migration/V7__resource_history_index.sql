@@ -0,0 +1,6 @@
+-- Resource history: where tenant_id = ? and resource_type = ? and resource_id = ? [and seq > ?] order by seq limit n.
+-- All equality columns lead and seq trails, so each page is one index range scan that stops after n entries,
+-- regardless of tenant size.
+
+CREATE INDEX IF NOT EXISTS idx_audit_records_tenant_resource_seq
+    ON audit_records (tenant_id, resource_type, resource_id, seq);
@@ -0,0 +1,184 @@
+-- Declarative range partitioning of audit_records by created_at month (UTC), optionally sub-partitioned
+-- by tenant hash.
+--
+-- * Indexes, vacuum and backups work per partition, and time-bounded queries prune to the partitions
+--   they touch.
+-- * Unique constraints on a partitioned table must include the partition key, so the two global
+--   uniqueness rules move to a narrow side table filled by an AFTER INSERT trigger:
+--   audit_record_keys (tenant_id, seq) and (tenant_id, event_id). The trigger runs in the inserting
+--   transaction, so a duplicate still fails the append with a unique violation.
+-- * Partitions are created ahead of time by audit_records_ensure_partitions(...), which the application
+--   calls on startup and on a schedule. There is deliberately no DEFAULT partition: rows in it would
+--   block creating the matching month partition later.
+--
+-- Existing rows are copied into the new table inside this migration. For very large installations run
+-- the copy ahead of time in batches (same INSERT ... SELECT with id ranges) and let this migration copy
+-- only the tail.
+
+-- Shared by audit_records and audit_record_keys; report the table that was targeted.
+CREATE OR REPLACE FUNCTION audit_records_reject_mutation()
+RETURNS TRIGGER AS $$
+BEGIN
+    RAISE EXCEPTION '% is append-only: % is not allowed', TG_TABLE_NAME, TG_OP
+        USING ERRCODE = '0A000'; -- feature_not_supported
+END;
+$$ LANGUAGE plpgsql;
+
+-- 1) Move the heap table out of the way; its constraint/index names are reused below.
+ALTER TABLE audit_records RENAME TO audit_records_legacy;
+ALTER TABLE audit_records_legacy DROP CONSTRAINT IF EXISTS audit_records_pkey;
+ALTER TABLE audit_records_legacy DROP CONSTRAINT IF EXISTS uq_audit_records_tenant_event_id;
+DROP INDEX IF EXISTS idx_audit_records_tenant_id_id;
+DROP INDEX IF EXISTS uq_audit_records_tenant_seq;
+DROP INDEX IF EXISTS idx_audit_records_tenant_actor_trgm;
+DROP INDEX IF EXISTS idx_audit_records_tenant_actor_lower;
+DROP INDEX IF EXISTS idx_audit_records_tenant_created_at;
+DROP INDEX IF EXISTS idx_audit_records_tenant_action_seq;
+DROP INDEX IF EXISTS idx_audit_records_created_at_brin;
+DROP INDEX IF EXISTS idx_audit_records_tenant_data_path_ops;
+DROP INDEX IF EXISTS idx_audit_records_tenant_correlation_seq;
+DROP INDEX IF EXISTS idx_audit_records_tenant_resource_seq;
+
+-- 2) Partitioned table; ids keep coming from the existing sequence.
+CREATE TABLE audit_records (
+    id             BIGINT       NOT NULL DEFAULT nextval('audit_records_id_seq'),
+    tenant_id      VARCHAR(64)  NOT NULL,
+    seq            BIGINT       NOT NULL,
+    event_id       UUID         NOT NULL,
+    actor          VARCHAR(256) NOT NULL,
+    action         VARCHAR(128) NOT NULL,
+    resource_type  VARCHAR(128) NOT NULL,
+    resource_id    VARCHAR(256) NOT NULL,
+    correlation_id VARCHAR(128),
+    data           JSONB        NOT NULL,
+    created_at     TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    hash_alg       VARCHAR(32)  NOT NULL,
+    key_id         VARCHAR(32)  NOT NULL,
+    prev_hash      VARCHAR(128),
+    hash           VARCHAR(128) NOT NULL,
+    CONSTRAINT audit_records_pkey PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE audit_records_id_seq OWNED BY audit_records.id;
+
+-- Row triggers on a partitioned table are cloned onto every partition, including partitions created
+-- later, so UPDATE/DELETE stay rejected everywhere.
+CREATE TRIGGER trg_audit_records_reject_mutation
+BEFORE UPDATE OR DELETE ON audit_records
+FOR EACH ROW
+EXECUTE FUNCTION audit_records_reject_mutation();
+
+-- TRUNCATE bypasses row triggers and is issued per table, so every table in the hierarchy gets its own
+-- statement trigger (see audit_records_ensure_partitions).
+CREATE TRIGGER trg_audit_records_reject_truncate
+BEFORE TRUNCATE ON audit_records
+FOR EACH STATEMENT
+EXECUTE FUNCTION audit_records_reject_mutation();
+
+-- 3) Global uniqueness (chain position and idempotency key) for the partitioned table.
+CREATE TABLE audit_record_keys (
+    tenant_id  VARCHAR(64) NOT NULL,
+    seq        BIGINT      NOT NULL,
+    event_id   UUID        NOT NULL,
+    record_id  BIGINT      NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL,
+    CONSTRAINT pk_audit_record_keys PRIMARY KEY (tenant_id, seq),
+    CONSTRAINT uq_audit_record_keys_tenant_event_id UNIQUE (tenant_id, event_id)
+);
+
+CREATE TRIGGER trg_audit_record_keys_reject_mutation
+BEFORE UPDATE OR DELETE ON audit_record_keys
+FOR EACH ROW
+EXECUTE FUNCTION audit_records_reject_mutation();
+
+CREATE TRIGGER trg_audit_record_keys_reject_truncate
+BEFORE TRUNCATE ON audit_record_keys
+FOR EACH STATEMENT
+EXECUTE FUNCTION audit_records_reject_mutation();
+
+CREATE OR REPLACE FUNCTION audit_records_register_keys()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO audit_record_keys (tenant_id, seq, event_id, record_id, created_at)
+    VALUES (NEW.tenant_id, NEW.seq, NEW.event_id, NEW.id, NEW.created_at);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_audit_records_register_keys
+AFTER INSERT ON audit_records
+FOR EACH ROW
+EXECUTE FUNCTION audit_records_register_keys();
+
+-- 4) Partition management. Month boundaries are computed in UTC and written as explicit timestamptz
+--    literals, so they do not depend on the session time zone. Returns the number of months created.
+CREATE OR REPLACE FUNCTION audit_records_ensure_partitions(
+    months_ahead INT,
+    tenant_hash_partitions INT DEFAULT 0,
+    from_ts TIMESTAMPTZ DEFAULT now()
+)
+RETURNS INT AS $$
+DECLARE
+    month_start TIMESTAMP := date_trunc('month', least(from_ts, now()) AT TIME ZONE 'UTC');
+    last_month  TIMESTAMP := date_trunc('month', now() AT TIME ZONE 'UTC') + make_interval(months => months_ahead);
+    part_name   TEXT;
+    leaf_name   TEXT;
+    created     INT := 0;
+BEGIN
+    -- Serialize concurrent callers (several application instances).
+    PERFORM pg_advisory_xact_lock(hashtext('audit_records_ensure_partitions'));
+
+    WHILE month_start <= last_month LOOP
+        part_name := 'audit_records_' || to_char(month_start, 'YYYYMM');
+        IF to_regclass(part_name) IS NULL THEN
+            IF tenant_hash_partitions > 1 THEN
+                EXECUTE format('CREATE TABLE %I PARTITION OF audit_records FOR VALUES FROM (%L) TO (%L) PARTITION BY HASH (tenant_id)',
+                               part_name, month_start AT TIME ZONE 'UTC', (month_start + interval '1 month') AT TIME ZONE 'UTC');
+                FOR i IN 0 .. tenant_hash_partitions - 1 LOOP
+                    leaf_name := part_name || '_h' || i;
+                    EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES WITH (MODULUS %s, REMAINDER %s)',
+                                   leaf_name, part_name, tenant_hash_partitions, i);
+                    EXECUTE format('CREATE TRIGGER trg_audit_records_reject_truncate BEFORE TRUNCATE ON %I '
+                                   'FOR EACH STATEMENT EXECUTE FUNCTION audit_records_reject_mutation()', leaf_name);
+                END LOOP;
+            ELSE
+                EXECUTE format('CREATE TABLE %I PARTITION OF audit_records FOR VALUES FROM (%L) TO (%L)',
+                               part_name, month_start AT TIME ZONE 'UTC', (month_start + interval '1 month') AT TIME ZONE 'UTC');
+            END IF;
+            EXECUTE format('CREATE TRIGGER trg_audit_records_reject_truncate BEFORE TRUNCATE ON %I '
+                           'FOR EACH STATEMENT EXECUTE FUNCTION audit_records_reject_mutation()', part_name);
+            created := created + 1;
+        END IF;
+        month_start := month_start + interval '1 month';
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 5) Partitions for existing history plus three months ahead, then copy.
+SELECT audit_records_ensure_partitions(3, 0, (SELECT coalesce(min(created_at), now()) FROM audit_records_legacy));
+
+INSERT INTO audit_records (id, tenant_id, seq, event_id, actor, action, resource_type, resource_id, correlation_id,
+                           data, created_at, hash_alg, key_id, prev_hash, hash)
+SELECT id, tenant_id, seq, event_id, actor, action, resource_type, resource_id, correlation_id,
+       data, created_at, hash_alg, key_id, prev_hash, hash
+FROM audit_records_legacy
+ORDER BY created_at, id;
+
+DROP TABLE audit_records_legacy;
+
+-- 6) Partitioned indexes (created once on the parent, propagated to every current and future partition).
+CREATE INDEX idx_audit_records_tenant_id_id ON audit_records (tenant_id, id);
+CREATE INDEX idx_audit_records_tenant_seq ON audit_records (tenant_id, seq);
+CREATE INDEX idx_audit_records_tenant_created_at ON audit_records (tenant_id, created_at);
+CREATE INDEX idx_audit_records_tenant_action_seq ON audit_records (tenant_id, action, seq);
+CREATE INDEX idx_audit_records_created_at_brin ON audit_records USING brin (created_at) WITH (pages_per_range = 32);
+CREATE INDEX idx_audit_records_tenant_actor_trgm ON audit_records USING gin (tenant_id, lower(actor) gin_trgm_ops);
+CREATE INDEX idx_audit_records_tenant_actor_lower ON audit_records (tenant_id, lower(actor) text_pattern_ops);
+CREATE INDEX idx_audit_records_tenant_data_path_ops ON audit_records USING gin (tenant_id, data jsonb_path_ops);
+CREATE INDEX idx_audit_records_tenant_correlation_seq ON audit_records (tenant_id, correlation_id, seq)
+    WHERE correlation_id IS NOT NULL;
+CREATE INDEX idx_audit_records_tenant_resource_seq ON audit_records (tenant_id, resource_type, resource_id, seq);
+
+ANALYZE audit_records;
+ANALYZE audit_record_keys;
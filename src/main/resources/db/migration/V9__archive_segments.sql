@@ -0,0 +1,91 @@
+-- Cold archive: closed per-tenant seq ranges are sealed into compressed, checksummed segment files.
+--
+-- * audit_archive_segments is the catalog (append-only). Each row anchors its segment in the chain:
+--   first_prev_hash must equal the previous segment's last_hash.
+-- * audit_records rows may be deleted only when a sealed segment covers them AND the deleting
+--   transaction opted in with SET LOCAL audit.archive_purge = 'on'. UPDATE and TRUNCATE stay rejected.
+-- * Month partitions left empty by purging are dropped by audit_records_drop_empty_partitions(...).
+
+CREATE TABLE IF NOT EXISTS audit_archive_segments (
+    id              BIGSERIAL    PRIMARY KEY,
+    tenant_id       VARCHAR(64)  NOT NULL,
+    from_seq        BIGINT       NOT NULL,
+    to_seq          BIGINT       NOT NULL,
+    min_id          BIGINT       NOT NULL,
+    max_id          BIGINT       NOT NULL,
+    min_created_at  TIMESTAMPTZ  NOT NULL,
+    max_created_at  TIMESTAMPTZ  NOT NULL,
+    record_count    INT          NOT NULL,
+    first_prev_hash VARCHAR(128),
+    last_hash       VARCHAR(128) NOT NULL,
+    file_name       TEXT         NOT NULL,
+    file_size       BIGINT       NOT NULL,
+    sha256          VARCHAR(64)  NOT NULL,
+    sealed_at       TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    CONSTRAINT uq_audit_archive_segments_tenant_from_seq UNIQUE (tenant_id, from_seq),
+    CONSTRAINT ck_audit_archive_segments_range CHECK (to_seq >= from_seq AND record_count = to_seq - from_seq + 1)
+);
+
+-- get-by-id fallback: segments whose id range contains the id.
+CREATE INDEX IF NOT EXISTS idx_audit_archive_segments_max_id ON audit_archive_segments (max_id);
+
+CREATE TRIGGER trg_audit_archive_segments_reject_mutation
+BEFORE UPDATE OR DELETE ON audit_archive_segments
+FOR EACH ROW
+EXECUTE FUNCTION audit_records_reject_mutation();
+
+CREATE TRIGGER trg_audit_archive_segments_reject_truncate
+BEFORE TRUNCATE ON audit_archive_segments
+FOR EACH STATEMENT
+EXECUTE FUNCTION audit_records_reject_mutation();
+
+CREATE OR REPLACE FUNCTION audit_records_guard_mutation()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE'
+       AND current_setting('audit.archive_purge', true) = 'on'
+       AND EXISTS (SELECT 1 FROM audit_archive_segments s
+                   WHERE s.tenant_id = OLD.tenant_id AND s.from_seq <= OLD.seq AND s.to_seq >= OLD.seq) THEN
+        RETURN OLD;
+    END IF;
+    RAISE EXCEPTION '% is append-only: % is not allowed', TG_TABLE_NAME, TG_OP
+        USING ERRCODE = '0A000'; -- feature_not_supported
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_audit_records_reject_mutation ON audit_records;
+
+CREATE TRIGGER trg_audit_records_reject_mutation
+BEFORE UPDATE OR DELETE ON audit_records
+FOR EACH ROW
+EXECUTE FUNCTION audit_records_guard_mutation();
+
+-- Drops month partitions that ended before older_than and hold no rows. Returns the number dropped.
+CREATE OR REPLACE FUNCTION audit_records_drop_empty_partitions(older_than TIMESTAMPTZ)
+RETURNS INT AS $$
+DECLARE
+    part     RECORD;
+    is_empty BOOLEAN;
+    dropped  INT := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('audit_records_ensure_partitions'));
+
+    FOR part IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'audit_records'::regclass
+          AND c.relname ~ '^audit_records_[0-9]{6}$'
+    LOOP
+        -- Partition names carry the UTC month (see audit_records_ensure_partitions).
+        IF to_date(substr(part.relname, 15), 'YYYYMM')::timestamp + interval '1 month' <= older_than AT TIME ZONE 'UTC' THEN
+            EXECUTE format('SELECT NOT EXISTS (SELECT 1 FROM %I)', part.relname) INTO is_empty;
+            IF is_empty THEN
+                EXECUTE format('DROP TABLE %I', part.relname);
+                dropped := dropped + 1;
+            END IF;
+        END IF;
+    END LOOP;
+    RETURN dropped;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,77 @@
+package com.github.dimitryivaniuta.audittrail;
+
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import com.github.dimitryivaniuta.audittrail.service.AuditRecordService;
+import com.github.dimitryivaniuta.audittrail.service.VerificationResult;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for the single-statement append strategy.
+ */
+@SpringBootTest(properties = "audit.append.strategy=statement")
+class AuditAppendStatementIT extends PostgresTestBase {
+
+    @Autowired
+    private AuditRecordService service;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void appends_chain_and_return_existing_record_for_duplicate_event_id() {
+        UUID eventId = UUID.randomUUID();
+        AuditRecordEntity first = append("tenantStmt", UUID.randomUUID());
+        AuditRecordEntity second = append("tenantStmt", eventId);
+        AuditRecordEntity again = append("tenantStmt", eventId);
+
+        assertThat(first.getSeq()).isEqualTo(1);
+        assertThat(second.getSeq()).isEqualTo(2);
+        assertThat(second.getPrevHash()).isEqualTo(first.getHash());
+        assertThat(again.getId()).isEqualTo(second.getId());
+        assertThat(jdbc.queryForObject("select last_record_id from audit_chain_heads where tenant_id = 'tenantStmt'", Long.class))
+                .isEqualTo(second.getId());
+
+        VerificationResult result = service.verify("tenantStmt", null, null);
+        assertThat(result.ok()).as(result.message()).isTrue();
+        assertThat(result.recordsChecked()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrent_appends_retry_on_stale_tip() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<AuditRecordEntity>> futures = new ArrayList<>();
+            for (int i = 0; i < 80; i++) {
+                futures.add(pool.submit(() -> append("tenantStmtConcurrent", UUID.randomUUID())));
+            }
+            for (Future<AuditRecordEntity> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(jdbc.queryForObject("select last_seq from audit_chain_heads where tenant_id = 'tenantStmtConcurrent'", Long.class))
+                .isEqualTo(80);
+        VerificationResult result = service.verify("tenantStmtConcurrent", null, null);
+        assertThat(result.ok()).as(result.message()).isTrue();
+        assertThat(result.recordsChecked()).isEqualTo(80);
+    }
+
+    private AuditRecordEntity append(String tenantId, UUID eventId) {
+        return service.append(new AuditRecordService.AppendAuditRecordRequest(
+                tenantId, eventId, "svc", "X", "T", "R", null, Map.of("k", "v")));
+    }
+}
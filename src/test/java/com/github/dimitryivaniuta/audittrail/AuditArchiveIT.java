@@ -0,0 +1,134 @@
+package com.github.dimitryivaniuta.audittrail;
+
+import com.github.dimitryivaniuta.audittrail.archive.ArchiveSegment;
+import com.github.dimitryivaniuta.audittrail.archive.AuditArchiveService;
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import com.github.dimitryivaniuta.audittrail.service.AuditRecordService;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for sealing records into archive segments and reading them back.
+ */
+@SpringBootTest(properties = {
+        "audit.archive.min-age=0s",
+        "audit.archive.block-records=2",
+        "audit.archive.path=${java.io.tmpdir}/audit-archive-it-${random.uuid}"
+})
+@AutoConfigureMockMvc
+class AuditArchiveIT extends PostgresTestBase {
+
+    @Autowired
+    private AuditRecordService service;
+
+    @Autowired
+    private AuditArchiveService archive;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate tx;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void sealed_records_leave_the_hot_table_and_stay_readable_and_verifiable() {
+        AuditRecordEntity first = append("tenantArc", UUID.randomUUID());
+        append("tenantArc", UUID.randomUUID());
+        AuditRecordEntity third = append("tenantArc", UUID.randomUUID());
+
+        ArchiveSegment segment = archive.sealNext("tenantArc").orElseThrow();
+        assertThat(segment.fromSeq()).isEqualTo(1);
+        assertThat(segment.toSeq()).isEqualTo(3);
+        assertThat(segment.lastHash()).isEqualTo(third.getHash());
+        assertThat(jdbc.queryForObject("select count(*) from audit_records where tenant_id = 'tenantArc'", Integer.class)).isZero();
+
+        // Reads fall back to the segment.
+        assertThat(service.getById(first.getId()).getDataJson()).isEqualTo(first.getDataJson());
+        assertThat(service.getByIds("tenantArc", List.of(third.getId()))).containsKey(third.getId());
+        assertThat(append("tenantArc", first.getEventId()).getId()).isEqualTo(first.getId());
+
+        // The chain continues from the archived tip and verifies end to end.
+        AuditRecordEntity fourth = append("tenantArc", UUID.randomUUID());
+        assertThat(fourth.getPrevHash()).isEqualTo(third.getHash());
+        assertThat(service.verify("tenantArc", null, null).recordsChecked()).isEqualTo(4);
+        assertThat(service.loadRange("tenantArc", null, null)).extracting(AuditRecordEntity::getSeq).containsExactly(1L, 2L, 3L, 4L);
+
+        // Next segment is anchored on the previous one.
+        ArchiveSegment next = archive.sealNext("tenantArc").orElseThrow();
+        assertThat(next.firstPrevHash()).isEqualTo(segment.lastHash());
+        assertThat(service.verify("tenantArc", null, null).ok()).isTrue();
+    }
+
+    @Test
+    void multi_key_data_seals_and_keeps_its_canonical_text() {
+        Map<String, Object> data = Map.of(
+                "status", "PAID",
+                "amount", 1250,
+                "lines", List.of(Map.of("sku", "A-1", "qty", 2), Map.of("sku", "B", "qty", 1)),
+                "meta", Map.of("source", "web", "ip", "10.0.0.1"));
+        AuditRecordEntity first = service.append(new AuditRecordService.AppendAuditRecordRequest(
+                "tenantArcData", UUID.randomUUID(), "svc", "X", "T", "R", null, data));
+        service.append(new AuditRecordService.AppendAuditRecordRequest(
+                "tenantArcData", UUID.randomUUID(), "svc", "X", "T", "R", null, Map.of("b", 1, "a", 2)));
+
+        // JSONB renders the rows differently from the hashed text; sealing must still recompute the same hashes.
+        assertThat(jdbc.queryForObject("select data::text from audit_records where id = ?", String.class, first.getId()))
+                .isNotEqualTo(first.getDataJson());
+        ArchiveSegment segment = archive.sealNext("tenantArcData").orElseThrow();
+        assertThat(segment.recordCount()).isEqualTo(2);
+
+        assertThat(service.getById(first.getId()).getDataJson()).isEqualTo(first.getDataJson());
+        assertThat(service.verify("tenantArcData", null, null).ok()).isTrue();
+    }
+
+    @Test
+    void resource_history_verifies_across_the_archive_boundary() throws Exception {
+        append("tenantArcHist", UUID.randomUUID());
+        AuditRecordEntity sealedTip = append("tenantArcHist", UUID.randomUUID());
+        assertThat(archive.sealNext("tenantArcHist").orElseThrow().toSeq()).isEqualTo(sealedTip.getSeq());
+        AuditRecordEntity firstHot = append("tenantArcHist", UUID.randomUUID());
+        append("tenantArcHist", UUID.randomUUID());
+
+        // The first hot record's predecessor now exists only in the segment.
+        assertThat(firstHot.getPrevHash()).isEqualTo(sealedTip.getHash());
+        mvc.perform(get("/api/audit/resources/T/R/history")
+                        .param("tenantId", "tenantArcHist")
+                        .param("verify", "true")
+                        .with(httpBasic("auditor", "auditor-pass")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].seq", contains(3, 4)))
+                .andExpect(jsonPath("$.verification.ok").value(true))
+                .andExpect(jsonPath("$.verification.recordsChecked").value(2));
+    }
+
+    @Test
+    void unsealed_rows_still_cannot_be_deleted() {
+        AuditRecordEntity r = append("tenantArc2", UUID.randomUUID());
+        assertThatThrownBy(() -> tx.executeWithoutResult(status -> {
+            jdbc.execute("SET LOCAL audit.archive_purge = 'on'");
+            jdbc.update("DELETE FROM audit_records WHERE id = ?", r.getId());
+        })).isInstanceOf(Exception.class);
+    }
+
+    private AuditRecordEntity append(String tenantId, UUID eventId) {
+        return service.append(new AuditRecordService.AppendAuditRecordRequest(
+                tenantId, eventId, "svc", "X", "T", "R", null, Map.of("k", "v")));
+    }
+}
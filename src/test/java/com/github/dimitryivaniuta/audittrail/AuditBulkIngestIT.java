@@ -0,0 +1,95 @@
+package com.github.dimitryivaniuta.audittrail;
+
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import com.github.dimitryivaniuta.audittrail.ingest.AuditBulkIngestService;
+import com.github.dimitryivaniuta.audittrail.ingest.BulkIngestProgress;
+import com.github.dimitryivaniuta.audittrail.service.AuditRecordService;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for COPY-based bulk ingest.
+ */
+@SpringBootTest(properties = "audit.ingest.chunk-records=3")
+class AuditBulkIngestIT extends PostgresTestBase {
+
+    @Autowired
+    private AuditBulkIngestService ingest;
+
+    @Autowired
+    private AuditRecordService service;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void ingests_chained_records_in_chunks_and_skips_known_event_ids_on_rerun() {
+        AuditRecordEntity existing = service.append(new AuditRecordService.AppendAuditRecordRequest(
+                "tenantBulkA", UUID.randomUUID(), "svc", "X", "T", "R", null, Map.of("k", "v")));
+
+        StringBuilder ndjson = new StringBuilder();
+        ndjson.append(line("tenantBulkA", existing.getEventId(), "2024-01-15T10:00:00Z"));
+        UUID repeated = UUID.randomUUID();
+        for (int i = 0; i < 4; i++) {
+            ndjson.append(line("tenantBulkA", UUID.randomUUID(), "2024-0" + (i + 1) + "-02T08:30:00.123456789Z"));
+            ndjson.append(line("tenantBulkB", i == 3 ? repeated : UUID.randomUUID(), null));
+        }
+        ndjson.append(line("tenantBulkB", repeated, null));
+        byte[] body = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+
+        List<BulkIngestProgress> reports = new ArrayList<>();
+        BulkIngestProgress done = ingest.ingest(new ByteArrayInputStream(body), reports::add);
+
+        assertThat(done.error()).isNull();
+        assertThat(done.done()).isTrue();
+        assertThat(done.lines()).isEqualTo(10);
+        assertThat(done.inserted()).isEqualTo(8);
+        assertThat(done.duplicates()).isEqualTo(2);
+        assertThat(done.tenants()).isEqualTo(2);
+        assertThat(reports).hasSize(4).last().isEqualTo(done);
+
+        assertThat(jdbc.queryForObject("select last_seq from audit_chain_heads where tenant_id = 'tenantBulkA'", Long.class)).isEqualTo(5);
+        assertThat(jdbc.queryForObject("select last_seq from audit_chain_heads where tenant_id = 'tenantBulkB'", Long.class)).isEqualTo(4);
+        assertThat(service.verify("tenantBulkA", null, null).recordsChecked()).isEqualTo(5);
+        assertThat(service.verify("tenantBulkB", null, null).recordsChecked()).isEqualTo(4);
+
+        // The chain continues with regular appends.
+        AuditRecordEntity next = service.append(new AuditRecordService.AppendAuditRecordRequest(
+                "tenantBulkB", UUID.randomUUID(), "svc", "X", "T", "R", null, Map.of("k", "v")));
+        assertThat(next.getSeq()).isEqualTo(5);
+        assertThat(service.verify("tenantBulkB", null, null).recordsChecked()).isEqualTo(5);
+
+        BulkIngestProgress rerun = ingest.ingest(new ByteArrayInputStream(body), p -> { });
+        assertThat(rerun.inserted()).isZero();
+        assertThat(rerun.duplicates()).isEqualTo(10);
+    }
+
+    @Test
+    void stops_at_an_invalid_line_and_reports_it() {
+        String body = line("tenantBulkC", UUID.randomUUID(), null)
+                + "{\"tenantId\":\"tenantBulkC\",\"actor\":\"legacy\",\"action\":\"A\",\"resourceType\":\"T\",\"resourceId\":\"r\",\"data\":{}}\n";
+
+        BulkIngestProgress done = ingest.ingest(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), p -> { });
+
+        assertThat(done.error()).startsWith("Line 2:").contains("eventId");
+        assertThat(done.inserted()).isZero();
+        assertThat(jdbc.queryForObject("select count(*) from audit_records where tenant_id = 'tenantBulkC'", Long.class)).isZero();
+    }
+
+    private static String line(String tenantId, UUID eventId, String createdAt) {
+        return "{\"tenantId\":\"" + tenantId + "\",\"eventId\":\"" + eventId + "\",\"actor\":\"legacy\",\"action\":\"IMPORT\","
+                + "\"resourceType\":\"DOC\",\"resourceId\":\"d-" + eventId + "\","
+                + (createdAt != null ? "\"createdAt\":\"" + createdAt + "\"," : "")
+                + "\"data\":{\"source\":\"legacy\",\"n\":1}}\n";
+    }
+}
@@ -0,0 +1,117 @@
+package com.github.dimitryivaniuta.audittrail;
+
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import com.github.dimitryivaniuta.audittrail.ingest.AuditBulkIngestService;
+import com.github.dimitryivaniuta.audittrail.lane.LaneAnchor;
+import com.github.dimitryivaniuta.audittrail.service.AuditChainStatusService;
+import com.github.dimitryivaniuta.audittrail.service.AuditRecordService;
+import com.github.dimitryivaniuta.audittrail.service.VerificationResult;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for tenants that append to several chain lanes.
+ */
+@SpringBootTest(properties = {
+        "audit.lanes.tenants.tenantLanes=4",
+        "audit.lanes.tenants.tenantLanesFork=3",
+        "audit.lanes.anchor-interval-ms=3600000"
+})
+class AuditChainLanesIT extends PostgresTestBase {
+
+    @Autowired
+    private AuditRecordService service;
+
+    @Autowired
+    private AuditChainStatusService chainStatus;
+
+    @Autowired
+    private AuditBulkIngestService ingest;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void concurrent_appends_spread_over_lanes_and_verify_with_anchors() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<AuditRecordEntity>> futures = new ArrayList<>();
+            for (int i = 0; i < 120; i++) {
+                futures.add(pool.submit(() -> append("tenantLanes")));
+            }
+            for (Future<AuditRecordEntity> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(jdbc.queryForObject("select count(distinct (seq - 1) % 4) from audit_records where tenant_id = 'tenantLanes'",
+                Integer.class)).isEqualTo(4);
+        assertThat(jdbc.queryForObject("select count(*) from audit_lane_heads where tenant_id = 'tenantLanes'", Integer.class))
+                .isEqualTo(4);
+
+        AuditRecordEntity anchor = service.anchorLanes("tenantLanes").orElseThrow();
+        assertThat(anchor.getAction()).isEqualTo(LaneAnchor.ACTION);
+        assertThat(service.anchorLanes("tenantLanes")).isEmpty();
+
+        for (int i = 0; i < 10; i++) {
+            append("tenantLanes");
+        }
+        assertThat(service.anchorLanes("tenantLanes")).isPresent();
+
+        VerificationResult result = service.verify("tenantLanes", null, null);
+        assertThat(result.ok()).as(result.message()).isTrue();
+        assertThat(result.recordsChecked()).isEqualTo(132);
+        assertThat(chainStatus.get("tenantLanes").recordCount()).isEqualTo(132);
+        assertThat(chainStatus.get("tenantLanes").lanes()).isEqualTo(4);
+
+        assertThatThrownBy(() -> service.append(new AuditRecordService.AppendAuditRecordRequest(
+                "tenantLanes", null, "svc", LaneAnchor.ACTION, LaneAnchor.RESOURCE_TYPE, "x", null, Map.of())))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void existing_chain_forks_into_lanes_at_its_tip() {
+        String ndjson = line() + line() + line();
+        ingest.ingest(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), p -> { });
+        assertThat(jdbc.queryForObject("select lanes from audit_chain_heads where tenant_id = 'tenantLanesFork'", Integer.class))
+                .isEqualTo(1);
+
+        List<Long> seqs = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            seqs.add(append("tenantLanesFork").getSeq());
+        }
+        assertThat(seqs).allMatch(seq -> seq > 3).doesNotHaveDuplicates();
+        assertThat(jdbc.queryForObject("select lane_base from audit_chain_heads where tenant_id = 'tenantLanesFork'", Long.class))
+                .isEqualTo(3);
+
+        service.anchorLanes("tenantLanesFork");
+        VerificationResult result = service.verify("tenantLanesFork", null, null);
+        assertThat(result.ok()).as(result.message()).isTrue();
+        assertThat(result.recordsChecked()).isEqualTo(10);
+    }
+
+    private AuditRecordEntity append(String tenantId) {
+        return service.append(new AuditRecordService.AppendAuditRecordRequest(
+                tenantId, UUID.randomUUID(), "svc", "X", "T", "R", null, Map.of("k", "v")));
+    }
+
+    private static String line() {
+        return "{\"tenantId\":\"tenantLanesFork\",\"eventId\":\"" + UUID.randomUUID() + "\",\"actor\":\"legacy\",\"action\":\"IMPORT\","
+                + "\"resourceType\":\"DOC\",\"resourceId\":\"d\",\"data\":{\"n\":1}}\n";
+    }
+}
@@ -2,15 +2,31 @@ package com.github.dimitryivaniuta.audittrail;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.dimitryivaniuta.audittrail.api.dto.CreateAuditRecordRequest;
+import com.github.dimitryivaniuta.audittrail.ingest.AuditStreamAppendService;
+import com.github.dimitryivaniuta.audittrail.ingest.StreamAppendResult;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -19,7 +35,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 /**
  * End-to-end controller tests (with security).
  */
-@SpringBootTest
+@SpringBootTest(properties = {
+        "audit.admission.tenants.tenantNoisy.rate-per-second=0.1",
+        "audit.admission.tenants.tenantNoisy.burst=2",
+        "audit.ingest.stream-batch-records=2",
+        "audit.stream.max-records=2"
+})
 @AutoConfigureMockMvc
 class AuditControllerIT extends PostgresTestBase {
 
@@ -29,6 +50,12 @@ class AuditControllerIT extends PostgresTestBase {
     @Autowired
     ObjectMapper om;
 
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    AuditStreamAppendService streamAppend;
+
     @Test
     void writer_can_append_auditor_can_read_and_verify() throws Exception {
         var req = new CreateAuditRecordRequest(
@@ -51,7 +78,7 @@ class AuditControllerIT extends PostgresTestBase {
                         .content(json))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.tenantId").value("tenantX"))
-                .andExpect(jsonPath("$.hash", not(emptyOrNullString())))
+                .andExpect(jsonPath("$.hash", matchesPattern("[0-9a-f]{64}")))
                 .andReturn()
                 .getResponse()
                 .getContentAsString();
@@ -83,6 +110,454 @@ class AuditControllerIT extends PostgresTestBase {
                 .andExpect(content().string(containsString("tenantX")));
     }
 
+    @Test
+    void search_returns_metadata_unless_data_is_included() throws Exception {
+        var req = new CreateAuditRecordRequest(
+                "tenantS",
+                UUID.randomUUID(),
+                "carol",
+                "INVOICE_SENT",
+                "INVOICE",
+                "inv-1",
+                null,
+                Map.of("total", 42)
+        );
+
+        String response = mvc.perform(post("/api/audit/records")
+                        .with(httpBasic("writer", "writer-pass"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        long id = om.readTree(response).get("id").asLong();
+
+        mvc.perform(get("/api/audit/records")
+                        .param("tenantId", "tenantS")
+                        .with(httpBasic("auditor", "auditor-pass")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(id))
+                .andExpect(jsonPath("$.content[0].data").doesNotExist());
+
+        mvc.perform(get("/api/audit/records")
+                        .param("tenantId", "tenantS")
+                        .param("include", "data")
+                        .with(httpBasic("auditor", "auditor-pass")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].data.total").value(42));
+
+        mvc.perform(get("/api/audit/records/" + id + "/data")
+                        .with(httpBasic("auditor", "auditor-pass")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(42));
+    }
+
+    @Test
+    void actor_search_matches_contains_prefix_and_exact() throws Exception {
+        for (String actor : new String[] {"Alice", "alice.smith", "Malice", "bob", "50%_off"}) {
+            var req = new CreateAuditRecordRequest("tenantActors", UUID.randomUUID(), actor, "X", "T", "R", null, Map.of());
+            mvc.perform(post("/api/audit/records")
+                            .with(httpBasic("writer", "writer-pass"))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(om.writeValueAsString(req)))
+                    .andExpect(status().isOk());
+        }
+
+        // Case-insensitive in every mode; LIKE wildcards in the input match literally.
+        assertActors("lic", "CONTAINS", "Alice", "alice.smith", "Malice");
+        assertActors("LIC", null, "Alice", "alice.smith", "Malice");
+        assertActors("%", "CONTAINS", "50%_off");
+        assertActors("ALICE", "PREFIX", "Alice", "alice.smith");
+        assertActors("50%", "PREFIX", "50%_off");
+        assertActors("lice", "PREFIX");
+        assertActors("alice", "EXACT", "Alice");
+        assertActors("alic", "EXACT");
+    }
+
+    @Test
+    void timeline_is_in_chain_order_keyset_paged_and_for_auditors_only() throws Exception {
+        for (String correlationId : new String[] {"corr-a", "corr-b", "corr-c", "corr-a", "corr-b"}) {
+            var req = new CreateAuditRecordRequest("tenantTimeline", UUID.randomUUID(), "svc", "X", "T", "R",
+                    correlationId, Map.of());
+            mvc.perform(post("/api/audit/records")
+                            .with(httpBasic("writer", "writer-pass"))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(om.writeValueAsString(req)))
+                    .andExpect(status().isOk());
+        }
+
+        mvc.perform(timeline(null).with(httpBasic("auditor", "auditor-pass")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].seq", contains(1, 2)))
+                .andExpect(jsonPath("$.items[*].correlationId", contains("corr-a", "corr-b")))
+                .andExpect(jsonPath("$.nextAfterSeq").value(2));
+        // The cursor skips corr-c at seq 3.
+        mvc.perform(timeline("2").with(httpBasic("auditor", "auditor-pass")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].seq", contains(4, 5)))
+                .andExpect(jsonPath("$.nextAfterSeq").value(5));
+        mvc.perform(timeline("5").with(httpBasic("auditor", "auditor-pass")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(0))
+                .andExpect(jsonPath("$.nextAfterSeq").value(nullValue()));
+
+        mvc.perform(timeline(null).with(httpBasic("writer", "writer-pass")))
+                .andExpect(status().isForbidden());
+        mvc.perform(timeline(null))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private MockHttpServletRequestBuilder timeline(String afterSeq) {
+        var request = get("/api/audit/timeline")
+                .param("tenantId", "tenantTimeline")
+                .param("correlationId", "corr-a", "corr-b")
+                .param("limit", "2");
+        return afterSeq != null ? request.param("afterSeq", afterSeq) : request;
+    }
+
+    private void assertActors(String actor, String actorMatch, String... expected) throws Exception {
+        var search = get("/api/audit/records")
+                .param("tenantId", "tenantActors")
+                .param("actor", actor)
+                .with(httpBasic("auditor", "auditor-pass"));
+        if (actorMatch != null) {
+            search.param("actorMatch", actorMatch);
+        }
+        mvc.perform(search)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(expected.length))
+                .andExpect(jsonPath("$.content[*].actor", containsInAnyOrder((Object[]) expected)));
+    }
+
+    @Test
+    void payload_search_matches_containment_and_json_path() throws Exception {
+        for (String account : new String[]{"PL-1", "PL-2", "PL-1"}) {
+            var req = new CreateAuditRecordRequest(
+                    "tenantD", UUID.randomUUID(), "svc", "TRANSFER", "ACCOUNT", account, null,
+                    Map.of("account", account, "amount", 5));
+            mvc.perform(post("/api/audit/records")
+                            .with(httpBasic("writer", "writer-pass"))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(om.writeValueAsString(req)))
+                    .andExpect(status().isOk());
+        }
+
+        mvc.perform(get("/api/audit/records/by-data")
+                        .param("tenantId", "tenantD")
+                        .param("contains", "{\"account\":\"PL-1\"}")
+                        .param("limit", "1")
+                        .with(httpBasic("auditor", "auditor-pass")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].resourceId").value("PL-1"))
+                .andExpect(jsonPath("$.nextAfterSeq").value(1));
+
+        mvc.perform(get("/api/audit/records/by-data")
+                        .param("tenantId", "tenantD")
+                        .param("path", "$.account == \"PL-1\"")
+                        .param("afterSeq", "1")
+                        .with(httpBasic("auditor", "auditor-pass")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].seq").value(3))
+                .andExpect(jsonPath("$.nextAfterSeq").doesNotExist());
+
+        mvc.perform(get("/api/audit/records/by-data")
+                        .param("tenantId", "tenantD")
+                        .param("contains", "{not json")
+                        .with(httpBasic("auditor", "auditor-pass")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void batch_get_returns_tenant_records_in_request_order() throws Exception {
+        long first = appendFor("tenantM");
+        long second = appendFor("tenantM");
+        long foreign = appendFor("tenantOther");
+
+        // Warm the cache for one id so the response mixes cache hits and DB loads.
+        mvc.perform(get("/api/audit/records/" + first).with(httpBasic("auditor", "auditor-pass")))
+                .andExpect(status().isOk());
+
+        mvc.perform(post("/api/audit/records:batchGet")
+                        .with(httpBasic("auditor", "auditor-pass"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(Map.of(
+                                "tenantId", "tenantM",
+                                "ids", java.util.List.of(second, foreign, first, Long.MAX_VALUE)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.records[*].id", contains((int) second, (int) first)))
+                .andExpect(jsonPath("$.missingIds", hasSize(2)));
+    }
+
+    @Test
+    void record_data_keeps_the_sorted_compact_wire_format() throws Exception {
+        Map<String, Object> data = Map.of(
+                "zeta", 1,
+                "alpha", Map.of("b", 2, "a", "x y"),
+                "mid", java.util.List.of(3, 1),
+                "ok", true);
+        var req = new CreateAuditRecordRequest("tenantWire", UUID.randomUUID(), "alice", "ORDER_CREATED", "ORDER",
+                "order-1", null, data);
+        String response = mvc.perform(post("/api/audit/records")
+                        .with(httpBasic("writer", "writer-pass"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        long id = om.readTree(response).get("id").asLong();
+
+        // JSONB hands back {"ok": true, "mid": [3, 1], ...}; the response must not change with it.
+        String expected = "\"data\":{\"alpha\":{\"a\":\"x y\",\"b\":2},\"mid\":[3,1],\"ok\":true,\"zeta\":1}";
+        mvc.perform(get("/api/audit/records/" + id).with(httpBasic("auditor", "auditor-pass")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(expected)))
+                .andExpect(content().string(containsString("\"data\":" + om.writeValueAsString(data))));
+    }
+
+    @Test
+    void chain_status_comes_from_chain_head() throws Exception {
+        appendFor("tenantH");
+        long last = appendFor("tenantH");
+
+        mvc.perform(get("/api/audit/chains/tenantH").with(httpBasic("auditor", "auditor-pass")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recordCount").value(2))
+                .andExpect(jsonPath("$.lastRecordId").value(last))
+                .andExpect(jsonPath("$.estimatedMatchingRecords").doesNotExist());
+
+        mvc.perform(get("/api/audit/chains/tenantH")
+                        .param("action", "X")
+                        .with(httpBasic("auditor", "auditor-pass")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.estimatedMatchingRecords", greaterThanOrEqualTo(0)));
+
+        mvc.perform(get("/api/audit/chains/no-such-tenant").with(httpBasic("auditor", "auditor-pass")))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void search_streams_ndjson() throws Exception {
+        appendFor("tenantN");
+        appendFor("tenantN");
+        appendFor("tenantN");
+
+        String[] lines = streamSearch("tenantN", "1");
+        assertThat(lines).hasSize(2);
+        assertThat(om.readTree(lines[0]).get("seq").asLong()).isEqualTo(2);
+        assertThat(om.readTree(lines[1]).has("data")).isFalse();
+        // Every match fitted under the cap (audit.stream.max-records=2): no resume line.
+        assertThat(om.readTree(lines[1]).get("seq").asLong()).isEqualTo(3);
+
+        // Three matches, two allowed: the last line says where to resume.
+        String[] capped = streamSearch("tenantN", null);
+        assertThat(capped).hasSize(3);
+        assertThat(om.readTree(capped[1]).get("seq").asLong()).isEqualTo(2);
+        assertThat(om.readTree(capped[2]).size()).isEqualTo(1);
+        assertThat(om.readTree(capped[2]).get("nextAfterSeq").asLong()).isEqualTo(2);
+    }
+
+    private String[] streamSearch(String tenantId, String afterSeq) throws Exception {
+        var search = get("/api/audit/records")
+                .param("tenantId", tenantId)
+                .accept("application/x-ndjson")
+                .with(httpBasic("auditor", "auditor-pass"));
+        if (afterSeq != null) {
+            search.param("afterSeq", afterSeq);
+        }
+        MvcResult started = mvc.perform(search)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", containsString("application/x-ndjson")))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return body.strip().split("\n");
+    }
+
+    @Test
+    void writer_streams_ndjson_appends_with_a_result_per_line() throws Exception {
+        String eventId = UUID.randomUUID().toString();
+        String line = "{\"tenantId\":\"tenantS\",\"eventId\":\"" + eventId + "\",\"actor\":\"svc\",\"action\":\"X\","
+                + "\"resourceType\":\"T\",\"resourceId\":\"R\",\"data\":{\"k\":\"v\"}}";
+        String body = line + "\n"
+                + "{\"tenantId\":\"tenantS\",\"actor\":\"svc\",\"action\":\"X\",\"resourceType\":\"T\",\"resourceId\":\"R\","
+                + "\"data\":{}}\n"
+                + "{\"tenantId\":\"tenantS\",\"actor\":\"\",\"action\":\"X\",\"resourceType\":\"T\",\"resourceId\":\"R\",\"data\":{}}\n"
+                + line + "\n";
+
+        String response = mvc.perform(post("/api/audit/records:stream")
+                        .with(httpBasic("writer", "writer-pass"))
+                        .contentType("application/x-ndjson")
+                        .accept("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] results = response.strip().split("\n");
+        assertThat(results).hasSize(4);
+        assertThat(om.readTree(results[0]).get("status").asText()).isEqualTo("APPENDED");
+        assertThat(om.readTree(results[0]).get("seq").asLong()).isEqualTo(1);
+        assertThat(om.readTree(results[1]).get("eventId").asText()).isNotBlank();
+        assertThat(om.readTree(results[2]).get("status").asText()).isEqualTo("REJECTED");
+        assertThat(om.readTree(results[3]).get("status").asText()).isEqualTo("DUPLICATE");
+
+        mvc.perform(get("/api/audit/verify")
+                        .param("tenantId", "tenantS")
+                        .with(httpBasic("auditor", "auditor-pass")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ok").value(true))
+                .andExpect(jsonPath("$.recordsChecked").value(2));
+
+        mvc.perform(post("/api/audit/records:stream")
+                        .with(httpBasic("auditor", "auditor-pass"))
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void stream_stops_at_malformed_json_after_appending_what_came_before() throws Exception {
+        String body = streamLine("tenantSMal") + "\n"
+                + "{\"tenantId\":\"tenantSMal\",\"actor\": oops}\n"
+                + streamLine("tenantSMal") + "\n";
+
+        String[] results = appendStream(body);
+        assertThat(results).hasSize(2);
+        assertThat(om.readTree(results[0]).get("status").asText()).isEqualTo("APPENDED");
+        assertThat(om.readTree(results[1]).get("line").asLong()).isEqualTo(2);
+        assertThat(om.readTree(results[1]).get("status").asText()).isEqualTo("FAILED");
+        assertThat(jdbc.queryForObject("select count(*) from audit_records where tenant_id = 'tenantSMal'", Integer.class))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void stream_appends_each_full_batch_in_its_own_transaction() throws Exception {
+        // A fenced tenant makes its batch fail; with stream-batch-records=2 the first batch is already committed.
+        jdbc.update("insert into audit_chain_heads (tenant_id, last_seq, updated_at, moved_to) values (?, 0, now(), ?)",
+                "tenantSFenced", "elsewhere");
+        String body = streamLine("tenantSBatch") + "\n"
+                + streamLine("tenantSBatch") + "\n"
+                + streamLine("tenantSFenced") + "\n"
+                + streamLine("tenantSBatch") + "\n"
+                + streamLine("tenantSBatch") + "\n";
+
+        String[] results = appendStream(body);
+        assertThat(results).hasSize(4);
+        assertThat(om.readTree(results[0]).get("status").asText()).isEqualTo("APPENDED");
+        assertThat(om.readTree(results[1]).get("seq").asLong()).isEqualTo(2);
+        assertThat(om.readTree(results[2]).get("status").asText()).isEqualTo("FAILED");
+        assertThat(om.readTree(results[3]).get("status").asText()).isEqualTo("FAILED");
+        assertThat(jdbc.queryForObject("select count(*) from audit_records where tenant_id = 'tenantSBatch'", Integer.class))
+                .isEqualTo(2);
+    }
+
+    @Test
+    void stream_ends_after_a_failed_batch_although_the_client_stops_sending() {
+        jdbc.update("insert into audit_chain_heads (tenant_id, last_seq, updated_at, moved_to) values (?, 0, now(), ?)",
+                "tenantSIdle", "elsewhere");
+        // A full failing batch, then the client keeps the connection open without sending anything more.
+        IdleClientBody body = new IdleClientBody(streamLine("tenantSIdle") + "\n" + streamLine("tenantSIdle") + "\n");
+        List<StreamAppendResult> results = new ArrayList<>();
+
+        long lines = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> streamAppend.append(body, results::addAll));
+
+        assertThat(lines).isEqualTo(2);
+        assertThat(results).extracting(StreamAppendResult::status)
+                .containsExactly(StreamAppendResult.Status.FAILED, StreamAppendResult.Status.FAILED);
+        assertThat(body.closed.getCount()).isZero();
+    }
+
+    private static String streamLine(String tenantId) {
+        return "{\"tenantId\":\"" + tenantId + "\",\"actor\":\"svc\",\"action\":\"X\",\"resourceType\":\"T\","
+                + "\"resourceId\":\"R\",\"data\":{\"k\":\"v\",\"n\":1}}";
+    }
+
+    private String[] appendStream(String body) throws Exception {
+        return mvc.perform(post("/api/audit/records:stream")
+                        .with(httpBasic("writer", "writer-pass"))
+                        .contentType("application/x-ndjson")
+                        .accept("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+                .strip()
+                .split("\n");
+    }
+
+    @Test
+    void tenant_over_its_rate_gets_429_with_retry_after() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            var req = new CreateAuditRecordRequest("tenantNoisy", UUID.randomUUID(), "svc", "ORDER_CREATED", "ORDER",
+                    "o-" + i, null, Map.of());
+            mvc.perform(post("/api/audit/records")
+                            .with(httpBasic("writer", "writer-pass"))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(om.writeValueAsString(req)))
+                    .andExpect(i < 2 ? status().isOk() : status().isTooManyRequests())
+                    .andExpect(i < 2 ? header().doesNotExist("Retry-After") : header().string("Retry-After", matchesPattern("[1-9][0-9]*")));
+        }
+
+        // Other tenants are not affected.
+        var other = new CreateAuditRecordRequest("tenantQuiet", UUID.randomUUID(), "svc", "ORDER_CREATED", "ORDER",
+                "o-1", null, Map.of());
+        mvc.perform(post("/api/audit/records")
+                        .with(httpBasic("writer", "writer-pass"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(other)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void resource_history_is_keyset_paged_and_verified() throws Exception {
+        appendFor("tenantR");
+        appendFor("tenantR");
+        appendFor("tenantR");
+
+        mvc.perform(get("/api/audit/resources/T/R/history")
+                        .param("tenantId", "tenantR")
+                        .param("limit", "2")
+                        .param("verify", "true")
+                        .with(httpBasic("auditor", "auditor-pass")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].data").doesNotExist())
+                .andExpect(jsonPath("$.nextAfterSeq").value(2))
+                .andExpect(jsonPath("$.verification.ok").value(true));
+
+        mvc.perform(get("/api/audit/resources/T/R/history")
+                        .param("tenantId", "tenantR")
+                        .param("afterSeq", "2")
+                        .with(httpBasic("auditor", "auditor-pass")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].seq").value(3))
+                .andExpect(jsonPath("$.verification").doesNotExist());
+    }
+
+    private long appendFor(String tenantId) throws Exception {
+        var req = new CreateAuditRecordRequest(tenantId, UUID.randomUUID(), "svc", "X", "T", "R", null, Map.of("k", "v"));
+        String response = mvc.perform(post("/api/audit/records")
+                        .with(httpBasic("writer", "writer-pass"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return om.readTree(response).get("id").asLong();
+    }
+
     @Test
     void auditor_cannot_append_writer_cannot_read() throws Exception {
         var req = new CreateAuditRecordRequest(
@@ -106,4 +581,43 @@ class AuditControllerIT extends PostgresTestBase {
                         .with(httpBasic("writer", "writer-pass")))
                 .andExpect(status().isForbidden());
     }
+
+    /**
+     * A request body whose client sent some lines and then went quiet: reads block until the body is closed.
+     */
+    private static final class IdleClientBody extends InputStream {
+
+        private final ByteArrayInputStream sent;
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        IdleClientBody(String sent) {
+            this.sent = new ByteArrayInputStream(sent.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = sent.read(b, off, len);
+            if (n > 0) {
+                return n;
+            }
+            try {
+                closed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            throw new IOException("Stream closed");
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
 }
@@ -0,0 +1,167 @@
+package com.github.dimitryivaniuta.audittrail;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.dimitryivaniuta.audittrail.api.dto.CreateAuditRecordRequest;
+import com.github.dimitryivaniuta.audittrail.journal.AppendJournal;
+import com.github.dimitryivaniuta.audittrail.journal.AuditJournalService;
+import com.github.dimitryivaniuta.audittrail.service.AuditRecordService;
+import com.github.dimitryivaniuta.audittrail.service.VerificationResult;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for asynchronous append through the local journal.
+ */
+@SpringBootTest(properties = {
+        "audit.journal.enabled=true",
+        "audit.journal.replay-retry-backoff=200ms"
+})
+@AutoConfigureMockMvc
+class AuditJournalIT extends PostgresTestBase {
+
+    @TempDir
+    static Path journalDir;
+
+    @DynamicPropertySource
+    static void journalPath(DynamicPropertyRegistry registry) {
+        registry.add("audit.journal.path", () -> journalDir.resolve("app").toString());
+    }
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private AuditJournalService journal;
+
+    @Autowired
+    private AuditRecordService service;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void async_append_is_accepted_then_replayed_once() throws Exception {
+        UUID eventId = UUID.randomUUID();
+        String body = om.writeValueAsString(new CreateAuditRecordRequest("tenantJournal", eventId, "alice",
+                "ORDER_CREATED", "ORDER", "o-1", null, Map.of("amount", 10)));
+
+        long lastSeq = 0;
+        for (int i = 0; i < 2; i++) {
+            String accepted = mvc.perform(post("/api/audit/records")
+                            .with(httpBasic("writer", "writer-pass"))
+                            .header("Prefer", "respond-async")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string("Preference-Applied", "respond-async"))
+                    .andExpect(jsonPath("$.eventId").value(eventId.toString()))
+                    .andReturn().getResponse().getContentAsString();
+            lastSeq = om.readTree(accepted).get("journalSeq").asLong();
+        }
+        String generated = mvc.perform(post("/api/audit/records")
+                        .with(httpBasic("writer", "writer-pass"))
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(new CreateAuditRecordRequest("tenantJournal", null, "bob",
+                                "ORDER_PAID", "ORDER", "o-1", null, Map.of()))))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode receipt = om.readTree(generated);
+        assertThat(receipt.get("eventId").asText()).isNotBlank();
+        long journalSeq = receipt.get("journalSeq").asLong();
+        assertThat(journalSeq).isEqualTo(lastSeq + 1);
+
+        await().atMost(Duration.ofSeconds(30))
+                .untilAsserted(() -> assertThat(journal.status().replayedSeq()).isGreaterThanOrEqualTo(journalSeq));
+
+        mvc.perform(get("/api/audit/journal").with(httpBasic("writer", "writer-pass")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pending").value(0))
+                .andExpect(jsonPath("$.lastError").doesNotExist());
+        assertThat(jdbc.queryForObject("select last_seq from audit_chain_heads where tenant_id = 'tenantJournal'",
+                Long.class)).isEqualTo(2);
+        VerificationResult result = service.verify("tenantJournal", null, null);
+        assertThat(result.ok()).as(result.message()).isTrue();
+    }
+
+    @Test
+    void entry_that_can_never_replay_is_parked_and_replay_moves_on() throws Exception {
+        // Fenced on this shard: the append fails with TenantMovedException however often it is retried.
+        jdbc.update("insert into audit_chain_heads (tenant_id, last_seq, updated_at, moved_to) values (?, 0, now(), ?)",
+                "tenantJournalMoved", "elsewhere");
+        long parkedBefore = journal.status().deadLettered();
+        UUID poison = UUID.randomUUID();
+        journal.accept(new AuditRecordService.AppendAuditRecordRequest("tenantJournalMoved", poison, "svc", "X", "T", "R",
+                null, Map.of("k", "v")));
+        long after = journal.accept(new AuditRecordService.AppendAuditRecordRequest("tenantJournalNext", null, "svc", "X",
+                "T", "R", null, Map.of("k", "v"))).journalSeq();
+
+        await().atMost(Duration.ofSeconds(30))
+                .untilAsserted(() -> assertThat(journal.status().replayedSeq()).isGreaterThanOrEqualTo(after));
+
+        assertThat(journal.status().deadLettered()).isEqualTo(parkedBefore + 1);
+        assertThat(Files.readString(journalDir.resolve("app").resolve("dead-letter.ndjson"))).contains(poison.toString());
+        assertThat(jdbc.queryForObject("select last_seq from audit_chain_heads where tenant_id = 'tenantJournalNext'",
+                Long.class)).isEqualTo(1);
+    }
+
+    @Test
+    void reopen_drops_a_torn_tail_and_resumes_after_the_checkpoint() throws Exception {
+        Path dir = journalDir.resolve("torn");
+        try (AppendJournal j = new AppendJournal(dir, 64 * 1024, 4)) {
+            for (int i = 1; i <= 3; i++) {
+                j.sync(j.append(("entry-" + i).getBytes(StandardCharsets.UTF_8)));
+            }
+            assertThat(j.poll(10)).hasSize(3);
+            j.checkpoint(1);
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.filter(p -> p.getFileName().toString().endsWith(".log")).findFirst().orElseThrow();
+        }
+        // Flip a payload byte of the last entry: it fails its checksum, like an unsynced write.
+        int lastEntry = 2 * (16 + "entry-1".length());
+        try (RandomAccessFile f = new RandomAccessFile(segment.toFile(), "rw")) {
+            f.seek(lastEntry + 16);
+            f.write('X');
+        }
+
+        try (AppendJournal j = new AppendJournal(dir, 64 * 1024, 4)) {
+            assertThat(j.writtenSeq()).isEqualTo(2);
+            assertThat(j.checkpointSeq()).isEqualTo(1);
+            List<AppendJournal.Entry> pending = j.poll(10);
+            assertThat(pending).extracting(AppendJournal.Entry::seq).containsExactly(2L);
+            assertThat(new String(pending.get(0).payload(), StandardCharsets.UTF_8)).isEqualTo("entry-2");
+            long seq = j.append("entry-3b".getBytes(StandardCharsets.UTF_8));
+            j.sync(seq);
+            assertThat(seq).isEqualTo(3);
+        }
+    }
+}
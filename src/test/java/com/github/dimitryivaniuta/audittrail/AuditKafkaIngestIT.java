@@ -0,0 +1,106 @@
+package com.github.dimitryivaniuta.audittrail;
+
+import com.github.dimitryivaniuta.audittrail.service.AuditRecordService;
+import com.github.dimitryivaniuta.audittrail.service.VerificationResult;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Integration tests for the Kafka ingest listener (embedded broker).
+ */
+@SpringBootTest(properties = {
+        "audit.kafka.ingest.enabled=true",
+        "audit.kafka.ingest.topic=audit-events-it",
+        "audit.kafka.ingest.concurrency=2",
+        "audit.kafka.ingest.retry-backoff=200ms",
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}"
+})
+@EmbeddedKafka(partitions = 2, topics = {"audit-events-it", "audit-events-it.DLT"})
+class AuditKafkaIngestIT extends PostgresTestBase {
+
+    @Autowired
+    private KafkaTemplate<String, String> kafka;
+
+    @Autowired
+    private AuditRecordService service;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Test
+    void appends_events_once_and_dead_letters_what_cannot_be_appended() {
+        // Fenced on this shard: the append fails with TenantMovedException, which is not retried.
+        jdbc.update("insert into audit_chain_heads (tenant_id, last_seq, updated_at, moved_to) values (?, 0, now(), ?)",
+                "tenantKafkaMoved", "elsewhere");
+        String duplicated = UUID.randomUUID().toString();
+        String moved = event("tenantKafkaMoved", UUID.randomUUID().toString(), "svc");
+        String blankActor = event("tenantKafka", UUID.randomUUID().toString(), "");
+        send("tenantKafka", event("tenantKafka", duplicated, "svc"));
+        send("tenantKafka", event("tenantKafka", duplicated, "svc"));
+        send("tenantKafka", event("tenantKafka", null, "svc"));
+        send("tenantKafka", "not json");
+        send("tenantKafka", blankActor);
+        send("tenantKafka", moved);
+        send("tenantKafka", event("tenantKafka", UUID.randomUUID().toString(), "svc"));
+        send("tenantKafka2", event("tenantKafka2", null, "svc"));
+        kafka.flush();
+
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> {
+            assertThat(lastSeq("tenantKafka")).isEqualTo(3);
+            assertThat(lastSeq("tenantKafka2")).isEqualTo(1);
+        });
+
+        VerificationResult result = service.verify("tenantKafka", null, null);
+        assertThat(result.ok()).as(result.message()).isTrue();
+        assertThat(result.recordsChecked()).isEqualTo(3);
+        assertThat(jdbc.queryForObject("select count(*) from audit_record_keys where tenant_id = 'tenantKafka' and event_id = ?::uuid",
+                Integer.class, duplicated)).isEqualTo(1);
+
+        Map<String, Object> props = KafkaTestUtils.consumerProps("audit-events-it-dlt", "false", broker);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        try (Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(),
+                new StringDeserializer()).createConsumer()) {
+            broker.consumeFromAnEmbeddedTopic(consumer, "audit-events-it.DLT");
+            List<String> deadLetters = new ArrayList<>();
+            KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(30), 3).records("audit-events-it.DLT")
+                    .forEach(r -> deadLetters.add(r.value()));
+            assertThat(deadLetters).containsExactly("not json", blankActor, moved);
+        }
+    }
+
+    private void send(String key, String value) {
+        kafka.send("audit-events-it", key, value);
+    }
+
+    private Long lastSeq(String tenantId) {
+        return jdbc.query("select last_seq from audit_chain_heads where tenant_id = ?",
+                rs -> rs.next() ? rs.getLong(1) : null, tenantId);
+    }
+
+    private static String event(String tenantId, String eventId, String actor) {
+        return "{\"tenantId\":\"" + tenantId + "\"," + (eventId != null ? "\"eventId\":\"" + eventId + "\"," : "")
+                + "\"actor\":\"" + actor + "\",\"action\":\"ORDER_CREATED\",\"resourceType\":\"ORDER\","
+                + "\"resourceId\":\"o-1\",\"data\":{\"amount\":10}}";
+    }
+}
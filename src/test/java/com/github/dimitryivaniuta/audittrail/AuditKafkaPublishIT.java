@@ -0,0 +1,74 @@
+package com.github.dimitryivaniuta.audittrail;
+
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import com.github.dimitryivaniuta.audittrail.service.AuditEventSerializer;
+import com.github.dimitryivaniuta.audittrail.service.AuditRecordService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for publishing appended records as binary Kafka events (embedded broker).
+ */
+@SpringBootTest(properties = {
+        "audit.kafka.enabled=true",
+        "audit.kafka.topic=audit-records-it",
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}"
+})
+@EmbeddedKafka(partitions = 1, topics = "audit-records-it")
+class AuditKafkaPublishIT extends PostgresTestBase {
+
+    @Autowired
+    private AuditRecordService service;
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Test
+    void appended_records_are_published_as_binary_events() {
+        AuditRecordEntity first = service.append(new AuditRecordService.AppendAuditRecordRequest("tenantPublish",
+                UUID.randomUUID(), "alice", "ORDER_CREATED", "ORDER", "o-1", "corr-1", Map.of("amount", 10)));
+        AuditRecordEntity second = service.append(new AuditRecordService.AppendAuditRecordRequest("tenantPublish",
+                UUID.randomUUID(), "alice", "ORDER_PAID", "ORDER", "o-1", null, Map.of()));
+
+        Map<String, Object> props = KafkaTestUtils.consumerProps("audit-records-it", "false", broker);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        try (Consumer<String, byte[]> consumer = new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(),
+                new ByteArrayDeserializer()).createConsumer()) {
+            broker.consumeFromAnEmbeddedTopic(consumer, "audit-records-it");
+            List<ConsumerRecord<String, byte[]>> records = new ArrayList<>();
+            KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(30), 2).records("audit-records-it").forEach(records::add);
+
+            assertThat(records).hasSize(2);
+            assertThat(records).extracting(ConsumerRecord::key).containsOnly("tenantPublish");
+            AuditRecordEntity a = AuditEventSerializer.decode(records.get(0).value());
+            AuditRecordEntity b = AuditEventSerializer.decode(records.get(1).value());
+            assertThat(a.getId()).isEqualTo(first.getId());
+            assertThat(a.getSeq()).isEqualTo(first.getSeq());
+            assertThat(a.getEventId()).isEqualTo(first.getEventId());
+            assertThat(a.getCorrelationId()).isEqualTo("corr-1");
+            assertThat(a.getCreatedAt()).isEqualTo(first.getCreatedAt());
+            assertThat(a.getHash()).isEqualTo(first.getHash());
+            assertThat(b.getCorrelationId()).isNull();
+            assertThat(b.getPrevHash()).isEqualTo(first.getHash());
+            assertThat(b.getHash()).isEqualTo(second.getHash());
+            assertThat(b.getDataJson()).isNull();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.dimitryivaniuta.audittrail;
+
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import com.github.dimitryivaniuta.audittrail.service.AuditPartitionMaintenance;
+import com.github.dimitryivaniuta.audittrail.service.AuditRecordService;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for monthly partitioning of {@code audit_records}.
+ */
+@SpringBootTest
+class AuditPartitioningIT extends PostgresTestBase {
+
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Autowired
+    private AuditRecordService service;
+
+    @Autowired
+    private AuditPartitionMaintenance maintenance;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void partitions_are_kept_ahead_and_maintenance_is_idempotent() {
+        YearMonth now = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 0; i <= 3; i++) {
+            String name = "audit_records_" + now.plusMonths(i).format(MONTH);
+            assertThat(jdbc.queryForObject("select to_regclass(?) is not null", Boolean.class, name)).as(name).isTrue();
+        }
+        assertThat(maintenance.ensurePartitions()).isZero();
+    }
+
+    @Test
+    void appends_land_in_the_current_month_and_time_queries_prune() {
+        var r = append("tenantP");
+        String partition = jdbc.queryForObject("select tableoid::regclass::text from audit_records where id = ?", String.class, r.getId());
+        assertThat(partition).isEqualTo("audit_records_" + YearMonth.now(ZoneOffset.UTC).format(MONTH));
+
+        List<String> plan = jdbc.queryForList(
+                "explain select * from audit_records where tenant_id = 'tenantP' and created_at >= now() - interval '1 hour'",
+                String.class);
+        assertThat(String.join("\n", plan)).doesNotContain("audit_records_" + YearMonth.now(ZoneOffset.UTC).plusMonths(2).format(MONTH));
+    }
+
+    @Test
+    void event_id_stays_unique_across_partitions_and_partitions_cannot_be_truncated() {
+        var r = append("tenantQ");
+        assertThat(service.append(new AuditRecordService.AppendAuditRecordRequest(
+                "tenantQ", r.getEventId(), "svc", "X", "T", "R", null, Map.of())).getId()).isEqualTo(r.getId());
+
+        assertThatThrownBy(() -> jdbc.update("""
+                INSERT INTO audit_records (tenant_id, seq, event_id, actor, action, resource_type, resource_id, data,
+                                           created_at, hash_alg, key_id, hash)
+                VALUES ('tenantQ', 99, ?, 'svc', 'X', 'T', 'R', '{}'::jsonb, now() + interval '1 month', 'HmacSHA256', 'key1', sha256('x'))
+                """, r.getEventId())).isInstanceOf(Exception.class);
+
+        String partition = "audit_records_" + YearMonth.now(ZoneOffset.UTC).format(MONTH);
+        assertThatThrownBy(() -> jdbc.execute("TRUNCATE " + partition)).isInstanceOf(Exception.class);
+    }
+
+    private AuditRecordEntity append(String tenantId) {
+        return service.append(new AuditRecordService.AppendAuditRecordRequest(
+                tenantId, UUID.randomUUID(), "svc", "X", "T", "R", null, Map.of("k", "v")));
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.dimitryivaniuta.audittrail;
+
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import com.github.dimitryivaniuta.audittrail.service.AuditRecordService;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for large payloads stored once and referenced by digest.
+ */
+@SpringBootTest(properties = {
+        "audit.payloads.enabled=true",
+        "audit.payloads.min-bytes=256"
+})
+class AuditPayloadStoreIT extends PostgresTestBase {
+
+    private static final Map<String, Object> POLICY = Map.of("policy", "p-7", "rules", "allow:".repeat(100));
+
+    @Autowired
+    private AuditRecordService service;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void repeated_large_payload_is_stored_once_and_read_back_transparently() {
+        AuditRecordEntity first = append("tenantPay", POLICY);
+        AuditRecordEntity second = append("tenantPay", POLICY);
+        AuditRecordEntity small = append("tenantPay", Map.of("k", "v"));
+
+        assertThat(jdbc.queryForObject("select count(*) from audit_payloads where tenant_id = 'tenantPay'", Long.class)).isEqualTo(1);
+        assertThat(jdbc.queryForObject("select count(*) from audit_records where tenant_id = 'tenantPay' and data is null", Long.class))
+                .isEqualTo(2);
+        Integer stored = jdbc.queryForObject("select octet_length(content) from audit_payloads where tenant_id = 'tenantPay'", Integer.class);
+        assertThat(stored).isLessThan(first.getDataJson().length());
+
+        // JPA and JDBC read paths both restore the canonical payload.
+        assertThat(service.getById(second.getId()).getDataJson()).isEqualTo(first.getDataJson());
+        assertThat(service.getByIds("tenantPay", List.of(first.getId(), small.getId())))
+                .hasEntrySatisfying(first.getId(), e -> assertThat(e.getDataJson()).isEqualTo(first.getDataJson()));
+        assertThat(service.verify("tenantPay", first.getId(), second.getId()).recordsChecked()).isEqualTo(2);
+
+        // Payload rows are as immutable as the records referencing them.
+        assertThatThrownBy(() -> jdbc.update("delete from audit_payloads where tenant_id = 'tenantPay'"))
+                .isInstanceOf(Exception.class);
+    }
+
+    private AuditRecordEntity append(String tenantId, Map<String, Object> data) {
+        return service.append(new AuditRecordService.AppendAuditRecordRequest(
+                tenantId, UUID.randomUUID(), "svc", "X", "T", "R", null, data));
+    }
+}
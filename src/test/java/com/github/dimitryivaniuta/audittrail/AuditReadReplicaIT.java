@@ -0,0 +1,85 @@
+package com.github.dimitryivaniuta.audittrail;
+
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import com.github.dimitryivaniuta.audittrail.replica.ReadTarget;
+import com.github.dimitryivaniuta.audittrail.repo.AuditRecordProjection;
+import com.github.dimitryivaniuta.audittrail.repo.AuditRecordSearchCriteria;
+import com.github.dimitryivaniuta.audittrail.service.AuditRecordService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.UUID;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for read replica routing.
+ *
+ * <p>The "replica" is a separately migrated database that never receives the primary's writes, i.e. a replica
+ * that is arbitrarily far behind while reporting no lag, which makes every routing decision observable.</p>
+ */
+@SpringBootTest(properties = {
+        "audit.replicas.enabled=true",
+        "audit.replicas.verify-wait=200ms",
+        "audit.replicas.replicas[0].name=r1"
+})
+@Testcontainers
+class AuditReadReplicaIT extends PostgresTestBase {
+
+    @Container
+    static final PostgreSQLContainer<?> REPLICA = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("auditdb")
+            .withUsername("audit")
+            .withPassword("audit");
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA.getJdbcUrl(), REPLICA.getUsername(), REPLICA.getPassword()).load().migrate();
+    }
+
+    @DynamicPropertySource
+    static void registerReplica(DynamicPropertyRegistry registry) {
+        registry.add("audit.replicas.replicas[0].url", REPLICA::getJdbcUrl);
+        registry.add("audit.replicas.replicas[0].username", REPLICA::getUsername);
+        registry.add("audit.replicas.replicas[0].password", REPLICA::getPassword);
+    }
+
+    @Autowired
+    private AuditRecordService service;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void searches_use_the_replica_and_verification_falls_back_when_the_replica_is_behind_the_chain_head() {
+        for (int i = 0; i < 3; i++) {
+            append("tenantRep");
+        }
+        AuditRecordSearchCriteria criteria = AuditRecordSearchCriteria.forTenant("tenantRep");
+
+        // Lag-bounded search: served by the replica, which has not replayed these appends.
+        assertThat(service.searchAfter(criteria, null, 10, AuditRecordProjection.SUMMARY)).isEmpty();
+        assertThat(ReadTarget.callOnPrimary(() -> service.searchAfter(criteria, null, 10, AuditRecordProjection.SUMMARY)))
+                .hasSize(3);
+
+        // Verification needs the chain up to the primary's head; the replica never gets there, so the primary serves it.
+        assertThat(service.verify("tenantRep", null, null).recordsChecked()).isEqualTo(3);
+        assertThat(meterRegistry.counter("audit.replica.reads", "target", "replica", "reason", "fresh").count()).isPositive();
+        assertThat(meterRegistry.counter("audit.replica.reads", "target", "primary", "reason", "behind-chain-head").count())
+                .isPositive();
+    }
+
+    private AuditRecordEntity append(String tenantId) {
+        return service.append(new AuditRecordService.AppendAuditRecordRequest(
+                tenantId, UUID.randomUUID(), "svc", "X", "T", "R", null, Map.of("k", "v")));
+    }
+}
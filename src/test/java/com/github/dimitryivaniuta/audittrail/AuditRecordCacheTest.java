@@ -0,0 +1,139 @@
+package com.github.dimitryivaniuta.audittrail;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.dimitryivaniuta.audittrail.cache.AuditRecordCodec;
+import com.github.dimitryivaniuta.audittrail.cache.TieredAuditRecordCache;
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for the cached record encoding and the two-tier record cache (a map-backed cache stands in for Redis).
+ */
+class AuditRecordCacheTest {
+
+    private final AuditRecordCodec codec = new AuditRecordCodec();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void codec_round_trips_nulls_and_non_ascii_text() {
+        AuditRecordEntity first = record(1, null);
+        first.setCorrelationId(null);
+        first.setKeyId(null);
+        first.setActor("Zoë Ångström 张伟");
+        first.setResourceId("заказ-1");
+        first.setDataJson("{\"note\":\"naïve café ☕ 🚀\"}");
+        first.setCreatedAt(Instant.parse("2026-03-01T10:15:30.123456789Z"));
+
+        AuditRecordEntity decoded = codec.decode(codec.encode(first));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(first);
+        assertThat(decoded.getCorrelationId()).isNull();
+        assertThat(decoded.getKeyId()).isNull();
+        assertThat(decoded.getPrevHash()).isNull();
+
+        AuditRecordEntity second = record(2, first.getHash());
+        second.setDataJson(null);
+        assertThat(codec.decode(codec.encode(second))).usingRecursiveComparison().isEqualTo(second);
+    }
+
+    @Test
+    void codec_rejects_truncated_bytes() {
+        byte[] bytes = codec.encode(record(1, null));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 10);
+        assertThatThrownBy(() -> codec.decode(truncated)).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    void cache_serves_local_then_shared_tier_then_loads() {
+        ConcurrentMapCache shared = new ConcurrentMapCache("records", false);
+        TieredAuditRecordCache cache = cache(shared);
+        AuditRecordEntity r = record(7, null);
+
+        // Local hit.
+        cache.put(7L, r);
+        assertThat(cache.getLocal(7L)).usingRecursiveComparison().isEqualTo(r);
+        assertThat(gets("l1", "hit")).isEqualTo(1);
+
+        // Another instance with an empty heap tier falls back to the shared tier and keeps the entry locally.
+        TieredAuditRecordCache other = cache(shared);
+        AuditRecordEntity fromShared = other.get(7L, AuditRecordCacheTest::notLoaded);
+        assertThat(fromShared).usingRecursiveComparison().isEqualTo(r);
+        assertThat(gets("l2", "hit")).isEqualTo(1);
+        assertThat(other.getLocal(7L)).usingRecursiveComparison().isEqualTo(r);
+
+        // A miss in both tiers loads and fills both.
+        AtomicInteger loads = new AtomicInteger();
+        AuditRecordEntity loaded = other.get(8L, () -> {
+            loads.incrementAndGet();
+            return record(8, null);
+        });
+        assertThat(loaded.getSeq()).isEqualTo(8);
+        assertThat(gets("l2", "miss")).isEqualTo(1);
+        AuditRecordEntity filled = cache.get(8L, AuditRecordCacheTest::notLoaded);
+        assertThat(filled).usingRecursiveComparison().isEqualTo(loaded);
+        assertThat(loads).hasValue(1);
+        assertThat(other.get(9L)).isNull();
+    }
+
+    @Test
+    void corrupt_shared_entry_is_evicted_and_reloaded() {
+        ConcurrentMapCache shared = new ConcurrentMapCache("records", false);
+        TieredAuditRecordCache cache = cache(shared);
+        byte[] corrupt = codec.encode(record(5, null));
+        corrupt[0] = 9; // unknown version
+        shared.put(5L, corrupt);
+        shared.put(6L, new byte[] {1, 0, 0});
+
+        assertThat(cache.get(5L)).isNull();
+        assertThat(shared.get(5L)).isNull();
+        assertThat(gets("l2", "miss")).isEqualTo(1);
+
+        AuditRecordEntity reloaded = cache.get(6L, () -> record(6, null));
+        assertThat(reloaded.getSeq()).isEqualTo(6);
+        assertThat(codec.decode((byte[]) shared.get(6L).get())).usingRecursiveComparison().isEqualTo(reloaded);
+    }
+
+    private TieredAuditRecordCache cache(ConcurrentMapCache shared) {
+        return new TieredAuditRecordCache("records", Caffeine.newBuilder().<Object, byte[]>build(), shared, codec,
+                registry);
+    }
+
+    private double gets(String tier, String result) {
+        return registry.counter("audit.cache.gets", "cache", "records", "tier", tier, "result", result).count();
+    }
+
+    private static AuditRecordEntity notLoaded() {
+        throw new AssertionError("loaded although cached");
+    }
+
+    private static AuditRecordEntity record(long seq, byte[] prevHash) {
+        AuditRecordEntity e = new AuditRecordEntity();
+        e.setId(100 + seq);
+        e.setSeq(seq);
+        e.setTenantId("tenantCache");
+        e.setEventId(UUID.randomUUID());
+        e.setActor("alice");
+        e.setAction("ORDER_CREATED");
+        e.setResourceType("ORDER");
+        e.setResourceId("o-1");
+        e.setCorrelationId("corr-1");
+        e.setCreatedAt(Instant.parse("2026-03-01T10:15:30Z").plusSeconds(seq));
+        e.setHashAlg("HmacSHA256");
+        e.setKeyId("key1");
+        e.setPrevHash(prevHash);
+        byte[] hash = new byte[32];
+        Arrays.fill(hash, (byte) seq);
+        hash[0] = (byte) 0xff;
+        e.setHash(hash);
+        e.setDataJson("{\"amount\":10}");
+        return e;
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -23,6 +24,9 @@ class AuditRecordServiceIT extends PostgresTestBase {
     @Autowired
     private JdbcTemplate jdbc;
 
+    @Autowired
+    private TransactionTemplate tx;
+
     @Test
     void append_creates_valid_hash_chain() {
         var r1 = service.append(new AuditRecordService.AppendAuditRecordRequest(
@@ -48,6 +52,9 @@ class AuditRecordServiceIT extends PostgresTestBase {
         ));
 
         assertThat(r2.getPrevHash()).isEqualTo(r1.getHash());
+        assertThat(r1.getHash()).hasSize(32);
+        assertThat(jdbc.queryForObject("select octet_length(hash) from audit_records where id = ?", Integer.class, r2.getId()))
+                .isEqualTo(32);
 
         VerificationResult vr = service.verify("tenantA", null, null);
         assertThat(vr.ok()).isTrue();
@@ -96,15 +103,13 @@ class AuditRecordServiceIT extends PostgresTestBase {
                 Map.of("flag", false)
         ));
 
-        // Simulate privileged tampering by dropping the immutability trigger, modifying data, and re-creating the trigger.
-        jdbc.execute("DROP TRIGGER IF EXISTS trg_audit_records_reject_mutation ON audit_records");
-        jdbc.update("UPDATE audit_records SET data = '{\"flag\": \"TAMPERED\"}'::jsonb WHERE id = ?", r1.getId());
-        jdbc.execute("""
-            CREATE TRIGGER trg_audit_records_reject_mutation
-            BEFORE UPDATE OR DELETE ON audit_records
-            FOR EACH ROW
-            EXECUTE FUNCTION audit_records_reject_mutation();
-        """);
+        // Simulate privileged tampering: replica mode skips the immutability trigger for this transaction only, so
+        // the trigger as the migrations define it (since V10 with the tenant-move and archive purge rules) stays in
+        // place instead of being dropped and re-created here.
+        tx.executeWithoutResult(status -> {
+            jdbc.execute("SET LOCAL session_replication_role = replica");
+            jdbc.update("UPDATE audit_records SET data = '{\"flag\": \"TAMPERED\"}'::jsonb WHERE id = ?", r1.getId());
+        });
 
         VerificationResult vr = service.verify("tenantC", null, null);
         assertThat(vr.ok()).isFalse();
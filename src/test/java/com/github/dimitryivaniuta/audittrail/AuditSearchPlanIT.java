@@ -0,0 +1,125 @@
+package com.github.dimitryivaniuta.audittrail;
+
+import com.github.dimitryivaniuta.audittrail.repo.AuditRecordRowMapper;
+import com.github.dimitryivaniuta.audittrail.repo.AuditRecordSearchCriteria;
+import com.github.dimitryivaniuta.audittrail.repo.AuditRecordSearchCriteria.ActorMatch;
+import com.github.dimitryivaniuta.audittrail.repo.AuditRecordSearchSql;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Asserts that the SQL generated for search is planned against the tenant-leading indexes.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AuditSearchPlanIT extends PostgresTestBase {
+
+    private static final String TENANT = "plan-tenant";
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbc;
+
+    @Autowired
+    private TransactionTemplate tx;
+
+    @BeforeEach
+    void seed() {
+        Integer existing = jdbc.queryForObject("select count(*) from audit_records where tenant_id = ?", Integer.class, TENANT);
+        if (existing != null && existing > 0) {
+            return;
+        }
+        // Rows reach back ~22h, which can cross into the previous month.
+        jdbc.queryForObject("select audit_records_ensure_partitions(3, 0, now() - interval '1 month')", Integer.class);
+        // 40k rows for the tenant under test (40 'RARE' actions) plus 40k rows of noise in other tenants.
+        jdbc.update("""
+            INSERT INTO audit_records (tenant_id, seq, event_id, actor, action, resource_type, resource_id,
+                                       correlation_id, data, created_at, hash_alg, key_id, prev_hash, hash)
+            SELECT CASE WHEN g % 2 = 0 THEN ? ELSE 'noise-' || (g % 10) END,
+                   g, gen_random_uuid(), 'user' || (g % 500), CASE WHEN g % 1000 = 0 THEN 'RARE' ELSE 'BULK' END,
+                   'T', 'r-' || g, CASE WHEN g % 4 = 0 THEN 'corr-' || (g % 2000) END, '{}'::jsonb, now() - make_interval(secs => 80000 - g),
+                   'HmacSHA256', 'key1', NULL, sha256(g::text::bytea)
+            FROM generate_series(1, 80000) AS g
+            """, TENANT);
+        jdbc.execute("ANALYZE audit_records");
+    }
+
+    @AfterAll
+    void removeSeed() {
+        // The rows were inserted around the chain, so they leave the same way: in replica mode, which skips the
+        // append-only trigger for this transaction only.
+        tx.executeWithoutResult(status -> {
+            jdbc.execute("SET LOCAL session_replication_role = replica");
+            jdbc.update("DELETE FROM audit_records WHERE tenant_id = ? OR tenant_id LIKE 'noise-%'", TENANT);
+        });
+        jdbc.execute("ANALYZE audit_records");
+    }
+
+    @Test
+    void action_filter_uses_tenant_action_seq_index() {
+        var criteria = AuditRecordSearchCriteria.forTenant(TENANT).withAction("RARE");
+        assertThat(explain(criteria)).contains("idx_audit_records_tenant_action_seq");
+    }
+
+    @Test
+    void time_window_uses_tenant_created_at_index() {
+        Instant to = Instant.now().minus(10, ChronoUnit.HOURS);
+        var criteria = AuditRecordSearchCriteria.forTenant(TENANT).withCreatedBetween(to.minus(5, ChronoUnit.MINUTES), to);
+        assertThat(explain(criteria)).contains("idx_audit_records_tenant_created_at");
+    }
+
+    @Test
+    void exact_actor_uses_lower_actor_index() {
+        var criteria = AuditRecordSearchCriteria.forTenant(TENANT).withActor("USER42", ActorMatch.EXACT);
+        assertThat(explain(criteria)).contains("idx_audit_records_tenant_actor_lower");
+    }
+
+    @Test
+    void substring_actor_uses_trigram_index() {
+        var criteria = AuditRecordSearchCriteria.forTenant(TENANT).withActor("ser42", ActorMatch.CONTAINS);
+        assertThat(explain(criteria)).contains("idx_audit_records_tenant_actor_trgm");
+    }
+
+    @Test
+    void correlation_timeline_uses_partial_correlation_index() {
+        var criteria = AuditRecordSearchCriteria.forTenant(TENANT).withCorrelationIds(List.of("corr-4", "corr-8"));
+        assertThat(explain(criteria)).contains("idx_audit_records_tenant_correlation_seq");
+    }
+
+    @Test
+    void resource_history_uses_tenant_resource_seq_index() {
+        var criteria = AuditRecordSearchCriteria.forTenant(TENANT).withResource("T", "r-42");
+        assertThat(explain(criteria)).contains("idx_audit_records_tenant_resource_seq");
+    }
+
+    /**
+     * Explains the exact page query used by the search repository.
+     */
+    private String explain(AuditRecordSearchCriteria criteria) {
+        AuditRecordSearchSql sql = AuditRecordSearchSql.of(criteria);
+        MapSqlParameterSource params = new MapSqlParameterSource(sql.params().getValues())
+                .addValue("limit", 50)
+                .addValue("offset", 0);
+        return tx.execute(status -> {
+            // Keep the assertion about index usability independent of small-table cost quirks.
+            jdbc.execute("SET LOCAL enable_seqscan = off");
+            List<String> lines = namedJdbc.queryForList("EXPLAIN " + sql.selectPage(AuditRecordRowMapper.COLUMNS), params, String.class);
+            return String.join("\n", lines);
+        });
+    }
+}
@@ -0,0 +1,163 @@
+package com.github.dimitryivaniuta.audittrail;
+
+import com.github.dimitryivaniuta.audittrail.domain.AuditRecordEntity;
+import com.github.dimitryivaniuta.audittrail.service.AuditRecordService;
+import com.github.dimitryivaniuta.audittrail.service.TenantMovedException;
+import com.github.dimitryivaniuta.audittrail.shard.ShardRouter;
+import com.github.dimitryivaniuta.audittrail.shard.TenantMoveResult;
+import com.github.dimitryivaniuta.audittrail.shard.TenantShardContext;
+import com.github.dimitryivaniuta.audittrail.shard.TenantShardMover;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for tenant sharding across two PostgreSQL containers.
+ */
+@Testcontainers
+@ActiveProfiles("test")
+@SpringBootTest
+class AuditShardingIT {
+
+    @Container
+    static final PostgreSQLContainer<?> SHARD_A = shard();
+
+    @Container
+    static final PostgreSQLContainer<?> SHARD_B = shard();
+
+    @DynamicPropertySource
+    static void register(DynamicPropertyRegistry registry) {
+        registry.add("audit.shards.enabled", () -> "true");
+        registry.add("audit.shards.shards[0].name", () -> "a");
+        registry.add("audit.shards.shards[0].url", SHARD_A::getJdbcUrl);
+        registry.add("audit.shards.shards[0].username", SHARD_A::getUsername);
+        registry.add("audit.shards.shards[0].password", SHARD_A::getPassword);
+        registry.add("audit.shards.shards[1].name", () -> "b");
+        registry.add("audit.shards.shards[1].url", SHARD_B::getJdbcUrl);
+        registry.add("audit.shards.shards[1].username", SHARD_B::getUsername);
+        registry.add("audit.shards.shards[1].password", SHARD_B::getPassword);
+        registry.add("audit.shards.tenants.tenantA", () -> "a");
+        registry.add("audit.shards.tenants.tenantB", () -> "b");
+        registry.add("audit.shards.tenants.tenantMove", () -> "a");
+        registry.add("audit.shards.tenants.tenantPurge", () -> "a");
+        registry.add("audit.shards.tenants.tenantStay", () -> "a");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    @Autowired
+    private AuditRecordService service;
+
+    @Autowired
+    private TenantShardMover mover;
+
+    @Autowired
+    private ShardRouter router;
+
+    @Test
+    void concurrent_appends_land_on_each_tenant_shard_with_disjoint_ids() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<AuditRecordEntity>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                String tenant = i % 2 == 0 ? "tenantA" : "tenantB";
+                futures.add(pool.submit(() -> append(tenant, UUID.randomUUID())));
+            }
+            for (Future<AuditRecordEntity> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(shardJdbc("a").queryForList("select id % 16 from audit_records where tenant_id = 'tenantA'", Long.class))
+                .hasSize(50).containsOnly(0L);
+        assertThat(shardJdbc("b").queryForList("select id % 16 from audit_records where tenant_id = 'tenantB'", Long.class))
+                .hasSize(50).containsOnly(1L);
+        assertThat(shardJdbc("a").queryForObject("select count(*) from audit_records where tenant_id = 'tenantB'", Long.class)).isZero();
+
+        assertThat(service.verify("tenantA", null, null).recordsChecked()).isEqualTo(50);
+        assertThat(service.verify("tenantB", null, null).recordsChecked()).isEqualTo(50);
+
+        // Lookups by id alone fan out over the shards.
+        AuditRecordEntity onB = append("tenantB", UUID.randomUUID());
+        assertThat(service.getById(onB.getId()).getTenantId()).isEqualTo("tenantB");
+    }
+
+    @Test
+    void moved_tenant_is_verified_served_from_the_new_shard_and_fenced_on_the_old_one() {
+        AuditRecordEntity first = append("tenantMove", UUID.randomUUID());
+        for (int i = 0; i < 4; i++) {
+            append("tenantMove", UUID.randomUUID());
+        }
+
+        TenantMoveResult result = mover.move("tenantMove", "b", false);
+        assertThat(result.chainLength()).isEqualTo(5);
+        assertThat(result.copiedRecords()).isEqualTo(5);
+        assertThat(router.shardFor("tenantMove")).isEqualTo("b");
+
+        // Same ids and idempotency keys on the new shard; the chain continues there.
+        assertThat(service.getByIds("tenantMove", List.of(first.getId()))).containsKey(first.getId());
+        assertThat(append("tenantMove", first.getEventId()).getId()).isEqualTo(first.getId());
+        AuditRecordEntity sixth = append("tenantMove", UUID.randomUUID());
+        assertThat(sixth.getSeq()).isEqualTo(6);
+        assertThat(shardJdbc("b").queryForObject("select count(*) from audit_records where tenant_id = 'tenantMove'", Long.class))
+                .isEqualTo(6);
+        assertThat(service.verify("tenantMove", null, null).recordsChecked()).isEqualTo(6);
+
+        // A writer with a stale mapping cannot fork the chain on the old shard.
+        assertThatThrownBy(() -> TenantShardContext.runOnShard("a", () -> append("tenantMove", UUID.randomUUID())))
+                .isInstanceOf(TenantMovedException.class);
+    }
+
+    @Test
+    void move_with_purge_removes_the_old_copy() {
+        append("tenantPurge", UUID.randomUUID());
+        append("tenantPurge", UUID.randomUUID());
+
+        TenantMoveResult result = mover.move("tenantPurge", "b", true);
+        assertThat(result.purgedRecords()).isEqualTo(2);
+        assertThat(shardJdbc("a").queryForObject("select count(*) from audit_records where tenant_id = 'tenantPurge'", Long.class))
+                .isZero();
+        assertThat(shardJdbc("a").queryForObject("select count(*) from audit_record_keys where tenant_id = 'tenantPurge'", Long.class))
+                .isZero();
+        assertThat(service.verify("tenantPurge", null, null).recordsChecked()).isEqualTo(2);
+
+        // Other tenants' rows on the old shard stay immutable.
+        append("tenantStay", UUID.randomUUID());
+        assertThatThrownBy(() -> shardJdbc("a").update("delete from audit_records where tenant_id = 'tenantStay'"))
+                .isInstanceOf(Exception.class);
+    }
+
+    private JdbcTemplate shardJdbc(String shard) {
+        return new JdbcTemplate(router.dataSource(shard));
+    }
+
+    private AuditRecordEntity append(String tenantId, UUID eventId) {
+        return service.append(new AuditRecordService.AppendAuditRecordRequest(
+                tenantId, eventId, "svc", "X", "T", "R", null, Map.of("k", "v")));
+    }
+
+    private static PostgreSQLContainer<?> shard() {
+        return new PostgreSQLContainer<>("postgres:16-alpine")
+                .withDatabaseName("auditdb")
+                .withUsername("audit")
+                .withPassword("audit");
+    }
+}
@@ -0,0 +1,58 @@
+package com.github.dimitryivaniuta.audittrail;
+
+import com.github.dimitryivaniuta.audittrail.config.JacksonConfig;
+import com.github.dimitryivaniuta.audittrail.hash.CanonicalJsonService;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for canonical JSON rendering of payloads and of stored (JSONB-rendered) text.
+ */
+class CanonicalJsonServiceTest {
+
+    private final CanonicalJsonService canonical = new CanonicalJsonService(new JacksonConfig().objectMapper());
+
+    @Test
+    void jsonb_text_is_brought_back_to_the_hashed_text() {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("zeta", 1);
+        data.put("alpha", Map.of("b", 2.50, "a", "x y \"quoted\" \\ naïve ☕ 🚀"));
+        data.put("lines", List.of(Map.of("sku", "A-1", "qty", 2), Map.of("sku", "B", "qty", 1), List.of()));
+        data.put("big", new BigInteger("123456789012345678901234567890"));
+        data.put("long", 9_007_199_254_740_993L);
+        data.put("none", null);
+        data.put("ok", true);
+        data.put("empty", Map.of());
+        data.put("Upper", -0.001);
+
+        // Keys shortest first, a space after each separator, trailing zeros dropped: how Postgres renders jsonb.
+        String jsonb = "{\"ok\": true, \"big\": 123456789012345678901234567890, \"long\": 9007199254740993, "
+                + "\"none\": null, \"zeta\": 1, \"Upper\": -0.001, \"alpha\": {\"a\": \"x y \\\"quoted\\\" \\\\ naïve ☕ 🚀\", "
+                + "\"b\": 2.5}, \"empty\": {}, \"lines\": [{\"qty\": 2, \"sku\": \"A-1\"}, {\"qty\": 1, \"sku\": \"B\"}, []]}";
+
+        String hashed = canonical.canonicalize(data);
+        assertThat(canonical.recanonicalize(jsonb)).isEqualTo(hashed);
+        assertThat(canonical.recanonicalize(hashed)).isEqualTo(hashed);
+        assertThat(canonical.recanonicalize("{}")).isEqualTo(canonical.canonicalize(null));
+    }
+
+    @Test
+    void last_duplicate_key_wins_as_when_parsed_into_a_map() {
+        assertThat(canonical.recanonicalize("{\"b\": 1, \"a\": 2, \"b\": 3}")).isEqualTo("{\"a\":2,\"b\":3}");
+    }
+
+    @Test
+    void rejects_what_is_not_a_json_object() {
+        for (String bad : Arrays.asList("[1, 2]", "\"text\"", "", "{\"a\": [1, 2", "{\"a\": }", null)) {
+            assertThatThrownBy(() -> canonical.recanonicalize(bad))
+                    .as("%s", bad)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
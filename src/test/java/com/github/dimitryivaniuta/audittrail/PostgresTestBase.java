@@ -1,40 +1,34 @@
 package com.github.dimitryivaniuta.audittrail;
 
-import org.junit.jupiter.api.AfterAll;
-import org.junit.jupiter.api.BeforeAll;
 import org.springframework.test.context.ActiveProfiles;
 import org.testcontainers.containers.PostgreSQLContainer;
-import org.testcontainers.junit.jupiter.Container;
-import org.testcontainers.junit.jupiter.Testcontainers;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 
 /**
  * Shared Testcontainers PostgreSQL setup.
+ *
+ * <p>The container is started once per test JVM and never stopped (Testcontainers removes it when the JVM
+ * exits). Spring caches application contexts across test classes with the same configuration, and a cached
+ * context keeps the pool it opened against the container; stopping the container after a class and starting
+ * it again on a new port would leave the next class that reuses that context with a dead pool. Test classes
+ * therefore share one database and keep to tenants of their own.</p>
  */
-@Testcontainers
 @ActiveProfiles("test")
 public abstract class PostgresTestBase {
 
     /**
      * PostgreSQL container for integration tests.
      */
-    @Container
     protected static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
             .withDatabaseName("auditdb")
             .withUsername("audit")
             .withPassword("audit");
 
-    @BeforeAll
-    static void start() {
+    static {
         POSTGRES.start();
     }
 
-    @AfterAll
-    static void stop() {
-        POSTGRES.stop();
-    }
-
     @DynamicPropertySource
     static void register(DynamicPropertyRegistry registry) {
         registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
@@ -0,0 +1,217 @@
+package com.github.dimitryivaniuta.audittrail;
+
+import com.github.dimitryivaniuta.audittrail.admission.AdmissionRejectedException;
+import com.github.dimitryivaniuta.audittrail.admission.TenantAdmissionControl;
+import com.github.dimitryivaniuta.audittrail.config.AuditAdmissionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for per-tenant admission control (no database: appends are stand-ins that block until released).
+ */
+class TenantAdmissionControlTest {
+
+    private final ExecutorService threads = Executors.newCachedThreadPool();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void shutdown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    void full_queue_is_refused_right_away() throws Exception {
+        TenantAdmissionControl control = control(1, 1, Duration.ofSeconds(5), Duration.ofSeconds(1));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch admitted = new CountDownLatch(1);
+        Future<?> running = hold(control, "t", admitted, release, false);
+        assertThat(admitted.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread queued = new Thread(() -> control.call("t", () -> "queued"));
+        queued.start();
+        waitUntilWaiting(queued);
+
+        long startedAt = System.nanoTime();
+        assertThatThrownBy(() -> control.call("t", () -> "never"))
+                .isInstanceOfSatisfying(AdmissionRejectedException.class, e -> {
+                    assertThat(e.getReason()).isEqualTo("queue");
+                    assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(5));
+                });
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(1));
+        assertThat(registry.counter("audit.admission.rejected", "reason", "queue").count()).isEqualTo(1);
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        queued.join(5_000);
+        assertThat(queued.isAlive()).isFalse();
+        assertThat(control.call("t", () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void wait_for_a_slot_times_out() throws Exception {
+        TenantAdmissionControl control = control(1, 1, Duration.ofMillis(100), Duration.ofSeconds(1));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch admitted = new CountDownLatch(1);
+        Future<?> running = hold(control, "t", admitted, release, false);
+        assertThat(admitted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long startedAt = System.nanoTime();
+        assertThatThrownBy(() -> control.call("t", () -> "never"))
+                .isInstanceOfSatisfying(AdmissionRejectedException.class, e -> {
+                    assertThat(e.getReason()).isEqualTo("timeout");
+                    assertThat(e.getRetryAfter()).isEqualTo(Duration.ofMillis(100));
+                });
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+        assertThat(registry.counter("audit.admission.rejected", "reason", "timeout").count()).isEqualTo(1);
+
+        // Other tenants have limits of their own.
+        assertThat(control.call("other", () -> "ok")).isEqualTo("ok");
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void limit_is_cut_once_per_window_and_grows_back() throws Exception {
+        TenantAdmissionControl control = control(4, 0, Duration.ofSeconds(1), Duration.ofMillis(100));
+        assertThat(capacity(control, "t")).isEqualTo(4);
+
+        // Four slow appends admitted together form one window: 4 -> 3.6, not 4 * 0.9^4.
+        appendConcurrently(control, "t", 4, Duration.ofMillis(250));
+        assertThat(capacity(control, "t")).isEqualTo(3);
+
+        // Each later slow append was admitted after the previous cut: 3.6 -> 3.24 -> 2.92.
+        appendConcurrently(control, "t", 1, Duration.ofMillis(250));
+        appendConcurrently(control, "t", 1, Duration.ofMillis(250));
+        assertThat(capacity(control, "t")).isEqualTo(2);
+
+        // A fast append that completes while the limit is fully used raises it by 1 / limit: 2.92 -> 3.26.
+        appendConcurrently(control, "t", 2, Duration.ZERO);
+        assertThat(capacity(control, "t")).isEqualTo(3);
+    }
+
+    @Test
+    void stream_batch_holds_a_slot_of_each_of_its_tenants() throws Exception {
+        TenantAdmissionControl control = control(1, 0, Duration.ofSeconds(1), Duration.ofSeconds(1));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch admitted = new CountDownLatch(1);
+        Future<?> batch = threads.submit(() -> control.callBatch(List.of("b", "a", "b"), () -> {
+            admitted.countDown();
+            await(release);
+            return null;
+        }));
+        assertThat(admitted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (String tenantId : Set.of("a", "b")) {
+            assertThatThrownBy(() -> control.call(tenantId, () -> "never"))
+                    .isInstanceOfSatisfying(AdmissionRejectedException.class,
+                            e -> assertThat(e.getReason()).isEqualTo("queue"));
+        }
+        release.countDown();
+        batch.get(5, TimeUnit.SECONDS);
+        assertThat(control.call("a", () -> "ok")).isEqualTo("ok");
+        assertThat(control.call("b", () -> "ok")).isEqualTo("ok");
+    }
+
+    private TenantAdmissionControl control(int concurrency, int maxQueue, Duration maxWait, Duration targetLatency) {
+        AuditAdmissionProperties properties = new AuditAdmissionProperties();
+        properties.setInitialConcurrency(concurrency);
+        properties.setMinConcurrency(1);
+        properties.setMaxConcurrency(concurrency);
+        properties.setMaxQueue(maxQueue);
+        properties.setMaxWait(maxWait);
+        properties.setTargetLatency(targetLatency);
+        return new TenantAdmissionControl(properties, registry);
+    }
+
+    /**
+     * Starts an append that signals {@code admitted} once it holds a slot and then blocks until {@code release}.
+     * A failing append leaves the limit alone.
+     */
+    private Future<?> hold(TenantAdmissionControl control, String tenantId, CountDownLatch admitted,
+                           CountDownLatch release, boolean fail) {
+        return threads.submit(() -> control.call(tenantId, () -> {
+            admitted.countDown();
+            await(release);
+            if (fail) {
+                throw new IllegalStateException("probe");
+            }
+            return null;
+        }));
+    }
+
+    private void appendConcurrently(TenantAdmissionControl control, String tenantId, int appends, Duration latency)
+            throws Exception {
+        CountDownLatch admitted = new CountDownLatch(appends);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<?>> running = new ArrayList<>();
+        for (int i = 0; i < appends; i++) {
+            running.add(hold(control, tenantId, admitted, release, false));
+        }
+        assertThat(admitted.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(latency.toMillis());
+        release.countDown();
+        for (Future<?> f : running) {
+            f.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Counts the slots a tenant gets (with {@code max-queue} 0 the first append over the limit is refused right away).
+     */
+    private int capacity(TenantAdmissionControl control, String tenantId) throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<?>> held = new ArrayList<>();
+        try {
+            while (held.size() < 10) {
+                CountDownLatch admitted = new CountDownLatch(1);
+                Future<?> probe = hold(control, tenantId, admitted, release, true);
+                while (admitted.getCount() > 0 && !probe.isDone()) {
+                    Thread.sleep(5);
+                }
+                if (admitted.getCount() > 0) {
+                    assertThatThrownBy(probe::get).hasCauseInstanceOf(AdmissionRejectedException.class);
+                    return held.size();
+                }
+                held.add(probe);
+            }
+            return held.size();
+        } finally {
+            release.countDown();
+            for (Future<?> probe : held) {
+                try {
+                    probe.get(5, TimeUnit.SECONDS);
+                } catch (ExecutionException expected) {
+                    // the probe failed on purpose
+                }
+            }
+        }
+    }
+
+    private static void waitUntilWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(thread.getState()).isEqualTo(Thread.State.TIMED_WAITING);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}